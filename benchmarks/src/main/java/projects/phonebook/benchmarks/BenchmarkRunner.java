@@ -0,0 +1,35 @@
+package projects.phonebook.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>{@link BenchmarkRunner} is the entry point of the benchmarks JAR. It accepts the same command line options as JMH
+ * itself, and always attaches JMH's GC profiler, so that every result comes with the
+ * allocation rate of the benchmark ({@code gc.alloc.rate.norm} is the number of bytes allocated per operation).</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTableBenchmark
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner(){
+        // Entry point only.
+    }
+
+    /**
+     * Runs the benchmarks selected by the command line arguments, or all of them if none are selected.
+     * @param args JMH command line options, e.g {@code HashTableBenchmark.getHit -p size=1000 -p table=LINEAR_PROBING}.
+     * @throws CommandLineOptionException if the arguments are not valid JMH options.
+     * @throws RunnerException if a benchmark fails.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions options = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder().parent(options).addProfiler(GCProfiler.class).build()).run();
+    }
+}
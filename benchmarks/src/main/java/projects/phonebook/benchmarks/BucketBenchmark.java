@@ -0,0 +1,83 @@
+package projects.phonebook.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import projects.phonebook.utils.BucketType;
+import projects.phonebook.utils.KVBucket;
+import projects.phonebook.utils.Probes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>{@link BucketBenchmark} measures the average time of a single <b>collision chain walk</b> for every
+ * {@link BucketType}, on chains of {@code length} pairs. {@link #getHit()} cycles through every pair of the chain, so it
+ * examines (length + 1) / 2 pairs on average, and {@link #getMiss()} examines all of them. Dividing the reported time
+ * by the number of pairs examined gives the latency of a single probe, which is where {@link BucketType#ARRAY} should
+ * beat {@link BucketType#LINKED_LIST} on long chains. {@link BucketType#TREEIFIED} chains longer than 8 pairs are
+ * trees, which only examine a logarithmic number of pairs.</p>
+ *
+ * <p>To keep the nodes of {@link BucketType#LINKED_LIST} from being laid out contiguously in memory by the allocator,
+ * which would hide their pointer chasing, the chains are built by interleaving insertions into 64 different buckets.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see BucketType
+ * @see HashTableBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BucketBenchmark {
+
+    private static final int BUCKETS = 64;
+
+    @Param({"LINKED_LIST", "ARRAY", "TREEIFIED"})
+    public BucketType bucketType;
+
+    @Param({"2", "8", "32", "128"})
+    public int length;
+
+    private KVBucket[] buckets;
+    private String[] keys;
+    private int cursor, bucket;
+
+    /**
+     * Builds the chains that the benchmarks search.
+     */
+    @Setup(Level.Trial)
+    public void setUp(){
+        buckets = new KVBucket[BUCKETS];
+        for(int b = 0; b < BUCKETS; b++)
+            buckets[b] = bucketType.create();
+        keys = new String[length];
+        for(int i = 0; i < length; i++) {
+            keys[i] = String.format("301-405-%04d", i);
+            for(int b = 0; b < BUCKETS; b++)
+                buckets[b].addBack(new String(keys[i]), "Name" + i); // Separate copies, so that equals() cannot short-circuit.
+        }
+    }
+
+    /**
+     * Searches a chain for one of its keys, cycling through the keys and the chains.
+     * @return The {@link Probes} of the search, so that it is not optimized away.
+     */
+    @Benchmark
+    public Probes getHit(){
+        int i = cursor;
+        cursor = (i + 1 == length) ? 0 : i + 1;
+        bucket = (bucket + 1) & (BUCKETS - 1);
+        return buckets[bucket].getValue(keys[i]);
+    }
+
+    /**
+     * Searches a chain for a key which is not in it.
+     * @return The {@link Probes} of the search, so that it is not optimized away.
+     */
+    @Benchmark
+    public Probes getMiss(){
+        bucket = (bucket + 1) & (BUCKETS - 1);
+        return buckets[bucket].getValue("240-555-0000");
+    }
+}
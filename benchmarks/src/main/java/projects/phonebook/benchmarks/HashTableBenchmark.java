@@ -0,0 +1,129 @@
+package projects.phonebook.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import projects.phonebook.hashes.HashTable;
+import projects.phonebook.utils.Probes;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>{@link HashTableBenchmark} measures the <b>throughput</b> of the basic operations of the phonebook hash tables.
+ * Every trial builds a table of the requested {@link TableKind}, fills it with {@code size} keys of the requested
+ * {@link KeyDistribution}, and then times:</p>
+ * <ul>
+ *     <li>{@link #getHit()}: a successful search for a random key of the table.</li>
+ *     <li>{@link #getMiss()}: an unsuccessful search, for a key of the same distribution which is not in the table.</li>
+ *     <li>{@link #removeAndPut()}: the deletion of a random key of the table, followed by its re-insertion. This keeps
+ *     the size of the table constant, while letting the {@code _SOFT} kinds of {@link TableKind} pile up tombstones.</li>
+ *     <li>{@link #build()}: the construction of a table of {@code size} keys from scratch, resizings included.</li>
+ * </ul>
+ *
+ * <p>The {@code loadFactor} parameter pre-sizes the table through {@link HashTable#ensureCapacity(int)}, scaled by the
+ * {@link TableKind#maxLoadFactor() maximum load factor} of its kind, so that every kind starts out with its keys taking
+ * up the same fraction of its capacity. Tables which ignore {@link HashTable#ensureCapacity(int)}, like
+ * {@link projects.phonebook.hashes.SeparateChainingHashTable}, ignore it too. {@link HashTableLatencyBenchmark} runs the
+ * same benchmarks in sampling mode, to report latency percentiles instead of throughput.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTableLatencyBenchmark
+ * @see TableKind
+ * @see KeyDistribution
+ * @see BenchmarkRunner
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashTableBenchmark {
+
+    private static final long SEED = 47;
+
+    // The tables of the writeup are skeletons until implemented, so only the working tables run by default.
+    @Param({"FLAT_LINEAR_PROBING", "FLAT_LINEAR_PROBING_SOFT", "ROBIN_HOOD", "SWISS", "CUCKOO"})
+    public TableKind table;
+
+    @Param({"UNIFORM", "PHONE_NUMBERS", "COLLISIONS"})
+    public KeyDistribution distribution;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"0.25", "0.45"})
+    public double loadFactor;
+
+    private HashTable hashTable;
+    private String[] present, absent, lookups;
+    private int cursor;
+
+    private HashTable fill(){
+        HashTable filled = table.create();
+        filled.ensureCapacity((int)Math.ceil(present.length * table.maxLoadFactor() / loadFactor));
+        for(String key : present)
+            filled.put(key, key);
+        return filled;
+    }
+
+    private int next(){
+        int i = cursor;
+        cursor = (i + 1 == lookups.length) ? 0 : i + 1;
+        return i;
+    }
+
+    /**
+     * Generates the keys and builds the table that the benchmarks operate on.
+     */
+    @Setup(Level.Trial)
+    public void setUp(){
+        String[] keys = distribution.generate(2 * size, new Random(SEED));
+        present = Arrays.copyOfRange(keys, 0, keys.length / 2);
+        absent = Arrays.copyOfRange(keys, keys.length / 2, keys.length);
+        lookups = present.clone();  // Visit the keys in an order unrelated to the order of insertion.
+        Collections.shuffle(Arrays.asList(lookups), new Random(SEED));
+        hashTable = fill();
+        cursor = 0;
+    }
+
+    /**
+     * Searches for a key of the table.
+     * @return The {@link Probes} of the search, so that it is not optimized away.
+     */
+    @Benchmark
+    public Probes getHit(){
+        return hashTable.get(lookups[next()]);
+    }
+
+    /**
+     * Searches for a key which is not in the table.
+     * @return The {@link Probes} of the search, so that it is not optimized away.
+     */
+    @Benchmark
+    public Probes getMiss(){
+        return hashTable.get(absent[next() % absent.length]);
+    }
+
+    /**
+     * Removes a key of the table and inserts it again.
+     * @return The {@link Probes} of the insertion, so that it is not optimized away.
+     */
+    @Benchmark
+    public Probes removeAndPut(){
+        String key = lookups[next()];
+        hashTable.remove(key);
+        return hashTable.put(key, key);
+    }
+
+    /**
+     * Builds a table of {@code size} keys from scratch.
+     * @return The table, so that it is not optimized away.
+     */
+    @Benchmark
+    public HashTable build(){
+        return fill();
+    }
+}
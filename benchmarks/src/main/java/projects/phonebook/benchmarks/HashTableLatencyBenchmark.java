@@ -0,0 +1,22 @@
+package projects.phonebook.benchmarks;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>{@link HashTableLatencyBenchmark} runs the benchmarks of {@link HashTableBenchmark} in <b>sampling</b> mode: instead
+ * of the number of operations per second, it reports the distribution of the duration of individual operations, in
+ * nanoseconds, including its tail percentiles (p99, p99.99, ...). The tail is where long collision chains, tombstones
+ * and resizings show up.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTableBenchmark
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HashTableLatencyBenchmark extends HashTableBenchmark {
+}
@@ -0,0 +1,94 @@
+package projects.phonebook.benchmarks;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * <p>{@link KeyDistribution} enumerates the key sets that the benchmarks insert into the tables:</p>
+ * <ul>
+ *     <li>{@link #UNIFORM}: random alphanumeric strings of 12 characters.</li>
+ *     <li>{@link #PHONE_NUMBERS}: phone numbers of the form {@code AAA-EEE-LLLL}, drawn from only four area codes and
+ *     ten exchanges, so that most of every key is a prefix shared with thousands of others.</li>
+ *     <li>{@link #COLLISIONS}: adversarial keys which all have the <b>same</b> {@link String#hashCode()}, built by
+ *     concatenating blocks of {@code "Aa"} and {@code "BB"} (which hash to the same value). Every operation on them takes
+ *     time linear in the number of keys, so this distribution is capped at {@link #MAX_COLLISIONS} keys.</li>
+ * </ul>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTableBenchmark
+ */
+public enum KeyDistribution {
+
+    UNIFORM {
+        private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+
+        @Override
+        String key(Random rng, int index){
+            char[] key = new char[12];
+            for(int i = 0; i < key.length; i++)
+                key[i] = ALPHABET.charAt(rng.nextInt(ALPHABET.length()));
+            return new String(key);
+        }
+    },
+
+    PHONE_NUMBERS {
+        private final int[] areaCodes = {301, 240, 410, 443};
+
+        @Override
+        String key(Random rng, int index){
+            return String.format("%03d-%03d-%04d", areaCodes[rng.nextInt(areaCodes.length)], 405 + rng.nextInt(10),
+                    rng.nextInt(10000));
+        }
+    },
+
+    COLLISIONS {
+        @Override
+        String key(Random rng, int index){
+            StringBuilder key = new StringBuilder(2 * COLLISION_BLOCKS);
+            for(int b = 0; b < COLLISION_BLOCKS; b++)   // The bits of index select the blocks.
+                key.append(((index >>> b) & 1) == 0 ? "Aa" : "BB");
+            return key.toString();
+        }
+
+        @Override
+        public int cap(int count){
+            return Math.min(count, MAX_COLLISIONS);
+        }
+    };
+
+    /**
+     * The largest number of keys that {@link #COLLISIONS} generates.
+     */
+    public static final int MAX_COLLISIONS = 1 << 12;
+
+    // Every collision key consists of this many blocks, enough for 2 * MAX_COLLISIONS distinct keys.
+    private static final int COLLISION_BLOCKS = 13;
+
+    // Produces a candidate key. Candidates may repeat, except for COLLISIONS, where the index determines the key.
+    abstract String key(Random rng, int index);
+
+    /**
+     * Returns the number of keys that this distribution will actually produce when asked for count keys.
+     * @param count The requested number of keys.
+     * @return count, or less if this distribution is capped.
+     */
+    public int cap(int count){
+        return count;
+    }
+
+    /**
+     * Generates {@link #cap(int) cap(count)} <b>distinct</b> keys.
+     * @param count The number of keys to generate.
+     * @param rng The source of randomness. The same seed always produces the same keys.
+     * @return An array of distinct keys.
+     */
+    public String[] generate(int count, Random rng){
+        int n = cap(count);
+        Set<String> keys = new LinkedHashSet<>();
+        for(int i = 0; keys.size() < n; i++)
+            keys.add(key(rng, i));
+        return keys.toArray(new String[0]);
+    }
+}
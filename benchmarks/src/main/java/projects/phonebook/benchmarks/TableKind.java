@@ -0,0 +1,154 @@
+package projects.phonebook.benchmarks;
+
+import projects.phonebook.hashes.*;
+import projects.phonebook.utils.BucketType;
+
+/**
+ * <p>{@link TableKind} enumerates the {@link HashTable} implementations that the benchmarks can be run against, e.g
+ * {@code -p table=ROBIN_HOOD,SWISS}. The tables of the writeup come first, but are skeletons until implemented, so the
+ * default value of the {@code table} parameter of {@link HashTableBenchmark} lists the working tables instead.</p>
+ *
+ * <p>Tables which offer a choice between soft and hard deletion appear twice, once per choice; the {@code _SOFT} kinds
+ * delete softly. Every kind also knows the load factor past which its table enlarges, so that
+ * {@link HashTableBenchmark} can pre-size every table to the same load factor.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTableBenchmark
+ * @see CollisionResolver
+ */
+public enum TableKind {
+
+    SEPARATE_CHAINING(1) {
+        @Override
+        public HashTable create(){
+            return new SeparateChainingHashTable();
+        }
+    },
+
+    LINEAR_PROBING(0.5) {
+        @Override
+        public HashTable create(){
+            return new LinearProbingHashTable(false);
+        }
+    },
+
+    LINEAR_PROBING_SOFT(0.5) {
+        @Override
+        public HashTable create(){
+            return new LinearProbingHashTable(true);
+        }
+    },
+
+    ORDERED_LINEAR_PROBING(0.5) {
+        @Override
+        public HashTable create(){
+            return new OrderedLinearProbingHashTable(false);
+        }
+    },
+
+    ORDERED_LINEAR_PROBING_SOFT(0.5) {
+        @Override
+        public HashTable create(){
+            return new OrderedLinearProbingHashTable(true);
+        }
+    },
+
+    QUADRATIC_PROBING(0.5) {
+        @Override
+        public HashTable create(){
+            return new QuadraticProbingHashTable(false);
+        }
+    },
+
+    QUADRATIC_PROBING_SOFT(0.5) {
+        @Override
+        public HashTable create(){
+            return new QuadraticProbingHashTable(true);
+        }
+    },
+
+    FLAT_LINEAR_PROBING(0.5) {
+        @Override
+        public HashTable create(){
+            return new FlatLinearProbingHashTable(false);
+        }
+    },
+
+    FLAT_LINEAR_PROBING_SOFT(0.5) {
+        @Override
+        public HashTable create(){
+            return new FlatLinearProbingHashTable(true);
+        }
+    },
+
+    ROBIN_HOOD(RobinHoodHashTable.DEFAULT_MAX_LOAD_FACTOR) {
+        @Override
+        public HashTable create(){
+            return new RobinHoodHashTable();
+        }
+    },
+
+    CUCKOO(CuckooHashTable.BULK_LOAD_FACTOR) {
+        @Override
+        public HashTable create(){
+            return new CuckooHashTable();
+        }
+    },
+
+    SWISS(7 / 8.0) {
+        @Override
+        public HashTable create(){
+            return new SwissHashTable();
+        }
+    },
+
+    BUCKETED_LINKED_LIST(1) {
+        @Override
+        public HashTable create(){
+            return new BucketedSeparateChainingHashTable(BucketType.LINKED_LIST);
+        }
+    },
+
+    BUCKETED_ARRAY(1) {
+        @Override
+        public HashTable create(){
+            return new BucketedSeparateChainingHashTable(BucketType.ARRAY);
+        }
+    },
+
+    BUCKETED_TREEIFIED(1) {
+        @Override
+        public HashTable create(){
+            return new BucketedSeparateChainingHashTable(BucketType.TREEIFIED);
+        }
+    },
+
+    CONCURRENT_SEPARATE_CHAINING(1) {
+        @Override
+        public HashTable create(){
+            return new ConcurrentSeparateChainingHashTable();
+        }
+    };
+
+    private final double maxLoadFactor;
+
+    TableKind(double maxLoadFactor){
+        this.maxLoadFactor = maxLoadFactor;
+    }
+
+    /**
+     * Creates an empty table of this kind.
+     * @return A new, empty {@link HashTable}.
+     */
+    public abstract HashTable create();
+
+    /**
+     * Returns the load factor that {@link HashTable#ensureCapacity(int)} sizes tables of this kind for. For the Separate
+     * Chaining tables, this is one key per chain on average.
+     * @return The maximum load factor of the tables of this kind.
+     */
+    public double maxLoadFactor(){
+        return maxLoadFactor;
+    }
+}
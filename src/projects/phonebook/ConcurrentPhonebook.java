@@ -0,0 +1,196 @@
+package projects.phonebook;
+
+import projects.phonebook.hashes.ConcurrentSeparateChainingHashTable;
+import projects.phonebook.hashes.HashTable;
+import projects.phonebook.utils.HashStrategy;
+import projects.phonebook.utils.StandardHashStrategy;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * <p>{@link ConcurrentPhonebook} is a <b>thread-safe</b> counterpart of {@link Phonebook}. It offers the same operations
+ * with the same semantics, but any number of threads can call them at the same time, and every update of an entry moves
+ * <b>both</b> internal hash tables together: no thread can ever observe a name which maps to its new number while the
+ * number does not yet map back to the name, or vice versa.</p>
+ *
+ * <p>Updates are serialized by the write lock of a {@link StampedLock}, which acts as a <b>sequence lock</b>. Readers never
+ * acquire a lock in the common case: they take an optimistic stamp, read the hash tables and then validate the stamp,
+ * which succeeds if and only if no update started in the meantime. Only a reader whose validation fails, because it
+ * raced with an update, falls back to the read lock and waits for the update to finish. Reading a hash table while it is
+ * being updated has to be safe in itself for this to work, which is why both internal tables are instances of
+ * {@link ConcurrentSeparateChainingHashTable}, whose readers never see a partially built chain. Since there is only
+ * ever one writer, every table has a single segment, and is enlarged by the writer whenever it holds more records than
+ * it has chains.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see Phonebook
+ * @see ConcurrentSeparateChainingHashTable
+ * @see StampedLock
+ */
+public class ConcurrentPhonebook {
+
+    /* ************************************************************ */
+    /* ***************** PRIVATE FIELDS / METHODS ***************** */
+    /* ************************************************************ */
+
+    private final ConcurrentSeparateChainingHashTable namesToNumbers;
+    private final ConcurrentSeparateChainingHashTable numbersToNames;
+    private final StampedLock lock = new StampedLock();
+
+    // Runs reader against a state of both tables in between updates, optimistically at first.
+    private <T> T read(Supplier<T> reader){
+        long stamp = lock.tryOptimisticRead();
+        if(stamp != 0) {
+            T result = reader.get();
+            if(lock.validate(stamp))
+                return result;
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Called by the writer, after every update.
+    private static void enlargeIfNeeded(ConcurrentSeparateChainingHashTable table){
+        while(table.size() > table.capacity())
+            table.enlarge();
+    }
+
+    /* ************************************************************ */
+    /* ********************* PUBLIC METHODS *********************** */
+    /* ************************************************************ */
+
+    /**
+     * Default constructor. Both internal hash tables use {@link StandardHashStrategy#JAVA}.
+     */
+    public ConcurrentPhonebook(){
+        this(StandardHashStrategy.JAVA);
+    }
+
+    /**
+     * Instantiates a new {@link ConcurrentPhonebook} whose hash tables both use the provided hash function.
+     * @param hashStrategy The {@link HashStrategy} that both hash tables will apply to their keys.
+     * @throws IllegalArgumentException if hashStrategy is {@code null}.
+     */
+    public ConcurrentPhonebook(HashStrategy hashStrategy){
+        if(hashStrategy == null)
+            throw new IllegalArgumentException("Provided a null hash strategy.");
+        namesToNumbers = new ConcurrentSeparateChainingHashTable(1, hashStrategy);
+        numbersToNames = new ConcurrentSeparateChainingHashTable(1, hashStrategy);
+    }
+
+    /** Retrieves the phone number associated with the provided full name. If the name is not in the database,
+     * this method returns {@code null}. Does not block unless it races with an update.
+     * @param name The full name of the owner of the phone number that is being searched for.
+     * @return The phone number associated with name, or {@code null} if name is {@code null} or if name
+     * is not in the {@link ConcurrentPhonebook}.
+     */
+    public String getNumberOf(String name) {
+        return (name == null) ? null : read(() -> namesToNumbers.get(name).getValue());
+    }
+
+    /** Retrieves the full name of the owner of the provided phone number. If the phone number is not in the database,
+     * this method returns {@code null}. Does not block unless it races with an update.
+     * @param number The phone number whose owner is being searched for.
+     * @return The full name of the owner of number, or {@code null} if number is {@code null} or if number
+     * is not in the {@link ConcurrentPhonebook}.
+     */
+    public String getOwnerOf(String number) {
+        return (number == null) ? null : read(() -> numbersToNames.get(number).getValue());
+    }
+
+    /** Queries the {@link ConcurrentPhonebook} about the entry &lt; name, number &gt;, reading both directions at the same
+     * point in time. Does not block unless it races with an update.
+     * @param name The full name of the number's owner.
+     * @param number The phone number of the person.
+     * @return {@code true} if, and only if, name maps to number <b>and</b> number maps to name.
+     */
+    public boolean containsEntry(String name, String number) {
+        if(name == null || number == null)
+            return false;
+        return read(() -> number.equals(namesToNumbers.get(name).getValue()) &&
+                name.equals(numbersToNames.get(number).getValue()));
+    }
+
+    /** Adds the tuple &lt; name, number &gt; in the {@link ConcurrentPhonebook}, exactly like
+     * {@link Phonebook#addEntry(String, String)} does. Readers observe either none or both of the updated directions.
+     * @param name The full name of the number's owner.
+     * @param number The phone number of the person.
+     * @throws IllegalArgumentException if either name or number is {@code null}.
+     */
+    public void addEntry(String name, String number) {
+        if(name == null || number == null)
+            throw new IllegalArgumentException("Provided: name=" + name + " and number= " + number);
+        long stamp = lock.writeLock();
+        try {
+            namesToNumbers.put(name, number);
+            numbersToNames.put(number, name);
+            enlargeIfNeeded(namesToNumbers);
+            enlargeIfNeeded(numbersToNames);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Adds all the tuples &lt; names[i], numbers[i] &gt; in the {@link ConcurrentPhonebook}, exactly like
+     * {@link Phonebook#bulkLoad(String[], String[])} does. Readers observe either none or all of the new entries.
+     * @param names The full names of the numbers' owners.
+     * @param numbers The phone numbers, such that numbers[i] is the phone number of names[i].
+     * @throws IllegalArgumentException if either array or any of their elements is {@code null}, or if the arrays differ
+     * in length.
+     * @see HashTable#putAll(String[], String[])
+     */
+    public void bulkLoad(String[] names, String[] numbers) {
+        long stamp = lock.writeLock();
+        try {
+            namesToNumbers.putAll(names, numbers);   // Validates every argument before inserting anything.
+            numbersToNames.putAll(numbers, names);
+            enlargeIfNeeded(namesToNumbers);
+            enlargeIfNeeded(numbersToNames);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Deletes the entry characterized by the arguments provided, exactly like {@link Phonebook#deleteEntry(String, String)}
+     * does. Readers observe either none or both of the deletions.
+     * @param name The &quot;owner&quot; part of the &lt; owner, phone number &gt; tuple.
+     * @param number The &quot;number&quot; part of the &lt; owner, phone number &gt; tuple.
+     * @throws IllegalArgumentException if either name or number is {@code null}.
+     */
+    public void deleteEntry(String name, String number) {
+        if(number == null || name == null)
+            throw new IllegalArgumentException("Provided: name=" + name + " and number= " + number);
+        long stamp = lock.writeLock();
+        try {
+            namesToNumbers.remove(name);
+            numbersToNames.remove(number);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Returns the number of entries in the phonebook.
+     * @return the number of entries in the phonebook.
+     */
+    public int size() {
+        // Checked after validation, since an optimistic read which races with an update may well see a mismatch.
+        int[] sizes = read(() -> new int[]{namesToNumbers.size(), numbersToNames.size()});
+        assert sizes[0] == sizes[1] :
+                "Mismatch in internal hash table counts. Names->Numbers has count: " +
+                        sizes[0] + ", while Numbers->Names has count:  " + sizes[1] + ".";
+        return sizes[0];
+    }
+
+    /** Queries the phonebook for emptiness.
+     * @return {@code true} if, and only if, there are 0 entries in this {@link ConcurrentPhonebook}, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,98 @@
+package projects.phonebook;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link ConcurrentPhonebookTests} is a small jUnit - based test suite for {@link ConcurrentPhonebook}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see ConcurrentPhonebook
+ */
+public class ConcurrentPhonebookTests {
+
+    private static final int READERS = 4;
+    private static final int ENTRIES = 20000;
+
+    private static String format(Throwable t){
+        return "Caught a " + t.getClass().getSimpleName()+ " with message: " + t.getMessage() + ".";
+    }
+
+    @Test
+    public void testSequentialSemantics() {
+        ConcurrentPhonebook pb = new ConcurrentPhonebook();
+        assertTrue(pb.isEmpty());
+        pb.addEntry("Arnold", "894-59-0011");
+        pb.addEntry("Jessie", "705-12-7500");
+        assertEquals("894-59-0011", pb.getNumberOf("Arnold"));
+        assertEquals("Jessie", pb.getOwnerOf("705-12-7500"));
+        assertTrue(pb.containsEntry("Arnold", "894-59-0011"));
+        assertFalse(pb.containsEntry("Arnold", "705-12-7500"));
+        pb.deleteEntry("Arnold", "894-59-0011");
+        assertNull(pb.getNumberOf("Arnold"));
+        assertNull(pb.getOwnerOf("894-59-0011"));
+        assertNull(pb.getNumberOf(null));
+        assertEquals(1, pb.size());
+
+        String[] names = new String[1000], numbers = new String[1000];
+        for(int i = 0; i < names.length; i++) {
+            names[i] = "Name" + i;
+            numbers[i] = "301-405-" + i;
+        }
+        pb.bulkLoad(names, numbers);
+        assertEquals(1001, pb.size());
+        for(int i = 0; i < names.length; i++)
+            assertTrue(pb.containsEntry(names[i], numbers[i]));
+    }
+
+    @Test
+    public void testReadersNeverSeeHalfAnUpdate() throws InterruptedException {
+        ConcurrentPhonebook pb = new ConcurrentPhonebook();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; i < ENTRIES; i++) {
+                    pb.addEntry("Name" + i, "301-405-" + i);
+                    if (i % 2 == 1)
+                        pb.deleteEntry("Name" + (i - 1), "301-405-" + (i - 1));
+                }
+            } catch (Throwable thrown) {
+                failure.compareAndSet(null, thrown);
+            }
+        });
+        Thread[] readers = new Thread[READERS];
+        for(int t = 0; t < READERS; t++) {
+            readers[t] = new Thread(() -> {
+                try {
+                    while (writer.isAlive()) {
+                        for (int i = ENTRIES - 1; i >= 0; i -= 97) {
+                            // Odd entries are never deleted, so once a reader sees one direction, it has to see both.
+                            String number = pb.getNumberOf("Name" + i);
+                            String owner = pb.getOwnerOf("301-405-" + i);
+                            if (number != null && i % 2 == 1)
+                                assertEquals("Name" + i, owner);
+                            int size = pb.size();   // Asserts that both tables have the same size.
+                            assertTrue(size >= (i + 1) / 2 || number == null);
+                        }
+                    }
+                } catch (Throwable thrown) {
+                    failure.compareAndSet(null, thrown);
+                }
+            });
+        }
+        writer.start();
+        for(Thread reader : readers)
+            reader.start();
+        writer.join();
+        for(Thread reader : readers)
+            reader.join();
+        if(failure.get() != null)
+            fail(format(failure.get()));
+        assertEquals(ENTRIES / 2, pb.size());
+        assertTrue(pb.containsEntry("Name" + (ENTRIES - 1), "301-405-" + (ENTRIES - 1)));
+    }
+}
@@ -0,0 +1,136 @@
+package projects.phonebook;
+
+import projects.phonebook.hashes.HashTable;
+import projects.phonebook.hashes.MultiValueHashTable;
+import projects.phonebook.hashes.SwissHashTable;
+import projects.phonebook.utils.HashStrategy;
+import projects.phonebook.utils.StandardHashStrategy;
+import projects.phonebook.utils.TableSizing;
+
+/**
+ * <p>{@link MultiPhonebook} is a variant of {@link Phonebook} in which every person can own <b>several</b> phone
+ * numbers, while every phone number is still owned by <b>exactly one</b> person. The numbers of every person are kept in
+ * a {@link MultiValueHashTable}, which stores them in a compact array per name, so that {@link #getNumbersOf(String)}
+ * returns them as they are, without splitting a comma-joined {@link String} or allocating anything. The owner of every
+ * number is kept in an ordinary {@link HashTable}.</p>
+ *
+ * <p>Adding a number which is already owned by somebody else <b>transfers</b> it to its new owner; a person whose last
+ * number is deleted is removed from the {@link MultiPhonebook}. Instances of this class are <b>not</b> thread-safe.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see Phonebook
+ * @see MultiValueHashTable
+ */
+public class MultiPhonebook {
+
+    private final MultiValueHashTable namesToNumbers;
+    private final HashTable numbersToNames;
+
+    /**
+     * Default constructor. Both internal hash tables use {@link StandardHashStrategy#JAVA}.
+     */
+    public MultiPhonebook(){
+        this(StandardHashStrategy.JAVA);
+    }
+
+    /**
+     * Instantiates a new {@link MultiPhonebook} whose hash tables both use the provided hash function.
+     * @param hashStrategy The {@link HashStrategy} that both hash tables will apply to their keys.
+     * @throws IllegalArgumentException if hashStrategy is {@code null}.
+     */
+    public MultiPhonebook(HashStrategy hashStrategy){
+        if(hashStrategy == null)
+            throw new IllegalArgumentException("Provided a null hash strategy.");
+        namesToNumbers = new MultiValueHashTable(TableSizing.PRIME, hashStrategy);
+        numbersToNames = new SwissHashTable(hashStrategy);
+    }
+
+    /** Retrieves the phone numbers of the provided person, in the order they were added.
+     * @param name The full name of the owner of the phone numbers.
+     * @return A live, read-only view of the numbers of name, or {@code null} if name is {@code null} or if name is not
+     * in the {@link MultiPhonebook}.
+     */
+    public MultiValueHashTable.Values getNumbersOf(String name) {
+        return namesToNumbers.getAll(name);
+    }
+
+    /** Retrieves the full name of the owner of the provided phone number.
+     * @param number The phone number whose owner is being searched for.
+     * @return The full name of the owner of number, or {@code null} if number is {@code null} or if number
+     * is not in the {@link MultiPhonebook}.
+     */
+    public String getOwnerOf(String number) {
+        return (number == null) ? null : numbersToNames.get(number).getValue();
+    }
+
+    /** Adds number to the phone numbers of name. If number is currently owned by somebody else, it is transferred to name.
+     * @param name The full name of the number's owner.
+     * @param number The phone number of the person.
+     * @return {@code true} if name did not already own number, {@code false} otherwise.
+     * @throws IllegalArgumentException if either name or number is {@code null}.
+     */
+    public boolean addNumber(String name, String number) {
+        if(name == null || number == null)
+            throw new IllegalArgumentException("Provided: name=" + name + " and number= " + number);
+        String owner = numbersToNames.get(number).getValue();
+        if(name.equals(owner))
+            return false;
+        if(owner != null)
+            namesToNumbers.removeValue(owner, number);
+        namesToNumbers.addValue(name, number);
+        numbersToNames.put(number, name);
+        return true;
+    }
+
+    /** Deletes number from the phone numbers of name. If either argument is {@code null}, or if name does not own
+     * number, this method has <b>no effect</b>.
+     * @param name The owner of the phone number.
+     * @param number The phone number to delete.
+     * @return {@code true} if, and only if, number was deleted.
+     */
+    public boolean deleteNumber(String name, String number) {
+        if(!namesToNumbers.removeValue(name, number))
+            return false;
+        numbersToNames.remove(number);
+        return true;
+    }
+
+    /** Deletes the provided person, along with all of their phone numbers. If name is {@code null} or not in the
+     * {@link MultiPhonebook}, this method has <b>no effect</b>.
+     * @param name The full name of the person to delete.
+     * @return The number of phone numbers that were deleted along with name.
+     */
+    public int deleteName(String name) {
+        String[] numbers = namesToNumbers.removeAll(name);
+        if(numbers == null)
+            return 0;
+        for(String number : numbers)
+            numbersToNames.remove(number);
+        return numbers.length;
+    }
+
+    /** Returns the number of people in the phonebook.
+     * @return the number of people, every one of whom owns at least one phone number.
+     */
+    public int size() {
+        return namesToNumbers.size();
+    }
+
+    /** Returns the number of phone numbers in the phonebook.
+     * @return the number of &lt; name, number &gt; entries in the phonebook.
+     */
+    public int numberCount() {
+        assert namesToNumbers.valueCount() == numbersToNames.size() :
+                "Mismatch in internal hash table counts. Names->Numbers has " + namesToNumbers.valueCount() +
+                        " numbers, while Numbers->Names has count: " + numbersToNames.size() + ".";
+        return numbersToNames.size();
+    }
+
+    /** Queries the phonebook for emptiness.
+     * @return {@code true} if, and only if, there are 0 entries in this {@link MultiPhonebook}, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,72 @@
+package projects.phonebook;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link MultiPhonebookTests} is a small jUnit - based test suite for {@link MultiPhonebook}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see MultiPhonebook
+ */
+public class MultiPhonebookTests {
+
+    @Test
+    public void testSeveralNumbers() {
+        MultiPhonebook pb = new MultiPhonebook();
+        assertTrue(pb.isEmpty());
+        assertTrue(pb.addNumber("Arnold", "894-59-0011"));
+        assertTrue(pb.addNumber("Arnold", "705-12-7500"));
+        assertFalse(pb.addNumber("Arnold", "705-12-7500"));
+        assertArrayEquals(new String[]{"894-59-0011", "705-12-7500"}, pb.getNumbersOf("Arnold").toArray());
+        assertEquals("Arnold", pb.getOwnerOf("705-12-7500"));
+        assertEquals(1, pb.size());
+        assertEquals(2, pb.numberCount());
+
+        assertTrue(pb.deleteNumber("Arnold", "894-59-0011"));
+        assertFalse(pb.deleteNumber("Arnold", "894-59-0011"));
+        assertNull(pb.getOwnerOf("894-59-0011"));
+        assertEquals(1, pb.numberCount());
+        assertTrue(pb.deleteNumber("Arnold", "705-12-7500"));
+        assertNull("A person without numbers should be removed.", pb.getNumbersOf("Arnold"));
+        assertTrue(pb.isEmpty());
+    }
+
+    @Test
+    public void testTransfers() {
+        MultiPhonebook pb = new MultiPhonebook();
+        pb.addNumber("Arnold", "894-59-0011");
+        pb.addNumber("Arnold", "705-12-7500");
+        pb.addNumber("Tiffany", "894-59-0011");
+        assertEquals("Tiffany", pb.getOwnerOf("894-59-0011"));
+        assertArrayEquals(new String[]{"705-12-7500"}, pb.getNumbersOf("Arnold").toArray());
+        assertEquals(2, pb.size());
+        assertEquals(2, pb.numberCount());
+        assertFalse(pb.deleteNumber("Arnold", "894-59-0011"));
+
+        assertEquals(1, pb.deleteName("Tiffany"));
+        assertNull(pb.getOwnerOf("894-59-0011"));
+        assertEquals(0, pb.deleteName("Tiffany"));
+        assertEquals(1, pb.size());
+    }
+
+    @Test
+    public void testManyNumbers() {
+        MultiPhonebook pb = new MultiPhonebook();
+        for(int i = 0; i < 10000; i++)
+            pb.addNumber("Name" + (i % 100), "301-405-" + i);
+        assertEquals(100, pb.size());
+        assertEquals(10000, pb.numberCount());
+        for(int i = 0; i < 10000; i++)
+            assertEquals("Name" + (i % 100), pb.getOwnerOf("301-405-" + i));
+        assertEquals(100, pb.getNumbersOf("Name42").size());
+        assertEquals("301-405-142", pb.getNumbersOf("Name42").get(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullNumber() {
+        new MultiPhonebook().addNumber("Arnold", null);
+    }
+}
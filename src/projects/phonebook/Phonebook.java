@@ -1,6 +1,13 @@
 package projects.phonebook;
 
 import projects.phonebook.hashes.*;
+import projects.phonebook.utils.HashStrategy;
+import projects.phonebook.utils.StandardHashStrategy;
+import projects.phonebook.utils.TableSizing;
+
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 
 /**
  * <p>{@link Phonebook} is an abstraction over phonebooks: databases of &lt; Full Name,
@@ -13,6 +20,10 @@ import projects.phonebook.hashes.*;
  * <b>exactly one</b> person. Study the implementation of this class to see for yourselves how this is attained by
  * interfacing with both internal hash tables. </p>
  *
+ * <p>A {@link Phonebook} can optionally maintain an <b>ordered index</b> of its phone numbers (see
+ * {@link #Phonebook(CollisionResolver, CollisionResolver, HashStrategy, boolean)}), which answers prefix queries such
+ * as &quot;all numbers in area code 301&quot; and lexicographic range queries without scanning the hash tables. </p>
+ *
  * <p>The Release Tests on the <a href ="https://submit.cs.umd.edu/">submit server</a> primarily test the methods of {@link Phonebook}
  * Since {@link Phonebook}'s methods rely on methods of {@link HashTable} instances, by parameterizing
  * {@link Phonebook} instances in all 3^2 = 9 possible ways, we can run the same tests against all of the hash
@@ -25,11 +36,37 @@ import projects.phonebook.hashes.*;
  * @see SeparateChainingHashTable
  * @see LinearProbingHashTable
  * @see QuadraticProbingHashTable
+ * @see RobinHoodHashTable
+ * @see CuckooHashTable
+ * @see SwissHashTable
  */
 public class Phonebook {
 
     private HashTable namesToNumbers ;
     private HashTable numbersToNames ;
+    private NavigableSet<String> numberIndex;  // null unless the Phonebook indexes its numbers.
+
+    // The smallest String which is greater than every String that starts with prefix, or null if there is none.
+    private static String prefixUpperBound(String prefix){
+        int end = prefix.length();
+        while(end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE)
+            end--;
+        if(end == 0)
+            return null;
+        return prefix.substring(0, end - 1) + (char)(prefix.charAt(end - 1) + 1);
+    }
+
+    // The four hash tables of the writeup hash with String.hashCode() only.
+    private static boolean isWriteupResolver(CollisionResolver resolver){
+        return resolver == CollisionResolver.SEPARATE_CHAINING || resolver == CollisionResolver.LINEAR_PROBING ||
+                resolver == CollisionResolver.ORDERED_LINEAR_PROBING || resolver == CollisionResolver.QUADRATIC_PROBING;
+    }
+
+    private NavigableSet<String> numberIndex(){
+        if(numberIndex == null)
+            throw new IllegalStateException("This Phonebook does not index its numbers.");
+        return numberIndex;
+    }
 
 
     /**
@@ -43,6 +80,52 @@ public class Phonebook {
      * @see CollisionResolver
      */
     public Phonebook(CollisionResolver namesToNumbersHash, CollisionResolver numbersToNamesHash) {
+        this(namesToNumbersHash, numbersToNamesHash, StandardHashStrategy.JAVA);
+    }
+
+    /**
+     * Instantiates a new {@link Phonebook} whose hash tables both use the provided hash function. The other parameters
+     * provide the collision resolution strategy for lookups based on name or number, respectively.
+     *
+     * @param namesToNumbersHash A {@link CollisionResolver} that will govern which subtype of {@link HashTable} will be used to
+     *                           create our hash table with <b>peoples' names</b> as keys.
+     * @param numbersToNamesHash A {@link CollisionResolver} that will govern which subtype of {@link HashTable} will be used to
+     *                           create our hash table with <b>phone numbers</b> as keys.
+     * @param hashStrategy The {@link HashStrategy} that both hash tables will apply to their keys. The four hash tables
+     *                     of the writeup only support {@link StandardHashStrategy#JAVA}.
+     * @throws IllegalArgumentException if hashStrategy is {@code null}, or if it is not {@link StandardHashStrategy#JAVA}
+     * and either {@link CollisionResolver} is one of the writeup.
+     * @see CollisionResolver
+     * @see HashStrategy
+     */
+    public Phonebook(CollisionResolver namesToNumbersHash, CollisionResolver numbersToNamesHash, HashStrategy hashStrategy) {
+        this(namesToNumbersHash, numbersToNamesHash, hashStrategy, false);
+    }
+
+    /**
+     * Instantiates a new {@link Phonebook} whose hash tables both use the provided hash function and which optionally
+     * maintains an ordered index of its phone numbers, for {@link #numbersWithPrefix(String)} and
+     * {@link #numbersInRange(String, String)}. The index is a balanced search tree, so it makes every insertion and
+     * deletion take <em>logarithmic</em> instead of amortized constant time.
+     *
+     * @param namesToNumbersHash A {@link CollisionResolver} that will govern which subtype of {@link HashTable} will be used to
+     *                           create our hash table with <b>peoples' names</b> as keys.
+     * @param numbersToNamesHash A {@link CollisionResolver} that will govern which subtype of {@link HashTable} will be used to
+     *                           create our hash table with <b>phone numbers</b> as keys.
+     * @param hashStrategy The {@link HashStrategy} that both hash tables will apply to their keys. The four hash tables
+     *                     of the writeup only support {@link StandardHashStrategy#JAVA}.
+     * @param indexNumbers {@code true} if and only if the {@link Phonebook} should maintain an ordered index of its numbers.
+     * @throws IllegalArgumentException if hashStrategy is {@code null}, or if it is not {@link StandardHashStrategy#JAVA}
+     * and either {@link CollisionResolver} is one of the writeup.
+     * @see CollisionResolver
+     * @see HashStrategy
+     */
+    public Phonebook(CollisionResolver namesToNumbersHash, CollisionResolver numbersToNamesHash, HashStrategy hashStrategy,
+                     boolean indexNumbers) {
+        if(hashStrategy == null)
+            throw new IllegalArgumentException("Provided a null hash strategy.");
+        if(hashStrategy != StandardHashStrategy.JAVA && (isWriteupResolver(namesToNumbersHash) || isWriteupResolver(numbersToNamesHash)))
+            throw new IllegalArgumentException("The hash tables of the writeup only hash with String.hashCode().");
 
         switch(namesToNumbersHash){
             case SEPARATE_CHAINING:
@@ -57,6 +140,15 @@ public class Phonebook {
             case QUADRATIC_PROBING:
                 namesToNumbers = new QuadraticProbingHashTable(false);
                 break;
+            case ROBIN_HOOD_HASHING:
+                namesToNumbers = new RobinHoodHashTable(RobinHoodHashTable.DEFAULT_MAX_LOAD_FACTOR, TableSizing.PRIME, hashStrategy);
+                break;
+            case CUCKOO_HASHING:
+                namesToNumbers = new CuckooHashTable(hashStrategy);
+                break;
+            case SWISS_TABLE:
+                namesToNumbers = new SwissHashTable(hashStrategy);
+                break;
             default:
                 throw new RuntimeException("Encountered unsupported CollisionResolver argument: " + namesToNumbersHash  + "." );
         }
@@ -74,9 +166,21 @@ public class Phonebook {
             case QUADRATIC_PROBING:
                 numbersToNames = new QuadraticProbingHashTable(false);
                 break;
+            case ROBIN_HOOD_HASHING:
+                numbersToNames = new RobinHoodHashTable(RobinHoodHashTable.DEFAULT_MAX_LOAD_FACTOR, TableSizing.PRIME, hashStrategy);
+                break;
+            case CUCKOO_HASHING:
+                numbersToNames = new CuckooHashTable(hashStrategy);
+                break;
+            case SWISS_TABLE:
+                numbersToNames = new SwissHashTable(hashStrategy);
+                break;
             default:
                 throw new RuntimeException("Encountered unsupported Collision Resolver " + numbersToNamesHash + ".");
         }
+
+        if(indexNumbers)
+            numberIndex = new TreeSet<>();
     }
 
     /** Retrieves the phone number associated with the provided full name. If the name is not in the database,
@@ -110,6 +214,25 @@ public class Phonebook {
             throw new IllegalArgumentException("Provided: name=" + name + " and number= " + number);
         namesToNumbers.put(name, number);
         numbersToNames.put(number, name);
+        if(numberIndex != null)
+            numberIndex.add(number);
+    }
+
+    /** Adds all the tuples &lt; names[i], numbers[i] &gt; in the {@link Phonebook}, exactly as if {@link #addEntry(String, String)}
+     * had been called for every one of them in order. Both internal hash tables are sized for all of the new entries
+     * <b>before</b> any of them is inserted, so loading a large directory resizes each table at most once instead of
+     * going through every intermediate capacity. If any argument is invalid, the {@link Phonebook} is not modified.
+     * @param names The full names of the numbers' owners.
+     * @param numbers The phone numbers, such that numbers[i] is the phone number of names[i].
+     * @throws IllegalArgumentException if either array or any of their elements is {@code null}, or if the arrays differ
+     * in length.
+     * @see HashTable#putAll(String[], String[])
+     */
+    public void bulkLoad(String[] names, String[] numbers) {
+        namesToNumbers.putAll(names, numbers);
+        numbersToNames.putAll(numbers, names);
+        if(numberIndex != null)
+            Collections.addAll(numberIndex, numbers);
     }
 
     /** Deletes the entry characterized by the arguments provided. If either argument is {@code null}, or if the
@@ -123,6 +246,48 @@ public class Phonebook {
             throw new IllegalArgumentException("Provided: name=" + name + " and number= " + number);
         namesToNumbers.remove(name);
         numbersToNames.remove(number);
+        if(numberIndex != null)
+            numberIndex.remove(number);
+    }
+
+    /** Queries the {@link Phonebook} about whether it maintains an ordered index of its phone numbers.
+     * @return {@code true} if, and only if, {@link #numbersWithPrefix(String)} and {@link #numbersInRange(String, String)}
+     * are supported.
+     */
+    public boolean hasNumberIndex() {
+        return numberIndex != null;
+    }
+
+    /** Returns all the phone numbers which start with the provided prefix, in lexicographic order. The result is a
+     * read-only <b>view</b> of the index, which is produced lazily while it is traversed and which reflects subsequent
+     * changes to the {@link Phonebook}; traversing it while the {@link Phonebook} is modified throws a
+     * {@link java.util.ConcurrentModificationException}.
+     * @param prefix The prefix of the numbers, e.g an area code.
+     * @return A view of the numbers that start with prefix, which takes logarithmic time to create.
+     * @throws IllegalArgumentException if prefix is {@code null}.
+     * @throws IllegalStateException if the {@link Phonebook} does not index its numbers.
+     */
+    public NavigableSet<String> numbersWithPrefix(String prefix) {
+        if(prefix == null)
+            throw new IllegalArgumentException("Provided a null prefix.");
+        String upperBound = prefixUpperBound(prefix);
+        NavigableSet<String> index = numberIndex();
+        return Collections.unmodifiableNavigableSet(upperBound == null ? index.tailSet(prefix, true) :
+                index.subSet(prefix, true, upperBound, false));
+    }
+
+    /** Returns all the phone numbers in the lexicographic range [from, to), in lexicographic order. Like
+     * {@link #numbersWithPrefix(String)}, the result is a lazily produced, read-only view of the index.
+     * @param from The inclusive lower bound of the range.
+     * @param to The exclusive upper bound of the range.
+     * @return A view of the numbers in the range, which takes logarithmic time to create.
+     * @throws IllegalArgumentException if either bound is {@code null}, or if from is greater than to.
+     * @throws IllegalStateException if the {@link Phonebook} does not index its numbers.
+     */
+    public NavigableSet<String> numbersInRange(String from, String to) {
+        if(from == null || to == null || from.compareTo(to) > 0)
+            throw new IllegalArgumentException("Provided: from=" + from + " and to=" + to);
+        return Collections.unmodifiableNavigableSet(numberIndex().subSet(from, true, to, false));
     }
 
     /** Returns the number of entries in the phonebook.
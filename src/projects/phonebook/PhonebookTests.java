@@ -0,0 +1,130 @@
+package projects.phonebook;
+
+import org.junit.Test;
+import projects.phonebook.hashes.CollisionResolver;
+import projects.phonebook.utils.StandardHashStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link PhonebookTests} is a small jUnit - based test suite for the ordered number index, the bulk loading and the
+ * hash strategies of {@link Phonebook}. The rest of {@link Phonebook} is tested by {@link StudentTests}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see Phonebook
+ */
+public class PhonebookTests {
+
+    private static Phonebook indexedPhonebook(){
+        return new Phonebook(CollisionResolver.ROBIN_HOOD_HASHING, CollisionResolver.SWISS_TABLE,
+                StandardHashStrategy.JAVA, true);
+    }
+
+    private static List<String> toList(Iterable<String> numbers){
+        List<String> list = new ArrayList<>();
+        numbers.forEach(list::add);
+        return list;
+    }
+
+    @Test
+    public void testPrefixQueries() {
+        Phonebook pb = indexedPhonebook();
+        assertTrue(pb.hasNumberIndex());
+        pb.addEntry("Arnold", "301-405-0011");
+        pb.addEntry("Tiffany", "240-555-0199");
+        pb.addEntry("Jessie", "301-314-7500");
+        pb.addEntry("Mary", "3010-000-000");
+        assertEquals(Arrays.asList("301-314-7500", "301-405-0011"), toList(pb.numbersWithPrefix("301-")));
+        assertEquals(Arrays.asList("301-314-7500", "301-405-0011", "3010-000-000"), toList(pb.numbersWithPrefix("301")));
+        assertEquals(4, pb.numbersWithPrefix("").size());
+        assertTrue(pb.numbersWithPrefix("410").isEmpty());
+
+        pb.deleteEntry("Jessie", "301-314-7500");
+        assertEquals(Arrays.asList("301-405-0011"), toList(pb.numbersWithPrefix("301-")));
+        for(String number : pb.numbersWithPrefix("301"))
+            assertNotNull(pb.getOwnerOf(number));
+    }
+
+    @Test
+    public void testRangeQueries() {
+        Phonebook pb = indexedPhonebook();
+        String[] names = new String[1000], numbers = new String[1000];
+        for(int i = 0; i < names.length; i++) {
+            names[i] = "Name" + i;
+            numbers[i] = String.format("301-405-%04d", i);
+        }
+        pb.bulkLoad(names, numbers);
+        assertEquals(100, pb.numbersInRange("301-405-0100", "301-405-0200").size());
+        Iterator<String> it = pb.numbersInRange("301-405-0998", "301-406").iterator();
+        assertEquals("301-405-0998", it.next());
+        assertEquals("301-405-0999", it.next());
+        assertFalse(it.hasNext());
+        assertEquals(10, pb.numbersWithPrefix("301-405-012").size());
+        assertEquals("301-405-0120", pb.numbersWithPrefix("301-405-012").first());
+    }
+
+    @Test
+    public void testPrefixOfMaximalChars() {
+        Phonebook pb = indexedPhonebook();
+        String max = String.valueOf(Character.MAX_VALUE);
+        pb.addEntry("Arnold", "9" + max + max);
+        pb.addEntry("Tiffany", "9" + max);
+        pb.addEntry("Jessie", ":");
+        assertEquals("\":\" comes right after \"9\".", 2, pb.numbersWithPrefix("9" + max).size());
+        assertTrue(pb.numbersWithPrefix(max).isEmpty());
+        assertEquals(1, pb.numbersWithPrefix(":").size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testViewsAreReadOnly() {
+        Phonebook pb = indexedPhonebook();
+        pb.addEntry("Arnold", "301-405-0011");
+        pb.numbersWithPrefix("301").pollFirst();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNoIndex() {
+        Phonebook pb = new Phonebook(CollisionResolver.SWISS_TABLE, CollisionResolver.SWISS_TABLE);
+        assertFalse(pb.hasNumberIndex());
+        pb.numbersWithPrefix("301");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvertedRange() {
+        indexedPhonebook().numbersInRange("302", "301");
+    }
+
+    @Test
+    public void testBulkLoad() {
+        String[] names = new String[1000], numbers = new String[1000];
+        for(int i = 0; i < names.length; i++) {
+            names[i] = "Name" + i;
+            numbers[i] = "301-405-" + i;
+        }
+        Phonebook pb = new Phonebook(CollisionResolver.CUCKOO_HASHING, CollisionResolver.SWISS_TABLE);
+        pb.bulkLoad(names, numbers);
+        assertEquals(names.length, pb.size());
+        assertEquals("301-405-999", pb.getNumberOf("Name999"));
+        assertEquals("Name0", pb.getOwnerOf("301-405-0"));
+    }
+
+    @Test
+    public void testHashStrategies() {
+        Phonebook pb = new Phonebook(CollisionResolver.ROBIN_HOOD_HASHING, CollisionResolver.CUCKOO_HASHING,
+                StandardHashStrategy.MURMUR3);
+        pb.addEntry("Arnold", "301-405-0011");
+        assertEquals("301-405-0011", pb.getNumberOf("Arnold"));
+        assertEquals("Arnold", pb.getOwnerOf("301-405-0011"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteupTablesOnlyHashWithJava() {
+        new Phonebook(CollisionResolver.SWISS_TABLE, CollisionResolver.LINEAR_PROBING, StandardHashStrategy.FNV1A);
+    }
+}
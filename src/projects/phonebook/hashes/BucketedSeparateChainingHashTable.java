@@ -0,0 +1,237 @@
+package projects.phonebook.hashes;
+
+import projects.phonebook.utils.BucketType;
+import projects.phonebook.utils.HashStrategy;
+import projects.phonebook.utils.KVBucket;
+import projects.phonebook.utils.KVPair;
+import projects.phonebook.utils.PrimeGenerator;
+import projects.phonebook.utils.Probes;
+import projects.phonebook.utils.StandardHashStrategy;
+import projects.phonebook.utils.TableSizing;
+import projects.phonebook.utils.TreeifiedKVBucket;
+
+/**
+ * <p>{@link BucketedSeparateChainingHashTable} is a {@link HashTable} which resolves collisions with <b>Separate
+ * Chaining</b>, exactly like {@link SeparateChainingHashTable}, but lets the caller choose the {@link BucketType} of its
+ * collision chains:</p>
+ *
+ * <ul>
+ *     <li>{@link BucketType#LINKED_LIST} chains are the linked lists of the writeup.</li>
+ *     <li>{@link BucketType#ARRAY} chains scan parallel arrays of cached hash codes instead of chasing pointers.</li>
+ *     <li>{@link BucketType#TREEIFIED} chains turn into balanced trees once they grow past
+ *     {@link TreeifiedKVBucket#TREEIFY_THRESHOLD} pairs, so that even keys which all collide are found in a logarithmic
+ *     number of comparisons.</li>
+ * </ul>
+ *
+ * <p>The capacities, the probe counts and the resizing policy are those of {@link SeparateChainingHashTable}: the table
+ * never resizes on its own, and is resized through {@link #enlarge()} and {@link #shrink()}. The insertion of a fresh key
+ * pays a single probe, while the insertion of an existing key updates its value and pays the probes of finding it.
+ * Searches and deletions report the probes of their chain, as documented by {@link KVBucket}.</p>
+ *
+ * <p>The table can also be created with {@link TableSizing#POWER_OF_TWO}, which replaces the prime capacities and the
+ * modulo of every chain lookup with power of two capacities and a bit mask over a scrambled hash code, and with any
+ * {@link HashStrategy} instead of {@link String#hashCode()}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTable
+ * @see SeparateChainingHashTable
+ * @see BucketType
+ * @see KVBucket
+ */
+public class BucketedSeparateChainingHashTable implements HashTable {
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE FIELDS *********************** */
+    /* ************************************************************ */
+
+    private KVBucket[] table;   // Chains are only created once a key hashes to them.
+    private int count;
+    private final PrimeGenerator primeGenerator;
+    private final BucketType bucketType;
+    private final TableSizing sizing;
+    private final HashStrategy hashStrategy;
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE METHODS ********************** */
+    /* ************************************************************ */
+
+    private int hash(String key){
+        return sizing.index(sizing.hashCodeOf(key, hashStrategy), table.length);
+    }
+
+    private void rehash(int newCapacity){
+        KVBucket[] oldTable = table;
+        table = new KVBucket[newCapacity];
+        for(KVBucket chain : oldTable)
+            if(chain != null)
+                for(KVPair pair : chain)
+                    chainOf(pair.getKey()).addBack(pair.getKey(), pair.getValue());
+    }
+
+    private KVBucket chainOf(String key){
+        int i = hash(key);
+        if(table[i] == null)
+            table[i] = bucketType.create();
+        return table[i];
+    }
+
+    /* ************************************************************ */
+    /* ********************* PUBLIC METHODS *********************** */
+    /* ************************************************************ */
+
+    /**
+     * Default constructor. Initializes the internal storage with a size equal to the default of {@link PrimeGenerator},
+     * with the linked list chains of the writeup.
+     */
+    public BucketedSeparateChainingHashTable(){
+        this(BucketType.LINKED_LIST);
+    }
+
+    /**
+     * Constructor with a chain type. Initializes the internal storage exactly like
+     * {@link #BucketedSeparateChainingHashTable()}.
+     * @param bucketType The {@link BucketType} of every collision chain.
+     * @throws IllegalArgumentException if bucketType is {@code null}.
+     */
+    public BucketedSeparateChainingHashTable(BucketType bucketType){
+        this(bucketType, TableSizing.PRIME);
+    }
+
+    /**
+     * Constructor with a chain type and a sizing scheme. With {@link TableSizing#POWER_OF_TWO}, the table starts with 8
+     * chains, doubles on {@link #enlarge()}, halves on {@link #shrink()} and maps hash codes to chains with a bit mask
+     * instead of a modulo.
+     * @param bucketType The {@link BucketType} of every collision chain.
+     * @param sizing The scheme that determines the capacities of the table.
+     * @throws IllegalArgumentException if bucketType or sizing is {@code null}.
+     */
+    public BucketedSeparateChainingHashTable(BucketType bucketType, TableSizing sizing){
+        this(bucketType, sizing, StandardHashStrategy.JAVA);
+    }
+
+    /**
+     * Constructor with a chain type, a sizing scheme and a hash function.
+     * @param bucketType The {@link BucketType} of every collision chain.
+     * @param sizing The scheme that determines the capacities of the table.
+     * @param hashStrategy The hash function to apply to keys.
+     * @throws IllegalArgumentException if bucketType, sizing or hashStrategy is {@code null}.
+     */
+    public BucketedSeparateChainingHashTable(BucketType bucketType, TableSizing sizing, HashStrategy hashStrategy){
+        if(bucketType == null || sizing == null || hashStrategy == null)
+            throw new IllegalArgumentException("Provided: bucketType=" + bucketType + ", sizing=" + sizing +
+                    " and hashStrategy=" + hashStrategy);
+        this.bucketType = bucketType;
+        this.sizing = sizing;
+        this.hashStrategy = hashStrategy;
+        primeGenerator = new PrimeGenerator();
+        table = new KVBucket[sizing.initialCapacity(primeGenerator)];
+        count = 0;
+    }
+
+    /**
+     * Returns the type of the collision chains of this.
+     * @return The {@link BucketType} that this was created with.
+     */
+    public BucketType getBucketType(){
+        return bucketType;
+    }
+
+    @Override
+    public Probes put(String key, String value) {
+        if(key == null || value == null)
+            throw new IllegalArgumentException("Provided: key=" + key + " and value=" + value);
+        KVBucket chain = chainOf(key);
+        Probes existing = chain.getValue(key);
+        if(existing.getValue() != null) {
+            chain.updateValue(key, value);
+            return new Probes(value, existing.getProbes());
+        }
+        chain.addBack(key, value);
+        count++;
+        return new Probes(value, 1);
+    }
+
+    @Override
+    public Probes get(String key) {
+        if(key == null)
+            return new Probes(null, 0);
+        KVBucket chain = table[hash(key)];
+        return (chain == null) ? new Probes(null, 1) : chain.getValue(key);
+    }
+
+    @Override
+    public Probes remove(String key) {
+        if(key == null)
+            return new Probes(null, 0);
+        KVBucket chain = table[hash(key)];
+        if(chain == null)
+            return new Probes(null, 1);
+        Probes removed = chain.removeByKey(key);
+        if(removed.getValue() != null)
+            count--;
+        return removed;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        if(key == null)
+            return false;
+        KVBucket chain = table[hash(key)];
+        return chain != null && chain.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(String value) {
+        if(value == null)
+            return false;
+        for(KVBucket chain : table)
+            if(chain != null && chain.containsValue(value))
+                return true;
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int capacity() {
+        return table.length;
+    }
+
+    /**
+     * Since this table never resizes on its own, it enlarges itself until it has at least as many chains as
+     * expectedSize, so that its chains hold at most one pair on average.
+     * @param expectedSize The number of records that the table is expected to hold.
+     * @throws IllegalArgumentException if expectedSize is negative.
+     */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        HashTable.super.ensureCapacity(expectedSize);
+        int capacity = table.length;
+        while(capacity < expectedSize)
+            capacity = sizing.nextCapacity(capacity, primeGenerator);
+        if(capacity != table.length)
+            rehash(capacity);
+    }
+
+    /**
+     * Enlarges this hash table to the next capacity of its {@link TableSizing}: under {@link TableSizing#PRIME}, the next
+     * prime provided by {@link PrimeGenerator}, exactly like {@link SeparateChainingHashTable#enlarge()}.
+     * @see TableSizing#nextCapacity(int, PrimeGenerator)
+     */
+    public void enlarge() {
+        rehash(sizing.nextCapacity(table.length, primeGenerator));
+    }
+
+    /**
+     * Shrinks this hash table to the previous capacity of its {@link TableSizing}: under {@link TableSizing#PRIME}, the
+     * previous prime provided by {@link PrimeGenerator}, exactly like {@link SeparateChainingHashTable#shrink()}.
+     * @see TableSizing#previousCapacity(int, PrimeGenerator)
+     */
+    public void shrink(){
+        rehash(sizing.previousCapacity(table.length, primeGenerator));
+    }
+}
@@ -0,0 +1,207 @@
+package projects.phonebook.hashes;
+
+import org.junit.Test;
+import projects.phonebook.utils.BucketType;
+import projects.phonebook.utils.Probes;
+import projects.phonebook.utils.StandardHashStrategy;
+import projects.phonebook.utils.TableSizing;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link BucketedSeparateChainingHashTableTests} is a small jUnit - based test suite for
+ * {@link BucketedSeparateChainingHashTable}. Since every {@link BucketType} reports the probes of the writeup on short
+ * chains, the expected values below are the same as those of the Separate Chaining tests in
+ * {@link projects.phonebook.StudentTests}, whatever the chains of the table.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see BucketedSeparateChainingHashTable
+ */
+public class BucketedSeparateChainingHashTableTests {
+
+    private static final int SEED = 47;
+
+    @Test
+    public void testProbes() {
+        for(BucketType bucketType : BucketType.values()) {
+            BucketedSeparateChainingHashTable table = new BucketedSeparateChainingHashTable(bucketType);
+            assertEquals(bucketType, table.getBucketType());
+            assertEquals(1, table.put("Arnold", "894-59-0011").getProbes());
+            assertEquals(1, table.put("Tiffany", "894-59-0011").getProbes());
+            assertEquals(1, table.put("Jessie", "705-12-7500").getProbes());
+            assertEquals(1, table.put("Mary", "888-1212-3340").getProbes());
+
+            assertEquals(1, table.get("Arnold").getProbes());
+            assertEquals("894-59-0011", table.get("Arnold").getValue());
+            assertEquals(1, table.get("Tiffany").getProbes());
+            assertEquals(bucketType + " chains should report the probes of the writeup.", 2, table.get("Jessie").getProbes());
+            assertEquals(1, table.get("Mary").getProbes());
+
+            // Search fail
+            assertEquals(2, table.get("Jerry").getProbes());
+            assertEquals(2, table.remove("Jerry").getProbes());
+            assertNull(table.remove("Jerry").getValue());
+
+            assertEquals(1, table.remove("Arnold").getProbes());
+            assertEquals(1, table.remove("Tiffany").getProbes());
+            assertEquals(1, table.remove("Jessie").getProbes());
+            assertEquals(1, table.remove("Mary").getProbes());
+            assertEquals(0, table.size());
+        }
+    }
+
+    @Test
+    public void testResizing() {
+        BucketedSeparateChainingHashTable table = new BucketedSeparateChainingHashTable(BucketType.ARRAY);
+        assertEquals(7, table.capacity());
+        for(int i = 0; i < 20; i++)
+            table.put("Name" + i, "301-405-" + i);
+        assertEquals("The table never resizes on its own.", 7, table.capacity());
+        table.enlarge();
+        assertEquals(13, table.capacity());
+        table.enlarge();
+        assertEquals(23, table.capacity());
+        table.shrink();
+        assertEquals(13, table.capacity());
+        table.ensureCapacity(100);
+        assertTrue(table.capacity() >= 100);
+        assertEquals(20, table.size());
+        for(int i = 0; i < 20; i++)
+            assertEquals("301-405-" + i, table.get("Name" + i).getValue());
+    }
+
+    @Test
+    public void testPowerOfTwoSizing() {
+        BucketedSeparateChainingHashTable table = new BucketedSeparateChainingHashTable(BucketType.ARRAY,
+                TableSizing.POWER_OF_TWO);
+        assertEquals(8, table.capacity());
+        for(int i = 0; i < 20; i++)
+            table.put("Name" + i, "301-405-" + i);
+        table.enlarge();
+        assertEquals(16, table.capacity());
+        table.ensureCapacity(100);
+        assertEquals(128, table.capacity());
+        table.shrink();
+        assertEquals(64, table.capacity());
+        for(int i = 0; i < 20; i++)
+            assertEquals("301-405-" + i, table.get("Name" + i).getValue());
+    }
+
+    private static void checkAgainstHashMap(BucketedSeparateChainingHashTable table) {
+        Map<String, String> expected = new HashMap<>();
+        Random r = new Random(SEED);
+        for(int i = 0; i < 5000; i++) {
+            String key = "Key" + r.nextInt(500), value = "Value" + r.nextInt(100);
+            if(r.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), table.remove(key).getValue());
+            } else {
+                expected.put(key, value);
+                table.put(key, value);
+            }
+            if(i % 1000 == 999)
+                table.enlarge();
+        }
+        assertEquals(expected.size(), table.size());
+        for(int i = 0; i < 500; i++) {
+            String key = "Key" + i;
+            assertEquals(expected.get(key), table.get(key).getValue());
+            assertEquals(expected.containsKey(key), table.containsKey(key));
+        }
+        assertEquals(expected.containsValue("Value7"), table.containsValue("Value7"));
+        assertFalse(table.containsValue("Value100"));
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        for(BucketType bucketType : BucketType.values()) {
+            checkAgainstHashMap(new BucketedSeparateChainingHashTable(bucketType));
+            checkAgainstHashMap(new BucketedSeparateChainingHashTable(bucketType, TableSizing.POWER_OF_TWO));
+            for(StandardHashStrategy hashStrategy : StandardHashStrategy.values())
+                checkAgainstHashMap(new BucketedSeparateChainingHashTable(bucketType, TableSizing.PRIME, hashStrategy));
+        }
+    }
+
+    // Keys made of blocks of "Aa" and "BB", which have the same hashCode(), so all of them share a chain.
+    private static String collidingKey(int index){
+        StringBuilder key = new StringBuilder();
+        for(int b = 0; b < 10; b++)
+            key.append(((index >>> b) & 1) == 0 ? "Aa" : "BB");
+        return key.toString();
+    }
+
+    @Test
+    public void testCollidingKeys() {
+        int n = 1023, maxProbes = (int)(1.45 * Math.log(n + 2) / Math.log(2)) + 1;  // The height of an AVL tree, plus one.
+        BucketedSeparateChainingHashTable treeified = new BucketedSeparateChainingHashTable(BucketType.TREEIFIED),
+                linked = new BucketedSeparateChainingHashTable(BucketType.LINKED_LIST);
+        for(int i = 0; i < n; i++) {
+            assertEquals(collidingKey(0).hashCode(), collidingKey(i).hashCode());
+            treeified.put(collidingKey(i), "Value" + i);
+            linked.put(collidingKey(i), "Value" + i);
+        }
+        treeified.enlarge();    // The chain stays whole, whatever the capacity.
+        assertEquals("A list finds the last key at the end of the chain.", n, linked.get(collidingKey(n - 1)).getProbes());
+        for(int i = 0; i < n; i++) {
+            Probes probes = treeified.get(collidingKey(i));
+            assertEquals("Value" + i, probes.getValue());
+            assertTrue(probes.getProbes() + " probes for key " + i + ".", probes.getProbes() <= maxProbes);
+        }
+        Probes miss = treeified.get(collidingKey(n));   // Collides with every key, but is not in the table.
+        assertNull(miss.getValue());
+        assertTrue(miss.getProbes() <= maxProbes);
+        assertTrue(treeified.put(collidingKey(5), "Updated").getProbes() <= maxProbes);
+        assertEquals(n, treeified.size());
+        for(int i = 0; i < n - 3; i++) {
+            Probes removed = treeified.remove(collidingKey(i));
+            assertEquals((i == 5) ? "Updated" : "Value" + i, removed.getValue());
+            assertTrue(removed.getProbes() <= maxProbes);
+        }
+        assertEquals(3, treeified.size());
+        assertFalse(treeified.containsKey(collidingKey(0)));
+        assertTrue(treeified.containsValue("Value" + (n - 2)));
+    }
+
+    @Test
+    public void testUpdate() {
+        BucketedSeparateChainingHashTable table = new BucketedSeparateChainingHashTable(BucketType.ARRAY);
+        table.put("Arnold", "894-59-0011");
+        table.put("Jessie", "705-12-7500");
+        assertEquals("Updating Jessie should find it second in its chain.", 2, table.put("Jessie", "888-1212-3340").getProbes());
+        assertEquals(2, table.size());
+        assertEquals("888-1212-3340", table.get("Jessie").getValue());
+        assertNull(table.get(null).getValue());
+        assertNull(table.remove(null).getValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullValue() {
+        new BucketedSeparateChainingHashTable().put("Arnold", null);
+    }
+
+    @Test
+    public void testHashStrategy() {
+        // Under FNV-1a, these keys, which all collide under String.hashCode(), land in 8 different chains of 1259.
+        BucketedSeparateChainingHashTable table = new BucketedSeparateChainingHashTable(BucketType.LINKED_LIST,
+                TableSizing.PRIME, StandardHashStrategy.FNV1A);
+        table.ensureCapacity(1000);
+        for(int i = 0; i < 8; i++)
+            table.put(collidingKey(i), "Value" + i);
+        for(int i = 0; i < 8; i++)
+            assertEquals(1, table.get(collidingKey(i)).getProbes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullHashStrategy() {
+        new BucketedSeparateChainingHashTable(BucketType.ARRAY, TableSizing.PRIME, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullBucketType() {
+        new BucketedSeparateChainingHashTable(null);
+    }
+}
@@ -2,7 +2,7 @@ package projects.phonebook.hashes;
 
 /**
  * <p>{@link CollisionResolver} is an enum which provides named constants for
- * four of the most widely used collision resolution techniques in hash tables: </p>
+ * seven of the most widely used collision resolution techniques in hash tables: </p>
  * <ol>
  *     <li><i>Separate Chaining</i>, a simple collision resolver which allocates a linked list for every cell of the hash table.
  *          All keys hashed to the same cell are put in the back of a linked list which containsKVPair all same-hash keys. Enlarging this hash table
@@ -14,6 +14,13 @@ package projects.phonebook.hashes;
  *     making searches destined to fail, fail <b>faster!</b></li>
  *     <li><i>Quadratic Probing</i>, a  modification of Linear Probing where collisions are resolved by having the key make quadratically - increased &quot; jumps &quot;
  *     until it finds an empty cell. See writeup for more details.</li>
+ *     <li><i>Robin Hood Hashing</i>, a modification of Linear Probing where an inserted key evicts any key of its collision chain
+ *     which is <b>closer</b> to its own home cell, keeping probe sequences short and uniform even at high load factors.</li>
+ *     <li><i>Cuckoo Hashing</i>, where every key can only live in one of two buckets, chosen by two independent hash functions,
+ *     and an inserted key <b>evicts</b> keys from their buckets when both of its own are full. Searches examine at most two buckets
+ *     and a small stash, providing <b>worst-case</b> constant time lookups.</li>
+ *     <li><i>Swiss Tables</i>, an Open Addressing method which keeps a byte of metadata per cell and examines the metadata of
+ *     an entire <b>group</b> of cells with a few bitwise operations, only comparing the keys of cells whose metadata match.</li>
  * </ol>
  *
  * <p><b>**** DO NOT EDIT THIS ENUM! ****** </b></p>
@@ -24,10 +31,16 @@ package projects.phonebook.hashes;
  * @see SeparateChainingHashTable
  * @see LinearProbingHashTable
  * @see QuadraticProbingHashTable
+ * @see RobinHoodHashTable
+ * @see CuckooHashTable
+ * @see SwissHashTable
  */
 public enum CollisionResolver {
     SEPARATE_CHAINING,
     LINEAR_PROBING,
     ORDERED_LINEAR_PROBING,
-    QUADRATIC_PROBING
+    QUADRATIC_PROBING,
+    ROBIN_HOOD_HASHING,
+    CUCKOO_HASHING,
+    SWISS_TABLE
 }
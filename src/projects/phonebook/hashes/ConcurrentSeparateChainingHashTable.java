@@ -0,0 +1,350 @@
+package projects.phonebook.hashes;
+
+import projects.phonebook.utils.HashStrategy;
+import projects.phonebook.utils.PrimeGenerator;
+import projects.phonebook.utils.Probes;
+import projects.phonebook.utils.StandardHashStrategy;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>{@link ConcurrentSeparateChainingHashTable} is a <b>thread-safe</b> {@link HashTable} which, like
+ * {@link SeparateChainingHashTable}, resolves collisions by <b>Separate Chaining</b>. Multiple threads can read
+ * and write it at the same time without any external synchronization.</p>
+ *
+ * <p>The table is split into a fixed number of <b>segments</b>, every one of which is a small separately chained
+ * hash table guarded by its own lock (&quot;lock striping&quot;). Every key is sent to a segment based on its hash
+ * code, so writers only ever contend with other writers of the <b>same</b> segment. The collision chains themselves are
+ * <b>immutable</b> arrays: a writer never modifies a chain in place, but publishes a freshly copied chain instead.
+ * Readers therefore never lock; a call to {@link #get(String)} or {@link #containsKey(String)} reads a consistent
+ * snapshot of the relevant chain and scales with the number of reading threads.</p>
+ *
+ * <p>Just like {@link SeparateChainingHashTable}, resizing is left to the caller through {@link #enlarge()} and
+ * {@link #shrink()}. A resizing does <b>not</b> stop the world: segments are resized one at a time, every one of them
+ * only blocking the writers of that segment, while readers keep reading the old chains until the new ones are
+ * published. {@link #size()}, {@link #capacity()} and {@link #containsValue(String)} are <em>weakly consistent</em>: they
+ * do not block writers and might not reflect writes that happen concurrently with them.</p>
+ *
+ * <p>The number of probes reported for every operation follows the conventions of {@link SeparateChainingHashTable}:
+ * a successful search or deletion pays one probe per chain element up to and including the sought key, an
+ * unsuccessful one pays one probe more than the chain's length, and the insertion of a fresh key pays a single probe.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTable
+ * @see SeparateChainingHashTable
+ */
+public class ConcurrentSeparateChainingHashTable implements HashTable {
+
+    /**
+     * The default number of segments, i.e the default number of writers that can proceed without contention.
+     */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /* ************************************************************ */
+    /* ****************** PRIVATE FIELDS / CLASSES **************** */
+    /* ************************************************************ */
+
+    // Immutable, so that chains can be read without locking.
+    private static final class Entry {
+        final String key;
+        final String value;
+        final int hash;
+
+        Entry(String key, String value, int hash){
+            this.key = key;
+            this.value = value;
+            this.hash = hash;
+        }
+    }
+
+    // Every segment is its own lock. The table reference is volatile and its cells are read and written
+    // with volatile semantics through AtomicReferenceArray, so readers always see fully built chains.
+    @SuppressWarnings("serial")  // Segments are never serialized.
+    private static final class Segment extends ReentrantLock {
+        volatile AtomicReferenceArray<Entry[]> table;
+        volatile int count;
+        final PrimeGenerator primeGenerator;
+
+        Segment(){
+            primeGenerator = new PrimeGenerator();
+            table = new AtomicReferenceArray<>(primeGenerator.getCurrPrime());
+            count = 0;
+        }
+    }
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final HashStrategy hashStrategy;
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE METHODS ********************** */
+    /* ************************************************************ */
+
+    // Same masking as SeparateChainingHashTable: we filter away negative values.
+    private int hashCodeOf(String key){
+        return hashStrategy.hash(key) & 0x7fffffff;
+    }
+
+    // The chain index depends on the hash code modulo a prime, so we select the segment from the
+    // upper half of a scrambled hash code to keep the two choices independent.
+    private Segment segmentFor(int hash){
+        return segments[((hash * 0x9E3779B9) >>> 16) & segmentMask];
+    }
+
+    private static int chainIndex(int hash, AtomicReferenceArray<Entry[]> table){
+        return hash % table.length();
+    }
+
+    private static int indexOf(Entry[] chain, String key, int hash){
+        if(chain != null)
+            for(int i = 0; i < chain.length; i++)
+                if(chain[i].hash == hash && chain[i].key.equals(key))
+                    return i;
+        return -1;
+    }
+
+    // Must be called with the segment's lock held.
+    private static void rehash(Segment segment, int newCapacity){
+        AtomicReferenceArray<Entry[]> oldTable = segment.table;
+        Entry[][] chains = new Entry[newCapacity][];
+        for(int i = 0; i < oldTable.length(); i++){
+            Entry[] chain = oldTable.get(i);
+            if(chain == null)
+                continue;
+            for(Entry e : chain){
+                int idx = e.hash % newCapacity;
+                Entry[] target = chains[idx];
+                if(target == null) {
+                    target = new Entry[]{e};
+                } else {
+                    target = Arrays.copyOf(target, target.length + 1);
+                    target[target.length - 1] = e;
+                }
+                chains[idx] = target;
+            }
+        }
+        AtomicReferenceArray<Entry[]> newTable = new AtomicReferenceArray<>(chains);
+        segment.table = newTable; // Volatile write: publishes the fully built table to readers.
+    }
+
+    /* ************************************************************ */
+    /* ********************* PUBLIC METHODS *********************** */
+    /* ************************************************************ */
+
+    /**
+     * Default constructor. Uses {@link #DEFAULT_CONCURRENCY_LEVEL} segments, every one of which starts with the default
+     * capacity of {@link PrimeGenerator}.
+     */
+    public ConcurrentSeparateChainingHashTable(){
+        this(DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructor which allows the caller to specify the expected number of concurrently writing threads.
+     * @param concurrencyLevel The expected number of concurrent writers. The actual number of segments will be the smallest
+     *                         power of two which is at least concurrencyLevel.
+     * @throws IllegalArgumentException if concurrencyLevel is not in the range [1, 65536].
+     */
+    public ConcurrentSeparateChainingHashTable(int concurrencyLevel){
+        this(concurrencyLevel, StandardHashStrategy.JAVA);
+    }
+
+    /**
+     * Constructor which allows the caller to specify the expected number of concurrently writing threads and a hash function.
+     * @param concurrencyLevel The expected number of concurrent writers. The actual number of segments will be the smallest
+     *                         power of two which is at least concurrencyLevel.
+     * @param hashStrategy The hash function to apply to keys. It selects both the segment and the chain of a key.
+     * @throws IllegalArgumentException if concurrencyLevel is not in the range [1, 65536], or if hashStrategy is {@code null}.
+     */
+    public ConcurrentSeparateChainingHashTable(int concurrencyLevel, HashStrategy hashStrategy){
+        if(concurrencyLevel <= 0 || concurrencyLevel > (1 << 16))
+            throw new IllegalArgumentException("Invalid concurrency level: " + concurrencyLevel + ".");
+        if(hashStrategy == null)
+            throw new IllegalArgumentException("Provided a null hash strategy.");
+        this.hashStrategy = hashStrategy;
+        int bits = 0;
+        while((1 << bits) < concurrencyLevel)
+            bits++;
+        segments = new Segment[1 << bits];
+        for(int i = 0; i < segments.length; i++)
+            segments[i] = new Segment();
+        segmentMask = segments.length - 1;
+    }
+
+    @Override
+    public Probes put(String key, String value) {
+        if(key == null || value == null)
+            throw new IllegalArgumentException("Provided: key=" + key + " and value=" + value);
+        int hash = hashCodeOf(key);
+        Segment segment = segmentFor(hash);
+        segment.lock();
+        try {
+            AtomicReferenceArray<Entry[]> table = segment.table;
+            int idx = chainIndex(hash, table);
+            Entry[] chain = table.get(idx);
+            int pos = indexOf(chain, key, hash);
+            Entry[] newChain;
+            int probes;
+            if(pos >= 0) { // Update
+                newChain = chain.clone();
+                newChain[pos] = new Entry(key, value, hash);
+                probes = pos + 1;
+            } else { // Insert at the back of the chain.
+                newChain = (chain == null) ? new Entry[1] : Arrays.copyOf(chain, chain.length + 1);
+                newChain[newChain.length - 1] = new Entry(key, value, hash);
+                segment.count++;
+                probes = 1;
+            }
+            table.set(idx, newChain);
+            return new Probes(value, probes);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    @Override
+    public Probes get(String key) {
+        if(key == null)
+            return new Probes(null, 0);
+        int hash = hashCodeOf(key);
+        AtomicReferenceArray<Entry[]> table = segmentFor(hash).table;
+        Entry[] chain = table.get(chainIndex(hash, table));
+        int pos = indexOf(chain, key, hash);
+        if(pos < 0)
+            return new Probes(null, (chain == null) ? 1 : chain.length + 1);
+        return new Probes(chain[pos].value, pos + 1);
+    }
+
+    @Override
+    public Probes remove(String key) {
+        if(key == null)
+            return new Probes(null, 0);
+        int hash = hashCodeOf(key);
+        Segment segment = segmentFor(hash);
+        segment.lock();
+        try {
+            AtomicReferenceArray<Entry[]> table = segment.table;
+            int idx = chainIndex(hash, table);
+            Entry[] chain = table.get(idx);
+            int pos = indexOf(chain, key, hash);
+            if(pos < 0)
+                return new Probes(null, (chain == null) ? 1 : chain.length + 1);
+            String value = chain[pos].value;
+            Entry[] newChain = null;
+            if(chain.length > 1) {
+                newChain = new Entry[chain.length - 1];
+                System.arraycopy(chain, 0, newChain, 0, pos);
+                System.arraycopy(chain, pos + 1, newChain, pos, chain.length - pos - 1);
+            }
+            table.set(idx, newChain);
+            segment.count--;
+            return new Probes(value, pos + 1);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        if(key == null)
+            return false;
+        int hash = hashCodeOf(key);
+        AtomicReferenceArray<Entry[]> table = segmentFor(hash).table;
+        return indexOf(table.get(chainIndex(hash, table)), key, hash) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(String value) {
+        if(value == null)
+            return false;
+        for(Segment segment : segments){
+            AtomicReferenceArray<Entry[]> table = segment.table;
+            for(int i = 0; i < table.length(); i++){
+                Entry[] chain = table.get(i);
+                if(chain != null)
+                    for(Entry e : chain)
+                        if(e.value.equals(value))
+                            return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        int sum = 0;
+        for(Segment segment : segments)
+            sum += segment.count;
+        return sum;
+    }
+
+    @Override
+    public int capacity() {
+        int sum = 0;
+        for(Segment segment : segments)
+            sum += segment.table.length();
+        return sum;
+    }
+
+    /**
+     * Returns the length of the longest collision chain over all segments. Chains are read without locking, so under
+     * concurrent modification, the result reflects some recent state of every chain.
+     * @return The length of the longest collision chain of the table.
+     */
+    @Override
+    public int longestCluster() {
+        int longest = 0;
+        for(Segment segment : segments){
+            AtomicReferenceArray<Entry[]> table = segment.table;
+            for(int i = 0; i < table.length(); i++){
+                Entry[] chain = table.get(i);
+                if(chain != null)
+                    longest = Math.max(longest, chain.length);
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Returns the number of segments of this table, i.e the number of writers that can proceed without contention.
+     * @return The number of segments of this table.
+     */
+    public int concurrencyLevel(){
+        return segments.length;
+    }
+
+    /**
+     * Enlarges this hash table. Every segment is enlarged to the prime number provided by its own {@link PrimeGenerator},
+     * one segment at a time: only the writers of the segment currently being enlarged are blocked.
+     * @see PrimeGenerator#getNextPrime()
+     */
+    public void enlarge() {
+        for(Segment segment : segments){
+            segment.lock();
+            try {
+                rehash(segment, segment.primeGenerator.getNextPrime());
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+    /**
+     * Shrinks this hash table. Every segment is shrunk to the prime number provided by its own {@link PrimeGenerator},
+     * one segment at a time: only the writers of the segment currently being shrunk are blocked.
+     * @see PrimeGenerator#getPreviousPrime()
+     */
+    public void shrink(){
+        for(Segment segment : segments){
+            segment.lock();
+            try {
+                rehash(segment, segment.primeGenerator.getPreviousPrime());
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+}
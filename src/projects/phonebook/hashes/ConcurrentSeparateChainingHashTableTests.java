@@ -0,0 +1,102 @@
+package projects.phonebook.hashes;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link ConcurrentSeparateChainingHashTableTests} is a small jUnit - based test suite for
+ * {@link ConcurrentSeparateChainingHashTable}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see ConcurrentSeparateChainingHashTable
+ */
+public class ConcurrentSeparateChainingHashTableTests {
+
+    private static final int THREADS = 8;
+    private static final int KEYS_PER_THREAD = 2000;
+
+    private ConcurrentSeparateChainingHashTable table;
+
+    private static String format(Throwable t){
+        return "Caught a " + t.getClass().getSimpleName()+ " with message: " + t.getMessage() + ".";
+    }
+
+    @Before
+    public void setUp(){
+        table = new ConcurrentSeparateChainingHashTable();
+    }
+
+    @After
+    public void tearDown(){
+        table = null;
+    }
+
+    @Test
+    public void testSequentialBehavior() {
+        assertEquals("A fresh table should have 16 segments of capacity 7.", 16 * 7, table.capacity());
+        assertEquals(1, table.put("Arnold", "894-59-0011").getProbes());
+        assertEquals(1, table.put("Tiffany", "894-59-0011").getProbes());
+        assertEquals("894-59-0011", table.get("Arnold").getValue());
+        assertEquals(2, table.size());
+        table.put("Arnold", "705-12-7500");
+        assertEquals("An update should not change the size.", 2, table.size());
+        assertEquals("705-12-7500", table.remove("Arnold").getValue());
+        assertNull(table.get("Arnold").getValue());
+        assertFalse(table.containsKey("Arnold"));
+        assertTrue(table.containsValue("894-59-0011"));
+        assertEquals(0, table.get(null).getProbes());
+
+        table.enlarge();
+        assertEquals("Every segment should have been enlarged to 13.", 16 * 13, table.capacity());
+        assertEquals("Keys should survive an enlargement.", "894-59-0011", table.get("Tiffany").getValue());
+        table.shrink();
+        assertEquals(16 * 7, table.capacity());
+        assertTrue(table.containsKey("Tiffany"));
+    }
+
+    @Test
+    public void testConcurrentWritersReadersAndResizes() throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[THREADS + 1];
+        for(int t = 0; t < THREADS; t++){
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < KEYS_PER_THREAD; i++) {
+                        String key = id + "-" + i;
+                        table.put(key, key);
+                        assertEquals("A thread should always read its own writes.", key, table.get(key).getValue());
+                        if (i % 2 == 1)
+                            assertEquals(key, table.remove(key).getValue());
+                    }
+                } catch (Throwable thrown){
+                    failure.compareAndSet(null, thrown);
+                }
+            });
+        }
+        threads[THREADS] = new Thread(() -> { // Resizes while everybody else is writing.
+            try {
+                for (int i = 0; i < 5; i++)
+                    table.enlarge();
+            } catch (Throwable thrown){
+                failure.compareAndSet(null, thrown);
+            }
+        });
+        for(Thread thread : threads)
+            thread.start();
+        for(Thread thread : threads)
+            thread.join();
+        if(failure.get() != null)
+            fail(format(failure.get()));
+        assertEquals(THREADS * KEYS_PER_THREAD / 2, table.size());
+        for(int t = 0; t < THREADS; t++)
+            for(int i = 0; i < KEYS_PER_THREAD; i++)
+                assertEquals(i % 2 == 0, table.containsKey(t + "-" + i));
+    }
+}
@@ -0,0 +1,331 @@
+package projects.phonebook.hashes;
+
+import projects.phonebook.utils.HashStrategy;
+import projects.phonebook.utils.PrimeGenerator;
+import projects.phonebook.utils.Probes;
+import projects.phonebook.utils.StandardHashStrategy;
+
+/**
+ * <p>{@link CuckooHashTable} is a {@link HashTable} which resolves collisions with <b>bucketized Cuckoo Hashing</b>. The
+ * table consists of <b>two</b> sub-tables of buckets, each of which can hold up to {@link #SLOTS_PER_BUCKET} keys, and every
+ * sub-table has its own hash function. A key can <b>only</b> ever live in one of its two candidate buckets, or, in the rare
+ * case that neither of those can fit it, in a small <em>stash</em> of at most {@link #STASH_SIZE} keys. A search therefore
+ * examines at most two buckets and the stash, no matter how full the table is or how unlucky the keys are: lookups take
+ * <b>constant time in the worst case</b>, not just on average.</p>
+ *
+ * <p>The price is paid by insertions. A key whose candidate buckets are both full evicts a key from one of them, which
+ * in turn moves to its <b>other</b> candidate bucket, possibly evicting yet another key, and so on, just like the cuckoo
+ * bird evicts the eggs of its hosts. If this chain of evictions grows longer than a fixed bound, we assume that we are in
+ * an insertion cycle and put the homeless key in the stash. If the stash is full as well, both sub-tables are enlarged to
+ * the number of buckets provided by {@link PrimeGenerator#getNextPrime()} and every key is re-inserted.</p>
+ *
+ * <p>Every bucket that an operation examines counts as a probe, and so does looking into a non-empty stash. A successful
+ * search pays 1 probe if the key is found in its first candidate bucket and 2 if it is found in its second one. The
+ * insertion of a fresh key pays for the search that precedes it plus one probe for every eviction it causes. Since there
+ * are no tombstones, there is only one deletion mode.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTable
+ * @see CollisionResolver
+ * @see PrimeGenerator
+ */
+public class CuckooHashTable implements HashTable {
+
+    /**
+     * The number of keys that fit in a single bucket.
+     */
+    public static final int SLOTS_PER_BUCKET = 4;
+
+    /**
+     * The maximum number of keys that the stash can hold.
+     */
+    public static final int STASH_SIZE = 4;
+
+    /**
+     * The fraction of slots that {@link #ensureCapacity(int)} sizes the table to fill. Bucketized cuckoo hashing with
+     * {@link #SLOTS_PER_BUCKET} slots per bucket rarely needs to enlarge below this load factor.
+     */
+    public static final double BULK_LOAD_FACTOR = 0.85;
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE FIELDS *********************** */
+    /* ************************************************************ */
+
+    // After this many evictions in a single insertion, we assume an insertion cycle.
+    private static final int MAX_EVICTIONS = 64;
+
+    // keys[t] and values[t] hold the slots of sub-table t, bucket b occupying
+    // the SLOTS_PER_BUCKET cells starting at b * SLOTS_PER_BUCKET.
+    private String[][] keys;
+    private String[][] values;
+    private int buckets;
+    private final String[] stashKeys = new String[STASH_SIZE];
+    private final String[] stashValues = new String[STASH_SIZE];
+    private int stashCount;
+    private int count;
+    private PrimeGenerator primeGenerator;
+    private final HashStrategy[] hashStrategies;  // One per sub-table.
+
+    // State of a xorshift generator which picks the slot to evict from. Seeded so that runs are reproducible.
+    private int evictionSeed = 0x2545F491;
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE METHODS ********************** */
+    /* ************************************************************ */
+
+    private int bucket(int t, String key){
+        return (hashStrategies[t].hash(key) & 0x7fffffff) % buckets;
+    }
+
+    private void allocate(int numBuckets){
+        buckets = numBuckets;
+        keys = new String[2][numBuckets * SLOTS_PER_BUCKET];
+        values = new String[2][numBuckets * SLOTS_PER_BUCKET];
+    }
+
+    // Returns the slot of key in the given bucket of sub-table t, or -1 if it is not there.
+    private int slotOf(int t, int b, String key){
+        int start = b * SLOTS_PER_BUCKET;
+        for(int s = start; s < start + SLOTS_PER_BUCKET; s++)
+            if(key.equals(keys[t][s]))
+                return s;
+        return -1;
+    }
+
+    private int freeSlot(int t, int b){
+        int start = b * SLOTS_PER_BUCKET;
+        for(int s = start; s < start + SLOTS_PER_BUCKET; s++)
+            if(keys[t][s] == null)
+                return s;
+        return -1;
+    }
+
+    private int stashIndexOf(String key){
+        for(int i = 0; i < stashCount; i++)
+            if(stashKeys[i].equals(key))
+                return i;
+        return -1;
+    }
+
+    private int nextEvictionSlot(){
+        evictionSeed ^= evictionSeed << 13;
+        evictionSeed ^= evictionSeed >>> 17;
+        evictionSeed ^= evictionSeed << 5;
+        return (evictionSeed & 0x7fffffff) % SLOTS_PER_BUCKET;
+    }
+
+    // Number of probes of a search that does not find its key.
+    private int missProbes(){
+        return (stashCount > 0) ? 3 : 2;
+    }
+
+    // Inserts a key known not to be in the table and returns the number of evictions it caused.
+    // Keys displaced by enlargements are re-inserted for free.
+    private int insertFresh(String key, String value){
+        int evictions = 0;
+        while(true) {
+            for(int t = 0; t < 2; t++) {
+                int s = freeSlot(t, bucket(t, key));
+                if(s >= 0) {
+                    keys[t][s] = key;
+                    values[t][s] = value;
+                    count++;
+                    return evictions;
+                }
+            }
+            int t = 0;
+            for(int i = 0; i < MAX_EVICTIONS; i++) {
+                int s = bucket(t, key) * SLOTS_PER_BUCKET + nextEvictionSlot();
+                String evictedKey = keys[t][s], evictedValue = values[t][s];
+                keys[t][s] = key;
+                values[t][s] = value;
+                key = evictedKey;
+                value = evictedValue;
+                evictions++;
+                t = 1 - t; // The evicted key moves to its candidate bucket in the other sub-table.
+                s = freeSlot(t, bucket(t, key));
+                if(s >= 0) {
+                    keys[t][s] = key;
+                    values[t][s] = value;
+                    count++;
+                    return evictions;
+                }
+            }
+            if(stashCount < STASH_SIZE) {
+                stashKeys[stashCount] = key;
+                stashValues[stashCount++] = value;
+                count++;
+                return evictions;
+            }
+            enlarge(); // We still hold a homeless key, which we try again with after the enlargement.
+        }
+    }
+
+    private void enlarge(){
+        rehash(primeGenerator.getNextPrime());
+    }
+
+    private void rehash(int numBuckets){
+        String[][] oldKeys = keys, oldValues = values;
+        String[] oldStashKeys = stashKeys.clone(), oldStashValues = stashValues.clone();
+        int oldStashCount = stashCount;
+        allocate(numBuckets);
+        count = 0;
+        stashCount = 0;
+        for(int t = 0; t < 2; t++)
+            for(int s = 0; s < oldKeys[t].length; s++)
+                if(oldKeys[t][s] != null)
+                    insertFresh(oldKeys[t][s], oldValues[t][s]);
+        for(int i = 0; i < oldStashCount; i++)
+            insertFresh(oldStashKeys[i], oldStashValues[i]);
+    }
+
+    /* ************************************************************ */
+    /* ********************* PUBLIC METHODS *********************** */
+    /* ************************************************************ */
+
+    /**
+     * Default constructor. Both sub-tables start with a number of buckets equal to the starting value of
+     * {@link PrimeGenerator}.
+     */
+    public CuckooHashTable(){
+        this(StandardHashStrategy.JAVA);
+    }
+
+    /**
+     * Constructor with a hash function for the first sub-table. The second sub-table uses
+     * {@link StandardHashStrategy#FNV1A}, or {@link StandardHashStrategy#MURMUR3} if hashStrategy is itself FNV-1a.
+     * @param hashStrategy The hash function to apply to keys in the first sub-table.
+     * @throws IllegalArgumentException if hashStrategy is {@code null}.
+     */
+    public CuckooHashTable(HashStrategy hashStrategy){
+        if(hashStrategy == null)
+            throw new IllegalArgumentException("Provided a null hash strategy.");
+        // The two hash functions need to be independent: two keys with the same hash code in the first sub-table
+        // should not be sent to the same pair of buckets.
+        hashStrategies = new HashStrategy[]{hashStrategy,
+                hashStrategy == StandardHashStrategy.FNV1A ? StandardHashStrategy.MURMUR3 : StandardHashStrategy.FNV1A};
+        primeGenerator = new PrimeGenerator();
+        allocate(primeGenerator.getCurrPrime());
+        count = stashCount = 0;
+    }
+
+    @Override
+    public Probes put(String key, String value) {
+        if(key == null || value == null)
+            throw new IllegalArgumentException("Provided: key=" + key + " and value=" + value);
+        for(int t = 0; t < 2; t++) {
+            int s = slotOf(t, bucket(t, key), key);
+            if(s >= 0) {
+                values[t][s] = value;
+                return new Probes(value, t + 1);
+            }
+        }
+        int i = stashIndexOf(key);
+        if(i >= 0) {
+            stashValues[i] = value;
+            return new Probes(value, 3);
+        }
+        int probes = missProbes();
+        return new Probes(value, probes + insertFresh(key, value));
+    }
+
+    @Override
+    public Probes get(String key) {
+        if(key == null)
+            return new Probes(null, 0);
+        for(int t = 0; t < 2; t++) {
+            int s = slotOf(t, bucket(t, key), key);
+            if(s >= 0)
+                return new Probes(values[t][s], t + 1);
+        }
+        int i = stashIndexOf(key);
+        return new Probes((i >= 0) ? stashValues[i] : null, missProbes());
+    }
+
+    @Override
+    public Probes remove(String key) {
+        if(key == null)
+            return new Probes(null, 0);
+        for(int t = 0; t < 2; t++) {
+            int s = slotOf(t, bucket(t, key), key);
+            if(s >= 0) {
+                String value = values[t][s];
+                keys[t][s] = values[t][s] = null;
+                count--;
+                return new Probes(value, t + 1);
+            }
+        }
+        int probes = missProbes();
+        int i = stashIndexOf(key);
+        if(i < 0)
+            return new Probes(null, probes);
+        String value = stashValues[i];
+        stashCount--;
+        stashKeys[i] = stashKeys[stashCount];   // The stash is unordered, so we fill the hole with its last key.
+        stashValues[i] = stashValues[stashCount];
+        stashKeys[stashCount] = stashValues[stashCount] = null;
+        count--;
+        return new Probes(value, probes);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return key != null && (slotOf(0, bucket(0, key), key) >= 0 || slotOf(1, bucket(1, key), key) >= 0
+                || stashIndexOf(key) >= 0);
+    }
+
+    @Override
+    public boolean containsValue(String value) {
+        if(value == null)
+            return false;
+        for(int t = 0; t < 2; t++)
+            for(String v : values[t])
+                if(value.equals(v))
+                    return true;
+        for(int i = 0; i < stashCount; i++)
+            if(stashValues[i].equals(value))
+                return true;
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the number of slots of this table, i.e the number of keys it can hold in its two sub-tables. The stash
+     * is <b>not</b> taken into account.
+     * @return The number of slots in both sub-tables.
+     */
+    @Override
+    public int capacity() {
+        return 2 * buckets * SLOTS_PER_BUCKET;
+    }
+
+    /**
+     * Enlarges both sub-tables, if needed, so that expectedSize keys take up at most {@link #BULK_LOAD_FACTOR} of their
+     * slots. This makes it very unlikely, but not impossible, that inserting expectedSize keys causes another enlargement.
+     * @param expectedSize The number of records that the table is expected to hold.
+     * @throws IllegalArgumentException if expectedSize is negative.
+     */
+    @Override
+    public void ensureCapacity(int expectedSize){
+        HashTable.super.ensureCapacity(expectedSize);
+        int numBuckets = buckets;
+        while(BULK_LOAD_FACTOR * 2 * numBuckets * SLOTS_PER_BUCKET < expectedSize)
+            numBuckets = primeGenerator.getNextPrime();
+        if(numBuckets != buckets)
+            rehash(numBuckets);
+    }
+
+    /**
+     * Returns the number of keys that currently live in the stash.
+     * @return The number of keys in the stash, at most {@link #STASH_SIZE}.
+     */
+    public int stashSize(){
+        return stashCount;
+    }
+}
@@ -0,0 +1,117 @@
+package projects.phonebook.hashes;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import projects.phonebook.Phonebook;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link CuckooHashTableTests} is a small jUnit - based test suite for {@link CuckooHashTable}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see CuckooHashTable
+ */
+public class CuckooHashTableTests {
+
+    private CuckooHashTable table;
+    private static final long SEED = 47;
+
+    @Before
+    public void setUp(){
+        table = new CuckooHashTable();
+    }
+
+    @After
+    public void tearDown(){
+        table = null;
+    }
+
+    @Test
+    public void testProbes() {
+        assertEquals("A fresh key which causes no evictions pays for searching both of its buckets.",
+                2, table.put("Arnold", "894-59-0011").getProbes());
+        assertEquals(1, table.get("Arnold").getProbes());
+        assertEquals("894-59-0011", table.get("Arnold").getValue());
+        assertEquals(1, table.put("Arnold", "705-12-7500").getProbes());
+        assertEquals("705-12-7500", table.get("Arnold").getValue());
+        assertEquals(2, table.get("Jerry").getProbes());
+        assertNull(table.remove("Jerry").getValue());
+        assertEquals(1, table.remove("Arnold").getProbes());
+        assertEquals(0, table.get(null).getProbes());
+        assertTrue(table.size() == 0);
+    }
+
+    @Test
+    public void testWorstCaseLookups() {
+        Random rng = new Random(SEED);
+        HashMap<String, String> expected = new HashMap<>();
+        for(int i = 0; i < 20000; i++) {
+            String key = "key" + rng.nextInt(5000);
+            table.put(key, key + i);
+            expected.put(key, key + i);
+        }
+        assertEquals(expected.size(), table.size());
+        for(String key : expected.keySet()) {
+            assertEquals(expected.get(key), table.get(key).getValue());
+            assertTrue("No search should ever examine more than two buckets and the stash.", table.get(key).getProbes() <= 3);
+        }
+        assertTrue(table.get("Jerry").getProbes() <= 3);
+    }
+
+    @Test
+    public void testEqualHashCodes() {
+        // All of these Strings share the same hashCode(), so the first hash function sends them to the same bucket.
+        String[] keys = new String[]{"AaAaAa", "AaAaBB", "AaBBAa", "AaBBBB", "BBAaAa", "BBAaBB", "BBBBAa", "BBBBBB",
+                "AaAa", "BBBB", "AaBB", "BBAa"};
+        for(String key : keys)
+            table.put(key, key);
+        for(String key : keys)
+            assertEquals(key, table.get(key).getValue());
+        assertEquals(keys.length, table.size());
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        Random rng = new Random(SEED);
+        HashMap<String, String> expected = new HashMap<>();
+        for(int i = 0; i < 50000; i++) {
+            String key = "key" + rng.nextInt(2000);
+            switch(rng.nextInt(3)) {
+                case 0:
+                    table.put(key, Integer.toString(i));
+                    expected.put(key, Integer.toString(i));
+                    break;
+                case 1:
+                    assertEquals(expected.get(key), table.get(key).getValue());
+                    break;
+                default:
+                    assertEquals(expected.remove(key), table.remove(key).getValue());
+            }
+            assertEquals(expected.size(), table.size());
+        }
+        for(String key : expected.keySet())
+            assertTrue(table.containsKey(key));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullKey() {
+        table.put(null, "894-59-0011");
+    }
+
+    @Test
+    public void testPhonebook() {
+        Phonebook pb = new Phonebook(CollisionResolver.CUCKOO_HASHING, CollisionResolver.CUCKOO_HASHING);
+        pb.addEntry("Arnold", "894-59-0011");
+        pb.addEntry("Jessie", "705-12-7500");
+        assertEquals("705-12-7500", pb.getNumberOf("Jessie"));
+        assertEquals("Arnold", pb.getOwnerOf("894-59-0011"));
+        pb.deleteEntry("Arnold", "894-59-0011");
+        assertEquals(1, pb.size());
+    }
+}
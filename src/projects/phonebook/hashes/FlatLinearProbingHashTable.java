@@ -0,0 +1,558 @@
+package projects.phonebook.hashes;
+
+import projects.phonebook.utils.HashStrategy;
+import projects.phonebook.utils.KVPair;
+import projects.phonebook.utils.PrimeGenerator;
+import projects.phonebook.utils.ProbeStats;
+import projects.phonebook.utils.Probes;
+import projects.phonebook.utils.StandardHashStrategy;
+import projects.phonebook.utils.TableSizing;
+
+/**
+ * <p>{@link FlatLinearProbingHashTable} is a {@link HashTable} which resolves collisions with <b>Linear Probing</b>,
+ * exactly like {@link LinearProbingHashTable}, but lays out its storage in a <b>flat</b>, allocation-free manner: </p>
+ *
+ * <ul>
+ *     <li>Keys and values are stored <b>interleaved</b> in a single {@code Object[]} (the key of cell {@code i} lives
+ *     at position {@code 2i} and its value at position {@code 2i + 1}), so there is no per-entry {@link KVPair}.</li>
+ *     <li>The (non-negative) hash code of every stored key is cached in a parallel {@code int[]}. Probing compares
+ *     cached hash codes first and only calls {@link String#equals(Object)} when those match, while resizings never have
+ *     to call {@link String#hashCode()} again.</li>
+ * </ul>
+ *
+ * <p>The methods of the {@link HashTable} interface are kept as a thin adapter over the allocation-free entry points
+ * {@link #getValue(String)}, {@link #putValue(String, String)} and {@link #removeValue(String)}, which return the
+ * relevant {@link String} directly and report the number of probes they made through a reusable {@link ProbeStats}
+ * instance (see {@link #getStats()}). The probe counts, resizing policy (resize to {@link PrimeGenerator#getNextPrime()}
+ * on the first insertion that finds the table at 50&#37; capacity or more, tombstones included) and soft / hard deletion
+ * semantics are the same as those of {@link LinearProbingHashTable}. In hard deletion mode, the probes reported by a
+ * successful removal also include the probes made by re-inserting the rest of the removed key's cluster. In soft
+ * deletion mode, the table also compacts itself in place, through {@link #compact()}, as soon as its tombstones exceed
+ * {@link #DEFAULT_COMPACTION_THRESHOLD} of its capacity, or the fraction set through
+ * {@link #setCompactionThreshold(double)}.</p>
+ *
+ * <p>In <b>incremental</b> mode, a resizing does not rehash the entire table in one shot: it allocates the new storage
+ * and keeps the old one alive, and every subsequent {@link #getValue(String)}, {@link #putValue(String, String)} and
+ * {@link #removeValue(String)} moves at most a handful of cells of the old storage over, until it is empty. Until then,
+ * lookups that miss in the new storage also search the old one, and their probes are the sum of both searches. Any
+ * operation that rebuilds the table (a compaction, {@link #ensureCapacity(int)} or another resizing) completes the
+ * migration in progress first.</p>
+ *
+ * <p>The table can also be created with {@link TableSizing#POWER_OF_TWO}, which replaces the prime capacities and the
+ * modulo of every probe sequence start with power of two capacities and a bit mask over a scrambled hash code.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTable
+ * @see LinearProbingHashTable
+ * @see ProbeStats
+ */
+public class FlatLinearProbingHashTable implements HashTable {
+
+    /**
+     * The fraction of the table's capacity that tombstones need to exceed in order for a soft deletion to compact the
+     * table, unless {@link #setCompactionThreshold(double)} is called. Since tombstones count towards the 50&#37;
+     * resizing threshold, any threshold of 0.5 or more never triggers, and restores the resizing behavior of
+     * {@link LinearProbingHashTable}, whose re-insertions keep piling up tombstones until the table grows.
+     */
+    public static final double DEFAULT_COMPACTION_THRESHOLD = 0.25;
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE FIELDS *********************** */
+    /* ************************************************************ */
+
+    // A key can never be identical to this Object, since all keys are Strings.
+    private static final Object TOMBSTONE = new Object();
+
+    private int[] hashes;
+    private Object[] entries;
+    private int count;
+    private int tombstones;
+    private double compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+    private boolean softFlag;
+    private PrimeGenerator primeGenerator;
+    private final TableSizing sizing;
+    private final HashStrategy hashStrategy;
+    private final ProbeStats stats = new ProbeStats();
+
+    // In incremental mode, every operation moves at most this many cells of the old storage over.
+    private static final int MIGRATION_STEP = 4;
+    private final boolean incremental;
+
+    // The storage that an incremental resizing moves keys from, or null. Its cells before migrationIndex have
+    // been moved over already, and are never modified, so that the collision chains of the old storage stay intact.
+    private int[] oldHashes;
+    private Object[] oldEntries;
+    private int migrationIndex;
+
+    // A single-element scratch array that find() uses to report its probes without allocating.
+    private final int[] probeScratch = new int[1];
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE METHODS ********************** */
+    /* ************************************************************ */
+
+    // Same as the hash function of OpenAddressingHashTable, minus the modulo (or mask), which we apply
+    // separately so that we can cache the hash code itself.
+    private int hashCodeOf(String key){
+        return sizing.hashCodeOf(key, hashStrategy);
+    }
+
+    private void allocate(int capacity){
+        hashes = new int[capacity];
+        entries = new Object[2 * capacity];
+    }
+
+    private boolean needsResize(){
+        return count + tombstones >= hashes.length / 2.0;
+    }
+
+    // Returns the cell of key if it is in the table, or -(c + 1) where c is the null cell that ended the search.
+    // The probes made are reported through probesOut[0]. Records nothing.
+    private int find(String key, int hash, int[] probesOut){
+        return find(hashes, entries, key, hash, probesOut);
+    }
+
+    // Same as find(), but over the old storage of an incremental resizing. Returns -1 if key is not there, or if
+    // its cell has been moved over already.
+    private int findOld(String key, int hash, int[] probesOut){
+        int i = find(oldHashes, oldEntries, key, hash, probesOut);
+        return (i >= migrationIndex) ? i : -1;
+    }
+
+    private int find(int[] cellHashes, Object[] cellEntries, String key, int hash, int[] probesOut){
+        int capacity = cellHashes.length;
+        int i = sizing.index(hash, capacity);
+        int probes = 1;
+        Object current;
+        while((current = cellEntries[2 * i]) != null) {
+            if(current != TOMBSTONE && cellHashes[i] == hash && key.equals(current)) {
+                probesOut[0] = probes;
+                return i;
+            }
+            i = (i + 1 == capacity) ? 0 : i + 1;
+            probes++;
+        }
+        probesOut[0] = probes;
+        return -(i + 1);
+    }
+
+    // Stores the pair at the first null cell of the key's collision chain and returns the number of probes it took.
+    private int insertFresh(String key, String value, int hash){
+        int capacity = hashes.length;
+        int i = sizing.index(hash, capacity);
+        int probes = 1;
+        while(entries[2 * i] != null) {
+            i = (i + 1 == capacity) ? 0 : i + 1;
+            probes++;
+        }
+        hashes[i] = hash;
+        entries[2 * i] = key;
+        entries[2 * i + 1] = value;
+        count++;
+        return probes;
+    }
+
+    private void rehash(int newCapacity){
+        finishMigration();
+        int[] previousHashes = hashes;
+        Object[] previousEntries = entries;
+        allocate(newCapacity);
+        count = tombstones = 0;
+        for(int i = 0; i < previousHashes.length; i++){
+            Object key = previousEntries[2 * i];
+            if(key != null && key != TOMBSTONE)  // Tombstones do not get re-inserted.
+                insertFresh((String)key, (String)previousEntries[2 * i + 1], previousHashes[i]);
+        }
+    }
+
+    private void resize(int newCapacity){
+        if(!incremental) {
+            rehash(newCapacity);
+            return;
+        }
+        finishMigration();
+        oldHashes = hashes;
+        oldEntries = entries;
+        migrationIndex = 0;
+        allocate(newCapacity);
+        tombstones = 0;     // The tombstones of the old storage are never moved over.
+    }
+
+    // Moves at most MIGRATION_STEP cells of the old storage over. Its probes are not counted, just like those of a
+    // resizing, and it never calls back into putValue(), so it can never start another resizing.
+    private void migrateStep(){
+        if(oldHashes == null)
+            return;
+        int end = Math.min(migrationIndex + MIGRATION_STEP, oldHashes.length);
+        for(; migrationIndex < end; migrationIndex++) {
+            Object key = oldEntries[2 * migrationIndex];
+            if(key != null && key != TOMBSTONE) {
+                count--;    // insertFresh() counts the key again.
+                insertFresh((String)key, (String)oldEntries[2 * migrationIndex + 1], oldHashes[migrationIndex]);
+            }
+        }
+        if(migrationIndex == oldHashes.length) {
+            oldHashes = null;
+            oldEntries = null;
+        }
+    }
+
+    private void finishMigration(){
+        while(oldHashes != null)
+            migrateStep();
+    }
+
+    /* ************************************************************ */
+    /* ********************* PUBLIC METHODS *********************** */
+    /* ************************************************************ */
+
+    /**
+     * Constructor with soft deletion option. Initializes the internal storage with a size equal to the starting value of
+     * {@link PrimeGenerator}.
+     * @param soft A boolean indicator of whether we want to use soft deletion or not. {@code true} if and only if
+     *             we want soft deletion, {@code false} otherwise.
+     */
+    public FlatLinearProbingHashTable(boolean soft){
+        this(soft, TableSizing.PRIME);
+    }
+
+    /**
+     * Constructor with soft deletion and incremental resizing options. Initializes the internal storage exactly like
+     * {@link #FlatLinearProbingHashTable(boolean)}.
+     * @param soft A boolean indicator of whether we want to use soft deletion or not. {@code true} if and only if
+     *             we want soft deletion, {@code false} otherwise.
+     * @param incremental A boolean indicator of whether we want incremental resizing or not. {@code true} if and only if
+     *                    we want resizings to be spread over subsequent operations, {@code false} otherwise.
+     */
+    public FlatLinearProbingHashTable(boolean soft, boolean incremental){
+        this(soft, TableSizing.PRIME, StandardHashStrategy.JAVA, incremental);
+    }
+
+    /**
+     * Constructor with soft deletion option and a sizing scheme. With {@link TableSizing#POWER_OF_TWO}, the table starts
+     * with 8 cells, doubles on every resizing and maps hash codes to cells with a bit mask instead of a modulo.
+     * @param soft A boolean indicator of whether we want to use soft deletion or not. {@code true} if and only if
+     *             we want soft deletion, {@code false} otherwise.
+     * @param sizing The scheme that determines the capacities of the table.
+     * @throws IllegalArgumentException if sizing is {@code null}.
+     */
+    public FlatLinearProbingHashTable(boolean soft, TableSizing sizing){
+        this(soft, sizing, StandardHashStrategy.JAVA);
+    }
+
+    /**
+     * Constructor with soft deletion option, a sizing scheme and a hash function. The cached hash code of every key is the
+     * one computed by hashStrategy.
+     * @param soft A boolean indicator of whether we want to use soft deletion or not. {@code true} if and only if
+     *             we want soft deletion, {@code false} otherwise.
+     * @param sizing The scheme that determines the capacities of the table.
+     * @param hashStrategy The hash function to apply to keys.
+     * @throws IllegalArgumentException if sizing or hashStrategy is {@code null}.
+     */
+    public FlatLinearProbingHashTable(boolean soft, TableSizing sizing, HashStrategy hashStrategy){
+        this(soft, sizing, hashStrategy, false);
+    }
+
+    /**
+     * Constructor with soft deletion option, a sizing scheme, a hash function and incremental resizing option.
+     * @param soft A boolean indicator of whether we want to use soft deletion or not. {@code true} if and only if
+     *             we want soft deletion, {@code false} otherwise.
+     * @param sizing The scheme that determines the capacities of the table.
+     * @param hashStrategy The hash function to apply to keys.
+     * @param incremental A boolean indicator of whether we want incremental resizing or not. {@code true} if and only if
+     *                    we want resizings to be spread over subsequent operations, {@code false} otherwise.
+     * @throws IllegalArgumentException if sizing or hashStrategy is {@code null}.
+     */
+    public FlatLinearProbingHashTable(boolean soft, TableSizing sizing, HashStrategy hashStrategy, boolean incremental){
+        if(sizing == null || hashStrategy == null)
+            throw new IllegalArgumentException("Provided: sizing=" + sizing + " and hashStrategy=" + hashStrategy);
+        softFlag = soft;
+        this.sizing = sizing;
+        this.hashStrategy = hashStrategy;
+        this.incremental = incremental;
+        primeGenerator = new PrimeGenerator();
+        allocate(sizing.initialCapacity(primeGenerator));
+        count = tombstones = 0;
+    }
+
+    /**
+     * Allocation-free counterpart of {@link #get(String)}. The number of probes made is available through
+     * {@link #getStats()} after the call.
+     * @param key The key to search for.
+     * @return The value associated with key, or {@code null} if key is {@code null} or not in the table.
+     */
+    public String getValue(String key){
+        if(key == null) {
+            stats.record(0);
+            return null;
+        }
+        migrateStep();
+        int hash = hashCodeOf(key);
+        int i = find(key, hash, probeScratch);
+        int probes = probeScratch[0];
+        if(i < 0 && oldHashes != null) {
+            int j = findOld(key, hash, probeScratch);
+            stats.record(probes + probeScratch[0]);
+            return (j < 0) ? null : (String)oldEntries[2 * j + 1];
+        }
+        stats.record(probes);
+        return (i < 0) ? null : (String)entries[2 * i + 1];
+    }
+
+    /**
+     * Allocation-free counterpart of {@link #put(String, String)}. The number of probes made is available through
+     * {@link #getStats()} after the call.
+     * @param key The record's key.
+     * @param value The record's value.
+     * @return The value that key was previously associated with, or {@code null} if key was not in the table.
+     * @throws IllegalArgumentException if either argument is {@code null}.
+     */
+    public String putValue(String key, String value){
+        if(key == null || value == null)
+            throw new IllegalArgumentException("Provided: key=" + key + " and value=" + value);
+        migrateStep();
+        if(needsResize())
+            resize(sizing.nextCapacity(hashes.length, primeGenerator));
+        int hash = hashCodeOf(key);
+        int i = find(key, hash, probeScratch);
+        int probes = probeScratch[0];
+        if(i >= 0) { // Update
+            String previous = (String)entries[2 * i + 1];
+            entries[2 * i + 1] = value;
+            stats.record(probes);
+            return previous;
+        }
+        if(oldHashes != null) {
+            int j = findOld(key, hash, probeScratch);
+            probes += probeScratch[0];
+            if(j >= 0) { // Update in the old storage, which the key will be moved over from.
+                String previous = (String)oldEntries[2 * j + 1];
+                oldEntries[2 * j + 1] = value;
+                stats.record(probes);
+                return previous;
+            }
+        }
+        i = -(i + 1); // The null cell that ended the search is exactly where linear probing inserts.
+        hashes[i] = hash;
+        entries[2 * i] = key;
+        entries[2 * i + 1] = value;
+        count++;
+        stats.record(probes);
+        return null;
+    }
+
+    /**
+     * Allocation-free counterpart of {@link #remove(String)}. The number of probes made is available through
+     * {@link #getStats()} after the call.
+     * @param key The key to search for.
+     * @return The value associated with key, or {@code null} if key is {@code null} or not in the table.
+     */
+    public String removeValue(String key){
+        if(key == null) {
+            stats.record(0);
+            return null;
+        }
+        migrateStep();
+        int hash = hashCodeOf(key);
+        int i = find(key, hash, probeScratch);
+        int probes = probeScratch[0];
+        if(i < 0 && oldHashes != null) {
+            int j = findOld(key, hash, probeScratch);
+            probes += probeScratch[0];
+            if(j >= 0) {
+                // The old storage is only ever searched before it is dropped, so in either deletion mode the key is
+                // replaced by a marker that keeps its collision chain intact. That marker is not counted as a tombstone.
+                String value = (String)oldEntries[2 * j + 1];
+                oldEntries[2 * j] = TOMBSTONE;
+                oldEntries[2 * j + 1] = null;
+                count--;
+                stats.record(probes);
+                return value;
+            }
+        }
+        if(i < 0) {
+            stats.record(probes);
+            return null;
+        }
+        String value = (String)entries[2 * i + 1];
+        entries[2 * i + 1] = null;
+        count--;
+        if(softFlag) {
+            entries[2 * i] = TOMBSTONE;
+            tombstones++;
+            if(tombstones > compactionThreshold * hashes.length)
+                rehash(hashes.length); // Compaction: its probes are not counted, just like those of a resizing.
+        } else {
+            // Hard deletion: break the chain, then re-insert every key of the rest of the cluster.
+            entries[2 * i] = null;
+            int capacity = hashes.length;
+            int j = (i + 1 == capacity) ? 0 : i + 1;
+            Object current;
+            while((current = entries[2 * j]) != null){
+                String movedValue = (String)entries[2 * j + 1];
+                entries[2 * j] = entries[2 * j + 1] = null;
+                count--;
+                probes += insertFresh((String)current, movedValue, hashes[j]);
+                j = (j + 1 == capacity) ? 0 : j + 1;
+            }
+        }
+        stats.record(probes);
+        return value;
+    }
+
+    @Override
+    public void ensureCapacity(int expectedSize){
+        HashTable.super.ensureCapacity(expectedSize);
+        int capacity = hashes.length;
+        while(capacity / 2.0 < expectedSize)
+            capacity = sizing.nextCapacity(capacity, primeGenerator);
+        if(capacity != hashes.length)
+            rehash(capacity);
+    }
+
+    /**
+     * Rebuilds the table in place, i.e without changing its capacity, dropping all of its tombstones. Any incremental
+     * resizing in progress is completed first.
+     */
+    public void compact(){
+        rehash(hashes.length);
+    }
+
+    /**
+     * Sets the fraction of the table's capacity that tombstones need to exceed before the table is automatically
+     * compacted. By default, this is {@link #DEFAULT_COMPACTION_THRESHOLD}.
+     * @param threshold The new compaction threshold.
+     * @throws IllegalArgumentException if threshold is not in the range (0, 1].
+     */
+    public void setCompactionThreshold(double threshold){
+        if(!(threshold > 0 && threshold <= 1))
+            throw new IllegalArgumentException("Invalid compaction threshold: " + threshold + ".");
+        compactionThreshold = threshold;
+    }
+
+    /**
+     * Queries this about an incremental resizing in progress.
+     * @return {@code true} if and only if some keys have not been moved over to the new storage yet.
+     */
+    public boolean isResizing(){
+        return oldHashes != null;
+    }
+
+    /**
+     * Returns the number of tombstones currently stored in the table.
+     * @return The number of tombstones in the table. Always 0 in hard deletion mode.
+     */
+    @Override
+    public int tombstoneCount(){
+        return tombstones;
+    }
+
+    /**
+     * Returns the length of the longest run of consecutive occupied cells, tombstones included, wrapping around the end
+     * of the table. Keys that an incremental resizing has not moved over yet are not taken into account.
+     * @return The length of the longest cluster of the table.
+     */
+    @Override
+    public int longestCluster(){
+        int n = hashes.length, start = 0;
+        while(start < n && entries[2 * start] != null)
+            start++;
+        if(start == n)
+            return n;
+        int longest = 0, run = 0;
+        for(int k = 1; k <= n; k++) {
+            if(entries[2 * ((start + k) % n)] != null) {
+                longest = Math.max(longest, ++run);
+            } else {
+                run = 0;
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Returns the reusable {@link ProbeStats} instance that this table reports its probes to. The same instance is
+     * returned throughout the lifetime of the table.
+     * @return The {@link ProbeStats} of this table.
+     */
+    public ProbeStats getStats(){
+        return stats;
+    }
+
+    @Override
+    public Probes put(String key, String value) {
+        putValue(key, value);
+        return new Probes(value, stats.getLastProbes());
+    }
+
+    @Override
+    public Probes get(String key) {
+        String value = getValue(key);
+        return new Probes(value, stats.getLastProbes());
+    }
+
+    @Override
+    public Probes remove(String key) {
+        String value = removeValue(key);
+        return new Probes(value, stats.getLastProbes());
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        if(key == null)
+            return false;
+        int hash = hashCodeOf(key);
+        return find(key, hash, probeScratch) >= 0 || (oldHashes != null && findOld(key, hash, probeScratch) >= 0);
+    }
+
+    @Override
+    public boolean containsValue(String value) {
+        if(value == null)
+            return false;
+        for(int i = 0; i < hashes.length; i++) {
+            Object key = entries[2 * i];
+            if(key != null && key != TOMBSTONE && value.equals(entries[2 * i + 1]))
+                return true;
+        }
+        if(oldHashes != null) {
+            for(int i = migrationIndex; i < oldHashes.length; i++) {
+                Object key = oldEntries[2 * i];
+                if(key != null && key != TOMBSTONE && value.equals(oldEntries[2 * i + 1]))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int capacity() {
+        return hashes.length;
+    }
+
+    /**
+     * A {@code public } {@link Object#toString()} overriding, formatted exactly like that of {@link OpenAddressingHashTable}.
+     * Keys that an incremental resizing has not moved over yet are not printed.
+     */
+    @Override
+    public String toString() {
+        StringBuilder ret = new StringBuilder();
+        ret.append("***---***\n");
+        for (int i = 0; i < hashes.length; i++) {
+            Object key = entries[2 * i];
+            if (key == null)
+                ret.append(i).append(" NULL\n");
+            else if (key == TOMBSTONE)
+                ret.append(i).append(" TOMBSTONE\n");
+            else
+                ret.append(i).append(" ").append(key).append("\n");
+        }
+        ret.append("***---***");
+        return ret.toString();
+    }
+}
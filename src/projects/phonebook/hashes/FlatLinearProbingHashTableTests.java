@@ -0,0 +1,287 @@
+package projects.phonebook.hashes;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import projects.phonebook.utils.ProbeStats;
+import projects.phonebook.utils.StandardHashStrategy;
+import projects.phonebook.utils.TableSizing;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link FlatLinearProbingHashTableTests} is a small jUnit - based test suite for {@link FlatLinearProbingHashTable}.
+ * Since {@link FlatLinearProbingHashTable} shares its probe semantics with {@link LinearProbingHashTable}, most of the
+ * expected values below are the same as those of the Linear Probing tests in {@link projects.phonebook.StudentTests}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see FlatLinearProbingHashTable
+ */
+public class FlatLinearProbingHashTableTests {
+
+    private FlatLinearProbingHashTable table;
+
+    @Before
+    public void setUp(){
+        table = new FlatLinearProbingHashTable(false);
+    }
+
+    @After
+    public void tearDown(){
+        table = null;
+    }
+
+    @Test
+    public void testProbes() {
+        assertEquals(1, table.put("Arnold", "894-59-0011").getProbes());
+        assertEquals(1, table.put("Tiffany", "894-59-0011").getProbes());
+        assertEquals(2, table.put("Jessie", "705-12-7500").getProbes());
+        assertEquals(1, table.put("Mary", "888-1212-3340").getProbes());
+
+        assertEquals(1, table.get("Arnold").getProbes());
+        assertEquals("894-59-0011", table.get("Arnold").getValue());
+        assertEquals(1, table.get("Tiffany").getProbes());
+        assertEquals(2, table.get("Jessie").getProbes());
+        assertEquals(1, table.get("Mary").getProbes());
+
+        // Search fail
+        assertEquals(2, table.get("Jerry").getProbes());
+        assertEquals(2, table.remove("Jerry").getProbes());
+        assertNull(table.remove("Jerry").getValue());
+
+        assertEquals(2, table.remove("Jessie").getProbes());
+        assertEquals(1, table.remove("Arnold").getProbes());
+        assertEquals(1, table.remove("Tiffany").getProbes());
+        assertEquals(1, table.remove("Mary").getProbes());
+        assertTrue("After removing all of its keys, the table should be empty.", table.size() == 0);
+    }
+
+    @Test
+    public void testResizeWhenInsert() {
+        assertEquals("The table should have a capacity of 7 at startup.", 7, table.capacity());
+        table.put("Arnold", "894-59-0011");
+        table.put("Tiffany", "894-59-0011");
+        table.put("Jessie", "705-12-7500");
+        table.put("Mary", "888-1212-3340");
+        assertEquals("The table should have a capacity of 7 after inserting 4 elements.", 7, table.capacity());
+        table.put("DeAndre", "888-1212-3340");
+        assertEquals("The table should have a capacity of 13 after inserting 5 elements.", 13, table.capacity());
+        table.remove("Thomas");
+        assertEquals("A failed deletion should not affect capacity.", 13, table.capacity());
+        assertEquals("All keys should have survived the resizing.", "705-12-7500", table.getValue("Jessie"));
+    }
+
+    @Test
+    public void testResizeSoftProbes() {
+        table = new FlatLinearProbingHashTable(true);
+        table.setCompactionThreshold(1);    // The writeup's tables never compact, so their tombstones only go on resizing.
+        String[] add1 = new String[]{"Tiffany", "Helen", "Alexander", "Paulette", "Jason", "Money", "Nakeesha", "Ray", "Jing", "Amg"};
+        String[] remove1 = new String[]{"Helen", "Alexander", "Paulette", "Jason", "Money", "Nakeesha", "Ray", "Jing", "Amg"};
+        String[] add2 = new String[]{"Christine", "Carl"};
+
+        for(String s: add1)
+            table.put(s, s);
+        for (String s: remove1)
+            table.remove(s);
+        for(String s: add2)
+            table.put(s, s);
+
+        assertEquals("After additions and deletions, and additions again, the capacity should be 23.", 23, table.capacity());
+        table.put("Terry", "new");
+        assertEquals("Tombstones should count towards the resizing threshold.", 43, table.capacity());
+        assertEquals("Tombstones should not survive a resizing.", 4, table.size());
+    }
+
+    @Test
+    public void testTombstoneCompaction() {
+        table = new FlatLinearProbingHashTable(true);
+        table.setCompactionThreshold(0.25);
+        for(int round = 0; round < 200; round++) {
+            table.put("Arnold" + round, "894-59-0011");
+            table.put("Tiffany" + round, "894-59-0011");
+            table.remove("Arnold" + round);
+            table.remove("Tiffany" + round);
+            assertTrue("Tombstones should never exceed a quarter of the capacity.",
+                    table.tombstoneCount() <= 0.25 * table.capacity());
+        }
+        assertEquals("Compaction should have kept a delete-heavy workload from growing the table.", 7, table.capacity());
+        table.put("Jessie", "705-12-7500");
+        table.remove("Jessie");
+        table.compact();
+        assertEquals(0, table.tombstoneCount());
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testDefaultCompaction() {
+        table = new FlatLinearProbingHashTable(true);
+        for(int round = 0; round < 200; round++) {
+            table.put("Arnold" + round, "894-59-0011");
+            table.remove("Arnold" + round);
+            assertTrue(table.tombstoneCount() <= FlatLinearProbingHashTable.DEFAULT_COMPACTION_THRESHOLD * table.capacity());
+        }
+        assertEquals("Soft deletion should compact the table by default, instead of growing it.", 7, table.capacity());
+    }
+
+    @Test
+    public void testEnsureCapacity() {
+        table.ensureCapacity(20);
+        assertEquals("The table should go straight to the first prime that holds 20 keys at 50% load.", 43, table.capacity());
+        for(int i = 0; i < 20; i++)
+            table.put("Name" + i, "301-405-" + i);
+        assertEquals("Inserting the expected number of keys should not resize the table.", 43, table.capacity());
+        table.ensureCapacity(5);
+        assertEquals("A table is never shrunk by ensureCapacity().", 43, table.capacity());
+        assertEquals("301-405-7", table.getValue("Name7"));
+    }
+
+    @Test
+    public void testPowerOfTwoSizing() {
+        for(boolean soft : new boolean[]{false, true}) {
+            table = new FlatLinearProbingHashTable(soft, TableSizing.POWER_OF_TWO);
+            assertEquals("The table should start with 8 cells.", 8, table.capacity());
+            table.put("Arnold", "894-59-0011");
+            table.put("Tiffany", "894-59-0011");
+            table.put("Jessie", "705-12-7500");
+            table.put("Mary", "888-1212-3340");
+            assertEquals("The table should have a capacity of 8 after inserting 4 elements.", 8, table.capacity());
+            table.put("DeAndre", "888-1212-3340");
+            assertEquals("The table should double to 16 cells after inserting 5 elements.", 16, table.capacity());
+            for(int i = 0; i < 3000; i++)
+                table.put("Name" + i, "301-405-" + i);
+            for(int i = 0; i < 3000; i += 2)
+                assertEquals("301-405-" + i, table.removeValue("Name" + i));
+            for(int i = 1; i < 3000; i += 2)
+                assertEquals("301-405-" + i, table.getValue("Name" + i));
+            assertEquals(1505, table.size());
+            assertEquals("Every capacity should be a power of two.", 1, Integer.bitCount(table.capacity()));
+        }
+    }
+
+    @Test
+    public void testHardDeletionKeepsClustersSearchable() {
+        String[] keys = new String[]{"Arnold", "Jessie", "Tiffany", "Jerry", "Mary"};
+        for(String key : keys)
+            table.putValue(key, key.toUpperCase());
+        table.removeValue("Arnold");
+        for(int i = 1; i < keys.length; i++)
+            assertEquals("Key " + keys[i] + " should still be found after a hard deletion in its cluster.",
+                    keys[i].toUpperCase(), table.getValue(keys[i]));
+        assertFalse(table.containsKey("Arnold"));
+        assertEquals(keys.length - 1, table.size());
+    }
+
+    @Test
+    public void testAllocationFreeEntryPoints() {
+        ProbeStats stats = table.getStats();
+        assertNull("A fresh key should not have a previous value.", table.putValue("Arnold", "894-59-0011"));
+        assertEquals("894-59-0011", table.putValue("Arnold", "705-12-7500"));
+        assertEquals("705-12-7500", table.getValue("Arnold"));
+        assertEquals(1, stats.getLastProbes());
+        assertNull(table.getValue(null));
+        assertEquals("A null key should cost zero probes.", 0, stats.getLastProbes());
+        assertSame("The stats object should be reused across operations.", stats, table.getStats());
+        assertEquals(4, stats.getOperations());
+        assertTrue(table.containsValue("705-12-7500"));
+        assertFalse(table.containsValue("894-59-0011"));
+    }
+
+    // Inserts keys until an incremental resizing to more than minCapacity cells starts, and returns how many it inserted.
+    private int fillUntilResizing(int minCapacity) {
+        int n = 0;
+        do {
+            table.putValue("Name" + n, "301-405-" + n);
+            n++;
+        } while(!(table.isResizing() && table.capacity() > minCapacity));
+        return n;
+    }
+
+    @Test
+    public void testIncrementalResizingLookupsAndRemovals() {
+        for(boolean soft : new boolean[]{false, true}) {
+            table = new FlatLinearProbingHashTable(soft, true);
+            int n = fillUntilResizing(1000);
+            for(int i = 0; i < 40; i++)
+                assertEquals("301-405-" + i, table.getValue("Name" + i));
+            for(int i = 40; i < 60; i++)
+                assertEquals("301-405-" + i, table.removeValue("Name" + i));
+            assertEquals("301-405-60", table.putValue("Name60", "new"));
+            assertTrue("A few operations should not have completed the migration yet.", table.isResizing());
+            for(int i = 40; i < 60; i++) {
+                assertNull("Name" + i + " should have been removed.", table.getValue("Name" + i));
+                assertFalse(table.containsKey("Name" + i));
+            }
+            assertEquals("new", table.getValue("Name60"));
+            assertEquals(n - 20, table.size());
+            while(table.isResizing())
+                table.getValue("Name0");
+            for(int i = 0; i < n; i++)
+                assertEquals("Name" + i, (i >= 40 && i < 60) ? null : (i == 60) ? "new" : "301-405-" + i, table.getValue("Name" + i));
+            assertEquals(n - 20, table.size());
+            assertTrue("Only removals from the new storage can leave tombstones behind.",
+                    soft ? table.tombstoneCount() <= 20 : table.tombstoneCount() == 0);
+        }
+    }
+
+    @Test
+    public void testIncrementalResizingAgainstHashMap() {
+        for(boolean soft : new boolean[]{false, true}) {
+            table = new FlatLinearProbingHashTable(soft, TableSizing.POWER_OF_TWO, StandardHashStrategy.JAVA, true);
+            Map<String, String> expected = new HashMap<>();
+            Random r = new Random(47);
+            int resizingOperations = 0;
+            for(int op = 0; op < 30000; op++) {
+                String key = "Name" + r.nextInt(4000), value = "301-405-" + op;
+                if(table.isResizing())
+                    resizingOperations++;
+                switch(r.nextInt(4)) {
+                    case 0:
+                        assertEquals(expected.remove(key), table.removeValue(key));
+                        break;
+                    case 1:
+                        assertEquals(expected.get(key), table.getValue(key));
+                        break;
+                    default:
+                        assertEquals(expected.put(key, value), table.putValue(key, value));
+                }
+                assertEquals(expected.size(), table.size());
+            }
+            assertTrue("Some operations should have run during a resizing.", resizingOperations > 0);
+            for(Map.Entry<String, String> entry : expected.entrySet())
+                assertEquals(entry.getValue(), table.getValue(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void testResizeDuringIncrementalResize() {
+        table = new FlatLinearProbingHashTable(false, true);
+        int n = fillUntilResizing(1000);
+        int capacity = table.capacity();
+        table.ensureCapacity(4 * n);
+        assertFalse("A rebuild should complete the migration in progress.", table.isResizing());
+        assertTrue(table.capacity() > capacity);
+        for(int i = 0; i < n; i++)
+            assertEquals("301-405-" + i, table.getValue("Name" + i));
+
+        table = new FlatLinearProbingHashTable(true, true);
+        n = fillUntilResizing(1000);
+        table.setCompactionThreshold(0.01);
+        int removed = 0;
+        while(table.isResizing())   // Enough removals trigger a compaction, which completes the migration.
+            assertEquals("301-405-" + removed, table.removeValue("Name" + removed++));
+        assertTrue("The migration should have been completed before all its steps ran.", removed < table.capacity() / 8);
+        assertEquals(n - removed, table.size());
+        for(int i = removed; i < n; i++)
+            assertEquals("301-405-" + i, table.getValue("Name" + i));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullValue() {
+        table.put("Arnold", null);
+    }
+}
@@ -81,4 +81,59 @@ public interface HashTable {
      * @return the number of cells in the table.
      */
     int capacity();
+
+    /**
+     * Prepares the {@link HashTable} to hold at least expectedSize records, so that inserting up to that many records
+     * does not trigger any internal resizings. Tables which resize automatically should resize <b>once</b>, straight to the
+     * final capacity, instead of going through every intermediate one. The default implementation does nothing, which is
+     * correct for tables that never resize on their own, like {@link SeparateChainingHashTable}.
+     * @param expectedSize The number of records that the table is expected to hold.
+     * @throws IllegalArgumentException if expectedSize is negative.
+     */
+    default void ensureCapacity(int expectedSize) {
+        if(expectedSize < 0)
+            throw new IllegalArgumentException("Negative expected size: " + expectedSize + ".");
+    }
+
+    /**
+     * Inserts all the pairs &lt;keys[i], values[i]&gt; into this, after sizing the table for all of them through
+     * {@link #ensureCapacity(int)}. Existing keys are updated, exactly like {@link #put(String, String)} does. All
+     * arguments are checked <b>before</b> any insertion takes place, so an invalid argument leaves the table untouched.
+     * @param keys The records' keys.
+     * @param values The records' values, such that values[i] is the value of keys[i].
+     * @throws IllegalArgumentException if either array or any of their elements is {@code null}, or if the arrays differ
+     * in length.
+     */
+    default void putAll(String[] keys, String[] values) {
+        if(keys == null || values == null || keys.length != values.length)
+            throw new IllegalArgumentException("Provided: keys=" + ((keys == null) ? null : keys.length + " keys") +
+                    " and values=" + ((values == null) ? null : values.length + " values"));
+        for(int i = 0; i < keys.length; i++)
+            if(keys[i] == null || values[i] == null)
+                throw new IllegalArgumentException("Provided: key=" + keys[i] + " and value=" + values[i] + " at position " + i);
+        ensureCapacity(size() + keys.length);
+        for(int i = 0; i < keys.length; i++)
+            put(keys[i], values[i]);
+    }
+
+    /**
+     * Returns the number of <b>tombstones</b> currently stored in this {@link HashTable}, i.e cells which are kept
+     * occupied by soft deletions. The default implementation returns 0, which is correct for tables that never leave
+     * tombstones behind.
+     * @return The number of tombstones in the table.
+     */
+    default int tombstoneCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the length of the longest <b>cluster</b> of this {@link HashTable}: the longest run of consecutive occupied
+     * cells (tombstones included) in Open Addressing methods, or the longest collision chain in Separate Chaining. Since
+     * this is a measure of the worst case probe sequence, it is meant for diagnostics and is allowed to take linear time.
+     * The default implementation returns -1, which signifies that the table does not report its clusters.
+     * @return The length of the longest cluster, or -1 if the table does not report it.
+     */
+    default int longestCluster() {
+        return -1;
+    }
 }
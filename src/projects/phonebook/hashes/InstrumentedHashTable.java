@@ -0,0 +1,189 @@
+package projects.phonebook.hashes;
+
+import projects.phonebook.utils.HashTableMetrics;
+import projects.phonebook.utils.ProbeHistogram;
+import projects.phonebook.utils.Probes;
+
+/**
+ * <p>{@link InstrumentedHashTable} is a <b>decorator</b> which adds metrics to any {@link HashTable}. Every operation is
+ * forwarded to the wrapped table, and the {@link Probes} it returns are recorded in one of four {@link ProbeHistogram}s:
+ * successful searches (hits), unsuccessful searches (misses), insertions and deletions. An operation which changes the
+ * capacity of the wrapped table counts as a <b>resizing</b>, and its <em>entire</em> duration, probes included, is added
+ * to the total time of resizing operations. An operation which leaves the capacity unchanged but drops more tombstones
+ * than a single insertion can reuse counts as a <b>compaction</b>, i.e an in-place rebuild of the wrapped table.
+ * The load factor, the number of tombstones and the length of the longest cluster are read off the wrapped table when a
+ * snapshot of the metrics is taken through {@link #snapshot()}.</p>
+ *
+ * <p>Instrumentation is <b>opt-in</b>: tables which are not wrapped pay nothing for it. A wrapped table can also be
+ * switched off through {@link #setEnabled(boolean)}, after which every operation costs a single extra branch.
+ * {@link InstrumentedHashTable} is not thread-safe, even if the wrapped table is.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTable
+ * @see HashTableMetrics
+ * @see ProbeHistogram
+ */
+public class InstrumentedHashTable implements HashTable {
+
+    /* ************************************************************ */
+    /* ***************** PRIVATE FIELDS / METHODS ***************** */
+    /* ************************************************************ */
+
+    private final HashTable table;
+    private boolean enabled = true;
+    private ProbeHistogram hits, misses, inserts, deletes;
+    private long resizes, compactions, resizingOperationNanos;
+
+    // Called after an operation which started at time start on a table of the given capacity and tombstones. An
+    // insertion can legitimately reuse a single tombstone, so reusable is 1 for insertions and 0 otherwise.
+    private void recordRebuild(int capacityBefore, int tombstonesBefore, int reusable, long start){
+        if(table.capacity() != capacityBefore) {
+            resizingOperationNanos += System.nanoTime() - start;
+            resizes++;
+        } else if(table.tombstoneCount() < tombstonesBefore - reusable) {
+            compactions++;
+        }
+    }
+
+    /* ************************************************************ */
+    /* ********************* PUBLIC METHODS *********************** */
+    /* ************************************************************ */
+
+    /**
+     * Wraps the provided table. Metrics are enabled and start out empty.
+     * @param table The {@link HashTable} to instrument.
+     * @throws IllegalArgumentException if table is {@code null}.
+     */
+    public InstrumentedHashTable(HashTable table){
+        if(table == null)
+            throw new IllegalArgumentException("Provided a null table.");
+        this.table = table;
+        reset();
+    }
+
+    /**
+     * Returns the wrapped table. Operations made on it directly are not recorded.
+     * @return The wrapped {@link HashTable}.
+     */
+    public HashTable getTable(){
+        return table;
+    }
+
+    /**
+     * Enables or disables the recording of metrics. Metrics gathered so far are kept.
+     * @param enabled {@code true} if and only if subsequent operations should be recorded.
+     */
+    public void setEnabled(boolean enabled){
+        this.enabled = enabled;
+    }
+
+    /**
+     * Queries this about whether operations are currently recorded.
+     * @return {@code true} if and only if metrics are enabled.
+     */
+    public boolean isEnabled(){
+        return enabled;
+    }
+
+    /**
+     * Discards all metrics gathered so far.
+     */
+    public void reset(){
+        hits = new ProbeHistogram();
+        misses = new ProbeHistogram();
+        inserts = new ProbeHistogram();
+        deletes = new ProbeHistogram();
+        resizes = compactions = resizingOperationNanos = 0;
+    }
+
+    /**
+     * Takes a snapshot of the metrics gathered so far and of the current occupancy of the wrapped table. Computing the
+     * longest cluster might take time linear in the capacity of the wrapped table.
+     * @return A {@link HashTableMetrics} instance which subsequent operations do not affect.
+     */
+    public HashTableMetrics snapshot(){
+        return new HashTableMetrics(hits, misses, inserts, deletes, table.size(), table.capacity(),
+                table.tombstoneCount(), table.longestCluster(), resizes, compactions, resizingOperationNanos);
+    }
+
+    @Override
+    public Probes put(String key, String value) {
+        if(!enabled)
+            return table.put(key, value);
+        int capacity = table.capacity(), tombstones = table.tombstoneCount();
+        long start = System.nanoTime();
+        Probes probes = table.put(key, value);
+        recordRebuild(capacity, tombstones, 1, start);
+        inserts.record(probes);
+        return probes;
+    }
+
+    @Override
+    public Probes get(String key) {
+        Probes probes = table.get(key);
+        if(enabled && key != null)
+            (probes.getValue() != null ? hits : misses).record(probes);
+        return probes;
+    }
+
+    @Override
+    public Probes remove(String key) {
+        if(!enabled)
+            return table.remove(key);
+        int capacity = table.capacity(), tombstones = table.tombstoneCount();
+        long start = System.nanoTime();
+        Probes probes = table.remove(key);
+        recordRebuild(capacity, tombstones, 0, start);
+        if(key != null)
+            deletes.record(probes);
+        return probes;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return table.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(String value) {
+        return table.containsValue(value);
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public int capacity() {
+        return table.capacity();
+    }
+
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if(!enabled) {
+            table.ensureCapacity(expectedSize);
+            return;
+        }
+        int capacity = table.capacity(), tombstones = table.tombstoneCount();
+        long start = System.nanoTime();
+        table.ensureCapacity(expectedSize);
+        recordRebuild(capacity, tombstones, 0, start);
+    }
+
+    @Override
+    public int tombstoneCount() {
+        return table.tombstoneCount();
+    }
+
+    @Override
+    public int longestCluster() {
+        return table.longestCluster();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toReport();
+    }
+}
@@ -0,0 +1,121 @@
+package projects.phonebook.hashes;
+
+import org.junit.Test;
+import projects.phonebook.utils.HashTableMetrics;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link InstrumentedHashTableTests} is a small jUnit - based test suite for {@link InstrumentedHashTable}. The wrapped
+ * table is a {@link FlatLinearProbingHashTable}, whose probe counts are the same as those of the Linear Probing tests in
+ * {@link projects.phonebook.StudentTests}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see InstrumentedHashTable
+ * @see HashTableMetrics
+ */
+public class InstrumentedHashTableTests {
+
+    @Test
+    public void testProbeHistograms() {
+        InstrumentedHashTable table = new InstrumentedHashTable(new FlatLinearProbingHashTable(true));
+        table.put("Arnold", "894-59-0011");
+        table.put("Tiffany", "894-59-0011");
+        table.put("Jessie", "705-12-7500");
+        table.put("Mary", "888-1212-3340");
+        table.get("Arnold");
+        table.get("Jessie");
+        table.get("Jerry");
+        table.get(null);
+        table.remove("Jessie");
+        HashTableMetrics metrics = table.snapshot();
+        assertEquals(4, metrics.getInserts().getOperations());
+        assertEquals(1, metrics.getInserts().frequency(2));
+        assertEquals(2, metrics.getHits().getOperations());
+        assertEquals(1.5, metrics.getHits().mean(), 1e-9);
+        assertEquals("A null key should not be recorded.", 1, metrics.getMisses().getOperations());
+        assertEquals(2, metrics.getMisses().max());
+        assertEquals(1, metrics.getDeletes().getOperations());
+        assertEquals(3, metrics.getSize());
+        assertEquals(7, metrics.getCapacity());
+        assertEquals(3.0 / 7, metrics.getLoadFactor(), 1e-9);
+        assertEquals(1, metrics.getTombstones());
+        assertEquals("Arnold and the tombstone of Jessie, in cells 1 and 2.", 2, metrics.getLongestCluster());
+        assertEquals(0, metrics.getResizes());
+        assertTrue(metrics.toReport().contains("tombstones=1"));
+    }
+
+    @Test
+    public void testResizes() {
+        InstrumentedHashTable table = new InstrumentedHashTable(new RobinHoodHashTable(0.5));
+        HashTableMetrics before = table.snapshot();
+        for(int i = 0; i < 100; i++)
+            table.put("Name" + i, "301-405-" + i);
+        HashTableMetrics metrics = table.snapshot();
+        assertEquals("7 -> 13 -> 23 -> 43 -> 83 -> 163 -> 317", 6, metrics.getResizes());
+        assertTrue(metrics.getResizingOperationNanos() > 0);
+        assertEquals(0, metrics.getCompactions());
+        assertEquals("A snapshot should not be affected by later operations.", 0, before.getInserts().getOperations());
+        table.ensureCapacity(1000);
+        assertEquals(7, table.snapshot().getResizes());
+        assertEquals("Robin Hood hashing never leaves tombstones behind.", 0, table.snapshot().getTombstones());
+    }
+
+    @Test
+    public void testCompactions() {
+        FlatLinearProbingHashTable flat = new FlatLinearProbingHashTable(true);
+        flat.setCompactionThreshold(0.25);
+        InstrumentedHashTable table = new InstrumentedHashTable(flat);
+        table.put("Arnold", "894-59-0011");
+        table.put("Tiffany", "894-59-0011");
+        table.put("Jessie", "705-12-7500");
+        table.remove("Arnold");
+        assertEquals(0, table.snapshot().getCompactions());
+        table.remove("Tiffany");    // 2 tombstones exceed a quarter of the capacity of 7.
+        HashTableMetrics metrics = table.snapshot();
+        assertEquals(1, metrics.getCompactions());
+        assertEquals("A compaction is not a resizing.", 0, metrics.getResizes());
+        assertEquals(0, metrics.getResizingOperationNanos());
+        assertEquals(0, metrics.getTombstones());
+        assertTrue(metrics.toReport().contains("compactions=1"));
+        table.reset();
+        assertEquals(0, table.snapshot().getCompactions());
+    }
+
+    @Test
+    public void testDisabledAndReset() {
+        InstrumentedHashTable table = new InstrumentedHashTable(new CuckooHashTable());
+        table.setEnabled(false);
+        table.put("Arnold", "894-59-0011");
+        table.get("Arnold");
+        assertEquals(0, table.snapshot().getInserts().getOperations());
+        assertEquals(0, table.snapshot().getHits().getOperations());
+        assertEquals("Tables which do not report clusters should say so.", -1, table.snapshot().getLongestCluster());
+        table.setEnabled(true);
+        table.get("Arnold");
+        assertEquals(1, table.snapshot().getHits().getOperations());
+        table.reset();
+        assertEquals(0, table.snapshot().getHits().getOperations());
+        assertEquals("894-59-0011", table.get("Arnold").getValue());
+    }
+
+    @Test
+    public void testLongestClusterWrapsAround() {
+        FlatLinearProbingHashTable flat = new FlatLinearProbingHashTable(false);
+        OpenAddressingHashTable robinHood = new RobinHoodHashTable();
+        for(HashTable table : new HashTable[]{flat, robinHood}) {
+            assertEquals(0, table.longestCluster());
+            // In a table of capacity 7, "F" hashes to cell 70 % 7 = 0, "M" to 77 % 7 = 0 and "T" to 84 % 7 = 0.
+            table.put("F", "1");
+            table.put("M", "2");
+            table.put("T", "3");
+            assertEquals(3, table.longestCluster());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullTable() {
+        new InstrumentedHashTable(null);
+    }
+}
@@ -0,0 +1,419 @@
+package projects.phonebook.hashes;
+
+import projects.phonebook.utils.HashStrategy;
+import projects.phonebook.utils.PrimeGenerator;
+import projects.phonebook.utils.ProbeStats;
+import projects.phonebook.utils.StandardHashStrategy;
+import projects.phonebook.utils.TableSizing;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>{@link MultiValueHashTable} is a <b>multimap</b>: a hash table which maps every {@link String} key to a <b>set</b>
+ * of {@link String} values, instead of the single value of a {@link HashTable}. Every key owns a compact, growable
+ * {@link Values} array, so adding a value to a key never concatenates {@link String}s, and reading the values of a key
+ * returns that array itself, without allocating or splitting anything.</p>
+ *
+ * <p>Keys are stored with <b>Linear Probing</b>, in the same flat layout as {@link FlatLinearProbingHashTable}: parallel
+ * arrays of cached hash codes, keys and {@link Values}. The table resizes on the first insertion of a fresh key which
+ * finds it at 50&#37; capacity or more. Deletions are <b>hard</b>, but instead of re-inserting the rest of the cluster,
+ * they shift back the keys which can take the place of the removed one, so the table never holds tombstones. The
+ * probes of the last operation are reported through a reusable {@link ProbeStats} instance, as in
+ * {@link FlatLinearProbingHashTable}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTable
+ * @see FlatLinearProbingHashTable
+ * @see Values
+ */
+public class MultiValueHashTable {
+
+    /**
+     * <p>{@link Values} is the read-only view of the values of a single key of a {@link MultiValueHashTable}, in order of
+     * insertion. It is a <b>live</b> view: it reflects every subsequent change to the values of the key, and becomes empty
+     * once the key is removed from the table. Reading it allocates nothing, except for {@link #toArray()} and
+     * {@link #iterator()}.</p>
+     */
+    public static final class Values implements Iterable<String> {
+
+        private static final int INITIAL_CAPACITY = 2;
+
+        private String[] items = new String[INITIAL_CAPACITY];
+        private int size;
+
+        private Values(){
+        }
+
+        private boolean add(String value){
+            if(indexOf(value) >= 0)
+                return false;
+            if(size == items.length)
+                items = Arrays.copyOf(items, 2 * items.length);
+            items[size++] = value;
+            return true;
+        }
+
+        private boolean remove(String value){
+            int i = indexOf(value);
+            if(i < 0)
+                return false;
+            System.arraycopy(items, i + 1, items, i, size - i - 1);
+            items[--size] = null;
+            return true;
+        }
+
+        private void clear(){
+            Arrays.fill(items, 0, size, null);
+            size = 0;
+        }
+
+        /**
+         * Returns the number of values.
+         * @return The number of values in this.
+         */
+        public int size(){
+            return size;
+        }
+
+        /**
+         * Queries this for emptiness.
+         * @return {@code true} if, and only if, this contains no values.
+         */
+        public boolean isEmpty(){
+            return size == 0;
+        }
+
+        /**
+         * Returns the value at the provided position, in order of insertion.
+         * @param i The position of the value.
+         * @return The i-th value.
+         * @throws IndexOutOfBoundsException if i is not in the range [0, {@link #size()}).
+         */
+        public String get(int i){
+            if(i < 0 || i >= size)
+                throw new IndexOutOfBoundsException("Index " + i + " out of bounds for " + size + " values.");
+            return items[i];
+        }
+
+        /**
+         * Returns the position of the provided value.
+         * @param value The value to search for.
+         * @return The position of value, or -1 if value is {@code null} or not in this.
+         */
+        public int indexOf(String value){
+            if(value == null)
+                return -1;
+            for(int i = 0; i < size; i++)
+                if(items[i].equals(value))
+                    return i;
+            return -1;
+        }
+
+        /**
+         * Queries this about the provided value.
+         * @param value The value to search for.
+         * @return {@code true} if, and only if, value is one of the values in this.
+         */
+        public boolean contains(String value){
+            return indexOf(value) >= 0;
+        }
+
+        /**
+         * Copies the values into a new array, which later changes to this do not affect.
+         * @return A new array of all the values, in order of insertion.
+         */
+        public String[] toArray(){
+            return Arrays.copyOf(items, size);
+        }
+
+        @Override
+        public Iterator<String> iterator(){
+            return new Iterator<String>() {
+                private int i = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return i < size;
+                }
+
+                @Override
+                public String next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException("No more values.");
+                    return items[i++];
+                }
+            };
+        }
+
+        @Override
+        public String toString(){
+            return Arrays.toString(toArray());
+        }
+    }
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE FIELDS *********************** */
+    /* ************************************************************ */
+
+    private int[] hashes;
+    private String[] keys;
+    private Values[] values;
+    private int count;
+    private int valueCount;
+    private final PrimeGenerator primeGenerator;
+    private final TableSizing sizing;
+    private final HashStrategy hashStrategy;
+    private final ProbeStats stats = new ProbeStats();
+
+    // A single-element scratch array that find() uses to report its probes without allocating.
+    private final int[] probeScratch = new int[1];
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE METHODS ********************** */
+    /* ************************************************************ */
+
+    private int hashCodeOf(String key){
+        return sizing.hashCodeOf(key, hashStrategy);
+    }
+
+    private void allocate(int capacity){
+        hashes = new int[capacity];
+        keys = new String[capacity];
+        values = new Values[capacity];
+    }
+
+    private int next(int i){
+        return (i + 1 == keys.length) ? 0 : i + 1;
+    }
+
+    // Returns the cell of key if it is in the table, or -(c + 1) where c is the null cell that ended the search.
+    // The probes made are reported through probesOut[0]. Records nothing.
+    private int find(String key, int hash, int[] probesOut){
+        int i = sizing.index(hash, keys.length);
+        int probes = 1;
+        String current;
+        while((current = keys[i]) != null) {
+            if(hashes[i] == hash && key.equals(current)) {
+                probesOut[0] = probes;
+                return i;
+            }
+            i = next(i);
+            probes++;
+        }
+        probesOut[0] = probes;
+        return -(i + 1);
+    }
+
+    private void store(int i, int hash, String key, Values keyValues){
+        hashes[i] = hash;
+        keys[i] = key;
+        values[i] = keyValues;
+    }
+
+    private void rehash(int newCapacity){
+        int[] oldHashes = hashes;
+        String[] oldKeys = keys;
+        Values[] oldValues = values;
+        allocate(newCapacity);
+        for(int i = 0; i < oldKeys.length; i++){
+            if(oldKeys[i] != null) {
+                int j = sizing.index(oldHashes[i], newCapacity);
+                while(keys[j] != null)
+                    j = next(j);
+                store(j, oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    // Empties cell i, then shifts back every key of the rest of the cluster which is allowed to occupy the empty cell,
+    // i.e whose home cell does not lie cyclically in (empty, current].
+    private void delete(int i){
+        valueCount -= values[i].size();
+        values[i].clear();
+        int empty = i;
+        for(int j = next(i); keys[j] != null; j = next(j)) {
+            int home = sizing.index(hashes[j], keys.length);
+            boolean stays = (empty <= j) ? (empty < home && home <= j) : (empty < home || home <= j);
+            if(!stays) {
+                store(empty, hashes[j], keys[j], values[j]);
+                empty = j;
+            }
+        }
+        store(empty, 0, null, null);
+        count--;
+    }
+
+    /* ************************************************************ */
+    /* ********************* PUBLIC METHODS *********************** */
+    /* ************************************************************ */
+
+    /**
+     * Default constructor. Initializes the internal storage with a size equal to the starting value of
+     * {@link PrimeGenerator}, and hashes keys with {@link StandardHashStrategy#JAVA}.
+     */
+    public MultiValueHashTable(){
+        this(TableSizing.PRIME, StandardHashStrategy.JAVA);
+    }
+
+    /**
+     * Constructor with a sizing scheme and a hash function.
+     * @param sizing The scheme that determines the capacities of the table.
+     * @param hashStrategy The hash function to apply to keys.
+     * @throws IllegalArgumentException if sizing or hashStrategy is {@code null}.
+     */
+    public MultiValueHashTable(TableSizing sizing, HashStrategy hashStrategy){
+        if(sizing == null || hashStrategy == null)
+            throw new IllegalArgumentException("Provided: sizing=" + sizing + " and hashStrategy=" + hashStrategy);
+        this.sizing = sizing;
+        this.hashStrategy = hashStrategy;
+        primeGenerator = new PrimeGenerator();
+        allocate(sizing.initialCapacity(primeGenerator));
+    }
+
+    /**
+     * Returns the values of the provided key, without allocating. The number of probes made is available through
+     * {@link #getStats()} after the call.
+     * @param key The key to search for.
+     * @return The live {@link Values} of key, or {@code null} if key is {@code null} or not in the table.
+     */
+    public Values getAll(String key){
+        if(key == null) {
+            stats.record(0);
+            return null;
+        }
+        int i = find(key, hashCodeOf(key), probeScratch);
+        stats.record(probeScratch[0]);
+        return (i < 0) ? null : values[i];
+    }
+
+    /**
+     * Adds value to the values of key, inserting key if it is not in the table. A key never holds the same value twice.
+     * The number of probes made is available through {@link #getStats()} after the call.
+     * @param key The key.
+     * @param value The value to add.
+     * @return {@code true} if value was added, {@code false} if key already held it.
+     * @throws IllegalArgumentException if either argument is {@code null}.
+     */
+    public boolean addValue(String key, String value){
+        if(key == null || value == null)
+            throw new IllegalArgumentException("Provided: key=" + key + " and value=" + value);
+        int hash = hashCodeOf(key);
+        int i = find(key, hash, probeScratch);
+        int probes = probeScratch[0];
+        if(i < 0) {
+            if(count >= keys.length / 2.0) {
+                rehash(sizing.nextCapacity(keys.length, primeGenerator));
+                i = find(key, hash, probeScratch);
+                probes += probeScratch[0];
+            }
+            i = -(i + 1);
+            store(i, hash, key, new Values());
+            count++;
+        }
+        stats.record(probes);
+        if(!values[i].add(value))
+            return false;
+        valueCount++;
+        return true;
+    }
+
+    /**
+     * Removes value from the values of key. A key which is left without values is removed from the table. The number of
+     * probes made is available through {@link #getStats()} after the call.
+     * @param key The key.
+     * @param value The value to remove.
+     * @return {@code true} if value was removed, {@code false} if key did not hold it or if either argument is {@code null}.
+     */
+    public boolean removeValue(String key, String value){
+        if(key == null || value == null) {
+            stats.record(0);
+            return false;
+        }
+        int i = find(key, hashCodeOf(key), probeScratch);
+        stats.record(probeScratch[0]);
+        if(i < 0 || !values[i].remove(value))
+            return false;
+        valueCount--;
+        if(values[i].isEmpty())
+            delete(i);
+        return true;
+    }
+
+    /**
+     * Removes key, along with all of its values. The number of probes made is available through {@link #getStats()} after
+     * the call.
+     * @param key The key to remove.
+     * @return A new array of the values that key held, or {@code null} if key is {@code null} or not in the table.
+     */
+    public String[] removeAll(String key){
+        if(key == null) {
+            stats.record(0);
+            return null;
+        }
+        int i = find(key, hashCodeOf(key), probeScratch);
+        stats.record(probeScratch[0]);
+        if(i < 0)
+            return null;
+        String[] removed = values[i].toArray();
+        delete(i);
+        return removed;
+    }
+
+    /**
+     * Queries the table about the provided key.
+     * @param key The key to search for.
+     * @return {@code true} if, and only if, key holds at least one value.
+     */
+    public boolean containsKey(String key){
+        return key != null && find(key, hashCodeOf(key), probeScratch) >= 0;
+    }
+
+    /**
+     * Queries the table about the provided pair.
+     * @param key The key to search for.
+     * @param value The value to search for among the values of key.
+     * @return {@code true} if, and only if, key holds value.
+     */
+    public boolean containsValue(String key, String value){
+        if(key == null)
+            return false;
+        int i = find(key, hashCodeOf(key), probeScratch);
+        return i >= 0 && values[i].contains(value);
+    }
+
+    /**
+     * Returns the number of keys in the table.
+     * @return The number of keys, every one of which holds at least one value.
+     */
+    public int size(){
+        return count;
+    }
+
+    /**
+     * Returns the number of values in the table, over all keys.
+     * @return The number of &lt; key, value &gt; pairs in the table.
+     */
+    public int valueCount(){
+        return valueCount;
+    }
+
+    /**
+     * Returns the number of cells of the table.
+     * @return The capacity of the table.
+     */
+    public int capacity(){
+        return keys.length;
+    }
+
+    /**
+     * Returns the {@link ProbeStats} instance that records the probes of {@link #getAll(String)},
+     * {@link #addValue(String, String)}, {@link #removeValue(String, String)} and {@link #removeAll(String)}.
+     * @return The {@link ProbeStats} of this table.
+     */
+    public ProbeStats getStats(){
+        return stats;
+    }
+}
@@ -0,0 +1,123 @@
+package projects.phonebook.hashes;
+
+import org.junit.Test;
+import projects.phonebook.utils.StandardHashStrategy;
+import projects.phonebook.utils.TableSizing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link MultiValueHashTableTests} is a small jUnit - based test suite for {@link MultiValueHashTable}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see MultiValueHashTable
+ */
+public class MultiValueHashTableTests {
+
+    private static final long SEED = 47;
+
+    private static void testAgainstHashMap(MultiValueHashTable table){
+        Random rng = new Random(SEED);
+        Map<String, List<String>> expected = new HashMap<>();
+        int expectedValues = 0;
+        for(int i = 0; i < 50000; i++) {
+            String key = "Name" + rng.nextInt(500), value = "301-405-" + rng.nextInt(8);
+            List<String> values = expected.get(key);
+            switch(rng.nextInt(4)) {
+                case 0:
+                case 1:
+                    boolean fresh = values == null || !values.contains(value);
+                    assertEquals(fresh, table.addValue(key, value));
+                    if(fresh) {
+                        expected.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+                        expectedValues++;
+                    }
+                    break;
+                case 2:
+                    boolean present = values != null && values.remove(value);
+                    assertEquals(present, table.removeValue(key, value));
+                    if(present) {
+                        expectedValues--;
+                        if(values.isEmpty())
+                            expected.remove(key);
+                    }
+                    break;
+                default:
+                    if(rng.nextInt(8) == 0) {
+                        String[] removed = table.removeAll(key);
+                        List<String> gone = expected.remove(key);
+                        assertArrayEquals(gone == null ? null : gone.toArray(new String[0]), removed);
+                        if(gone != null)
+                            expectedValues -= gone.size();
+                    }
+            }
+            MultiValueHashTable.Values actual = table.getAll(key);
+            values = expected.get(key);
+            if(values == null)
+                assertNull(actual);
+            else
+                assertArrayEquals(values.toArray(new String[0]), actual.toArray());
+            assertEquals(expected.size(), table.size());
+            assertEquals(expectedValues, table.valueCount());
+        }
+        // Backward shifting must have kept every remaining key reachable.
+        for(Map.Entry<String, List<String>> entry : expected.entrySet())
+            for(String value : entry.getValue())
+                assertTrue(table.containsValue(entry.getKey(), value));
+    }
+
+    @Test
+    public void testValues() {
+        MultiValueHashTable table = new MultiValueHashTable();
+        assertTrue(table.addValue("Arnold", "894-59-0011"));
+        assertTrue(table.addValue("Arnold", "705-12-7500"));
+        assertFalse(table.addValue("Arnold", "894-59-0011"));
+        MultiValueHashTable.Values arnold = table.getAll("Arnold");
+        assertEquals(2, arnold.size());
+        assertEquals("705-12-7500", arnold.get(1));
+        assertEquals(1, table.size());
+        assertEquals(2, table.valueCount());
+
+        // The view is live.
+        table.addValue("Arnold", "888-1212-3340");
+        assertEquals(3, arnold.size());
+        assertSame(arnold, table.getAll("Arnold"));
+        assertTrue(table.removeValue("Arnold", "705-12-7500"));
+        assertEquals("888-1212-3340", arnold.get(1));
+        assertArrayEquals(new String[]{"894-59-0011", "888-1212-3340"}, table.removeAll("Arnold"));
+        assertTrue(arnold.isEmpty());
+        assertNull(table.getAll("Arnold"));
+        assertFalse(table.containsKey("Arnold"));
+        assertNull(table.getAll(null));
+        assertFalse(table.removeValue("Arnold", null));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testValuesOutOfBounds() {
+        MultiValueHashTable table = new MultiValueHashTable();
+        table.addValue("Arnold", "894-59-0011");
+        table.getAll("Arnold").get(1);
+    }
+
+    @Test
+    public void testProbes() {
+        MultiValueHashTable table = new MultiValueHashTable();
+        table.addValue("Arnold", "894-59-0011");
+        assertEquals(1, table.getStats().getLastProbes());
+        table.getAll("Arnold");
+        assertEquals(1, table.getStats().getLastProbes());
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        testAgainstHashMap(new MultiValueHashTable());
+        testAgainstHashMap(new MultiValueHashTable(TableSizing.POWER_OF_TWO, StandardHashStrategy.MURMUR3));
+    }
+}
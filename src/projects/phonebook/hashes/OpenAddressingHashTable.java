@@ -1,7 +1,10 @@
 package projects.phonebook.hashes;
 
+import projects.phonebook.utils.HashStrategy;
 import projects.phonebook.utils.KVPair;
 import projects.phonebook.utils.PrimeGenerator;
+import projects.phonebook.utils.StandardHashStrategy;
+import projects.phonebook.utils.TableSizing;
 
 /**
  * <p>{@code OpenAddressingHashTable} is an {@code abstract} class that models <b>openly addressed hash tables</b>, i.e
@@ -71,14 +74,16 @@ public abstract class OpenAddressingHashTable implements HashTable{
 
     /**
      * A hash function that uses the default hash code for {@link String} types, but masks the top
-     * bit to avoid negative hashes.
+     * bit to avoid negative hashes. If the table uses {@link TableSizing#POWER_OF_TWO}, the hash code is
+     * scrambled first and the modulo becomes a bit mask (see {@link #sizing}). If the table was given another
+     * {@link HashStrategy}, that is used instead of {@link String#hashCode()} (see {@link #hashStrategy}).
      * @param key The {@link String} key to find the hash code of.
      * @return The hash code of the parameter {@link String} as produced by {@link String#hashCode()},
      * but with the top bit masked.
      * @see String#hashCode()
      */
     protected int hash(String key) {
-        return (key.hashCode() & 0x7fffffff) % table.length;
+        return sizing.index(sizing.hashCodeOf(key, hashStrategy), table.length);
     }
 
     /**
@@ -105,4 +110,123 @@ public abstract class OpenAddressingHashTable implements HashTable{
     /* *** ADD ANY ADDITIONAL PROTECTED FIELDS OR METHODS HERE: ****** */
     /* *************************************************************** */
 
+    /* ************************** TABLE SIZING AND HASHING ************************ */
+    /* By default, capacities are primes and hash() takes String.hashCode() modulo    */
+    /* the capacity. A table which sets sizing to TableSizing.POWER_OF_TWO in its     */
+    /* constructor should allocate, enlarge and shrink its table through              */
+    /* initialCapacity(), nextCapacity() and previousCapacity() instead of calling    */
+    /* primeGenerator directly, so that hash() can use a bit mask. A table which      */
+    /* sets hashStrategy in its constructor needs no other changes, as long as it     */
+    /* maps keys to cells through hash().                                             */
+    /* ****************************************************************************** */
+
+    /**
+     * The hash function that hash() applies to keys. {@link StandardHashStrategy#JAVA}, i.e {@link String#hashCode()},
+     * by default, as per the writeup.
+     */
+    protected HashStrategy hashStrategy = StandardHashStrategy.JAVA;
+
+    /**
+     * The scheme that determines the capacities of the table and how hash() maps keys to cells.
+     * {@link TableSizing#PRIME} by default, as per the writeup.
+     */
+    protected TableSizing sizing = TableSizing.PRIME;
+
+    /**
+     * Returns the capacity that the table should start with under {@link #sizing}.
+     * @return The initial capacity of the table.
+     */
+    protected int initialCapacity() {
+        return sizing.initialCapacity(primeGenerator);
+    }
+
+    /**
+     * Returns the capacity that the table should be enlarged to under {@link #sizing}.
+     * @return The next capacity of the table, roughly twice the current one.
+     */
+    protected int nextCapacity() {
+        return sizing.nextCapacity(table.length, primeGenerator);
+    }
+
+    /**
+     * Returns the capacity that the table should be shrunk to under {@link #sizing}.
+     * @return The previous capacity of the table, roughly half the current one.
+     */
+    protected int previousCapacity() {
+        return sizing.previousCapacity(table.length, primeGenerator);
+    }
+
+    /**
+     * Returns the scheme that determines the capacities of the table.
+     * @return The {@link TableSizing} of the table.
+     */
+    public TableSizing getSizing() {
+        return sizing;
+    }
+
+    /**
+     * Returns the hash function that the table applies to its keys.
+     * @return The {@link HashStrategy} of the table.
+     */
+    public HashStrategy getHashStrategy() {
+        return hashStrategy;
+    }
+
+    /**
+     * Returns the length of the longest run of consecutive non-{@code null} cells of {@link #table}, wrapping around its
+     * end.
+     * @return The length of the longest cluster of the table.
+     */
+    @Override
+    public int longestCluster() {
+        int n = table.length, start = 0;
+        while(start < n && table[start] != null)
+            start++;
+        if(start == n)      // No null cell: the whole table is a single cluster.
+            return n;
+        int longest = 0, run = 0;
+        for(int k = 1; k <= n; k++) {  // Starting right after a null cell, so that no cluster is split by the wrap-around.
+            if(table[(start + k) % n] != null) {
+                longest = Math.max(longest, ++run);
+            } else {
+                run = 0;
+            }
+        }
+        return longest;
+    }
+
+    /* ******************************* BULK LOADING ******************************* */
+    /* ensureCapacity() walks the capacities of sizing straight to the first one     */
+    /* which can hold the expected number of keys under maxLoadFactor(), and rebuilds */
+    /* the table once. Tables whose put() resizes at a load factor other than 50%     */
+    /* should override maxLoadFactor().                                               */
+    /* ****************************************************************************** */
+
+    /**
+     * Returns the largest fraction of the table's cells that can be occupied without put() resizing the table.
+     * @return The maximum load factor of the table, 0.5 by default, as per the writeup.
+     */
+    protected double maxLoadFactor() {
+        return 0.5;
+    }
+
+    // Re-inserts every key through put() into a fresh table of the given capacity, dropping all tombstones.
+    private void rebuild(int capacity) {
+        KVPair[] current = table;
+        table = new KVPair[capacity];
+        count = 0;
+        for(KVPair pair : current)
+            if(pair != null && pair != TOMBSTONE)
+                put(pair.getKey(), pair.getValue());
+    }
+
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        HashTable.super.ensureCapacity(expectedSize);
+        int capacity = table.length;
+        while(maxLoadFactor() * capacity < expectedSize)
+            capacity = sizing.nextCapacity(capacity, primeGenerator);
+        if(capacity != table.length)
+            rebuild(capacity);
+    }
 }
@@ -0,0 +1,291 @@
+package projects.phonebook.hashes;
+
+import projects.phonebook.utils.HashStrategy;
+import projects.phonebook.utils.KVPair;
+import projects.phonebook.utils.PrimeGenerator;
+import projects.phonebook.utils.Probes;
+import projects.phonebook.utils.StandardHashStrategy;
+import projects.phonebook.utils.TableSizing;
+
+/**
+ * <p>{@link RobinHoodHashTable} is an Openly Addressed {@link HashTable} which resolves collisions with <b>Robin Hood
+ * Hashing</b>, a variant of Linear Probing. Every key is characterized by its <em>displacement</em>: the distance between
+ * the cell it lives in and the cell it hashes to. An insertion walks the collision chain just like Linear Probing, but
+ * whenever it meets a key which is <b>less displaced</b> than the key being inserted, it &quot; steals &quot; that key's
+ * cell and carries on inserting the evicted key instead. Taking from the rich and giving to the poor keeps all
+ * displacements close to the average, so the longest probe sequence of the table stays short even at high load
+ * factors.</p>
+ *
+ * <p>The same invariant makes unsuccessful searches fail <b>fast</b>, similarly to {@link OrderedLinearProbingHashTable}:
+ * a search for a key can stop as soon as it has walked further than the displacement of the key in the current cell,
+ * since the sought key would have evicted that key had it been inserted. Deletions use <b>backward shifting</b>: the keys
+ * that follow the deleted key in its cluster are moved one cell back, until an empty cell or a key which lives in its
+ * own home cell is met. Therefore, there are never any tombstones in a {@link RobinHoodHashTable}, and the soft
+ * deletion mode of the other openly addressed tables does not apply.</p>
+ *
+ * <p>The (non-negative) hash code of every stored key is cached in an {@code int[]} parallel to the table, exactly like
+ * {@link FlatLinearProbingHashTable} does, so that finding the displacement of a resident key, which every probe of
+ * every operation does, never runs the {@link HashStrategy} again, and neither does an enlargement.</p>
+ *
+ * <p>Every cell that an operation examines counts as a probe. A successful deletion also pays one probe for every key
+ * it shifts back. The table is enlarged to {@link PrimeGenerator#getNextPrime()} (or to twice its capacity, under
+ * {@link TableSizing#POWER_OF_TWO}) right before an insertion which would make its load factor exceed the maximum load
+ * factor provided at construction time.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTable
+ * @see LinearProbingHashTable
+ * @see OrderedLinearProbingHashTable
+ * @see CollisionResolver
+ */
+public class RobinHoodHashTable extends OpenAddressingHashTable {
+
+    /**
+     * The maximum load factor of a {@link RobinHoodHashTable} created with the default constructor.
+     */
+    public static final double DEFAULT_MAX_LOAD_FACTOR = 0.8;
+
+    /* ************************************************************ */
+    /* ***************** PRIVATE FIELDS / METHODS ***************** */
+    /* ************************************************************ */
+
+    private final double maxLoadFactor;
+    private int[] hashCodes;    // The hash code of the key of table[i], before hash() maps it to a cell.
+
+    private int next(int i){
+        return (i + 1 == table.length) ? 0 : i + 1;
+    }
+
+    // Same as hash(), minus the modulo (or mask), which we apply separately so that we can cache the hash code itself.
+    private int hashCodeOf(String key){
+        return sizing.hashCodeOf(key, hashStrategy);
+    }
+
+    // The distance between cell i and the home cell of a key with the given hash code.
+    private int distance(int i, int hashCode){
+        int home = sizing.index(hashCode, table.length);
+        return (i >= home) ? i - home : i + table.length - home;
+    }
+
+    // The distance between cell i and the home cell of the key that lives in it.
+    private int displacement(int i){
+        return distance(i, hashCodes[i]);
+    }
+
+    // Returns the cell of key if it is in the table, or -(probes + 1) otherwise. On success, the probes
+    // made are exactly the displacement of the key plus one.
+    private int find(String key, int hashCode){
+        int i = sizing.index(hashCode, table.length);
+        for(int dist = 0; table[i] != null && displacement(i) >= dist; dist++) {
+            if(hashCodes[i] == hashCode && table[i].getKey().equals(key))
+                return i;
+            i = next(i);
+        }
+        return -(distance(i, hashCode) + 2);
+    }
+
+    // Robin Hood insertion of a key which is known not to be in the table. Returns the number of probes made.
+    private int insertFresh(KVPair pair, int hashCode){
+        int i = sizing.index(hashCode, table.length);
+        int probes = 1;
+        for(int dist = 0; table[i] != null; dist++, probes++) {
+            int existing = displacement(i);
+            if(existing < dist) { // Rob the rich: the less displaced key yields its cell.
+                KVPair evicted = table[i];
+                int evictedHashCode = hashCodes[i];
+                table[i] = pair;
+                hashCodes[i] = hashCode;
+                pair = evicted;
+                hashCode = evictedHashCode;
+                dist = existing;
+            }
+            i = next(i);
+        }
+        table[i] = pair;
+        hashCodes[i] = hashCode;
+        count++;
+        return probes;
+    }
+
+    private void resize(int capacity){
+        KVPair[] previous = table;
+        int[] previousHashCodes = hashCodes;
+        table = new KVPair[capacity];
+        hashCodes = new int[capacity];
+        count = 0;
+        for(int i = 0; i < previous.length; i++)
+            if(previous[i] != null)
+                insertFresh(previous[i], previousHashCodes[i]);
+    }
+
+    /* ************************************************************ */
+    /* ********************* PUBLIC METHODS *********************** */
+    /* ************************************************************ */
+
+    /**
+     * Default constructor. Initializes the internal storage with a size equal to the starting value of {@link PrimeGenerator}
+     * and uses {@link #DEFAULT_MAX_LOAD_FACTOR} as the maximum load factor.
+     */
+    public RobinHoodHashTable(){
+        this(DEFAULT_MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructor with a maximum load factor. Initializes the internal storage with a size equal to the starting value of
+     * {@link PrimeGenerator}.
+     * @param maxLoadFactor The maximum fraction of the table's cells that can be occupied before the table is enlarged.
+     * @throws IllegalArgumentException if maxLoadFactor is not in the range (0, 1).
+     */
+    public RobinHoodHashTable(double maxLoadFactor){
+        this(maxLoadFactor, TableSizing.PRIME);
+    }
+
+    /**
+     * Constructor with a maximum load factor and a sizing scheme. With {@link TableSizing#POWER_OF_TWO}, the table starts
+     * with 8 cells, doubles on every enlargement and maps keys to cells with a bit mask.
+     * @param maxLoadFactor The maximum fraction of the table's cells that can be occupied before the table is enlarged.
+     * @param sizing The scheme that determines the capacities of the table.
+     * @throws IllegalArgumentException if maxLoadFactor is not in the range (0, 1), or if sizing is {@code null}.
+     */
+    public RobinHoodHashTable(double maxLoadFactor, TableSizing sizing){
+        this(maxLoadFactor, sizing, StandardHashStrategy.JAVA);
+    }
+
+    /**
+     * Constructor with a maximum load factor, a sizing scheme and a hash function.
+     * @param maxLoadFactor The maximum fraction of the table's cells that can be occupied before the table is enlarged.
+     * @param sizing The scheme that determines the capacities of the table.
+     * @param hashStrategy The hash function to apply to keys.
+     * @throws IllegalArgumentException if maxLoadFactor is not in the range (0, 1), or if sizing or hashStrategy is {@code null}.
+     */
+    public RobinHoodHashTable(double maxLoadFactor, TableSizing sizing, HashStrategy hashStrategy){
+        if(!(maxLoadFactor > 0 && maxLoadFactor < 1))
+            throw new IllegalArgumentException("Invalid maximum load factor: " + maxLoadFactor + ".");
+        if(sizing == null || hashStrategy == null)
+            throw new IllegalArgumentException("Provided: sizing=" + sizing + " and hashStrategy=" + hashStrategy);
+        this.maxLoadFactor = maxLoadFactor;
+        this.sizing = sizing;
+        this.hashStrategy = hashStrategy;
+        primeGenerator = new PrimeGenerator();
+        table = new KVPair[initialCapacity()];
+        hashCodes = new int[table.length];
+        count = 0;
+        softFlag = false;
+    }
+
+    @Override
+    public Probes put(String key, String value) {
+        if(key == null || value == null)
+            throw new IllegalArgumentException("Provided: key=" + key + " and value=" + value);
+        int hashCode = hashCodeOf(key);
+        int i = find(key, hashCode);
+        if(i >= 0) { // Update
+            table[i] = new KVPair(key, value);
+            return new Probes(value, displacement(i) + 1);
+        }
+        if(count + 1 > maxLoadFactor * table.length)
+            resize(nextCapacity());
+        return new Probes(value, insertFresh(new KVPair(key, value), hashCode));
+    }
+
+    @Override
+    public Probes get(String key) {
+        if(key == null)
+            return new Probes(null, 0);
+        int i = find(key, hashCodeOf(key));
+        if(i < 0)
+            return new Probes(null, -(i + 1));
+        return new Probes(table[i].getValue(), displacement(i) + 1);
+    }
+
+    /**
+     * <b>Return</b> and <b>remove</b> the value associated with key in the {@link HashTable}. The keys that follow key in its
+     * cluster are shifted one cell back, so that no tombstone is left behind.
+     *
+     * @param key The key to search for.
+     * @return The {@link Probes} with the associated value and the number of probes used, including one probe for every
+     * key shifted back. If the key is {@code null}, a {@code null} value and 0 probes; if the key is not in the table,
+     * a {@code null} value and the number of probes used.
+     */
+    @Override
+    public Probes remove(String key) {
+        if(key == null)
+            return new Probes(null, 0);
+        int i = find(key, hashCodeOf(key));
+        if(i < 0)
+            return new Probes(null, -(i + 1));
+        int probes = displacement(i) + 1;
+        String value = table[i].getValue();
+        for(int j = next(i); table[j] != null && displacement(j) > 0; j = next(j)) {
+            table[i] = table[j];
+            hashCodes[i] = hashCodes[j];
+            i = j;
+            probes++;
+        }
+        table[i] = null;
+        count--;
+        return new Probes(value, probes);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return key != null && find(key, hashCodeOf(key)) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(String value) {
+        if(value == null)
+            return false;
+        for(KVPair pair : table)
+            if(pair != null && pair.getValue().equals(value))
+                return true;
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int capacity() {
+        return table.length;
+    }
+
+    @Override
+    protected double maxLoadFactor() {
+        return maxLoadFactor;
+    }
+
+    /**
+     * Enlarges the table once, straight to the first capacity which can hold expectedSize keys under the maximum load
+     * factor. Unlike {@link OpenAddressingHashTable#ensureCapacity(int)}, the keys are moved with their cached hash
+     * codes instead of being re-inserted through {@link #put(String, String)}.
+     * @param expectedSize The number of records that the table is expected to hold.
+     * @throws IllegalArgumentException if expectedSize is negative.
+     */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if(expectedSize < 0)
+            throw new IllegalArgumentException("Negative expected size: " + expectedSize + ".");
+        int capacity = table.length;
+        while(maxLoadFactor * capacity < expectedSize)
+            capacity = sizing.nextCapacity(capacity, primeGenerator);
+        if(capacity != table.length)
+            resize(capacity);
+    }
+
+    /**
+     * Returns the largest displacement of any key in the table, i.e one less than the number of probes that the most
+     * expensive successful search of this table makes.
+     * @return The largest displacement of any key in the table, or 0 if the table is empty.
+     */
+    public int maxDisplacement(){
+        int max = 0;
+        for(int i = 0; i < table.length; i++)
+            if(table[i] != null)
+                max = Math.max(max, displacement(i));
+        return max;
+    }
+}
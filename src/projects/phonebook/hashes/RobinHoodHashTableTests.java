@@ -0,0 +1,166 @@
+package projects.phonebook.hashes;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import projects.phonebook.Phonebook;
+import projects.phonebook.utils.TableSizing;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link RobinHoodHashTableTests} is a small jUnit - based test suite for {@link RobinHoodHashTable}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see RobinHoodHashTable
+ */
+public class RobinHoodHashTableTests {
+
+    private RobinHoodHashTable table;
+    private static final long SEED = 47;
+
+    @Before
+    public void setUp(){
+        table = new RobinHoodHashTable();
+    }
+
+    @After
+    public void tearDown(){
+        table = null;
+    }
+
+    @Test
+    public void testProbes() {
+        // Arnold and Jessie both hash to cell 1 of a table of capacity 7.
+        assertEquals(1, table.put("Arnold", "894-59-0011").getProbes());
+        assertEquals(1, table.put("Tiffany", "894-59-0011").getProbes());
+        assertEquals(2, table.put("Jessie", "705-12-7500").getProbes());
+        assertEquals(1, table.put("Mary", "888-1212-3340").getProbes());
+
+        assertEquals(1, table.get("Arnold").getProbes());
+        assertEquals("894-59-0011", table.get("Arnold").getValue());
+        assertEquals(2, table.get("Jessie").getProbes());
+
+        // Jerry hashes to cell 4, which Tiffany occupies; the search fails at the empty cell 5.
+        assertEquals(2, table.get("Jerry").getProbes());
+        assertNull(table.remove("Jerry").getValue());
+
+        assertEquals("Removing Arnold should pay one more probe for shifting Jessie back.", 2, table.remove("Arnold").getProbes());
+        assertEquals("Jessie should now live in its home cell.", 1, table.get("Jessie").getProbes());
+        assertEquals(0, table.maxDisplacement());
+        assertEquals(3, table.size());
+    }
+
+    @Test
+    public void testNoTombstones() {
+        String[] keys = new String[]{"Tiffany", "Helen", "Alexander", "Paulette", "Jason", "Money", "Nakeesha", "Ray", "Jing", "Amg"};
+        for(String key : keys)
+            table.put(key, key);
+        for(int i = 1; i < keys.length; i++)
+            table.remove(keys[i]);
+        assertFalse("Backward shift deletion should never leave a tombstone behind.", table.toString().contains("TOMBSTONE"));
+        assertEquals(1, table.size());
+        assertEquals("Tiffany", table.get("Tiffany").getValue());
+    }
+
+    @Test
+    public void testResizeAtMaxLoadFactor() {
+        table = new RobinHoodHashTable(0.75);
+        String[] keys = new String[]{"Arnold", "Tiffany", "Jessie", "Mary", "DeAndre"};
+        for(String key : keys)
+            table.put(key, key);
+        assertEquals("Five keys fit in 7 cells at a load factor of 0.75.", 7, table.capacity());
+        table.put("Thomas", "Thomas");
+        assertEquals("The sixth key should have enlarged the table.", 13, table.capacity());
+        table.put("Thomas", "Thomas2");
+        assertEquals("An update should not enlarge the table.", 13, table.capacity());
+        for(String key : keys)
+            assertEquals(key, table.get(key).getValue());
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        Random rng = new Random(SEED);
+        HashMap<String, String> expected = new HashMap<>();
+        table = new RobinHoodHashTable(0.9);
+        for(int i = 0; i < 50000; i++) {
+            String key = "key" + rng.nextInt(2000);
+            switch(rng.nextInt(3)) {
+                case 0:
+                    table.put(key, Integer.toString(i));
+                    expected.put(key, Integer.toString(i));
+                    break;
+                case 1:
+                    assertEquals(expected.get(key), table.get(key).getValue());
+                    break;
+                default:
+                    assertEquals(expected.remove(key), table.remove(key).getValue());
+            }
+            assertEquals(expected.size(), table.size());
+        }
+        for(String key : expected.keySet())
+            assertTrue(table.containsKey(key));
+        assertTrue("Displacements should stay small, even at a load factor of 0.9.", table.maxDisplacement() < 32);
+    }
+
+    @Test
+    public void testPowerOfTwoSizing() {
+        table = new RobinHoodHashTable(0.75, TableSizing.POWER_OF_TWO);
+        assertEquals(TableSizing.POWER_OF_TWO, table.getSizing());
+        assertEquals("The table should start with 8 cells.", 8, table.capacity());
+        for(int i = 0; i < 1000; i++)
+            table.put("Name" + i, "301-405-" + i);
+        assertEquals("1000 keys at a load factor of at most 0.75 need 2048 cells.", 2048, table.capacity());
+        for(int i = 0; i < 1000; i++)
+            assertEquals("301-405-" + i, table.get("Name" + i).getValue());
+        assertTrue("Scrambled hash codes should keep displacements small.", table.maxDisplacement() < 32);
+        table.ensureCapacity(5000);
+        assertEquals(8192, table.capacity());
+        assertEquals("301-405-999", table.get("Name999").getValue());
+    }
+
+    @Test
+    public void testBulkLoad() {
+        String[] names = new String[1000], numbers = new String[1000];
+        for(int i = 0; i < names.length; i++) {
+            names[i] = "Name" + i;
+            numbers[i] = "301-405-" + i;
+        }
+        table.putAll(names, numbers);
+        int capacity = table.capacity();
+        assertTrue("The table should have been sized for all of the keys at once.", capacity * 0.8 >= names.length);
+        for(int i = 0; i < names.length; i++)
+            table.put(names[i], numbers[i]);
+        assertEquals("Re-inserting the same keys should not resize the table.", capacity, table.capacity());
+        assertEquals(names.length, table.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBulkLoadNullElement() {
+        try {
+            table.putAll(new String[]{"Arnold", "Jessie"}, new String[]{"894-59-0011", null});
+        } finally {
+            assertEquals("An invalid bulk load should leave the table untouched.", 0, table.size());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLoadFactor() {
+        new RobinHoodHashTable(1.0);
+    }
+
+    @Test
+    public void testPhonebook() {
+        Phonebook pb = new Phonebook(CollisionResolver.ROBIN_HOOD_HASHING, CollisionResolver.ROBIN_HOOD_HASHING);
+        pb.addEntry("Arnold", "894-59-0011");
+        pb.addEntry("Jessie", "705-12-7500");
+        assertEquals("705-12-7500", pb.getNumberOf("Jessie"));
+        assertEquals("Arnold", pb.getOwnerOf("894-59-0011"));
+        pb.deleteEntry("Arnold", "894-59-0011");
+        assertEquals(1, pb.size());
+    }
+}
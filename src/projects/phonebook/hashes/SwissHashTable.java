@@ -0,0 +1,279 @@
+package projects.phonebook.hashes;
+
+import projects.phonebook.utils.HashMixer;
+import projects.phonebook.utils.HashStrategy;
+import projects.phonebook.utils.PrimeGenerator;
+import projects.phonebook.utils.Probes;
+import projects.phonebook.utils.StandardHashStrategy;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * <p>{@link SwissHashTable} is an Openly Addressed {@link HashTable} modeled after the &quot; Swiss Tables &quot; of
+ * Google's Abseil library. Next to its arrays of keys and values, it keeps a {@code byte[]} of <b>control bytes</b>, one per
+ * slot. A control byte either marks its slot as empty or deleted, or, if the slot is full, stores a 7-bit fragment of the
+ * hash code of the slot's key. The slots are split into <b>groups</b> of {@link #GROUP_WIDTH}, and the control bytes of an
+ * entire group are read as a single {@code long}. A handful of bitwise operations on that {@code long} then tell us which
+ * slots of the group hold keys whose hash fragment matches the sought key's, and whether the group has any empty slots.
+ * Only the keys of matching slots are ever compared with {@link String#equals(Object)}, so most unsuccessful searches
+ * never touch a single key.</p>
+ *
+ * <p>Collisions are resolved by probing the groups <b>linearly</b>: a search walks group after group until it either finds
+ * its key or meets a group with an empty slot. Deleting a key marks its slot as empty if its group has an empty slot
+ * anyway (no search can have walked past the group), and as deleted otherwise. Every group scanned by an operation counts as
+ * a <b>single probe</b>, no matter how many of the group's keys are compared.</p>
+ *
+ * <p>The table is rehashed right before an insertion which would make full and deleted slots exceed 7/8 of its capacity.
+ * If live keys take up less than half of those slots, the table is rehashed in place to get rid of the deleted slots;
+ * otherwise, the number of groups is enlarged to {@link PrimeGenerator#getNextPrime()}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTable
+ * @see LinearProbingHashTable
+ * @see CollisionResolver
+ */
+public class SwissHashTable implements HashTable {
+
+    /**
+     * The number of slots in a group, i.e the number of control bytes examined by a single probe.
+     */
+    public static final int GROUP_WIDTH = Long.BYTES;
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE FIELDS *********************** */
+    /* ************************************************************ */
+
+    private static final byte EMPTY = (byte)0x80;    // 1000 0000
+    private static final byte DELETED = (byte)0xFE;  // 1111 1110. Full slots are 0xxx xxxx.
+
+    private static final long LSBS = 0x0101010101010101L;   // The least significant bit of every byte.
+    private static final long MSBS = 0x8080808080808080L;   // The most significant bit of every byte.
+
+    private static final VarHandle GROUP = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private byte[] ctrl;
+    private String[] keys;
+    private String[] values;
+    private int groups;
+    private int count;
+    private int deleted;
+    private PrimeGenerator primeGenerator;
+    private final HashStrategy hashStrategy;
+
+    // A single-element scratch array that find() uses to report its probes without allocating.
+    private final int[] probeScratch = new int[1];
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE METHODS ********************** */
+    /* ************************************************************ */
+
+    // String.hashCode() is weak in its low bits, which we split between the group index and the hash
+    // fragment, so we scramble it first. Stronger hash strategies pay for one extra finalizer, which is negligible.
+    private int hashOf(String key){
+        return HashMixer.fmix32(hashStrategy.hash(key));
+    }
+
+    private static byte h2(int hash){
+        return (byte)(hash & 0x7f);
+    }
+
+    private int h1(int hash){
+        return (hash >>> 7) % groups;
+    }
+
+    private long group(int g){
+        return (long)GROUP.get(ctrl, g * GROUP_WIDTH);
+    }
+
+    // The following return a bit mask with the top bit of byte i set if slot i of the group qualifies.
+
+    // May report a false positive for a byte which follows a true match, which is harmless since we compare keys anyway.
+    private static long matchFragment(long group, byte h2){
+        long x = group ^ (LSBS * h2);
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    // EMPTY is the only control byte which has its top bit set and its second lowest bit clear.
+    private static long matchEmpty(long group){
+        return group & ~(group << 6) & MSBS;
+    }
+
+    private static long matchEmptyOrDeleted(long group){
+        return group & MSBS;
+    }
+
+    private static int firstSlot(long mask){
+        return Long.numberOfTrailingZeros(mask) >>> 3;
+    }
+
+    private void allocate(int numGroups){
+        groups = numGroups;
+        ctrl = new byte[numGroups * GROUP_WIDTH];
+        Arrays.fill(ctrl, EMPTY);
+        keys = new String[ctrl.length];
+        values = new String[ctrl.length];
+    }
+
+    // Returns the slot of key if it is in the table, or -(probes + 1) otherwise. On success, the probes made are
+    // reported through probesOut[0].
+    private int find(String key, int hash, int[] probesOut){
+        byte fragment = h2(hash);
+        int g = h1(hash);
+        for(int probes = 1; ; probes++) {
+            long word = group(g);
+            for(long m = matchFragment(word, fragment); m != 0; m &= m - 1) {
+                int slot = g * GROUP_WIDTH + firstSlot(m);
+                if(ctrl[slot] == fragment && key.equals(keys[slot])) {
+                    probesOut[0] = probes;
+                    return slot;
+                }
+            }
+            if(matchEmpty(word) != 0 || probes == groups)
+                return -(probes + 1);
+            g = (g + 1 == groups) ? 0 : g + 1;
+        }
+    }
+
+    // Stores a key known not to be in the table in the first empty or deleted slot of its probe sequence.
+    private void insertFresh(String key, String value, int hash){
+        int g = h1(hash);
+        long m;
+        while((m = matchEmptyOrDeleted(group(g))) == 0)
+            g = (g + 1 == groups) ? 0 : g + 1;
+        int slot = g * GROUP_WIDTH + firstSlot(m);
+        if(ctrl[slot] == DELETED)
+            deleted--;
+        ctrl[slot] = h2(hash);
+        keys[slot] = key;
+        values[slot] = value;
+        count++;
+    }
+
+    private void rehash(int numGroups){
+        byte[] oldCtrl = ctrl;
+        String[] oldKeys = keys, oldValues = values;
+        allocate(numGroups);
+        count = deleted = 0;
+        for(int i = 0; i < oldCtrl.length; i++)
+            if(oldCtrl[i] >= 0)     // Full slots are the only ones with a clear top bit.
+                insertFresh(oldKeys[i], oldValues[i], hashOf(oldKeys[i]));
+    }
+
+    /* ************************************************************ */
+    /* ********************* PUBLIC METHODS *********************** */
+    /* ************************************************************ */
+
+    /**
+     * Default constructor. Initializes the internal storage with a number of groups equal to the starting value of
+     * {@link PrimeGenerator}.
+     */
+    public SwissHashTable(){
+        this(StandardHashStrategy.JAVA);
+    }
+
+    /**
+     * Constructor with a hash function. Initializes the internal storage exactly like {@link #SwissHashTable()}.
+     * @param hashStrategy The hash function to apply to keys.
+     * @throws IllegalArgumentException if hashStrategy is {@code null}.
+     */
+    public SwissHashTable(HashStrategy hashStrategy){
+        if(hashStrategy == null)
+            throw new IllegalArgumentException("Provided a null hash strategy.");
+        this.hashStrategy = hashStrategy;
+        primeGenerator = new PrimeGenerator();
+        allocate(primeGenerator.getCurrPrime());
+        count = deleted = 0;
+    }
+
+    @Override
+    public Probes put(String key, String value) {
+        if(key == null || value == null)
+            throw new IllegalArgumentException("Provided: key=" + key + " and value=" + value);
+        int hash = hashOf(key);
+        int slot = find(key, hash, probeScratch);
+        if(slot >= 0) { // Update
+            values[slot] = value;
+            return new Probes(value, probeScratch[0]);
+        }
+        int searchProbes = -(slot + 1);
+        if(8 * (count + deleted + 1) > 7 * ctrl.length) {
+            rehash((2 * count < count + deleted) ? groups : primeGenerator.getNextPrime());
+            searchProbes = -(find(key, hash, probeScratch) + 1);  // Only the probes made in the new table count.
+        }
+        insertFresh(key, value, hash);
+        return new Probes(value, searchProbes);
+    }
+
+    @Override
+    public Probes get(String key) {
+        if(key == null)
+            return new Probes(null, 0);
+        int slot = find(key, hashOf(key), probeScratch);
+        if(slot < 0)
+            return new Probes(null, -(slot + 1));
+        return new Probes(values[slot], probeScratch[0]);
+    }
+
+    @Override
+    public Probes remove(String key) {
+        if(key == null)
+            return new Probes(null, 0);
+        int slot = find(key, hashOf(key), probeScratch);
+        if(slot < 0)
+            return new Probes(null, -(slot + 1));
+        String value = values[slot];
+        if(matchEmpty(group(slot / GROUP_WIDTH)) != 0) {
+            ctrl[slot] = EMPTY;
+        } else {
+            ctrl[slot] = DELETED;
+            deleted++;
+        }
+        keys[slot] = values[slot] = null;
+        count--;
+        return new Probes(value, probeScratch[0]);
+    }
+
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        HashTable.super.ensureCapacity(expectedSize);
+        int numGroups = groups;
+        while(7L * numGroups * GROUP_WIDTH < 8L * expectedSize)
+            numGroups = primeGenerator.getNextPrime();
+        if(numGroups != groups)
+            rehash(numGroups);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return key != null && find(key, hashOf(key), probeScratch) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(String value) {
+        if(value == null)
+            return false;
+        for(int i = 0; i < ctrl.length; i++)
+            if(ctrl[i] >= 0 && values[i].equals(value))
+                return true;
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int capacity() {
+        return ctrl.length;
+    }
+
+    @Override
+    public int tombstoneCount() {
+        return deleted;
+    }
+}
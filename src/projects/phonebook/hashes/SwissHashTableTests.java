@@ -0,0 +1,121 @@
+package projects.phonebook.hashes;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import projects.phonebook.Phonebook;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link SwissHashTableTests} is a small jUnit - based test suite for {@link SwissHashTable}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see SwissHashTable
+ */
+public class SwissHashTableTests {
+
+    private SwissHashTable table;
+    private static final long SEED = 47;
+
+    @Before
+    public void setUp(){
+        table = new SwissHashTable();
+    }
+
+    @After
+    public void tearDown(){
+        table = null;
+    }
+
+    @Test
+    public void testProbes() {
+        // In a sparsely populated table, every operation is resolved within a single group.
+        assertEquals(1, table.put("Arnold", "894-59-0011").getProbes());
+        assertEquals(1, table.put("Tiffany", "894-59-0011").getProbes());
+        assertEquals(1, table.get("Arnold").getProbes());
+        assertEquals("894-59-0011", table.get("Arnold").getValue());
+        assertEquals(1, table.get("Jerry").getProbes());
+        assertNull(table.remove("Jerry").getValue());
+        assertEquals(1, table.remove("Arnold").getProbes());
+        assertEquals(0, table.remove(null).getProbes());
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void testResize() {
+        assertEquals("The table should start with 7 groups of 8 slots.", 56, table.capacity());
+        for(int i = 0; i < 49; i++)
+            table.put("key" + i, "value" + i);
+        assertEquals("49 keys should fit in 7/8 of 56 slots.", 56, table.capacity());
+        table.put("key49", "value49");
+        assertEquals("The 50th key should have enlarged the table to 13 groups.", 104, table.capacity());
+        for(int i = 0; i < 50; i++)
+            assertEquals("value" + i, table.get("key" + i).getValue());
+    }
+
+    @Test
+    public void testDeleteHeavyWorkload() {
+        // Repeatedly filling and emptying the table should clean up deleted slots instead of enlarging it over and over.
+        for(int round = 0; round < 100; round++) {
+            for(int i = 0; i < 40; i++)
+                table.put("key" + round + "-" + i, "value");
+            for(int i = 0; i < 40; i++)
+                assertEquals("value", table.remove("key" + round + "-" + i).getValue());
+        }
+        assertEquals(0, table.size());
+        assertTrue("The table should not grow beyond 13 groups, but has " + table.capacity() + " slots.", table.capacity() <= 104);
+        assertEquals(1, table.get("Jerry").getProbes());
+    }
+
+    @Test
+    public void testEqualHashCodes() {
+        String[] keys = new String[]{"AaAaAa", "AaAaBB", "AaBBAa", "AaBBBB", "BBAaAa", "BBAaBB", "BBBBAa", "BBBBBB",
+                "AaAa", "BBBB", "AaBB", "BBAa"};
+        for(String key : keys)
+            table.put(key, key);
+        for(String key : keys)
+            assertEquals(key, table.get(key).getValue());
+        table.remove("AaAaAa");
+        assertFalse(table.containsKey("AaAaAa"));
+        assertTrue(table.containsKey("BBBBBB"));
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        Random rng = new Random(SEED);
+        HashMap<String, String> expected = new HashMap<>();
+        for(int i = 0; i < 50000; i++) {
+            String key = "key" + rng.nextInt(2000);
+            switch(rng.nextInt(3)) {
+                case 0:
+                    table.put(key, Integer.toString(i));
+                    expected.put(key, Integer.toString(i));
+                    break;
+                case 1:
+                    assertEquals(expected.get(key), table.get(key).getValue());
+                    break;
+                default:
+                    assertEquals(expected.remove(key), table.remove(key).getValue());
+            }
+            assertEquals(expected.size(), table.size());
+        }
+        for(String key : expected.keySet())
+            assertTrue(table.containsValue(expected.get(key)));
+    }
+
+    @Test
+    public void testPhonebook() {
+        Phonebook pb = new Phonebook(CollisionResolver.SWISS_TABLE, CollisionResolver.SWISS_TABLE);
+        pb.addEntry("Arnold", "894-59-0011");
+        pb.addEntry("Jessie", "705-12-7500");
+        assertEquals("705-12-7500", pb.getNumberOf("Jessie"));
+        assertEquals("Arnold", pb.getOwnerOf("894-59-0011"));
+        pb.deleteEntry("Arnold", "894-59-0011");
+        assertEquals(1, pb.size());
+    }
+}
@@ -0,0 +1,146 @@
+package projects.phonebook.hashes;
+
+import projects.phonebook.utils.Probes;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>{@link ValueIndexedHashTable} is a <b>decorator</b> which makes {@link #containsValue(String)} run in expected
+ * <em>constant</em> time on any {@link HashTable}. Alongside the wrapped table, it maintains a <b>reverse index</b>:
+ * a {@link HashMap} from every value stored in the table to the number of keys that map to it. A count, rather than a
+ * set of keys, is all that {@link #containsValue(String)} needs, and it is what allows several keys to share a value.</p>
+ *
+ * <p>Every {@link #put(String, String)} first looks up the key in the wrapped table, since the index has to forget the
+ * value that the key is about to lose, so insertions cost one more search than they would on the wrapped table alone. The
+ * {@link Probes} returned are always those of the wrapped table. Like {@link InstrumentedHashTable}, the reverse index is
+ * <b>opt-in</b>: tables which are not wrapped pay nothing for it. Operations made directly on the wrapped table bypass
+ * the index and leave it inconsistent. {@link ValueIndexedHashTable} is not thread-safe, even if the wrapped table is.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTable
+ * @see InstrumentedHashTable
+ */
+public class ValueIndexedHashTable implements HashTable {
+
+    /* ************************************************************ */
+    /* ***************** PRIVATE FIELDS / METHODS ***************** */
+    /* ************************************************************ */
+
+    private final HashTable table;
+    private final Map<String, Integer> valueCounts = new HashMap<>();
+
+    private void index(String value){
+        valueCounts.merge(value, 1, Integer::sum);
+    }
+
+    private void unindex(String value){
+        valueCounts.computeIfPresent(value, (v, count) -> (count == 1) ? null : count - 1);
+    }
+
+    /* ************************************************************ */
+    /* ********************* PUBLIC METHODS *********************** */
+    /* ************************************************************ */
+
+    /**
+     * Wraps the provided table, which has to be empty, since a {@link HashTable} offers no way to enumerate the records it
+     * already stores.
+     * @param table The {@link HashTable} to index. Should not be modified directly from now on.
+     * @throws IllegalArgumentException if table is {@code null}, or if it is not empty.
+     */
+    public ValueIndexedHashTable(HashTable table){
+        if(table == null)
+            throw new IllegalArgumentException("Provided a null table.");
+        if(table.size() != 0)
+            throw new IllegalArgumentException("Can only index an empty table; provided one with " + table.size() + " records.");
+        this.table = table;
+    }
+
+    /**
+     * Returns the wrapped table. Operations made on it directly bypass the reverse index.
+     * @return The wrapped {@link HashTable}.
+     */
+    public HashTable getTable(){
+        return table;
+    }
+
+    /**
+     * Returns the number of keys which map to the provided value, in expected constant time.
+     * @param value The value to search for.
+     * @return The number of records with that value, which is 0 for a {@code null} value.
+     */
+    public int countOf(String value){
+        return (value == null) ? 0 : valueCounts.getOrDefault(value, 0);
+    }
+
+    @Override
+    public Probes put(String key, String value) {
+        if(key == null || value == null)
+            throw new IllegalArgumentException("Provided: key=" + key + " and value=" + value);
+        String old = table.get(key).getValue();
+        Probes probes = table.put(key, value);
+        if(old != null)
+            unindex(old);
+        index(value);
+        return probes;
+    }
+
+    @Override
+    public Probes get(String key) {
+        return table.get(key);
+    }
+
+    @Override
+    public Probes remove(String key) {
+        Probes probes = table.remove(key);
+        if(probes.getValue() != null)
+            unindex(probes.getValue());
+        return probes;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return table.containsKey(key);
+    }
+
+    /**
+     * Queries the reverse index about the existence of the value value, in expected constant time.
+     * @param value The value to search for.
+     * @return {@code true} if value is the value of some record in the wrapped table, {@code false} otherwise.
+     */
+    @Override
+    public boolean containsValue(String value) {
+        return countOf(value) > 0;
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public int capacity() {
+        return table.capacity();
+    }
+
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        table.ensureCapacity(expectedSize);
+    }
+
+    @Override
+    public int tombstoneCount() {
+        return table.tombstoneCount();
+    }
+
+    @Override
+    public int longestCluster() {
+        return table.longestCluster();
+    }
+
+    @Override
+    public String toString() {
+        return table.toString();
+    }
+}
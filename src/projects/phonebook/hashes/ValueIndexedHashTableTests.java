@@ -0,0 +1,91 @@
+package projects.phonebook.hashes;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link ValueIndexedHashTableTests} is a small jUnit - based test suite for {@link ValueIndexedHashTable}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see ValueIndexedHashTable
+ */
+public class ValueIndexedHashTableTests {
+
+    private static final long SEED = 47;
+
+    // Runs random operations on an indexed table and checks containsValue() against a java.util.HashMap.
+    private static void testAgainstHashMap(Supplier<HashTable> factory){
+        Random rng = new Random(SEED);
+        ValueIndexedHashTable table = new ValueIndexedHashTable(factory.get());
+        HashMap<String, String> expected = new HashMap<>();
+        for(int i = 0; i < 20000; i++) {
+            String key = "Name" + rng.nextInt(200), value = "301-405-" + rng.nextInt(50);
+            if(rng.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), table.remove(key).getValue());
+            } else {
+                expected.put(key, value);
+                table.put(key, value);
+            }
+            assertEquals(expected.size(), table.size());
+            assertEquals(expected.containsValue(value), table.containsValue(value));
+        }
+        for(int v = 0; v < 50; v++) {
+            String value = "301-405-" + v;
+            assertEquals(expected.containsValue(value), table.containsValue(value));
+            assertEquals(expected.containsValue(value), table.getTable().containsValue(value));
+        }
+    }
+
+    @Test
+    public void testSharedValues() {
+        ValueIndexedHashTable table = new ValueIndexedHashTable(new FlatLinearProbingHashTable(true));
+        table.put("Arnold", "894-59-0011");
+        table.put("Tiffany", "894-59-0011");
+        assertEquals(2, table.countOf("894-59-0011"));
+        table.remove("Arnold");
+        assertTrue(table.containsValue("894-59-0011"));
+        table.put("Tiffany", "705-12-7500");      // Tiffany's old number is no longer anybody's.
+        assertFalse(table.containsValue("894-59-0011"));
+        assertTrue(table.containsValue("705-12-7500"));
+        assertNull(table.remove("Arnold").getValue());
+        assertEquals(0, table.countOf(null));
+        assertFalse(table.containsValue(null));
+    }
+
+    @Test
+    public void testProbesAreThoseOfTheWrappedTable() {
+        HashTable plain = new FlatLinearProbingHashTable(true);
+        ValueIndexedHashTable indexed = new ValueIndexedHashTable(new FlatLinearProbingHashTable(true));
+        for(String name : new String[]{"Arnold", "Tiffany", "Jessie", "Mary", "Arnold"}) {
+            assertEquals(plain.put(name, name).getProbes(), indexed.put(name, name).getProbes());
+            assertEquals(plain.get(name).getProbes(), indexed.get(name).getProbes());
+        }
+        assertEquals(plain.remove("Jessie").getProbes(), indexed.remove("Jessie").getProbes());
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        testAgainstHashMap(() -> new FlatLinearProbingHashTable(true));
+        testAgainstHashMap(() -> new RobinHoodHashTable(0.5));
+        testAgainstHashMap(SwissHashTable::new);
+        testAgainstHashMap(CuckooHashTable::new);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonEmptyTable() {
+        HashTable table = new SwissHashTable();
+        table.put("Arnold", "894-59-0011");
+        new ValueIndexedHashTable(table);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullValue() {
+        new ValueIndexedHashTable(new SwissHashTable()).put("Arnold", null);
+    }
+}
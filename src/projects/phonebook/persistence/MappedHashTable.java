@@ -0,0 +1,307 @@
+package projects.phonebook.persistence;
+
+import projects.phonebook.hashes.HashTable;
+import projects.phonebook.utils.PrimeGenerator;
+import projects.phonebook.utils.Probes;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>{@link MappedHashTable} is a <b>read-only</b> {@link HashTable} which lives in a file. The file is a snapshot of a
+ * Linear Probing hash table, laid out so that it can be searched <b>in place</b>: opening a {@link MappedHashTable} only maps
+ * the file into memory through a {@link MappedByteBuffer}, and every search reads the cells it probes straight from the
+ * mapping. There is no deserialization step, so opening a snapshot takes the same time no matter how many records it holds,
+ * and the operating system only pages in the parts of the file that searches actually touch.</p>
+ *
+ * <p>The file consists of three consecutive parts. All integers are big-endian.</p>
+ * <ol>
+ *     <li>A 16-byte <b>header</b>: a magic number, the format version, the number of records and the capacity of the table.</li>
+ *     <li>The <b>cells</b> of the table, {@code capacity} of them, 12 bytes each: the (non-negative) hash code of the cell's key,
+ *     followed by the file offsets of the cell's key and value. An empty cell has a key offset of -1.</li>
+ *     <li>The <b>string heap</b>, where every key and value is stored as its length in bytes followed by its UTF-8 encoding.</li>
+ * </ol>
+ *
+ * <p>Snapshots are created by {@link #write(Path, String[], String[])}, which sizes the table to the first prime number provided
+ * by {@link PrimeGenerator} that keeps it at most half full, just like {@link projects.phonebook.hashes.LinearProbingHashTable}.
+ * Since the file is never modified after it is written, {@link #put(String, String)} and {@link #remove(String)} throw an
+ * {@link UnsupportedOperationException}; {@link PersistentPhonebook} shows how to layer writes on top of a snapshot.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashTable
+ * @see PersistentPhonebook
+ */
+public class MappedHashTable implements HashTable {
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE FIELDS *********************** */
+    /* ************************************************************ */
+
+    private static final int MAGIC = 0x50424B31;  // "PBK1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int CELL_BYTES = 12;
+    private static final int EMPTY = -1;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int capacity;
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE METHODS ********************** */
+    /* ************************************************************ */
+
+    private MappedHashTable(MappedByteBuffer buffer) throws IOException {
+        if(buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC)
+            throw new IOException("Not a phonebook snapshot.");
+        if(buffer.getInt(4) != VERSION)
+            throw new IOException("Unsupported snapshot version: " + buffer.getInt(4) + ".");
+        this.buffer = buffer;
+        count = buffer.getInt(8);
+        capacity = buffer.getInt(12);
+        if(capacity <= 0 || HEADER_BYTES + (long)capacity * CELL_BYTES > buffer.capacity())
+            throw new IOException("Corrupted snapshot header.");
+    }
+
+    private static int hashCodeOf(String key){
+        return key.hashCode() & 0x7fffffff;
+    }
+
+    private static int cellOffset(int i){
+        return HEADER_BYTES + i * CELL_BYTES;
+    }
+
+    // Compares the string stored at offset with the provided UTF-8 bytes, without decoding it.
+    private boolean bytesEqual(int offset, byte[] utf8){
+        if(buffer.getInt(offset) != utf8.length)
+            return false;
+        offset += Integer.BYTES;
+        for(int i = 0; i < utf8.length; i++)
+            if(buffer.get(offset + i) != utf8[i])
+                return false;
+        return true;
+    }
+
+    private String stringAt(int offset){
+        byte[] utf8 = new byte[buffer.getInt(offset)];
+        ByteBuffer view = buffer.duplicate();   // Keeps the position of the shared buffer untouched.
+        view.position(offset + Integer.BYTES);
+        view.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    // Returns the cell of key if it is in the table, or -(probes + 1) otherwise. On success, the probes made are
+    // reported through probesOut[0].
+    private int find(String key, int[] probesOut){
+        int hash = hashCodeOf(key);
+        byte[] utf8 = key.getBytes(StandardCharsets.UTF_8);
+        int i = hash % capacity;
+        for(int probes = 1; probes <= capacity; probes++) {
+            int cell = cellOffset(i);
+            int keyOffset = buffer.getInt(cell + 4);
+            if(keyOffset == EMPTY)
+                return -(probes + 1);
+            if(buffer.getInt(cell) == hash && bytesEqual(keyOffset, utf8)) {
+                probesOut[0] = probes;
+                return i;
+            }
+            i = (i + 1 == capacity) ? 0 : i + 1;
+        }
+        return -(capacity + 1);
+    }
+
+    private static void writeString(DataOutputStream out, byte[] utf8) throws IOException {
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    /* ************************************************************ */
+    /* ********************* PUBLIC METHODS *********************** */
+    /* ************************************************************ */
+
+    /**
+     * Writes a snapshot of the pairs &lt;keys[i], values[i]&gt; to file. If a key appears more than once, its last value is kept.
+     * The snapshot is first written to a temporary file in the same directory, which then <b>atomically</b> replaces file, so a
+     * crash in the middle of this method leaves any previous snapshot intact.
+     * @param file The file to write the snapshot to.
+     * @param keys The records' keys.
+     * @param values The records' values, such that values[i] is the value of keys[i].
+     * @throws IllegalArgumentException if either array or any of their elements is {@code null}, or if the arrays differ in length.
+     * @throws IOException if the file could not be written, or if the records do not fit in a single snapshot of at most 2GB.
+     */
+    public static void write(Path file, String[] keys, String[] values) throws IOException {
+        if(file == null || keys == null || values == null || keys.length != values.length)
+            throw new IllegalArgumentException("Provided: file=" + file + ", keys=" + ((keys == null) ? null : keys.length + " keys") +
+                    " and values=" + ((values == null) ? null : values.length + " values"));
+
+        // Lay out the table in memory first, so that duplicate keys are resolved before we write anything.
+        PrimeGenerator primeGenerator = new PrimeGenerator();
+        int capacity = primeGenerator.getCurrPrime();
+        while(capacity / 2.0 < keys.length)
+            capacity = primeGenerator.getNextPrime();
+        int[] hashes = new int[capacity];
+        int[] cells = new int[capacity];   // The index into keys and values of the record in every cell, or EMPTY.
+        Arrays.fill(cells, EMPTY);
+        int count = 0;
+        for(int r = 0; r < keys.length; r++) {
+            if(keys[r] == null || values[r] == null)
+                throw new IllegalArgumentException("Provided: key=" + keys[r] + " and value=" + values[r] + " at position " + r);
+            int hash = hashCodeOf(keys[r]);
+            int i = hash % capacity;
+            while(cells[i] != EMPTY && !(hashes[i] == hash && keys[cells[i]].equals(keys[r])))
+                i = (i + 1 == capacity) ? 0 : i + 1;
+            if(cells[i] == EMPTY)
+                count++;
+            hashes[i] = hash;
+            cells[i] = r;
+        }
+
+        // Encode the heap and compute the offsets of every cell.
+        byte[][] encoded = new byte[2 * capacity][];
+        long offset = HEADER_BYTES + (long)capacity * CELL_BYTES;
+        int[] offsets = new int[2 * capacity];
+        for(int i = 0; i < capacity; i++) {
+            if(cells[i] == EMPTY)
+                continue;
+            encoded[2 * i] = keys[cells[i]].getBytes(StandardCharsets.UTF_8);
+            encoded[2 * i + 1] = values[cells[i]].getBytes(StandardCharsets.UTF_8);
+            for(int j = 2 * i; j <= 2 * i + 1; j++) {
+                if(offset > Integer.MAX_VALUE)
+                    throw new IOException("Snapshot exceeds the maximum size of " + Integer.MAX_VALUE + " bytes.");
+                offsets[j] = (int)offset;
+                offset += Integer.BYTES + encoded[j].length;
+            }
+        }
+        if(offset > Integer.MAX_VALUE)
+            throw new IOException("Snapshot exceeds the maximum size of " + Integer.MAX_VALUE + " bytes.");
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream stream = Channels.newOutputStream(channel);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(count);
+                out.writeInt(capacity);
+                for(int i = 0; i < capacity; i++) {
+                    out.writeInt(hashes[i]);
+                    out.writeInt((cells[i] == EMPTY) ? EMPTY : offsets[2 * i]);
+                    out.writeInt((cells[i] == EMPTY) ? EMPTY : offsets[2 * i + 1]);
+                }
+                for(int i = 0; i < capacity; i++) {
+                    if(cells[i] != EMPTY) {
+                        writeString(out, encoded[2 * i]);
+                        writeString(out, encoded[2 * i + 1]);
+                    }
+                }
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Opens a snapshot written by {@link #write(Path, String[], String[])}, by mapping it into memory. No record is read
+     * until it is searched for.
+     * @param file The snapshot file.
+     * @return A {@link MappedHashTable} which serves searches straight from file.
+     * @throws IOException if file cannot be read or is not a valid snapshot.
+     */
+    public static MappedHashTable open(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new MappedHashTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } // The mapping stays valid after the channel is closed.
+    }
+
+    /**
+     * Not supported, since snapshots are immutable.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public Probes put(String key, String value) {
+        throw new UnsupportedOperationException("Snapshots are read-only.");
+    }
+
+    @Override
+    public Probes get(String key) {
+        if(key == null)
+            return new Probes(null, 0);
+        int[] probes = new int[1];
+        int i = find(key, probes);
+        if(i < 0)
+            return new Probes(null, -(i + 1));
+        return new Probes(stringAt(buffer.getInt(cellOffset(i) + 8)), probes[0]);
+    }
+
+    /**
+     * Not supported, since snapshots are immutable.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public Probes remove(String key) {
+        throw new UnsupportedOperationException("Snapshots are read-only.");
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return key != null && find(key, new int[1]) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(String value) {
+        if(value == null)
+            return false;
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        for(int i = 0; i < capacity; i++) {
+            int cell = cellOffset(i);
+            if(buffer.getInt(cell + 4) != EMPTY && bytesEqual(buffer.getInt(cell + 8), utf8))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Feeds every record of the snapshot to action, in the order of the cells that they occupy.
+     * @param action The action to perform on every &lt;key, value&gt; pair.
+     * @throws IllegalArgumentException if action is {@code null}.
+     */
+    public void forEach(BiConsumer<String, String> action){
+        if(action == null)
+            throw new IllegalArgumentException("Provided a null action.");
+        for(int i = 0; i < capacity; i++) {
+            int cell = cellOffset(i);
+            int keyOffset = buffer.getInt(cell + 4);
+            if(keyOffset != EMPTY)
+                action.accept(stringAt(keyOffset), stringAt(buffer.getInt(cell + 8)));
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package projects.phonebook.persistence;
+
+import projects.phonebook.Phonebook;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * <p>{@link PersistentPhonebook} offers the same operations as a {@link Phonebook}, with the same semantics, but its
+ * contents survive restarts: it keeps its data in a directory of three files:</p>
+ * <ol>
+ *     <li>{@link #NAMES_SNAPSHOT} and {@link #NUMBERS_SNAPSHOT}, two {@link MappedHashTable} snapshots which map names to numbers
+ *     and numbers to names respectively.</li>
+ *     <li>{@link #LOG}, a <b>write-ahead log</b> of every call to {@link #addEntry(String, String)} and
+ *     {@link #deleteEntry(String, String)} made since the snapshots were written.</li>
+ * </ol>
+ *
+ * <p>Opening a {@link PersistentPhonebook} maps the two snapshots into memory, which takes the same time no matter how large
+ * they are, and replays the log into a small in-memory <em>overlay</em> of the changes made since the snapshots. Searches
+ * consult the overlay first and fall back to the snapshots, which they read straight from the mapping. Every change is
+ * appended to the log <b>before</b> it is applied to the overlay. {@link #checkpoint()} merges the overlay into a fresh pair of
+ * snapshots and empties the log, keeping both the log and the overlay short.</p>
+ *
+ * <p>Every log record carries its length and a CRC32 checksum, so a record torn by a crash is detected and discarded, along
+ * with anything after it, the next time the directory is opened. Appended records are handed to the operating system
+ * immediately, which protects them from crashes of the JVM; {@link #sync()} additionally forces them to the storage device.
+ * Since every record either sets or clears a key, replaying the log is <b>idempotent</b>, which makes it safe for a crash in
+ * the middle of {@link #checkpoint()} to leave one snapshot updated and the other one not.</p>
+ *
+ * <p>Instances of this class are <b>not</b> thread-safe.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see Phonebook
+ * @see MappedHashTable
+ */
+public class PersistentPhonebook implements Closeable {
+
+    /**
+     * The name of the snapshot file that maps names to numbers.
+     */
+    public static final String NAMES_SNAPSHOT = "names.snapshot";
+
+    /**
+     * The name of the snapshot file that maps numbers to names.
+     */
+    public static final String NUMBERS_SNAPSHOT = "numbers.snapshot";
+
+    /**
+     * The name of the write-ahead log file.
+     */
+    public static final String LOG = "phonebook.wal";
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE FIELDS *********************** */
+    /* ************************************************************ */
+
+    private static final byte ADD = 'A';
+    private static final byte DELETE = 'D';
+    private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;   // Payload length and checksum.
+
+    private final Path directory;
+    private MappedHashTable namesToNumbers;
+    private MappedHashTable numbersToNames;
+
+    // The changes made since the snapshots were written. A null value means that the key has been deleted.
+    private final Map<String, String> namesOverlay = new HashMap<>();
+    private final Map<String, String> numbersOverlay = new HashMap<>();
+
+    private final FileChannel log;
+    private int count;
+
+    /* ************************************************************ */
+    /* ********************* PRIVATE METHODS ********************** */
+    /* ************************************************************ */
+
+    private static String lookup(Map<String, String> overlay, MappedHashTable snapshot, String key){
+        if(overlay.containsKey(key))
+            return overlay.get(key);
+        return snapshot.get(key).getValue();
+    }
+
+    private void applyAdd(String name, String number){
+        if(lookup(namesOverlay, namesToNumbers, name) == null)
+            count++;
+        namesOverlay.put(name, number);
+        numbersOverlay.put(number, name);
+    }
+
+    private void applyDelete(String name, String number){
+        if(lookup(namesOverlay, namesToNumbers, name) != null)
+            count--;
+        namesOverlay.put(name, null);
+        numbersOverlay.put(number, null);
+    }
+
+    private void append(byte op, String name, String number) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeByte(op);
+        payload.writeUTF(name);
+        payload.writeUTF(number);
+        payload.flush();
+        byte[] body = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + body.length);
+        record.putInt(body.length).putInt((int)crc.getValue()).put(body);
+        record.flip();
+        while(record.hasRemaining())
+            log.write(record);
+    }
+
+    // Replays every intact record of the log and truncates the log right after the last one.
+    private void replay() throws IOException {
+        long size = log.size();
+        if(size == 0)
+            return;
+        ByteBuffer contents = log.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        long valid = 0;
+        while(contents.remaining() >= RECORD_HEADER_BYTES) {
+            int length = contents.getInt();
+            int checksum = contents.getInt();
+            if(length <= 0 || length > contents.remaining())
+                break;
+            byte[] body = new byte[length];
+            contents.get(body);
+            CRC32 crc = new CRC32();
+            crc.update(body, 0, body.length);
+            if((int)crc.getValue() != checksum)
+                break;
+            DataInputStream payload = new DataInputStream(new ByteArrayInputStream(body));
+            byte op = payload.readByte();
+            String name = payload.readUTF(), number = payload.readUTF();
+            if(op == ADD)
+                applyAdd(name, number);
+            else if(op == DELETE)
+                applyDelete(name, number);
+            else
+                break;
+            valid = contents.position();
+        }
+        if(valid < size)
+            log.truncate(valid);
+        log.position(valid);
+    }
+
+    // Merges a snapshot with its overlay into parallel arrays of keys and values.
+    private static void merge(MappedHashTable snapshot, Map<String, String> overlay, List<String> keys, List<String> values){
+        snapshot.forEach((key, value) -> {
+            if(!overlay.containsKey(key)) {
+                keys.add(key);
+                values.add(value);
+            }
+        });
+        for(Map.Entry<String, String> change : overlay.entrySet()) {
+            if(change.getValue() != null) {
+                keys.add(change.getKey());
+                values.add(change.getValue());
+            }
+        }
+    }
+
+    private static void writeMerged(Path file, MappedHashTable snapshot, Map<String, String> overlay) throws IOException {
+        List<String> keys = new ArrayList<>(), values = new ArrayList<>();
+        merge(snapshot, overlay, keys, values);
+        MappedHashTable.write(file, keys.toArray(new String[0]), values.toArray(new String[0]));
+    }
+
+    /* ************************************************************ */
+    /* ********************* PUBLIC METHODS *********************** */
+    /* ************************************************************ */
+
+    /**
+     * Opens the {@link PersistentPhonebook} stored in directory, creating an empty one if the directory does not contain one.
+     * Any changes logged since the last {@link #checkpoint()} are replayed.
+     * @param directory The directory where the phonebook's files are kept. It is created if it does not exist.
+     * @throws IllegalArgumentException if directory is {@code null}.
+     * @throws IOException if the phonebook's files cannot be created, read or written.
+     */
+    public PersistentPhonebook(Path directory) throws IOException {
+        if(directory == null)
+            throw new IllegalArgumentException("Provided a null directory.");
+        this.directory = directory;
+        Files.createDirectories(directory);
+        for(String snapshot : new String[]{NAMES_SNAPSHOT, NUMBERS_SNAPSHOT})
+            if(!Files.exists(directory.resolve(snapshot)))
+                MappedHashTable.write(directory.resolve(snapshot), new String[0], new String[0]);
+        namesToNumbers = MappedHashTable.open(directory.resolve(NAMES_SNAPSHOT));
+        numbersToNames = MappedHashTable.open(directory.resolve(NUMBERS_SNAPSHOT));
+        count = namesToNumbers.size();
+        log = FileChannel.open(directory.resolve(LOG), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            replay();
+        } catch(IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+    }
+
+    /** Retrieves the phone number associated with the provided full name.
+     * @param name The full name of the owner of the phone number that is being searched for.
+     * @return The phone number associated with name, or {@code null} if name is {@code null} or if name
+     * is not in the {@link PersistentPhonebook}.
+     * @see Phonebook#getNumberOf(String)
+     */
+    public String getNumberOf(String name) {
+        return (name == null) ? null : lookup(namesOverlay, namesToNumbers, name);
+    }
+
+    /** Retrieves the full name of the owner of the provided phone number.
+     * @param number The phone number whose owner is being searched for.
+     * @return The full name of the owner of number, or {@code null} if number is {@code null} or if number
+     * is not in the {@link PersistentPhonebook}.
+     * @see Phonebook#getOwnerOf(String)
+     */
+    public String getOwnerOf(String number) {
+        return (number == null) ? null : lookup(numbersOverlay, numbersToNames, number);
+    }
+
+    /** Adds the tuple &lt; name, number &gt; in the {@link PersistentPhonebook}, logging the change before applying it.
+     * @param name The full name of the number's owner.
+     * @param number The phone number of the person.
+     * @throws IllegalArgumentException if either name or number is {@code null}.
+     * @throws IOException if the change could not be logged, in which case it is not applied either.
+     * @see Phonebook#addEntry(String, String)
+     */
+    public void addEntry(String name, String number) throws IOException {
+        if(name == null || number == null)
+            throw new IllegalArgumentException("Provided: name=" + name + " and number= " + number);
+        append(ADD, name, number);
+        applyAdd(name, number);
+    }
+
+    /** Deletes the entry characterized by the arguments provided, logging the change before applying it.
+     * @param name The &quot;owner&quot; part of the &lt; owner, phone number &gt; tuple.
+     * @param number The &quot;number&quot; part of the &lt; owner, phone number &gt; tuple.
+     * @throws IllegalArgumentException if either name or number is {@code null}.
+     * @throws IOException if the change could not be logged, in which case it is not applied either.
+     * @see Phonebook#deleteEntry(String, String)
+     */
+    public void deleteEntry(String name, String number) throws IOException {
+        if(number == null || name == null)
+            throw new IllegalArgumentException("Provided: name=" + name + " and number= " + number);
+        append(DELETE, name, number);
+        applyDelete(name, number);
+    }
+
+    /** Returns the number of entries in the phonebook.
+     * @return the number of entries in the phonebook.
+     */
+    public int size() {
+        return count;
+    }
+
+    /** Queries the phonebook for emptiness.
+     * @return {@code true} if, and only if, there are 0 entries in this {@link PersistentPhonebook}, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of changes which have been logged since the last checkpoint, i.e the number of keys in the overlay
+     * of names. Callers can use this to decide when to call {@link #checkpoint()}.
+     * @return The number of names which have been added or deleted since the last checkpoint.
+     */
+    public int pendingChanges() {
+        return namesOverlay.size();
+    }
+
+    /**
+     * Writes fresh snapshots which include every logged change, maps them, and empties the log. The log is emptied only
+     * after <b>both</b> snapshots have atomically replaced the previous ones.
+     * @throws IOException if the snapshots could not be written or the log could not be emptied.
+     */
+    public void checkpoint() throws IOException {
+        writeMerged(directory.resolve(NAMES_SNAPSHOT), namesToNumbers, namesOverlay);
+        writeMerged(directory.resolve(NUMBERS_SNAPSHOT), numbersToNames, numbersOverlay);
+        namesToNumbers = MappedHashTable.open(directory.resolve(NAMES_SNAPSHOT));
+        numbersToNames = MappedHashTable.open(directory.resolve(NUMBERS_SNAPSHOT));
+        namesOverlay.clear();
+        numbersOverlay.clear();
+        log.truncate(0);
+        log.position(0);
+        log.force(true);
+    }
+
+    /**
+     * Forces every logged change to the storage device.
+     * @throws IOException if the log could not be forced.
+     */
+    public void sync() throws IOException {
+        log.force(false);
+    }
+
+    /**
+     * Forces every logged change to the storage device and closes the log. The snapshots stay mapped until this
+     * instance is garbage collected, but no other method should be called after this one.
+     * @throws IOException if the log could not be forced or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            log.close();
+        }
+    }
+}
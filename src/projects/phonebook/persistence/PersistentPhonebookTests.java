@@ -0,0 +1,133 @@
+package projects.phonebook.persistence;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link PersistentPhonebookTests} is a small jUnit - based test suite for {@link PersistentPhonebook} and
+ * {@link MappedHashTable}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see PersistentPhonebook
+ * @see MappedHashTable
+ */
+public class PersistentPhonebookTests {
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("phonebook");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try(Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() throws IOException {
+        Path file = directory.resolve("test.snapshot");
+        MappedHashTable.write(file, new String[]{"Arnold", "Tiffany", "Jessie", "Mary", "Arnold"},
+                new String[]{"894-59-0011", "894-59-0011", "705-12-7500", "888-1212-3340", "301-405-2662"});
+        MappedHashTable table = MappedHashTable.open(file);
+        assertEquals("A duplicate key should only be stored once.", 4, table.size());
+        assertEquals(13, table.capacity());
+        assertEquals("The last value of a duplicate key should win.", "301-405-2662", table.get("Arnold").getValue());
+        assertEquals("705-12-7500", table.get("Jessie").getValue());
+        assertNull(table.get("Jerry").getValue());
+        assertTrue(table.get("Jerry").getProbes() >= 1);
+        assertEquals(0, table.get(null).getProbes());
+        assertTrue(table.containsValue("888-1212-3340"));
+        assertFalse(table.containsKey("Jerry"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotIsReadOnly() throws IOException {
+        Path file = directory.resolve("test.snapshot");
+        MappedHashTable.write(file, new String[]{"Arnold"}, new String[]{"894-59-0011"});
+        MappedHashTable.open(file).put("Jessie", "705-12-7500");
+    }
+
+    @Test
+    public void testLogIsReplayed() throws IOException {
+        try(PersistentPhonebook pb = new PersistentPhonebook(directory)) {
+            pb.addEntry("Arnold", "894-59-0011");
+            pb.addEntry("Jessie", "705-12-7500");
+            pb.addEntry("Mary", "888-1212-3340");
+            pb.deleteEntry("Jessie", "705-12-7500");
+        }
+        try(PersistentPhonebook pb = new PersistentPhonebook(directory)) {
+            assertEquals(2, pb.size());
+            assertEquals("894-59-0011", pb.getNumberOf("Arnold"));
+            assertEquals("Mary", pb.getOwnerOf("888-1212-3340"));
+            assertNull(pb.getNumberOf("Jessie"));
+            assertNull(pb.getOwnerOf("705-12-7500"));
+        }
+    }
+
+    @Test
+    public void testCheckpoint() throws IOException {
+        try(PersistentPhonebook pb = new PersistentPhonebook(directory)) {
+            for(int i = 0; i < 500; i++)
+                pb.addEntry("Name" + i, "301-405-" + i);
+            pb.checkpoint();
+            assertEquals("A checkpoint should empty the log.", 0, Files.size(directory.resolve(PersistentPhonebook.LOG)));
+            assertEquals(0, pb.pendingChanges());
+            pb.deleteEntry("Name0", "301-405-0");
+            pb.addEntry("Name1", "240-555-0001");
+            assertEquals(2, pb.pendingChanges());
+        }
+        try(PersistentPhonebook pb = new PersistentPhonebook(directory)) {
+            assertEquals(499, pb.size());
+            assertNull(pb.getNumberOf("Name0"));
+            assertEquals("240-555-0001", pb.getNumberOf("Name1"));
+            assertEquals("Name499", pb.getOwnerOf("301-405-499"));
+            pb.checkpoint();
+            assertEquals(499, MappedHashTable.open(directory.resolve(PersistentPhonebook.NAMES_SNAPSHOT)).size());
+        }
+    }
+
+    @Test
+    public void testTornLogRecordIsDiscarded() throws IOException {
+        try(PersistentPhonebook pb = new PersistentPhonebook(directory)) {
+            pb.addEntry("Arnold", "894-59-0011");
+            pb.addEntry("Jessie", "705-12-7500");
+        }
+        Path log = directory.resolve(PersistentPhonebook.LOG);
+        try(FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);   // Simulate a crash in the middle of the second append.
+        }
+        try(PersistentPhonebook pb = new PersistentPhonebook(directory)) {
+            assertEquals(1, pb.size());
+            assertEquals("894-59-0011", pb.getNumberOf("Arnold"));
+            assertNull(pb.getNumberOf("Jessie"));
+            pb.addEntry("Mary", "888-1212-3340");
+        }
+        try(PersistentPhonebook pb = new PersistentPhonebook(directory)) {
+            assertEquals("Records appended after a torn one should survive.", "888-1212-3340", pb.getNumberOf("Mary"));
+            assertEquals(2, pb.size());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullEntry() throws IOException {
+        try(PersistentPhonebook pb = new PersistentPhonebook(directory)) {
+            pb.addEntry("Arnold", null);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package projects.phonebook.utils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>{@link ArrayKVBucket} is a {@link KVBucket} which stores its pairs in three <b>parallel arrays</b>: the keys, the
+ * values and the cached {@link String#hashCode()} of every key. The arrays start small and double in place whenever they
+ * fill up. A search by key scans the contiguous {@code int[]} of hash codes, and only dereferences a key (to call
+ * {@link String#equals(Object)} on it) when its hash code matches, so walking a chain of n pairs costs a handful of cache
+ * lines instead of the 2n or 3n scattered accesses of a {@link KVPairList}.</p>
+ *
+ * <p>Pairs are kept in insertion order, and a removal shifts the pairs after the removed one back, so the probes
+ * reported are exactly those of {@link KVPairList}. Unlike the iterator of {@link KVPairList}, which returns the stored
+ * {@link KVPair} instances themselves, the iterator of {@link ArrayKVBucket} returns <b>copies</b>: modifying them does
+ * not modify the bucket.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see KVBucket
+ * @see KVPairList
+ * @see BucketType#ARRAY
+ */
+public class ArrayKVBucket implements KVBucket {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private String[] keys;
+    private String[] values;
+    private int[] hashes;
+    private int count;
+
+    // Index of the first pair with the provided key, or -(count + 1) if there is none.
+    private int indexOfKey(String key){
+        int hash = key.hashCode();
+        for(int i = 0; i < count; i++)
+            if(hashes[i] == hash && keys[i].equals(key))
+                return i;
+        return -(count + 1);
+    }
+
+    private int indexOfValue(String value){
+        for(int i = 0; i < count; i++)
+            if(values[i].equals(value))
+                return i;
+        return -(count + 1);
+    }
+
+    // Shifts the pairs after i one position back.
+    private void removeAt(int i){
+        int tail = count - i - 1;
+        System.arraycopy(keys, i + 1, keys, i, tail);
+        System.arraycopy(values, i + 1, values, i, tail);
+        System.arraycopy(hashes, i + 1, hashes, i, tail);
+        count--;
+        keys[count] = values[count] = null;   // Let the GC reclaim them.
+    }
+
+    /**
+     * Default constructor. Initializes an empty {@link ArrayKVBucket}.
+     */
+    public ArrayKVBucket(){
+        keys = new String[INITIAL_CAPACITY];
+        values = new String[INITIAL_CAPACITY];
+        hashes = new int[INITIAL_CAPACITY];
+        count = 0;
+    }
+
+    @Override
+    public void addBack(String key, String value){
+        if(count == keys.length) {
+            keys = Arrays.copyOf(keys, 2 * count);
+            values = Arrays.copyOf(values, 2 * count);
+            hashes = Arrays.copyOf(hashes, 2 * count);
+        }
+        keys[count] = key;
+        values[count] = value;
+        hashes[count] = key.hashCode();
+        count++;
+    }
+
+    @Override
+    public void updateValue(String key, String value){
+        int hash = key.hashCode();
+        for(int i = 0; i < count; i++)
+            if(hashes[i] == hash && keys[i].equals(key))
+                values[i] = value;  // Keep updating other possible entries.
+    }
+
+    @Override
+    public void updateKey(String key, String value){
+        for(int i = 0; i < count; i++)
+            if(values[i].equals(value)) {
+                keys[i] = key;
+                hashes[i] = key.hashCode();
+            }
+    }
+
+    @Override
+    public Probes removeByKey(String key){
+        int i = indexOfKey(key);
+        if(i < 0)
+            return new Probes(null, -i);
+        String value = values[i];
+        removeAt(i);
+        return new Probes(value, i + 1);
+    }
+
+    @Override
+    public Probes removeByValue(String value){
+        int i = indexOfValue(value);
+        if(i < 0)
+            return new Probes(null, -i);
+        removeAt(i);
+        return new Probes(value, i + 1);
+    }
+
+    @Override
+    public void remove(String key, String value){
+        int hash = key.hashCode();
+        for(int i = 0; i < count; i++)
+            if(hashes[i] == hash && keys[i].equals(key) && values[i].equals(value)) {
+                removeAt(i);
+                return;
+            }
+    }
+
+    @Override
+    public boolean containsKVPair(String key, String value){
+        int hash = key.hashCode();
+        for(int i = 0; i < count; i++)
+            if(hashes[i] == hash && keys[i].equals(key) && values[i].equals(value))
+                return true;
+        return false;
+    }
+
+    @Override
+    public boolean containsKey(String key){
+        return indexOfKey(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(String value){
+        return indexOfValue(value) >= 0;
+    }
+
+    @Override
+    public Probes getValue(String key){
+        int i = indexOfKey(key);
+        return (i < 0) ? new Probes(null, -i) : new Probes(values[i], i + 1);
+    }
+
+    @Override
+    public Probes getKey(String value){
+        int i = indexOfValue(value);
+        return (i < 0) ? new Probes(null, -i) : new Probes(keys[i], i + 1);
+    }
+
+    @Override
+    public int size(){
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return count == 0;
+    }
+
+    @Override
+    public Iterator<KVPair> iterator(){
+        return new Iterator<KVPair>() {
+
+            private int curr = 0;
+
+            @Override
+            public boolean hasNext() {
+                return curr < count;
+            }
+
+            @Override
+            public KVPair next() {
+                if(!hasNext())
+                    throw new NoSuchElementException("ArrayKVBucket Iterator exhausted.");
+                KVPair retVal = new KVPair(keys[curr], values[curr]);
+                curr++;
+                return retVal;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder ret = new StringBuilder();
+        for(int i = 0; i < count; i++)
+            ret.append(keys[i]).append(" ");
+        return ret.append("\n").toString();
+    }
+}
@@ -0,0 +1,93 @@
+package projects.phonebook.utils;
+
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link ArrayKVBucketTests} is a small jUnit - based test suite for {@link ArrayKVBucket}. Since
+ * {@link ArrayKVBucket} has to report exactly the same probes as {@link KVPairList}, most of the tests compare the two.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see ArrayKVBucket
+ * @see KVPairList
+ */
+public class ArrayKVBucketTests {
+
+    private static final long SEED = 47;
+
+    private static void assertSameProbes(Probes expected, Probes actual){
+        assertEquals(expected.getValue(), actual.getValue());
+        assertEquals(expected.getProbes(), actual.getProbes());
+    }
+
+    @Test
+    public void testAgainstKVPairList() {
+        Random rng = new Random(SEED);
+        KVBucket expected = BucketType.LINKED_LIST.create(), actual = BucketType.ARRAY.create();
+        for(int i = 0; i < 20000; i++) {
+            String key = "Name" + rng.nextInt(40), value = "301-405-" + rng.nextInt(40);
+            switch(rng.nextInt(8)) {
+                case 0:
+                case 1:
+                    expected.addBack(key, value);
+                    actual.addBack(key, value);
+                    break;
+                case 2:
+                    assertSameProbes(expected.getValue(key), actual.getValue(key));
+                    assertSameProbes(expected.getKey(value), actual.getKey(value));
+                    break;
+                case 3:
+                    assertSameProbes(expected.removeByKey(key), actual.removeByKey(key));
+                    break;
+                case 4:
+                    assertSameProbes(expected.removeByValue(value), actual.removeByValue(value));
+                    break;
+                case 5:
+                    expected.remove(key, value);
+                    actual.remove(key, value);
+                    break;
+                case 6:
+                    expected.updateValue(key, value);
+                    actual.updateValue(key, value);
+                    break;
+                default:
+                    expected.updateKey(key, value);
+                    actual.updateKey(key, value);
+            }
+            assertEquals(expected.size(), actual.size());
+            assertEquals(expected.containsKey(key), actual.containsKey(key));
+            assertEquals(expected.containsValue(value), actual.containsValue(value));
+            assertEquals(expected.containsKVPair(key, value), actual.containsKVPair(key, value));
+        }
+        Iterator<KVPair> it = actual.iterator();
+        for(KVPair pair : expected)
+            assertEquals(pair, it.next());
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testGrowth() {
+        ArrayKVBucket bucket = new ArrayKVBucket();
+        assertTrue(bucket.isEmpty());
+        for(int i = 0; i < 100; i++)
+            bucket.addBack("Name" + i, "301-405-" + i);
+        assertEquals(100, bucket.size());
+        assertSameProbes(new Probes("301-405-99", 100), bucket.getValue("Name99"));
+        assertSameProbes(new Probes(null, 101), bucket.getValue("Jerry"));
+        assertSameProbes(new Probes("301-405-0", 1), bucket.removeByKey("Name0"));
+        assertSameProbes(new Probes("301-405-99", 99), bucket.getValue("Name99"));
+    }
+
+    @Test
+    public void testIteratorReturnsCopies() {
+        ArrayKVBucket bucket = new ArrayKVBucket();
+        bucket.addBack("Arnold", "894-59-0011");
+        bucket.iterator().next().setValue("705-12-7500");
+        assertEquals("894-59-0011", bucket.getValue("Arnold").getValue());
+    }
+}
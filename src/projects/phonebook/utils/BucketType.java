@@ -0,0 +1,55 @@
+package projects.phonebook.utils;
+
+import projects.phonebook.hashes.BucketedSeparateChainingHashTable;
+
+/**
+ * <p>{@link BucketType} enumerates the {@link KVBucket} implementations that a
+ * {@link BucketedSeparateChainingHashTable} can use for its collision chains.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see KVBucket
+ * @see BucketedSeparateChainingHashTable
+ */
+public enum BucketType {
+
+    /**
+     * {@link KVPairList}: a linked list of nodes, each one of which points to a {@link KVPair}, which in turn points to
+     * the key and the value. Walking a chain costs two or three dependent memory accesses per pair.
+     */
+    LINKED_LIST {
+        @Override
+        public KVBucket create(){
+            return new KVPairList();
+        }
+    },
+
+    /**
+     * {@link ArrayKVBucket}: parallel arrays of keys, values and cached hash codes. Walking a chain scans an
+     * {@code int[]} and only follows a key reference when its hash code matches.
+     */
+    ARRAY {
+        @Override
+        public KVBucket create(){
+            return new ArrayKVBucket();
+        }
+    },
+
+    /**
+     * {@link TreeifiedKVBucket}: an {@link ArrayKVBucket} which converts itself into a balanced tree once it grows past
+     * {@link TreeifiedKVBucket#TREEIFY_THRESHOLD} pairs, so that even a chain of colliding keys is searched in a
+     * logarithmic number of comparisons.
+     */
+    TREEIFIED {
+        @Override
+        public KVBucket create(){
+            return new TreeifiedKVBucket();
+        }
+    };
+
+    /**
+     * Creates an empty bucket of this type.
+     * @return A new, empty {@link KVBucket}.
+     */
+    public abstract KVBucket create();
+}
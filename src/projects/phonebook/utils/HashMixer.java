@@ -0,0 +1,33 @@
+package projects.phonebook.utils;
+
+/**
+ * <p>{@link HashMixer} provides <b>finalizers</b>, i.e bijective functions which scramble the bits of a hash code so
+ * that every input bit affects every output bit with probability close to one half. {@link String#hashCode()} is a
+ * polynomial hash whose low bits depend only on the last few characters of the key, which is harmless when the table
+ * index is taken modulo a prime, but produces long collision chains when the index is taken from the low bits alone,
+ * as {@link TableSizing#POWER_OF_TWO} does. Passing the hash code through {@link #fmix32(int)} first fixes that.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see TableSizing
+ */
+public final class HashMixer {
+
+    private HashMixer(){
+        // Static methods only.
+    }
+
+    /**
+     * The 32-bit finalizer of MurmurHash3: two rounds of xor-shifting and multiplying by odd constants.
+     * @param h The hash code to scramble.
+     * @return The scrambled hash code. Distinct inputs always give distinct outputs.
+     */
+    public static int fmix32(int h){
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,32 @@
+package projects.phonebook.utils;
+
+import projects.phonebook.hashes.HashTable;
+
+/**
+ * <p>{@link HashStrategy} abstracts over the hash function that a {@link HashTable} applies to its keys. By default, every
+ * table uses {@link String#hashCode()} ({@link StandardHashStrategy#JAVA}). Keys such as phone numbers, which share long
+ * prefixes and only differ in a few digits, might cluster badly under it, so tables also accept any other
+ * {@link HashStrategy} at construction time. {@link StandardHashStrategy} provides the common non-cryptographic hash
+ * functions, {@link SeededHashStrategy} a randomly seeded one, and {@link ProbeHistogram#compare} measures how they fare
+ * on a given key set.</p>
+ *
+ * <p>Implementations may return any {@code int}, negative values included. Tables mask or scramble the result as they
+ * see fit.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see StandardHashStrategy
+ * @see SeededHashStrategy
+ * @see ProbeHistogram
+ */
+@FunctionalInterface
+public interface HashStrategy {
+
+    /**
+     * Computes the hash code of key. The result must only depend on the contents of key, so that equal keys
+     * have equal hash codes.
+     * @param key A non-{@code null} key.
+     * @return The hash code of key.
+     */
+    int hash(String key);
+}
@@ -0,0 +1,86 @@
+package projects.phonebook.utils;
+
+import org.junit.Test;
+import projects.phonebook.Phonebook;
+import projects.phonebook.hashes.CollisionResolver;
+import projects.phonebook.hashes.CuckooHashTable;
+import projects.phonebook.hashes.FlatLinearProbingHashTable;
+import projects.phonebook.hashes.HashTable;
+import projects.phonebook.hashes.SwissHashTable;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link HashStrategyTests} is a small jUnit - based test suite for {@link StandardHashStrategy} and
+ * {@link SeededHashStrategy}. The expected values of MurmurHash3 and xxHash32 are those of the reference implementations
+ * over the UTF-16LE encoding of every key.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashStrategy
+ * @see StandardHashStrategy
+ * @see SeededHashStrategy
+ */
+public class HashStrategyTests {
+
+    private static final String[] KEYS = {"", "a", "ab", "abc", "301-405-2662", "Jason Filippou", "894-59-0011 Arnold"};
+
+    @Test
+    public void testMurmur3() {
+        int[] expected = {0, 1867108634, 374890698, 1118836419, -1820425925, 1954133973, 1117332160};
+        for(int i = 0; i < KEYS.length; i++)
+            assertEquals("Wrong MurmurHash3 for \"" + KEYS[i] + "\".", expected[i], StandardHashStrategy.MURMUR3.hash(KEYS[i]));
+    }
+
+    @Test
+    public void testXxHash32() {
+        int[] expected = {46947589, 428027730, -970770814, -1179289474, 1058501350, -198846661, 281233987};
+        for(int i = 0; i < KEYS.length; i++)
+            assertEquals("Wrong xxHash32 for \"" + KEYS[i] + "\".", expected[i], StandardHashStrategy.XXHASH32.hash(KEYS[i]));
+    }
+
+    @Test
+    public void testJavaAndFnv1a() {
+        for(String key : KEYS)
+            assertEquals(key.hashCode(), StandardHashStrategy.JAVA.hash(key));
+        assertEquals(0x811C9DC5, StandardHashStrategy.FNV1A.hash(""));
+        assertEquals(0xE40C292C, StandardHashStrategy.FNV1A.hash("a"));
+    }
+
+    @Test
+    public void testSeeded() {
+        SeededHashStrategy first = new SeededHashStrategy(47), second = new SeededHashStrategy(48);
+        assertEquals("The same seed should produce the same hash codes.", first.hash("301-405-2662"),
+                new SeededHashStrategy(47).hash("301-405-2662"));
+        assertTrue(first.hash("301-405-2662") != second.hash("301-405-2662"));
+        assertEquals(StandardHashStrategy.MURMUR3.hash("301-405-2662"), new SeededHashStrategy(0).hash("301-405-2662"));
+        assertFalse("The seed should never be revealed.", first.toString().contains("47"));
+    }
+
+    @Test
+    public void testTablesWithStrategies() {
+        for(HashStrategy strategy : new HashStrategy[]{StandardHashStrategy.FNV1A, StandardHashStrategy.XXHASH32,
+                new SeededHashStrategy(), key -> 0}) {
+            HashTable[] tables = {new FlatLinearProbingHashTable(true, TableSizing.POWER_OF_TWO, strategy),
+                    new SwissHashTable(strategy), new CuckooHashTable(strategy)};
+            for(HashTable table : tables) {
+                for(int i = 0; i < 300; i++)
+                    table.put("301-405-" + i, "Name" + i);
+                for(int i = 0; i < 300; i += 3)
+                    table.remove("301-405-" + i);
+                for(int i = 0; i < 300; i++)
+                    assertEquals(i % 3 == 0 ? null : "Name" + i, table.get("301-405-" + i).getValue());
+            }
+        }
+        Phonebook pb = new Phonebook(CollisionResolver.ROBIN_HOOD_HASHING, CollisionResolver.SWISS_TABLE,
+                StandardHashStrategy.MURMUR3);
+        pb.addEntry("Arnold", "894-59-0011");
+        assertEquals("Arnold", pb.getOwnerOf("894-59-0011"));
+        assertEquals("894-59-0011", pb.getNumberOf("Arnold"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullStrategy() {
+        new SwissHashTable(null);
+    }
+}
@@ -0,0 +1,172 @@
+package projects.phonebook.utils;
+
+import projects.phonebook.hashes.HashTable;
+import projects.phonebook.hashes.InstrumentedHashTable;
+
+/**
+ * <p>{@link HashTableMetrics} is an immutable <b>snapshot</b> of the metrics that an {@link InstrumentedHashTable} has
+ * gathered about the {@link HashTable} it wraps: the distributions of the probes made by successful searches (hits),
+ * unsuccessful searches (misses), insertions and deletions, the occupancy of the table, the number of its resizings and
+ * compactions, and the total duration of the operations which resized it. Snapshots are taken through {@link InstrumentedHashTable#snapshot()}, and can be rendered as a
+ * human-readable report through {@link #toReport()}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see InstrumentedHashTable
+ * @see ProbeHistogram
+ */
+public final class HashTableMetrics {
+
+    private final ProbeHistogram hits, misses, inserts, deletes;
+    private final int size, capacity, tombstones, longestCluster;
+    private final long resizes, compactions, resizingOperationNanos;
+
+    /**
+     * Creates a snapshot. The histograms are copied, so the snapshot is not affected by subsequent operations.
+     * @param hits The histogram of the probes made by successful searches.
+     * @param misses The histogram of the probes made by unsuccessful searches.
+     * @param inserts The histogram of the probes made by insertions.
+     * @param deletes The histogram of the probes made by deletions.
+     * @param size The number of keys in the table.
+     * @param capacity The capacity of the table.
+     * @param tombstones The number of tombstones in the table.
+     * @param longestCluster The length of the longest cluster of the table, or -1 if the table does not report it.
+     * @param resizes The number of resizings of the table.
+     * @param compactions The number of compactions of the table, i.e of in-place rebuilds which dropped its tombstones.
+     * @param resizingOperationNanos The total duration of the operations which resized the table, in nanoseconds.
+     * @throws IllegalArgumentException if any of the histograms is {@code null}.
+     */
+    public HashTableMetrics(ProbeHistogram hits, ProbeHistogram misses, ProbeHistogram inserts, ProbeHistogram deletes,
+                            int size, int capacity, int tombstones, int longestCluster, long resizes, long compactions,
+                            long resizingOperationNanos){
+        if(hits == null || misses == null || inserts == null || deletes == null)
+            throw new IllegalArgumentException("Provided a null histogram.");
+        this.hits = hits.copy();
+        this.misses = misses.copy();
+        this.inserts = inserts.copy();
+        this.deletes = deletes.copy();
+        this.size = size;
+        this.capacity = capacity;
+        this.tombstones = tombstones;
+        this.longestCluster = longestCluster;
+        this.resizes = resizes;
+        this.compactions = compactions;
+        this.resizingOperationNanos = resizingOperationNanos;
+    }
+
+    /**
+     * Returns the histogram of the probes made by successful searches.
+     * @return A copy of the histogram of hits.
+     */
+    public ProbeHistogram getHits(){
+        return hits.copy();
+    }
+
+    /**
+     * Returns the histogram of the probes made by unsuccessful searches.
+     * @return A copy of the histogram of misses.
+     */
+    public ProbeHistogram getMisses(){
+        return misses.copy();
+    }
+
+    /**
+     * Returns the histogram of the probes made by insertions, updates included.
+     * @return A copy of the histogram of insertions.
+     */
+    public ProbeHistogram getInserts(){
+        return inserts.copy();
+    }
+
+    /**
+     * Returns the histogram of the probes made by deletions, unsuccessful ones included.
+     * @return A copy of the histogram of deletions.
+     */
+    public ProbeHistogram getDeletes(){
+        return deletes.copy();
+    }
+
+    /**
+     * Returns the number of keys in the table at the time of the snapshot.
+     * @return The size of the table.
+     */
+    public int getSize(){
+        return size;
+    }
+
+    /**
+     * Returns the capacity of the table at the time of the snapshot.
+     * @return The capacity of the table.
+     */
+    public int getCapacity(){
+        return capacity;
+    }
+
+    /**
+     * Returns the load factor of the table at the time of the snapshot, i.e its size over its capacity.
+     * @return The load factor of the table.
+     */
+    public double getLoadFactor(){
+        return (capacity == 0) ? 0 : (double)size / capacity;
+    }
+
+    /**
+     * Returns the number of tombstones in the table at the time of the snapshot.
+     * @return The number of tombstones of the table.
+     */
+    public int getTombstones(){
+        return tombstones;
+    }
+
+    /**
+     * Returns the length of the longest cluster of the table at the time of the snapshot.
+     * @return The length of the longest cluster, or -1 if the table does not report it.
+     * @see HashTable#longestCluster()
+     */
+    public int getLongestCluster(){
+        return longestCluster;
+    }
+
+    /**
+     * Returns the number of resizings of the table, i.e the number of operations which changed its capacity.
+     * @return The number of resizings.
+     */
+    public long getResizes(){
+        return resizes;
+    }
+
+    /**
+     * Returns the number of compactions of the table, i.e the number of operations which left its capacity unchanged but
+     * rebuilt it in place to drop its tombstones.
+     * @return The number of compactions.
+     */
+    public long getCompactions(){
+        return compactions;
+    }
+
+    /**
+     * Returns the total duration of the operations which resized the table. This is the duration of the entire
+     * operations, i.e it includes the probes which they made besides the resizing itself.
+     * @return The total duration of the resizing operations, in nanoseconds.
+     */
+    public long getResizingOperationNanos(){
+        return resizingOperationNanos;
+    }
+
+    /**
+     * Renders the snapshot as a multi-line, human-readable report.
+     * @return The report.
+     */
+    public String toReport(){
+        return String.format("size=%d, capacity=%d, load factor=%.3f, tombstones=%d, longest cluster=%s%n" +
+                        "resizes=%d, compactions=%d, total time of resizing operations=%.3f ms%n" +
+                        "hits:    %s%nmisses:  %s%ninserts: %s%ndeletes: %s",
+                size, capacity, getLoadFactor(), tombstones, longestCluster < 0 ? "n/a" : Integer.toString(longestCluster),
+                resizes, compactions, resizingOperationNanos / 1e6, hits, misses, inserts, deletes);
+    }
+
+    @Override
+    public String toString(){
+        return toReport();
+    }
+}
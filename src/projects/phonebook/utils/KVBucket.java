@@ -0,0 +1,113 @@
+package projects.phonebook.utils;
+
+import projects.phonebook.hashes.BucketedSeparateChainingHashTable;
+
+/**
+ * <p>{@link KVBucket} abstracts over the <b>collision chains</b> of a {@link BucketedSeparateChainingHashTable}:
+ * unsorted collections of &lt; key, value &gt; pairs which are searched linearly. Its methods are those of
+ * {@link KVPairList}, the original, linked list implementation, so that any {@link KVBucket} can take its place. The
+ * probes reported by the methods which return a {@link Probes} instance must be those of {@link KVPairList}: finding the
+ * i-th pair of the bucket (starting from 1) takes i probes, and an unsuccessful search of a bucket of n pairs takes n + 1
+ * probes. The only exception is a {@link TreeifiedKVBucket} while it is a tree, which documents the probes it reports
+ * instead: a search by key reports the nodes it compares the key with, and a successful search by value reports n
+ * probes.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see KVPairList
+ * @see ArrayKVBucket
+ * @see TreeifiedKVBucket
+ * @see BucketType
+ */
+public interface KVBucket extends Iterable<KVPair> {
+
+    /**
+     * Appends the pair &lt; key, value &gt; to the bucket.
+     * @param key The &quot;key&quot; {@link String} in the pair.
+     * @param value The &quot;value&quot; {@link String} in the pair.
+     */
+    void addBack(String key, String value);
+
+    /**
+     * Updates the value of every pair with the provided key. If key does not exist in this, this method has <b>no effect</b>.
+     * @param key The &quot;key&quot; {@link String} that we are searching for.
+     * @param value The new &quot;value&quot; {@link String}.
+     */
+    void updateValue(String key, String value);
+
+    /**
+     * Updates the key of every pair with the provided value. If value does not exist in this, this method has <b>no effect</b>.
+     * @param key The new &quot;key&quot; {@link String}.
+     * @param value The &quot;value&quot; {@link String} that we are searching for.
+     */
+    void updateKey(String key, String value);
+
+    /**
+     * Removes the <b>first</b> pair with the provided key.
+     * @param key The &quot;key&quot; {@link String} to match with pairs.
+     * @return The value of the removed pair, or {@code null} if there is none, and the probes made.
+     */
+    Probes removeByKey(String key);
+
+    /**
+     * Removes the <b>first</b> pair with the provided value.
+     * @param value The &quot;value&quot; {@link String} to match with pairs.
+     * @return The value of the removed pair, or {@code null} if there is none, and the probes made.
+     */
+    Probes removeByValue(String value);
+
+    /**
+     * Removes the <b>first</b> occurrence of the pair &lt; key, value &gt;, if any.
+     * @param key The key {@link String} in the pair.
+     * @param value The value {@link String} in the pair.
+     */
+    void remove(String key, String value);
+
+    /**
+     * Searches for the pair &lt; key, value &gt;.
+     * @param key The key {@link String} in the pair.
+     * @param value The value {@link String} in the pair.
+     * @return {@code true} if, and only if, the pair exists at least once in the bucket.
+     */
+    boolean containsKVPair(String key, String value);
+
+    /**
+     * Searches for a pair with the provided key.
+     * @param key The &quot;key&quot; {@link String} to search for.
+     * @return {@code true} if, and only if, some pair of the bucket has key as its key.
+     */
+    boolean containsKey(String key);
+
+    /**
+     * Searches for a pair with the provided value.
+     * @param value The &quot;value&quot; {@link String} to search for.
+     * @return {@code true} if, and only if, some pair of the bucket has value as its value.
+     */
+    boolean containsValue(String value);
+
+    /**
+     * Searches for the value of the first pair with the provided key.
+     * @param key The &quot;key&quot; {@link String} to search for.
+     * @return The value, or {@code null} if key could not be found, and the probes made.
+     */
+    Probes getValue(String key);
+
+    /**
+     * Searches for the key of the first pair with the provided value.
+     * @param value The &quot;value&quot; {@link String} to search for.
+     * @return The key, or {@code null} if value could not be found, and the probes made.
+     */
+    Probes getKey(String value);
+
+    /**
+     * Returns the number of pairs in the bucket.
+     * @return The number of pairs in the bucket.
+     */
+    int size();
+
+    /**
+     * Queries the bucket for emptiness.
+     * @return {@code true} if, and only if, {@link #size()} is 0.
+     */
+    boolean isEmpty();
+}
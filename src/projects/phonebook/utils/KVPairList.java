@@ -14,9 +14,10 @@ import java.util.Iterator;
  * @author <a href="mailto:jason.filippou@gmail.com">Jason Filippou</a>
  *
  * @see KVPair
+ * @see KVBucket
  * @see KVPairListTests
  */
-public class KVPairList implements Iterable<KVPair>{
+public class KVPairList implements KVBucket {
 
     private class Node {
         KVPair pair;
@@ -128,7 +129,7 @@ public class KVPairList implements Iterable<KVPair>{
                 }
                 if(current == tail){
                     assert tail.next == null : "If we find the element at the end of the list, the next element should be null.";
-                    tail = tail.next;
+                    tail = previous;
                 }
                 count--;
                 break;
@@ -166,7 +167,7 @@ public class KVPairList implements Iterable<KVPair>{
                 }
                 if(current == tail){
                     assert tail.next == null : "If we find the element at the end of the list, the next element should be null.";
-                    tail = tail.next;
+                    tail = previous;
                 }
                 count--;
                 break;
@@ -198,7 +199,7 @@ public class KVPairList implements Iterable<KVPair>{
                 }
                 if(current == tail){
                     assert tail.next == null : "If we find the element at the end of the list, the next element should be null.";
-                    tail = tail.next;
+                    tail = previous;
                 }
                 count--;
                 break;
@@ -2,6 +2,9 @@ package projects.phonebook.utils;
 
 import projects.phonebook.hashes.HashTable;
 
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * <p>{@link PrimeGenerator} is a simple <b>immutable</b> class which stores and retrieves <b>prime numbers</b>. Since
  * we use this class from within the context of {@link HashTable} instances, we implement
@@ -10,6 +13,10 @@ import projects.phonebook.hashes.HashTable;
  * smaller than two times the current prime. This does <b>not</b> simply mean that the current index into our collection of primes
  * should be doubled, since primes are not uniformly distributed on the line of positive integers! </p>
  *
+ * <p>The first thousand or so primes are stored in a list. Beyond its end, {@link #getNextPrime()} and {@link #getPreviousPrime()}
+ * keep the same doubling and halving contract by computing primes on demand through {@link Primes}, so tables may
+ * grow all the way up to {@link Primes#LARGEST_INT_PRIME} slots. Computed primes are cached across instances.</p>
+ *
  * <p><b>**** DO NOT EDIT THIS CLASS! ****** </b></p>
  *
  * @see HashTable
@@ -127,7 +134,23 @@ public class PrimeGenerator {
     };
 
     private static final int FIRST_INDEX = 3; // Selecting 7 as the first prime to return
-    private  int currIdx = FIRST_INDEX;
+    private static final int LARGEST_LISTED_PRIME = PRIME_LIST[PRIME_LIST.length - 1];
+
+    // Primes beyond our list are computed on demand by Primes, and shared by all instances. Since every table
+    // follows the same doubling / halving chain starting from 7, the same few dozen entries are looked up again and again.
+    private static final ConcurrentHashMap<Integer, Integer> NEXT_PRIMES = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Integer, Integer> PREVIOUS_PRIMES = new ConcurrentHashMap<>();
+
+    private  int currIdx = FIRST_INDEX;  // Index of currPrime in PRIME_LIST, or -1 if currPrime lies beyond the list.
+    private  int currPrime = PRIME_LIST[FIRST_INDEX];
+
+    // Points the instance to the given prime, keeping the list index in sync with it.
+    private int moveTo(int prime){
+        currPrime = prime;
+        currIdx = prime <= LARGEST_LISTED_PRIME ? Arrays.binarySearch(PRIME_LIST, prime) : -1;
+        assert currIdx != -1 || prime > LARGEST_LISTED_PRIME : "moveTo(): " + prime + " should have been in our list of primes.";
+        return currPrime;
+    }
 
     /**
      * Retrieves the prime number pointed to by internal storage. Without any calls to {@link #getNextPrime()} or {@link
@@ -136,46 +159,50 @@ public class PrimeGenerator {
      */
     public int getCurrPrime(){
 
-        assert (0 <= currIdx) && (currIdx < PRIME_LIST.length) :  "getCurrPrime(): Inconsistent internal index.";
+        assert (currIdx == -1 && currPrime > LARGEST_LISTED_PRIME) || (0 <= currIdx && currIdx < PRIME_LIST.length &&
+                PRIME_LIST[currIdx] == currPrime) :  "getCurrPrime(): Inconsistent internal index.";
 
-        return PRIME_LIST[currIdx];
+        return currPrime;
     }
 
     /**
      * Returns the greatest prime <b>smaller than twice the current prime</b>. This is an approach that allows instances of
      * {@link HashTable} to find new hash table sizes which provide a good trade-off between memory footprint and making
-     * future insertions happen without resizing the table.
+     * future insertions happen without resizing the table. Beyond the end of our list of primes, the prime is computed
+     * (and cached) by {@link Primes}.
      * @return The first prime number greater than twice the current prime number.
-     * @throws NoMorePrimesException If there is no such prime number to return from our list.
+     * @throws NoMorePrimesException If there is no such prime number among the {@code int}s, i.e if the current prime is
+     * already {@link Primes#LARGEST_INT_PRIME}.
      */
     public int getNextPrime() throws NoMorePrimesException {
 
-        assert (0 <= currIdx) && (currIdx < PRIME_LIST.length) :  "getNextPrime(): Inconsistent internal index.";
-
-        int currPrime = PRIME_LIST[currIdx];
-        for (int i = currIdx; i < PRIME_LIST.length; i++) {
-            if (PRIME_LIST[i] > 2 * currPrime) { // >= Doesn't make sense for primes, does it?
-                currIdx = i-1;
-                return PRIME_LIST[currIdx];
+        if(currIdx != -1) {
+            for (int i = currIdx; i < PRIME_LIST.length; i++) {
+                if (PRIME_LIST[i] > 2 * currPrime) { // >= Doesn't make sense for primes, does it?
+                    return moveTo(PRIME_LIST[i - 1]);
+                }
             }
         }
 
-        throw new NoMorePrimesException("getNextPrime(): Search for a prime greater than twice " +
-                currPrime + " exceeded storage of primes.");
+        if(currPrime == Primes.LARGEST_INT_PRIME)
+            throw new NoMorePrimesException("getNextPrime(): Search for a prime greater than twice " +
+                    currPrime + " exceeded the range of int.");
+
+        // 2 * currPrime is even, so the largest prime at most 2 * currPrime - 1 is also the largest one below it.
+        return moveTo(NEXT_PRIMES.computeIfAbsent(currPrime, p -> Primes.largestPrimeAtMost(2L * p - 1)));
     }
 
 
     /**
      *  Returns the smallest prime <b>larger than half the current prime</b>. This is an approach that allows instances of
      * {@link HashTable} to find new hash table sizes which provide a good trade-off between memory footprint and making
-     * future deletions happen without resizing the table.
+     * future deletions happen without resizing the table. Beyond the end of our list of primes, the prime is computed
+     * (and cached) by {@link Primes}.
      * @return The first prime number greater than half the current prime number.
-     * @throws NoMorePrimesException If there is no such prime number to return from our list.
+     * @throws NoMorePrimesException If there is no such prime number to return, i.e if the current prime is 2.
      */
     public int getPreviousPrime() throws NoMorePrimesException {
 
-        assert (0 <= currIdx) && (currIdx < PRIME_LIST.length) :  "getPreviousPrime(): Inconsistent internal index.";
-
         if(currIdx == 0){
 
             // You might be perplexed as to why we assert an invariant in a scope where we only throw an exception.
@@ -193,15 +220,15 @@ public class PrimeGenerator {
 
             throw new NoMorePrimesException("getPreviousPrime(): 2 is the least prime number.");
         }
-        int currPrime = PRIME_LIST[currIdx];
+        if(currIdx == -1) // Every prime beyond our list is odd, so the smallest integer above half of it is (p + 1) / 2.
+            return moveTo(PREVIOUS_PRIMES.computeIfAbsent(currPrime, p -> Primes.smallestPrimeAtLeast((p + 1L) / 2)));
+
         for (int i = currIdx; i >= 0; i--) {
             if (PRIME_LIST[i] < ((float)currPrime / 2)) { // "Less than or equal" (<=) doesn't make sense for primes, does it?
-                currIdx = i+1;
-                return PRIME_LIST[currIdx];
+                return moveTo(PRIME_LIST[i + 1]);
             }
         }
-        currIdx = 0; // Minimum prime selected will always be 2.
-        return 2;
+        return moveTo(2); // Minimum prime selected will always be 2.
     }
 
 
@@ -209,7 +236,7 @@ public class PrimeGenerator {
      * Resets the {@link PrimeGenerator} instance, making the next call to {@link #getCurrPrime()} return 13.
      */
     public  void reset() {
-        currIdx = FIRST_INDEX;
+        moveTo(PRIME_LIST[FIRST_INDEX]);
     }
 
 }
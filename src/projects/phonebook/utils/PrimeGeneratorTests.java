@@ -127,13 +127,12 @@ public class PrimeGeneratorTests {
         }
         assertNotNull("A call to getPreviousPrime() when getCurrentPrime() returns 2 should have thrown a NoMorePrimesException", rexc);
 
-        // The biggest prime number we store is 7907. We start making calls to getNextPrime() which will *more than double*
-        // the current prime number every time. 2^12 = 4096 and 2^13 = 8192. Without even looking at my list of primes
-        // I know that in at most 12 calls to getNextPrime() (the first one gives me 13) I am reaching a number that is definitely
-        // beyond my list of current primes.
+        // Beyond our list, primes are computed on demand, so the only limit is the largest prime int, 2^31 - 1. We start
+        // making calls to getNextPrime() which will *almost double* the current prime number every time. Starting from 7,
+        // 40 calls are more than enough to reach 2^31 - 1, after which getNextPrime() has nothing left to return.
         rexc = null;
         int iterThrown = 0;
-        for(int i = 0; i < 15; i++){
+        for(int i = 0; i < 40; i++){
             // Embedding the try block inside the for loop makes the loop very slow, but allows for the index 'i' to be
             // visible to the scope of the catch-blocks. This in turn allows us to throw an AssertionError with information
             // about exactly *which* iteration failed.
@@ -150,6 +149,52 @@ public class PrimeGeneratorTests {
         assertNotNull("Was expecting a NoMorePrimesException after " + (iterThrown + 1) + " calls to getNextPrime()", rexc);
     }
 
+    /**
+     * Tests that {@link PrimeGenerator#getNextPrime()} and {@link PrimeGenerator#getPreviousPrime()} keep their contract
+     * beyond the end of the list of stored primes.
+     */
+    @Test
+    public void testPrimesBeyondList(){
+        int prev = pg.getCurrPrime();
+        while(pg.getCurrPrime() < 7907)
+            prev = pg.getNextPrime();
+        while(prev < 100_000_000){
+            int next = pg.getNextPrime();
+            assertTrue(next + " is not a prime.", Primes.isPrime(next));
+            assertTrue("Expected a prime smaller than twice " + prev + ", got " + next + ".", next < 2 * prev);
+            for(int i = next + 1; i < 2 * prev; i++)
+                assertFalse("Expected the largest prime smaller than twice " + prev + ", but " + i + " is also a prime.",
+                        Primes.isPrime(i));
+            assertEquals(next, pg.getCurrPrime());
+            int half = pg.getPreviousPrime();
+            assertTrue("Expected a prime larger than half of " + next + ", got " + half + ".", 2L * half > next);
+            assertTrue("Expected the smallest prime larger than half of " + next + ", got " + half + ".", half <= prev);
+            pg.reset();     // Halving does not always undo doubling, because of gaps between primes.
+            while(pg.getCurrPrime() != next)
+                pg.getNextPrime();
+            prev = next;
+        }
+    }
+
+    /**
+     * Tests that {@link PrimeGenerator#getPreviousPrime()} leads back into the list of stored primes.
+     */
+    @Test
+    public void testPreviousPrimeBackIntoList(){
+        int calls = 0;
+        while(pg.getCurrPrime() < 1_000_000) {
+            pg.getNextPrime();
+            calls++;
+        }
+        for(int i = 0; i < calls; i++)
+            pg.getPreviousPrime();
+        assertTrue("Halving as many times as we doubled should take us back to the list of stored primes.",
+                pg.getCurrPrime() <= 7907);
+        while(pg.getCurrPrime() > 2)
+            pg.getPreviousPrime();
+        assertEquals(2, pg.getCurrPrime());
+    }
+
     /**
      * Tests the behavior of {@link PrimeGenerator#reset()}.
      */
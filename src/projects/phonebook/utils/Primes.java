@@ -0,0 +1,115 @@
+package projects.phonebook.utils;
+
+/**
+ * <p>{@link Primes} is a small library of <b>primality</b> routines over {@code int}s. Its workhorse is a
+ * <b>deterministic</b> version of the Miller - Rabin primality test: for every n &lt; 4,759,123,141, and therefore for
+ * every positive {@code int}, testing against the witnesses 2, 7 and 61 decides whether n is prime without any chance of
+ * error. A test takes a few dozen modular multiplications, so finding the prime closest to a given number, which only
+ * needs to look at a few dozen candidates on average, is fast enough to do on demand.</p>
+ *
+ * <p>{@link PrimeGenerator} relies on this class to keep providing primes beyond the end of its list.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see PrimeGenerator
+ */
+public final class Primes {
+
+    /**
+     * The largest prime representable as an {@code int}, 2<sup>31</sup> - 1.
+     */
+    public static final int LARGEST_INT_PRIME = Integer.MAX_VALUE;
+
+    private static final int[] WITNESSES = {2, 7, 61};
+    private static final int[] SMALL_PRIMES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+
+    private Primes(){
+        // Static methods only.
+    }
+
+    // (base ^ exp) mod m, for m < 2^31, so that no product of two residues overflows a long.
+    private static long modPow(long base, long exp, long m){
+        long result = 1;
+        base %= m;
+        while(exp > 0) {
+            if((exp & 1) == 1)
+                result = result * base % m;
+            base = base * base % m;
+            exp >>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Decides whether n is prime.
+     * @param n The number to test.
+     * @return {@code true} if and only if n is a prime number. Numbers smaller than 2 are not prime.
+     */
+    public static boolean isPrime(int n){
+        if(n < 2)
+            return false;
+        for(int p : SMALL_PRIMES) {  // Cheap trial division first.
+            if(n % p == 0)
+                return n == p;
+        }
+        // Write n - 1 as d * 2^s with d odd.
+        long d = n - 1;
+        int s = 0;
+        while((d & 1) == 0) {
+            d >>= 1;
+            s++;
+        }
+        for(int a : WITNESSES) {
+            if(a % n == 0)
+                continue;
+            long x = modPow(a, d, n);
+            if(x == 1 || x == n - 1)
+                continue;
+            boolean composite = true;
+            for(int r = 1; r < s && composite; r++) {
+                x = x * x % n;
+                if(x == n - 1)
+                    composite = false;
+            }
+            if(composite)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the smallest prime which is <b>greater than or equal to</b> n.
+     * @param n A lower bound for the prime.
+     * @return The smallest prime p such that p &gt;= n.
+     * @throws NoMorePrimesException if there is no such prime among the {@code int}s, i.e if n &gt; {@link #LARGEST_INT_PRIME}.
+     */
+    public static int smallestPrimeAtLeast(long n){
+        if(n > LARGEST_INT_PRIME)
+            throw new NoMorePrimesException("smallestPrimeAtLeast(): No int prime is at least " + n + ".");
+        if(n <= 2)
+            return 2;
+        int candidate = (int)n | 1;     // Even numbers above 2 are never prime.
+        while(!isPrime(candidate))
+            candidate += 2;             // Cannot overflow, since LARGEST_INT_PRIME is odd and prime.
+        return candidate;
+    }
+
+    /**
+     * Returns the largest prime which is <b>smaller than or equal to</b> n.
+     * @param n An upper bound for the prime. Values beyond the range of {@code int} are allowed.
+     * @return The largest prime p such that p &lt;= n.
+     * @throws NoMorePrimesException if there is no such prime, i.e if n &lt; 2.
+     */
+    public static int largestPrimeAtMost(long n){
+        if(n < 2)
+            throw new NoMorePrimesException("largestPrimeAtMost(): 2 is the least prime number.");
+        if(n >= LARGEST_INT_PRIME)
+            return LARGEST_INT_PRIME;
+        if(n == 2)
+            return 2;
+        int candidate = ((int)n & 1) == 0 ? (int)n - 1 : (int)n;
+        while(!isPrime(candidate))
+            candidate -= 2;             // Stops at 3 at the latest.
+        return candidate;
+    }
+}
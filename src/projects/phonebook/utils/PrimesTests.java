@@ -0,0 +1,62 @@
+package projects.phonebook.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link PrimesTests} is a small jUnit - based test suite for {@link Primes}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see Primes
+ */
+public class PrimesTests {
+
+    @Test
+    public void testAgainstSieve() {
+        int n = 100_000;
+        boolean[] composite = new boolean[n];
+        composite[0] = composite[1] = true;
+        for(int i = 2; (long)i * i < n; i++)
+            if(!composite[i])
+                for(int j = i * i; j < n; j += i)
+                    composite[j] = true;
+        for(int i = 0; i < n; i++)
+            assertEquals("Wrong answer for " + i + ".", !composite[i], Primes.isPrime(i));
+    }
+
+    @Test
+    public void testPseudoprimes() {
+        // Carmichael numbers and strong pseudoprimes to some of our bases.
+        int[] composites = {561, 1105, 1729, 2465, 2821, 6601, 8911, 2047, 1_373_653, 25_326_001};
+        for(int c : composites)
+            assertFalse(c + " is composite.", Primes.isPrime(c));
+        assertFalse(Primes.isPrime(-7));
+        assertTrue(Primes.isPrime(1_000_000_007));
+        assertTrue(Primes.isPrime(Integer.MAX_VALUE));
+        assertFalse(Primes.isPrime(Integer.MAX_VALUE - 2));
+    }
+
+    @Test
+    public void testNeighbouringPrimes() {
+        assertEquals(2, Primes.smallestPrimeAtLeast(-5));
+        assertEquals(7919, Primes.smallestPrimeAtLeast(7908));
+        assertEquals(7907, Primes.largestPrimeAtMost(7918));
+        assertEquals(2, Primes.largestPrimeAtMost(2));
+        assertEquals(3, Primes.largestPrimeAtMost(4));
+        assertEquals(Primes.LARGEST_INT_PRIME, Primes.smallestPrimeAtLeast(Integer.MAX_VALUE - 1));
+        assertEquals(Primes.LARGEST_INT_PRIME, Primes.largestPrimeAtMost(Long.MAX_VALUE));
+        assertEquals(2147483629, Primes.largestPrimeAtMost(Integer.MAX_VALUE - 1));
+    }
+
+    @Test(expected = NoMorePrimesException.class)
+    public void testNoPrimeAbove() {
+        Primes.smallestPrimeAtLeast(Integer.MAX_VALUE + 1L);
+    }
+
+    @Test(expected = NoMorePrimesException.class)
+    public void testNoPrimeBelow() {
+        Primes.largestPrimeAtMost(1);
+    }
+}
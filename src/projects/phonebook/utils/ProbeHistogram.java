@@ -0,0 +1,152 @@
+package projects.phonebook.utils;
+
+import projects.phonebook.hashes.HashTable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * <p>{@link ProbeHistogram} records the <b>distribution</b> of the probes made by a sequence of hash table operations:
+ * how many operations took one probe, how many took two, and so on. Averages hide long collision chains, whereas the
+ * tail of the distribution (see {@link #percentile(double)} and {@link #max()}) exposes them, which makes histograms the
+ * right tool for comparing {@link HashStrategy} instances on a given key set (see {@link #compare}).</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashStrategy
+ * @see Probes
+ */
+public class ProbeHistogram {
+
+    private long[] frequencies = new long[16];  // frequencies[p] is the number of operations which made p probes.
+    private long operations;
+    private long totalProbes;
+    private int max;
+
+    /**
+     * Returns an independent copy of this histogram, which subsequent calls to {@link #record(int)} on this do not affect.
+     * @return A copy of this histogram.
+     */
+    public ProbeHistogram copy(){
+        ProbeHistogram copy = new ProbeHistogram();
+        copy.frequencies = frequencies.clone();
+        copy.operations = operations;
+        copy.totalProbes = totalProbes;
+        copy.max = max;
+        return copy;
+    }
+
+    /**
+     * Records an operation which made the given number of probes.
+     * @param probes The number of probes the operation made.
+     * @throws IllegalArgumentException if probes is negative.
+     */
+    public void record(int probes){
+        if(probes < 0)
+            throw new IllegalArgumentException("Negative number of probes: " + probes + ".");
+        if(probes >= frequencies.length)
+            frequencies = Arrays.copyOf(frequencies, Math.max(2 * frequencies.length, probes + 1));
+        frequencies[probes]++;
+        operations++;
+        totalProbes += probes;
+        max = Math.max(max, probes);
+    }
+
+    /**
+     * Records the operation which returned the given {@link Probes}.
+     * @param probes The {@link Probes} returned by a {@link HashTable} operation.
+     * @throws IllegalArgumentException if probes is {@code null}.
+     */
+    public void record(Probes probes){
+        if(probes == null)
+            throw new IllegalArgumentException("Provided null Probes.");
+        record(probes.getProbes());
+    }
+
+    /**
+     * Returns the number of recorded operations.
+     * @return The number of operations recorded so far.
+     */
+    public long getOperations(){
+        return operations;
+    }
+
+    /**
+     * Returns the number of recorded operations which made exactly the given number of probes.
+     * @param probes A number of probes.
+     * @return The number of operations which made exactly that many probes.
+     */
+    public long frequency(int probes){
+        return (probes < 0 || probes >= frequencies.length) ? 0 : frequencies[probes];
+    }
+
+    /**
+     * Returns the mean number of probes per recorded operation.
+     * @return The mean number of probes, or 0 if no operations have been recorded.
+     */
+    public double mean(){
+        return (operations == 0) ? 0 : (double)totalProbes / operations;
+    }
+
+    /**
+     * Returns the largest number of probes that a recorded operation made.
+     * @return The maximum number of probes, or 0 if no operations have been recorded.
+     */
+    public int max(){
+        return max;
+    }
+
+    /**
+     * Returns the smallest number of probes p such that at least a fraction q of the recorded operations
+     * made at most p probes.
+     * @param q A fraction in the range (0, 1], e.g 0.99 for the 99th percentile.
+     * @return The q-th percentile of the number of probes, or 0 if no operations have been recorded.
+     * @throws IllegalArgumentException if q is not in the range (0, 1].
+     */
+    public int percentile(double q){
+        if(!(q > 0 && q <= 1))
+            throw new IllegalArgumentException("Invalid percentile: " + q + ".");
+        long target = (long)Math.ceil(q * operations), seen = 0;
+        for(int p = 0; p <= max; p++) {
+            seen += frequencies[p];
+            if(seen >= target)
+                return p;
+        }
+        return max;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("ops=%d, mean=%.3f, p50=%d, p99=%d, max=%d", operations, mean(),
+                operations == 0 ? 0 : percentile(0.5), operations == 0 ? 0 : percentile(0.99), max);
+    }
+
+    /**
+     * Measures every provided {@link HashStrategy} on the same key set: for each one, a table is created through factory,
+     * every key is inserted into it (with itself as its value), and the probes of a successful search for every key are
+     * recorded.
+     * @param factory Creates an empty {@link HashTable} which uses the given {@link HashStrategy}.
+     * @param keys The key set. Duplicate keys are searched for once per occurrence.
+     * @param strategies The {@link HashStrategy} instances to compare.
+     * @return The histogram of every strategy, in the order they were provided.
+     * @throws IllegalArgumentException if any of the arguments is {@code null}.
+     */
+    public static Map<HashStrategy, ProbeHistogram> compare(Function<HashStrategy, HashTable> factory, String[] keys,
+                                                            HashStrategy... strategies){
+        if(factory == null || keys == null || strategies == null)
+            throw new IllegalArgumentException("Provided: factory=" + factory + ", keys=" + Arrays.toString(keys) +
+                    " and strategies=" + Arrays.toString(strategies));
+        Map<HashStrategy, ProbeHistogram> histograms = new LinkedHashMap<>();
+        for(HashStrategy strategy : strategies) {
+            HashTable table = factory.apply(strategy);
+            table.putAll(keys, keys);
+            ProbeHistogram histogram = new ProbeHistogram();
+            for(String key : keys)
+                histogram.record(table.get(key));
+            histograms.put(strategy, histogram);
+        }
+        return histograms;
+    }
+}
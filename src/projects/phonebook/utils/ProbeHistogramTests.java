@@ -0,0 +1,55 @@
+package projects.phonebook.utils;
+
+import org.junit.Test;
+import projects.phonebook.hashes.RobinHoodHashTable;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link ProbeHistogramTests} is a small jUnit - based test suite for {@link ProbeHistogram}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see ProbeHistogram
+ */
+public class ProbeHistogramTests {
+
+    @Test
+    public void testStatistics() {
+        ProbeHistogram histogram = new ProbeHistogram();
+        assertEquals(0, histogram.mean(), 0);
+        for(int probes : new int[]{1, 1, 1, 2, 2, 3, 1, 1, 1, 40})
+            histogram.record(probes);
+        assertEquals(10, histogram.getOperations());
+        assertEquals(6, histogram.frequency(1));
+        assertEquals(0, histogram.frequency(39));
+        assertEquals(5.3, histogram.mean(), 1e-9);
+        assertEquals(1, histogram.percentile(0.5));
+        assertEquals(2, histogram.percentile(0.8));
+        assertEquals(40, histogram.percentile(1));
+        assertEquals(40, histogram.max());
+    }
+
+    @Test
+    public void testCompare() {
+        String[] numbers = new String[2000];
+        for(int i = 0; i < numbers.length; i++)
+            numbers[i] = String.format("301-405-%04d", i);
+        HashStrategy[] strategies = {StandardHashStrategy.JAVA, StandardHashStrategy.MURMUR3, key -> 7};
+        Map<HashStrategy, ProbeHistogram> histograms = ProbeHistogram.compare(
+                strategy -> new RobinHoodHashTable(0.5, TableSizing.POWER_OF_TWO, strategy), numbers, strategies);
+        assertArrayEquals(strategies, histograms.keySet().toArray());
+        for(ProbeHistogram histogram : histograms.values())
+            assertEquals(numbers.length, histogram.getOperations());
+        assertTrue(histograms.get(StandardHashStrategy.MURMUR3).percentile(0.99) < 8);
+        assertTrue("A constant hash function should produce a single long cluster.",
+                histograms.get(strategies[2]).max() >= numbers.length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeProbes() {
+        new ProbeHistogram().record(-1);
+    }
+}
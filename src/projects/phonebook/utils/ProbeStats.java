@@ -0,0 +1,75 @@
+package projects.phonebook.utils;
+
+import projects.phonebook.hashes.HashTable;
+
+/**
+ * <p>{@link ProbeStats} is a small, <b>mutable</b> and <b>reusable</b> counterpart to {@link Probes}. Whereas
+ * every call to {@link HashTable#put(String, String) put}, {@link HashTable#get(String) get} and
+ * {@link HashTable#remove(String) remove} returns a freshly allocated {@link Probes} instance, a {@link HashTable} that
+ * owns a {@link ProbeStats} instance can report the number of probes of its <b>last</b> operation, as well as some
+ * running totals, without allocating anything on the lookup path.</p>
+ *
+ * <p>Instances of this class are <b>not</b> thread-safe; every {@link HashTable} is expected to own its own instance.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see Probes
+ * @see projects.phonebook.hashes.FlatLinearProbingHashTable
+ */
+public class ProbeStats {
+
+    private int lastProbes;
+    private long totalProbes;
+    private long operations;
+
+    /**
+     * Records a completed operation which had to &quot;pay&quot; the provided number of probes.
+     * @param probes The number of probes that the operation made, successfully or not.
+     */
+    public void record(int probes) {
+        lastProbes = probes;
+        totalProbes += probes;
+        operations++;
+    }
+
+    /**
+     * Simple accessor for the number of probes of the last recorded operation.
+     * @return The number of probes that the most recent operation made, or 0 if no operation has been recorded yet.
+     */
+    public int getLastProbes() {
+        return lastProbes;
+    }
+
+    /**
+     * Simple accessor for the total number of probes over all recorded operations.
+     * @return The sum of the probes of every operation recorded since creation or the last call to {@link #reset()}.
+     */
+    public long getTotalProbes() {
+        return totalProbes;
+    }
+
+    /**
+     * Simple accessor for the number of recorded operations.
+     * @return The number of operations recorded since creation or the last call to {@link #reset()}.
+     */
+    public long getOperations() {
+        return operations;
+    }
+
+    /**
+     * Returns the average number of probes over all recorded operations.
+     * @return The average number of probes per operation, or 0 if no operation has been recorded.
+     */
+    public double getAverageProbes() {
+        return (operations == 0) ? 0 : (double) totalProbes / operations;
+    }
+
+    /**
+     * Clears all running totals, making this instance look freshly created.
+     */
+    public void reset() {
+        lastProbes = 0;
+        totalProbes = 0;
+        operations = 0;
+    }
+}
@@ -0,0 +1,51 @@
+package projects.phonebook.utils;
+
+import java.security.SecureRandom;
+
+/**
+ * <p>{@link SeededHashStrategy} is a {@link HashStrategy} which computes a MurmurHash3 of the key under a <b>secret
+ * seed</b>. Every hash function with a publicly known definition, {@link String#hashCode()} above all, allows an
+ * adversary to craft a large number of keys that collide, and degrade every operation of the table into a linear scan
+ * (a &quot; HashDoS &quot; attack). With a seed drawn from a {@link SecureRandom} for every instance, the adversary cannot
+ * know in advance which keys collide.</p>
+ *
+ * <p>Hash codes are only stable for the lifetime of a {@link SeededHashStrategy} instance, so they should never be
+ * persisted.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashStrategy
+ * @see StandardHashStrategy#MURMUR3
+ */
+public class SeededHashStrategy implements HashStrategy {
+
+    private static final SecureRandom SEEDS = new SecureRandom();
+
+    private final int seed;
+
+    /**
+     * Creates a {@link SeededHashStrategy} with a random seed.
+     */
+    public SeededHashStrategy(){
+        this(SEEDS.nextInt());
+    }
+
+    /**
+     * Creates a {@link SeededHashStrategy} with the provided seed. Useful for reproducible experiments; a known seed
+     * provides no protection against crafted keys.
+     * @param seed The seed of the hash function.
+     */
+    public SeededHashStrategy(int seed){
+        this.seed = seed;
+    }
+
+    @Override
+    public int hash(String key){
+        return StandardHashStrategy.murmur3(key, seed);
+    }
+
+    @Override
+    public String toString(){
+        return "SEEDED";    // Never reveal the seed.
+    }
+}
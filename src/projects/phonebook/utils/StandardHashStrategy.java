@@ -0,0 +1,126 @@
+package projects.phonebook.utils;
+
+/**
+ * <p>{@link StandardHashStrategy} enumerates the built-in {@link HashStrategy} instances. Every one of them hashes the
+ * UTF-16 code units of the key directly, without encoding it into bytes first:</p>
+ * <ul>
+ *     <li>{@link #JAVA}: {@link String#hashCode()}, the default of every table.</li>
+ *     <li>{@link #FNV1A}: 32-bit FNV-1a, one character at a time.</li>
+ *     <li>{@link #MURMUR3}: 32-bit MurmurHash3, two characters per 32-bit block, with a seed of 0.</li>
+ *     <li>{@link #XXHASH32}: 32-bit xxHash, two characters per 32-bit lane, with a seed of 0.</li>
+ * </ul>
+ *
+ * <p>{@link #MURMUR3} and {@link #XXHASH32} produce the same values as the reference implementations of those functions
+ * would over the UTF-16LE encoding of the key.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see HashStrategy
+ * @see SeededHashStrategy
+ */
+public enum StandardHashStrategy implements HashStrategy {
+
+    JAVA {
+        @Override
+        public int hash(String key){
+            return key.hashCode();
+        }
+    },
+
+    FNV1A {
+        @Override
+        public int hash(String key){
+            int h = 0x811C9DC5;
+            for(int i = 0; i < key.length(); i++)
+                h = (h ^ key.charAt(i)) * 0x01000193;
+            return h;
+        }
+    },
+
+    MURMUR3 {
+        @Override
+        public int hash(String key){
+            return murmur3(key, 0);
+        }
+    },
+
+    XXHASH32 {
+        @Override
+        public int hash(String key){
+            return xxHash32(key, 0);
+        }
+    };
+
+    /* ************************************************************ */
+    /* ********************* MURMURHASH3 ************************** */
+    /* ************************************************************ */
+
+    private static final int C1 = 0xCC9E2D51, C2 = 0x1B873593;
+
+    private static int mixK1(int k1){
+        return Integer.rotateLeft(k1 * C1, 15) * C2;
+    }
+
+    private static int mixH1(int h1, int k1){
+        return Integer.rotateLeft(h1 ^ k1, 13) * 5 + 0xE6546B64;
+    }
+
+    // The 32-bit MurmurHash3 of the UTF-16LE encoding of key.
+    static int murmur3(String key, int seed){
+        int len = key.length();
+        int h1 = seed;
+        int i = 1;
+        for(; i < len; i += 2)
+            h1 = mixH1(h1, mixK1(key.charAt(i - 1) | (key.charAt(i) << 16)));
+        if((len & 1) == 1)
+            h1 ^= mixK1(key.charAt(len - 1));
+        return HashMixer.fmix32(h1 ^ (2 * len));
+    }
+
+    /* ************************************************************ */
+    /* ************************ XXHASH32 ************************** */
+    /* ************************************************************ */
+
+    private static final int P1 = 0x9E3779B1, P2 = 0x85EBCA77, P3 = 0xC2B2AE3D, P4 = 0x27D4EB2F, P5 = 0x165667B1;
+
+    private static int lane(String key, int i){
+        return key.charAt(i) | (key.charAt(i + 1) << 16);
+    }
+
+    private static int round(int acc, int input){
+        return Integer.rotateLeft(acc + input * P2, 13) * P1;
+    }
+
+    // The 32-bit xxHash of the UTF-16LE encoding of key.
+    static int xxHash32(String key, int seed){
+        int len = key.length();
+        int i = 0;
+        int h;
+        if(len >= 8) {  // At least 16 bytes: four accumulators, 16 bytes (8 characters) per stripe.
+            int v1 = seed + P1 + P2, v2 = seed + P2, v3 = seed, v4 = seed - P1;
+            for(; i + 8 <= len; i += 8) {
+                v1 = round(v1, lane(key, i));
+                v2 = round(v2, lane(key, i + 2));
+                v3 = round(v3, lane(key, i + 4));
+                v4 = round(v4, lane(key, i + 6));
+            }
+            h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            h = seed + P5;
+        }
+        h += 2 * len;
+        for(; i + 2 <= len; i += 2)
+            h = Integer.rotateLeft(h + lane(key, i) * P3, 17) * P4;
+        if(i < len) {   // The last two bytes are consumed one at a time.
+            char c = key.charAt(i);
+            h = Integer.rotateLeft(h + (c & 0xFF) * P5, 11) * P1;
+            h = Integer.rotateLeft(h + (c >>> 8) * P5, 11) * P1;
+        }
+        h ^= h >>> 15;
+        h *= P2;
+        h ^= h >>> 13;
+        h *= P3;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,141 @@
+package projects.phonebook.utils;
+
+/**
+ * <p>{@link TableSizing} enumerates the ways in which a hash table can choose its capacities and map hash codes to
+ * cells.</p>
+ * <ul>
+ *     <li>{@link #PRIME} is the scheme that we have talked about in class: capacities are primes provided by a
+ *     {@link PrimeGenerator}, and the cell of a key is its (non-negative) hash code modulo the capacity. A prime modulus
+ *     uses every bit of the hash code, so {@link String#hashCode()} can be used as is.</li>
+ *     <li>{@link #POWER_OF_TWO} keeps capacities at powers of two, doubling on enlargement and halving on shrinking, so that
+ *     the cell of a key is computed with a bit mask instead of an integer division, which is one of the most expensive
+ *     instructions on the hot path of every operation. A mask only keeps the low bits of the hash code, so the hash code
+ *     is first scrambled by {@link HashMixer#fmix32(int)}.</li>
+ * </ul>
+ *
+ * <p>Tables which support both schemes store a {@link TableSizing} and route all of their sizing and indexing decisions
+ * through it, so that the two schemes can be compared on the same workload.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see PrimeGenerator
+ * @see HashMixer
+ */
+public enum TableSizing {
+
+    PRIME {
+        @Override
+        public int spread(int hashCode){
+            return hashCode & 0x7fffffff;
+        }
+
+        @Override
+        public int index(int hashCode, int capacity){
+            return hashCode % capacity;
+        }
+
+        @Override
+        public int initialCapacity(PrimeGenerator primeGenerator){
+            return primeGenerator.getCurrPrime();
+        }
+
+        @Override
+        public int nextCapacity(int capacity, PrimeGenerator primeGenerator){
+            return primeGenerator.getNextPrime();
+        }
+
+        @Override
+        public int previousCapacity(int capacity, PrimeGenerator primeGenerator){
+            return primeGenerator.getPreviousPrime();
+        }
+    },
+
+    POWER_OF_TWO {
+        @Override
+        public int spread(int hashCode){
+            return HashMixer.fmix32(hashCode) & 0x7fffffff;
+        }
+
+        @Override
+        public int index(int hashCode, int capacity){
+            return hashCode & (capacity - 1);
+        }
+
+        @Override
+        public int initialCapacity(PrimeGenerator primeGenerator){
+            return Integer.highestOneBit(primeGenerator.getCurrPrime()) << 1;   // 8 for the default of 7.
+        }
+
+        @Override
+        public int nextCapacity(int capacity, PrimeGenerator primeGenerator){
+            if(capacity >= MAX_POWER_OF_TWO)
+                throw new IllegalStateException("nextCapacity(): " + capacity + " is the largest power of two capacity.");
+            return capacity << 1;
+        }
+
+        @Override
+        public int previousCapacity(int capacity, PrimeGenerator primeGenerator){
+            if(capacity <= 1)
+                throw new IllegalStateException("previousCapacity(): 1 is the smallest power of two capacity.");
+            return capacity >>> 1;
+        }
+    };
+
+    /**
+     * The largest capacity that {@link #POWER_OF_TWO} can provide, 2<sup>30</sup>.
+     */
+    public static final int MAX_POWER_OF_TWO = 1 << 30;
+
+    /**
+     * Turns a raw hash code into the <b>non-negative</b> hash code that {@link #index(int, int)} expects.
+     * @param hashCode A hash code, as produced by {@link String#hashCode()} or a {@link HashStrategy}.
+     * @return A non-negative hash code.
+     */
+    public abstract int spread(int hashCode);
+
+    /**
+     * Computes the <b>non-negative</b> hash code of key that {@link #index(int, int)} expects, based on the provided
+     * {@link HashStrategy}. Tables which cache hash codes should cache this value.
+     * @param key A non-{@code null} key.
+     * @param strategy The {@link HashStrategy} of the table.
+     * @return A non-negative hash code for key.
+     */
+    public int hashCodeOf(String key, HashStrategy strategy){
+        return spread(strategy.hash(key));
+    }
+
+    /**
+     * Maps a hash code produced by {@link #hashCodeOf(String, HashStrategy)} to a cell of a table.
+     * @param hashCode A hash code produced by {@link #spread(int)}.
+     * @param capacity The capacity of the table, which should have been provided by this scheme.
+     * @return The cell of the table that the hash code maps to, in the range [0, capacity).
+     */
+    public abstract int index(int hashCode, int capacity);
+
+    /**
+     * Returns the capacity that a new table should start with.
+     * @param primeGenerator A {@link PrimeGenerator} at its initial state.
+     * @return The initial capacity of a table: 7 for {@link #PRIME} and 8 for {@link #POWER_OF_TWO}.
+     */
+    public abstract int initialCapacity(PrimeGenerator primeGenerator);
+
+    /**
+     * Returns the capacity that a table should be enlarged to.
+     * @param capacity The current capacity of the table.
+     * @param primeGenerator The {@link PrimeGenerator} of the table, which {@link #PRIME} advances.
+     * @return The next capacity, roughly twice the current one.
+     * @throws NoMorePrimesException if {@link #PRIME} runs out of primes.
+     * @throws IllegalStateException if {@link #POWER_OF_TWO} is already at {@link #MAX_POWER_OF_TWO}.
+     */
+    public abstract int nextCapacity(int capacity, PrimeGenerator primeGenerator);
+
+    /**
+     * Returns the capacity that a table should be shrunk to.
+     * @param capacity The current capacity of the table.
+     * @param primeGenerator The {@link PrimeGenerator} of the table, which {@link #PRIME} moves backwards.
+     * @return The previous capacity, roughly half the current one.
+     * @throws NoMorePrimesException if {@link #PRIME} is already at 2.
+     * @throws IllegalStateException if {@link #POWER_OF_TWO} is already at 1.
+     */
+    public abstract int previousCapacity(int capacity, PrimeGenerator primeGenerator);
+}
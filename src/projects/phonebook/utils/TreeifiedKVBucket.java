@@ -0,0 +1,442 @@
+package projects.phonebook.utils;
+
+import projects.phonebook.hashes.BucketedSeparateChainingHashTable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * <p>{@link TreeifiedKVBucket} is a {@link KVBucket} which protects a {@link BucketedSeparateChainingHashTable} from
+ * <b>pathological collisions</b>. While it is small, it is an {@link ArrayKVBucket}. As soon as it grows beyond
+ * {@link #TREEIFY_THRESHOLD} pairs, it converts itself into an <b>AVL tree</b>, ordered by the hash code of the key, then
+ * by the key itself (through {@link String#compareTo(String)}), and then by order of insertion, so that searches and
+ * deletions by key take a <b>logarithmic</b> number of comparisons even if every key of the table collides. Once it
+ * shrinks below {@link #UNTREEIFY_THRESHOLD} pairs, it converts itself back into an {@link ArrayKVBucket}. The gap
+ * between the two thresholds keeps a bucket whose size oscillates around a single threshold from converting back and
+ * forth on every operation.</p>
+ *
+ * <p>While the bucket is a list, its probes are those of {@link KVPairList}. While it is a tree, the probes of a search
+ * by key are the number of nodes that it compares the key with, plus one for the {@code null} link that ends an
+ * unsuccessful search, which is the same convention as that of a list. Searches by value cannot use the ordering of the
+ * tree, so they examine every node: a successful one reports {@link #size()} probes, and an unsuccessful one
+ * {@link #size()} + 1. This is the one exception to the probe convention of {@link KVBucket}, since in a tree, the
+ * &quot;i-th&quot; pair by order of insertion is not the i-th pair that a search examines. If there are several pairs
+ * with the same key (or value), the &quot;first&quot; one is always the one that was inserted first, exactly like in a
+ * list, but the iterator of a tree visits the pairs in tree order.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see KVBucket
+ * @see ArrayKVBucket
+ * @see BucketType#TREEIFIED
+ * @see BucketedSeparateChainingHashTable
+ */
+public class TreeifiedKVBucket implements KVBucket {
+
+    /**
+     * A bucket with more pairs than this is converted into a tree.
+     */
+    public static final int TREEIFY_THRESHOLD = 8;
+
+    /**
+     * A tree with fewer pairs than this is converted back into a list.
+     */
+    public static final int UNTREEIFY_THRESHOLD = 6;
+
+    /* ************************************************************ */
+    /* ***************** PRIVATE FIELDS / METHODS ***************** */
+    /* ************************************************************ */
+
+    private static class Node {
+        final int hash;
+        final String key;
+        String value;
+        final long seq;     // Order of insertion, which breaks ties between equal keys.
+        int height;
+        Node left, right;
+
+        Node(int hash, String key, String value, long seq){
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.seq = seq;
+            height = 1;
+        }
+    }
+
+    private ArrayKVBucket list;     // null while the bucket is a tree.
+    private Node root;
+    private int count;              // Only maintained while the bucket is a tree.
+    private long nextSeq;
+
+    // A single-element scratch array that findFirst() uses to report its probes.
+    private final int[] probeScratch = new int[1];
+
+    private static int height(Node n){
+        return (n == null) ? 0 : n.height;
+    }
+
+    private static void update(Node n){
+        n.height = Math.max(height(n.left), height(n.right)) + 1;
+    }
+
+    private static Node rotateRight(Node n){
+        Node l = n.left;
+        n.left = l.right;
+        l.right = n;
+        update(n);
+        update(l);
+        return l;
+    }
+
+    private static Node rotateLeft(Node n){
+        Node r = n.right;
+        n.right = r.left;
+        r.left = n;
+        update(n);
+        update(r);
+        return r;
+    }
+
+    private static Node balance(Node n){
+        update(n);
+        int factor = height(n.left) - height(n.right);
+        if(factor > 1) {
+            if(height(n.left.left) < height(n.left.right))
+                n.left = rotateLeft(n.left);
+            return rotateRight(n);
+        }
+        if(factor < -1) {
+            if(height(n.right.right) < height(n.right.left))
+                n.right = rotateRight(n.right);
+            return rotateLeft(n);
+        }
+        return n;
+    }
+
+    // Compares <hash, key> with the hash and key of n, ignoring the order of insertion.
+    private static int compareKey(int hash, String key, Node n){
+        int c = Integer.compare(hash, n.hash);
+        return (c != 0) ? c : key.compareTo(n.key);
+    }
+
+    private static int compare(Node a, Node b){
+        int c = compareKey(a.hash, a.key, b);
+        return (c != 0) ? c : Long.compare(a.seq, b.seq);
+    }
+
+    private static Node insert(Node n, Node fresh){
+        if(n == null)
+            return fresh;
+        if(compare(fresh, n) < 0)
+            n.left = insert(n.left, fresh);
+        else
+            n.right = insert(n.right, fresh);
+        return balance(n);
+    }
+
+    private static Node removeMin(Node n){
+        if(n.left == null)
+            return n.right;
+        n.left = removeMin(n.left);
+        return balance(n);
+    }
+
+    private static Node min(Node n){
+        while(n.left != null)
+            n = n.left;
+        return n;
+    }
+
+    // Removes the node target, which has to be in the subtree of n.
+    private static Node delete(Node n, Node target){
+        int c = compare(target, n);
+        if(c < 0) {
+            n.left = delete(n.left, target);
+        } else if(c > 0) {
+            n.right = delete(n.right, target);
+        } else {
+            if(n.left == null)
+                return n.right;
+            if(n.right == null)
+                return n.left;
+            Node successor = min(n.right);
+            successor.right = removeMin(n.right);
+            successor.left = n.left;
+            n = successor;
+        }
+        return balance(n);
+    }
+
+    // The earliest inserted node with the provided key, or null. Reports the nodes compared through probeScratch[0].
+    private Node findFirst(String key){
+        int hash = key.hashCode();
+        Node n = root, first = null;
+        int probes = 0;
+        while(n != null) {
+            probes++;
+            int c = compareKey(hash, key, n);
+            if(c == 0)
+                first = n;  // Earlier insertions with the same key can only be to the left.
+            n = (c <= 0) ? n.left : n.right;
+        }
+        probeScratch[0] = (first == null) ? probes + 1 : probes;
+        return first;
+    }
+
+    // The earliest inserted node of the subtree of n with the provided key and value, or null. Only visits the subtrees
+    // which can hold the key: since equal keys are ordered by insertion, the first match in order is the earliest one.
+    private static Node findFirst(Node n, int hash, String key, String value){
+        if(n == null)
+            return null;
+        int c = compareKey(hash, key, n);
+        if(c < 0)
+            return findFirst(n.left, hash, key, value);
+        if(c > 0)
+            return findFirst(n.right, hash, key, value);
+        Node first = findFirst(n.left, hash, key, value);
+        if(first != null)
+            return first;
+        return n.value.equals(value) ? n : findFirst(n.right, hash, key, value);
+    }
+
+    // Sets the value of every node of the subtree of n with the provided key, visiting only the subtrees which can hold it.
+    private static void updateValue(Node n, int hash, String key, String value){
+        if(n == null)
+            return;
+        int c = compareKey(hash, key, n);
+        if(c == 0)
+            n.value = value;
+        if(c <= 0)
+            updateValue(n.left, hash, key, value);
+        if(c >= 0)
+            updateValue(n.right, hash, key, value);
+    }
+
+    // The earliest inserted node of the subtree of n with the provided value, or first if that was inserted earlier.
+    private static Node findFirstByValue(Node n, String value, Node first){
+        if(n == null)
+            return first;
+        if(n.value.equals(value) && (first == null || n.seq < first.seq))
+            first = n;
+        return findFirstByValue(n.right, value, findFirstByValue(n.left, value, first));
+    }
+
+    // Adds every node of the subtree of n with the provided value to matches.
+    private static void collectByValue(Node n, String value, List<Node> matches){
+        if(n == null)
+            return;
+        collectByValue(n.left, value, matches);
+        if(n.value.equals(value))
+            matches.add(n);
+        collectByValue(n.right, value, matches);
+    }
+
+    private void collect(Node n, List<Node> nodes){
+        if(n == null)
+            return;
+        collect(n.left, nodes);
+        nodes.add(n);
+        collect(n.right, nodes);
+    }
+
+    private List<Node> nodes(){
+        List<Node> nodes = new ArrayList<>(count);
+        collect(root, nodes);
+        return nodes;
+    }
+
+    // The earliest inserted node with the provided value, or null.
+    private Node findFirstByValue(String value){
+        return findFirstByValue(root, value, null);
+    }
+
+    private void addToTree(String key, String value){
+        root = insert(root, new Node(key.hashCode(), key, value, nextSeq++));
+    }
+
+    private void removeFromTree(Node n){
+        root = delete(root, n);
+        count--;
+        if(count < UNTREEIFY_THRESHOLD)
+            untreeify();
+    }
+
+    private void treeify(){
+        root = null;
+        count = list.size();
+        for(KVPair pair : list)
+            addToTree(pair.getKey(), pair.getValue());
+        list = null;
+    }
+
+    private void untreeify(){
+        List<Node> nodes = nodes();
+        nodes.sort(Comparator.comparingLong(n -> n.seq));    // Back to order of insertion.
+        list = new ArrayKVBucket();
+        for(Node n : nodes)
+            list.addBack(n.key, n.value);
+        root = null;
+    }
+
+    /* ************************************************************ */
+    /* ********************* PUBLIC METHODS *********************** */
+    /* ************************************************************ */
+
+    /**
+     * Default constructor. Initializes an empty {@link TreeifiedKVBucket}, which starts out as a list.
+     */
+    public TreeifiedKVBucket(){
+        list = new ArrayKVBucket();
+    }
+
+    /**
+     * Queries the bucket about its current representation.
+     * @return {@code true} if, and only if, the bucket is currently a tree.
+     */
+    public boolean isTreeified(){
+        return list == null;
+    }
+
+    @Override
+    public void addBack(String key, String value){
+        if(list == null) {
+            addToTree(key, value);
+            count++;
+        } else {
+            list.addBack(key, value);
+            if(list.size() > TREEIFY_THRESHOLD)
+                treeify();
+        }
+    }
+
+    @Override
+    public void updateValue(String key, String value){
+        if(list != null) {
+            list.updateValue(key, value);
+            return;
+        }
+        updateValue(root, key.hashCode(), key, value);
+    }
+
+    @Override
+    public void updateKey(String key, String value){
+        if(list != null) {
+            list.updateKey(key, value);
+            return;
+        }
+        List<Node> matches = new ArrayList<>();
+        collectByValue(root, value, matches);
+        for(Node n : matches) {   // The key determines the position of a node, so it is re-inserted.
+            root = delete(root, n);
+            root = insert(root, new Node(key.hashCode(), key, value, n.seq));
+        }
+    }
+
+    @Override
+    public Probes removeByKey(String key){
+        if(list != null)
+            return list.removeByKey(key);
+        Node n = findFirst(key);
+        int probes = probeScratch[0];
+        if(n == null)
+            return new Probes(null, probes);
+        removeFromTree(n);
+        return new Probes(n.value, probes);
+    }
+
+    @Override
+    public Probes removeByValue(String value){
+        if(list != null)
+            return list.removeByValue(value);
+        int size = count;
+        Node n = findFirstByValue(value);
+        if(n == null)
+            return new Probes(null, size + 1);
+        removeFromTree(n);
+        return new Probes(value, size);
+    }
+
+    @Override
+    public void remove(String key, String value){
+        if(list != null) {
+            list.remove(key, value);
+            return;
+        }
+        Node first = findFirst(root, key.hashCode(), key, value);
+        if(first != null)
+            removeFromTree(first);
+    }
+
+    @Override
+    public boolean containsKVPair(String key, String value){
+        if(list != null)
+            return list.containsKVPair(key, value);
+        return findFirst(root, key.hashCode(), key, value) != null;
+    }
+
+    @Override
+    public boolean containsKey(String key){
+        return (list != null) ? list.containsKey(key) : findFirst(key) != null;
+    }
+
+    @Override
+    public boolean containsValue(String value){
+        return (list != null) ? list.containsValue(value) : findFirstByValue(value) != null;
+    }
+
+    @Override
+    public Probes getValue(String key){
+        if(list != null)
+            return list.getValue(key);
+        Node n = findFirst(key);
+        return new Probes((n == null) ? null : n.value, probeScratch[0]);
+    }
+
+    @Override
+    public Probes getKey(String value){
+        if(list != null)
+            return list.getKey(value);
+        Node n = findFirstByValue(value);
+        return (n == null) ? new Probes(null, count + 1) : new Probes(n.key, count);
+    }
+
+    @Override
+    public int size(){
+        return (list != null) ? list.size() : count;
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return size() == 0;
+    }
+
+    @Override
+    public Iterator<KVPair> iterator(){
+        if(list != null)
+            return list.iterator();
+        Iterator<Node> nodes = nodes().iterator();
+        return new Iterator<KVPair>() {
+            @Override
+            public boolean hasNext() {
+                return nodes.hasNext();
+            }
+
+            @Override
+            public KVPair next() {
+                Node n = nodes.next();
+                return new KVPair(n.key, n.value);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder ret = new StringBuilder();
+        for(KVPair pair : this)
+            ret.append(pair.getKey()).append(" ");
+        return ret.append("\n").toString();
+    }
+}
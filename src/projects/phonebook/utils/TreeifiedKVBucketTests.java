@@ -0,0 +1,173 @@
+package projects.phonebook.utils;
+
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link TreeifiedKVBucketTests} is a small jUnit - based test suite for {@link TreeifiedKVBucket}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see TreeifiedKVBucket
+ */
+public class TreeifiedKVBucketTests {
+
+    private static final long SEED = 47;
+
+    // 2^bits distinct Strings with the same hash code, built out of "Aa" and "BB".
+    private static String[] collidingKeys(int bits){
+        String[] keys = new String[1 << bits];
+        for(int i = 0; i < keys.length; i++) {
+            StringBuilder key = new StringBuilder();
+            for(int b = 0; b < bits; b++)
+                key.append(((i >>> b) & 1) == 0 ? "Aa" : "BB");
+            keys[i] = key.toString();
+        }
+        return keys;
+    }
+
+    @Test
+    public void testConversions() {
+        TreeifiedKVBucket bucket = new TreeifiedKVBucket();
+        for(int i = 0; i < TreeifiedKVBucket.TREEIFY_THRESHOLD; i++)
+            bucket.addBack("Name" + i, "301-405-" + i);
+        assertFalse(bucket.isTreeified());
+        bucket.addBack("Jason", "301-405-9999");
+        assertTrue(bucket.isTreeified());
+        while(bucket.size() >= TreeifiedKVBucket.UNTREEIFY_THRESHOLD) {
+            assertTrue(bucket.isTreeified());
+            assertNotNull(bucket.removeByKey("Name" + (bucket.size() - 2)).getValue());
+        }
+        assertFalse(bucket.isTreeified());
+
+        // Back as a list, the bucket keeps the order of insertion.
+        Iterator<KVPair> it = bucket.iterator();
+        for(int i = 0; i < bucket.size() - 1; i++)
+            assertEquals(new KVPair("Name" + i, "301-405-" + i), it.next());
+        assertEquals(new KVPair("Jason", "301-405-9999"), it.next());
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testLogarithmicProbesUnderCollisions() {
+        String[] keys = collidingKeys(12);
+        TreeifiedKVBucket bucket = new TreeifiedKVBucket();
+        for(String key : keys)
+            bucket.addBack(key, key);
+        assertEquals(keys.length, bucket.size());
+
+        // An AVL tree of n nodes has height at most about 1.44 lg n.
+        int bound = (int)Math.ceil(1.45 * 12) + 2;
+        for(String key : keys) {
+            Probes probes = bucket.getValue(key);
+            assertEquals(key, probes.getValue());
+            assertTrue("Too many probes: " + probes.getProbes(), probes.getProbes() <= bound);
+        }
+        Probes miss = bucket.getValue("AaAaAaAaAaAaAaAaAaAaAaAa" + "Aa");
+        assertNull(miss.getValue());
+        assertTrue(miss.getProbes() <= bound + 1);
+
+        for(int i = 0; i < keys.length; i += 2) {
+            Probes probes = bucket.removeByKey(keys[i]);
+            assertEquals(keys[i], probes.getValue());
+            assertTrue(probes.getProbes() <= bound);
+        }
+        for(int i = 0; i < keys.length; i++)
+            assertEquals(i % 2 == 0, !bucket.containsKey(keys[i]));
+    }
+
+    @Test
+    public void testDuplicateKeys() {
+        TreeifiedKVBucket bucket = new TreeifiedKVBucket();
+        for(int i = 0; i < 3 * TreeifiedKVBucket.TREEIFY_THRESHOLD; i++)
+            bucket.addBack("Name" + (i % 4), "301-405-" + i);
+        assertTrue(bucket.isTreeified());
+
+        // Like a list, the bucket returns the earliest inserted pair with a given key.
+        assertEquals("301-405-1", bucket.getValue("Name1").getValue());
+        assertEquals("301-405-1", bucket.removeByKey("Name1").getValue());
+        assertEquals("301-405-5", bucket.getValue("Name1").getValue());
+
+        bucket.updateKey("Jason", "301-405-5");
+        assertEquals("301-405-5", bucket.getValue("Jason").getValue());
+        assertEquals("301-405-9", bucket.getValue("Name1").getValue());
+        assertEquals("Jason", bucket.getKey("301-405-5").getValue());
+    }
+
+    @Test
+    public void testPairOperationsUnderCollisions() {
+        String[] keys = collidingKeys(4);
+        TreeifiedKVBucket bucket = new TreeifiedKVBucket();
+        for(int round = 0; round < 3; round++)
+            for(String key : keys)
+                bucket.addBack(key, key + round);
+        assertTrue(bucket.isTreeified());
+
+        assertTrue(bucket.containsKVPair(keys[3], keys[3] + 2));
+        assertFalse(bucket.containsKVPair(keys[3], keys[2] + 2));
+        bucket.remove(keys[5], keys[5] + 1);
+        assertFalse(bucket.containsKVPair(keys[5], keys[5] + 1));
+        assertTrue(bucket.containsKVPair(keys[5], keys[5] + 2));
+        assertEquals(keys[5] + 0, bucket.getValue(keys[5]).getValue());
+
+        bucket.updateValue(keys[7], "301-405-7");
+        for(int round = 0; round < 3; round++)
+            assertFalse(bucket.containsKVPair(keys[7], keys[7] + round));
+        assertEquals("301-405-7", bucket.removeByKey(keys[7]).getValue());
+        assertEquals("301-405-7", bucket.removeByKey(keys[7]).getValue());
+        assertEquals("301-405-7", bucket.removeByKey(keys[7]).getValue());
+        assertFalse(bucket.containsKey(keys[7]));
+        assertEquals(keys[6] + 0, bucket.getValue(keys[6]).getValue());
+        assertEquals(3 * keys.length - 4, bucket.size());
+    }
+
+    @Test
+    public void testAgainstKVPairList() {
+        Random rng = new Random(SEED);
+        KVBucket expected = BucketType.LINKED_LIST.create();
+        TreeifiedKVBucket actual = (TreeifiedKVBucket)BucketType.TREEIFIED.create();
+        int treeified = 0;
+        for(int i = 0; i < 20000; i++) {
+            String key = "Name" + rng.nextInt(40), value = "301-405-" + rng.nextInt(40);
+            switch(rng.nextInt(8)) {
+                case 0:
+                case 1:
+                    expected.addBack(key, value);
+                    actual.addBack(key, value);
+                    break;
+                case 2:
+                    assertEquals(expected.getValue(key).getValue(), actual.getValue(key).getValue());
+                    assertEquals(expected.getKey(value).getValue(), actual.getKey(value).getValue());
+                    break;
+                case 3:
+                    assertEquals(expected.removeByKey(key).getValue(), actual.removeByKey(key).getValue());
+                    break;
+                case 4:
+                    assertEquals(expected.removeByValue(value).getValue(), actual.removeByValue(value).getValue());
+                    break;
+                case 5:
+                    expected.remove(key, value);
+                    actual.remove(key, value);
+                    break;
+                case 6:
+                    expected.updateValue(key, value);
+                    actual.updateValue(key, value);
+                    break;
+                default:
+                    expected.updateKey(key, value);
+                    actual.updateKey(key, value);
+            }
+            assertEquals(expected.size(), actual.size());
+            assertEquals(expected.containsKey(key), actual.containsKey(key));
+            assertEquals(expected.containsValue(value), actual.containsValue(value));
+            assertEquals(expected.containsKVPair(key, value), actual.containsKVPair(key, value));
+            if(actual.isTreeified())
+                treeified++;
+        }
+        assertTrue("The bucket never became a tree.", treeified > 0);
+    }
+}
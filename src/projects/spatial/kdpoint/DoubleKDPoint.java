@@ -0,0 +1,201 @@
+package projects.spatial.kdpoint;
+
+import java.math.BigDecimal;
+
+/** <p>{@link DoubleKDPoint} is the <b>double precision</b> counterpart of {@link KDPoint}: a k-dimensional point in
+ * Euclidean space whose coordinates are stored in a primitive {@code double[]}. Computing the distance between two
+ * {@link DoubleKDPoint}s through {@link #distanceSquared(DoubleKDPoint)} allocates nothing and takes a handful of
+ * floating point operations per dimension, whereas {@link KDPoint#distanceSquared(KDPoint)} allocates a new
+ * {@link BigDecimal} for every subtraction, power and addition.</p>
+ *
+ * <p>The price to pay is <b>rounding</b>: two squared distances which are very close to each other might compare in the
+ * wrong order. Whenever that matters, {@link #exactDistanceSquared(DoubleKDPoint)} computes the same quantity with
+ * arbitrary precision, exactly like {@link KDPoint} would, and {@link #isWithin(DoubleKDPoint, double, boolean)} only
+ * falls back to it for the points that lie so close to the boundary of a range that rounding could misplace them.</p>
+ *
+ * <p>Every coordinate has to be a finite number. Like {@link KDPoint}, {@link DoubleKDPoint} exposes its coordinates
+ * and is therefore <b>mutable</b>.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see KDPoint
+ */
+public class DoubleKDPoint {
+
+	/**
+	 * The coordinates of the point. Publicly accessible, exactly like {@link KDPoint#coords}, so deep copies will be
+	 * required wherever we copy {@link DoubleKDPoint}s.
+	 */
+	public double[] coords;
+
+	// A relative margin, far larger than the rounding error of distanceSquared(), within which isWithin() double checks.
+	private static final double EXACT_CHECK_MARGIN = 1e-9;
+
+	private static void checkFinite(double[] vals){
+		for(double val : vals)
+			if(!Double.isFinite(val))
+				throw new IllegalArgumentException("All coordinates of a DoubleKDPoint need to be finite; got " + val + ".");
+	}
+
+	/**
+	 * Default constructor initializes this as a 2D {@link DoubleKDPoint} describing the Cartesian origin.
+	 */
+	public DoubleKDPoint(){
+		this(2);
+	}
+
+	/**
+	 * Initialize a <em>k</em>-dimensional {@link DoubleKDPoint} at the origin of the axes.
+	 * @param k The dimensionality of the {@link DoubleKDPoint}.
+	 * @throws RuntimeException if the provided dimensionality is &lt; 1.
+	 */
+	public DoubleKDPoint(int k){
+		if(k <= 0)
+			throw new RuntimeException("All KDPoints need to have a positive dimensionality.");
+		coords = new double[k];
+	}
+
+	/**
+	 * Initialize a {@link DoubleKDPoint} with some double values. Implicitly sets the {@link DoubleKDPoint}'s
+	 * dimensionality. The values are copied.
+	 * @param vals The values with which to initialize the {@link DoubleKDPoint}.
+	 * @throws IllegalArgumentException if any of the values is infinite or NaN.
+	 */
+	public DoubleKDPoint(double... vals){
+		checkFinite(vals);
+		coords = vals.clone();
+	}
+
+	/**
+	 * Copy constructor.
+	 * @param p The {@link DoubleKDPoint} on which we will base the creation of this.
+	 */
+	public DoubleKDPoint(DoubleKDPoint p){
+		this(p.coords);
+	}
+
+	/**
+	 * Converts a {@link KDPoint} into a {@link DoubleKDPoint}, rounding every coordinate to the nearest {@code double}.
+	 * @param p The {@link KDPoint} to convert.
+	 * @throws IllegalArgumentException if any coordinate of p is out of the range of {@code double}.
+	 */
+	public DoubleKDPoint(KDPoint p){
+		coords = new double[p.coords.length];
+		for(int i = 0; i < coords.length; i++)
+			coords[i] = p.coords[i].doubleValue();
+		checkFinite(coords);
+	}
+
+	/**
+	 * Converts this into a {@link KDPoint}. Every {@code double} is exactly representable as a {@link BigDecimal}, so no
+	 * precision is lost.
+	 * @return A {@link KDPoint} with the same coordinates as this.
+	 */
+	public KDPoint toKDPoint(){
+		return new KDPoint(coords);
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 1;
+		for(double coord : coords)  // Adding 0.0 maps -0.0 to 0.0, which equals() considers the same coordinate.
+			hash = 31 * hash + Double.hashCode(coord + 0.0);
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object o){
+		if(o == null)
+			return false;
+		if(o.getClass() != this.getClass())
+			return false;
+		DoubleKDPoint oCasted = (DoubleKDPoint)o;
+		if(oCasted.coords.length != coords.length)
+			return false;
+		for(int i = 0; i < coords.length; i++)
+			if(coords[i] != oCasted.coords[i])
+				return false;
+		return true;
+	}
+
+	/**
+	 * Calculate the <b><u>squared</u> Euclidean distance</b> between this and p in double precision, without allocating.
+	 * @param p The {@link DoubleKDPoint} to calculate the distance to.
+	 * @return The <b><u>squared</u> Euclidean distance</b> between the two {@link DoubleKDPoint}s.
+	 * @throws RuntimeException if the dimensionality of the two points is different.
+	 */
+	public double distanceSquared(DoubleKDPoint p) throws RuntimeException{
+		double[] other = p.coords;
+		if(coords.length != other.length)
+			throw new RuntimeException("Cannot calculate the Euclidean Distance between KDPoints of different dimensionalities.");
+		double sum = 0;
+		for(int i = 0; i < coords.length; i++) {
+			double diff = coords[i] - other[i];
+			sum += diff * diff;
+		}
+		return sum;
+	}
+
+	/**
+	 * A static version of {@link #distanceSquared(DoubleKDPoint)}.
+	 * @param p1 One of the two {@link DoubleKDPoint}s to calculate the distance of.
+	 * @param p2 One of the two {@link DoubleKDPoint}s to calculate the distance of.
+	 * @return The squared Euclidean distance between p1 and p2.
+	 */
+	public static double distanceSquared(DoubleKDPoint p1, DoubleKDPoint p2){
+		return p1.distanceSquared(p2);
+	}
+
+	/**
+	 * Calculate the <b><u>squared</u> Euclidean distance</b> between this and p with <b>arbitrary precision</b>. The
+	 * result is exactly the one that {@link KDPoint#distanceSquared(KDPoint)} would compute for the same coordinates.
+	 * @param p The {@link DoubleKDPoint} to calculate the distance to.
+	 * @return The exact <b><u>squared</u> Euclidean distance</b> between the two {@link DoubleKDPoint}s.
+	 * @throws RuntimeException if the dimensionality of the two points is different.
+	 */
+	public BigDecimal exactDistanceSquared(DoubleKDPoint p) throws RuntimeException{
+		if(coords.length != p.coords.length)
+			throw new RuntimeException("Cannot calculate the Euclidean Distance between KDPoints of different dimensionalities.");
+		BigDecimal sum = BigDecimal.ZERO;
+		for(int i = 0; i < coords.length; i++)
+			sum = sum.add(new BigDecimal(coords[i]).subtract(new BigDecimal(p.coords[i])).pow(2));
+		return sum;
+	}
+
+	/**
+	 * Decides whether p lies within the provided (Euclidean, not squared) distance from this, <b>inclusive</b>. The
+	 * decision is made in double precision, unless exact is {@code true} and the squared distance of p lies so close to
+	 * the square of range that rounding might have decided wrong, in which case it is made with
+	 * {@link #exactDistanceSquared(DoubleKDPoint)}. Only points near the boundary of the range ever pay for arbitrary
+	 * precision.
+	 * @param p The {@link DoubleKDPoint} to check.
+	 * @param range The maximum distance from this.
+	 * @param exact {@code true} if and only if points close to the boundary should be checked with arbitrary precision.
+	 * @return {@code true} if, and only if, the distance between this and p is at most range.
+	 */
+	public boolean isWithin(DoubleKDPoint p, double range, boolean exact){
+		double distance = distanceSquared(p), limit = range * range;
+		if(exact && Math.abs(distance - limit) <= EXACT_CHECK_MARGIN * limit + Double.MIN_NORMAL)
+			return exactDistanceSquared(p).compareTo(new BigDecimal(range).pow(2)) <= 0;
+		return distance <= limit;
+	}
+
+	@Override
+	public String toString(){
+		return "A KDPoint with coordinates: " + compactToString();
+	}
+
+	/**
+	 * A shorter version of {@link #toString()}, which only lists the coordinates.
+	 * @return A {@link String} of the form (x, y, ...).
+	 */
+	public String compactToString(){
+		StringBuilder retVal = new StringBuilder("(");
+		for(int i = 0; i < coords.length; i++){
+			retVal.append(coords[i]);
+			if(i < coords.length - 1)
+				retVal.append(", ");
+		}
+		return retVal + ")";
+	}
+}
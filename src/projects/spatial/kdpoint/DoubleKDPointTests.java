@@ -0,0 +1,74 @@
+package projects.spatial.kdpoint;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link DoubleKDPointTests} is a unit testing class for {@link DoubleKDPoint}. It checks that the double precision
+ * distances agree with the ones of {@link KDPoint}, and that the exact fallback settles the points which lie on the
+ * boundary of a range.</p>
+ *
+ * @author <a href = "https://github.com/JasonFil">Jason Filippou</a>
+ */
+public class DoubleKDPointTests {
+
+	private static final int SEED = 47;
+	private static final int MAX_ITER = 10000;
+
+	@Test
+	public void testDistancesAgreeWithKDPoint() {
+		Random r = new Random(SEED);
+		for(int i = 0; i < MAX_ITER; i++) {
+			int dims = 1 + r.nextInt(5);
+			double[] a = new double[dims], b = new double[dims];
+			for(int j = 0; j < dims; j++) {
+				a[j] = (r.nextDouble() - 0.5) * 1000;
+				b[j] = (r.nextDouble() - 0.5) * 1000;
+			}
+			DoubleKDPoint p = new DoubleKDPoint(a), q = new DoubleKDPoint(b);
+			BigDecimal expected = p.toKDPoint().distanceSquared(q.toKDPoint());
+			assertEquals(0, expected.compareTo(p.exactDistanceSquared(q)));
+			assertEquals(expected.doubleValue(), p.distanceSquared(q), 1e-9 * expected.doubleValue());
+			assertEquals(p.distanceSquared(q), DoubleKDPoint.distanceSquared(q, p), 0);
+		}
+	}
+
+	@Test
+	public void testExactFallbackOnTheBoundary() {
+		// The squared distance of p from the origin exceeds the square of the range, but rounds to it.
+		DoubleKDPoint origin = new DoubleKDPoint(0, 0), p = new DoubleKDPoint(0.763774618976614, 0.2550690257394217);
+		double range = 0.8052402600991394;
+		assertTrue(origin.exactDistanceSquared(p).compareTo(new BigDecimal(range).pow(2)) > 0);
+		assertTrue("Double precision cannot tell p from the boundary.", origin.isWithin(p, range, false));
+		assertFalse("Arbitrary precision should place p just outside the range.", origin.isWithin(p, range, true));
+
+		// (3, 4) lies exactly at distance 5 from the origin.
+		assertTrue(new DoubleKDPoint(0, 0).isWithin(new DoubleKDPoint(3, 4), 5, true));
+		assertFalse(new DoubleKDPoint(0, 0).isWithin(new DoubleKDPoint(3, 4), Math.nextDown(5.0), true));
+		assertFalse(new DoubleKDPoint(0, 0).isWithin(new DoubleKDPoint(3, 4), 4.9, true));
+	}
+
+	@Test
+	public void testEqualsAndHashCode() {
+		DoubleKDPoint p = new DoubleKDPoint(0.0, -0.0), q = new DoubleKDPoint(-0.0, 0.0);
+		assertEquals(p, q);
+		assertEquals(p.hashCode(), q.hashCode());
+		assertFalse(p.coords == new DoubleKDPoint(p).coords);
+		assertEquals(p, new DoubleKDPoint(p.toKDPoint()));
+		assertFalse(p.equals(new DoubleKDPoint(0.0, 0.0, 0.0)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNonFiniteCoordinates() {
+		new DoubleKDPoint(1.0, Double.NaN);
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testDifferentDimensionalities() {
+		new DoubleKDPoint(1.0, 2.0).distanceSquared(new DoubleKDPoint(1.0, 2.0, 3.0));
+	}
+}
@@ -0,0 +1,207 @@
+package projects.spatial.knnutils;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>{@link DoubleBoundedPriorityQueue} is the <b>double precision</b> counterpart of {@link BoundedPriorityQueue}: a
+ * priority queue of bounded size whose priorities are primitive {@code double}s instead of {@link java.math.BigDecimal}s.
+ * Once the queue is full, enqueueing an element ejects the element with the maximum priority, which could be the element
+ * just enqueued. Elements of equal priority are ordered by insertion.</p>
+ *
+ * <p>The queue is kept as <b>sorted</b> parallel arrays of elements and priorities, which the queue allocates once, at
+ * construction. An insertion shifts every element of larger priority one cell back, so ties keep their order of
+ * insertion. For the small sizes of k-NN queries, shifting a few array cells is cheaper than maintaining a heap, and it
+ * makes {@link #last()} and {@link #lastPriority()}, which a k-NN query consults at every node of a tree, take constant
+ * time.</p>
+ *
+ * @author <a href="https://github.com/JasonFil/">Jason Filippou</a>
+ *
+ * @param <T> The type of the elements held by the queue.
+ *
+ * @see BoundedPriorityQueue
+ */
+public class DoubleBoundedPriorityQueue<T> implements Iterable<T> {
+
+	private final Object[] elements;
+	private final double[] priorities;
+	private int size;
+	private int modifications;
+
+	/**
+	 * Constructor that specifies the size of our queue.
+	 * @param size The static size of the {@link DoubleBoundedPriorityQueue}. Has to be a positive integer.
+	 * @throws IllegalArgumentException if size is not a strictly positive integer.
+	 */
+	public DoubleBoundedPriorityQueue(int size){
+		if(size <= 0)
+			throw new IllegalArgumentException("The size of a bounded priority queue needs to be positive; got " + size + ".");
+		elements = new Object[size];
+		priorities = new double[size];
+	}
+
+	/**
+	 * Inserts element into the queue according to its priority. <b>Lower is better.</b> If the queue is full, the element
+	 * with the maximum priority is ejected; if that is element itself, the queue is left unchanged.
+	 * @param element The element to insert in the queue.
+	 * @param priority The priority of the element.
+	 * @throws IllegalArgumentException if priority is NaN.
+	 */
+	public void enqueue(T element, double priority){
+		if(Double.isNaN(priority))
+			throw new IllegalArgumentException("Priorities cannot be NaN.");
+		if(size == elements.length && priority >= priorities[size - 1])
+			return;     // Later insertions lose ties, so element would be the one ejected.
+		int i = (size == elements.length) ? size - 1 : size++;
+		for(; i > 0 && priorities[i - 1] > priority; i--) {
+			elements[i] = elements[i - 1];
+			priorities[i] = priorities[i - 1];
+		}
+		elements[i] = element;
+		priorities[i] = priority;
+		modifications++;
+	}
+
+	/**
+	 * Returns and removes the minimum priority element of the queue.
+	 * @return The minimum priority element in the queue, or {@code null} if the queue is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public T dequeue(){
+		if(size == 0)
+			return null;
+		T first = (T)elements[0];
+		size--;
+		System.arraycopy(elements, 1, elements, 0, size);
+		System.arraycopy(priorities, 1, priorities, 0, size);
+		elements[size] = null;
+		modifications++;
+		return first;
+	}
+
+	/**
+	 * Returns, but does not remove, the minimum priority element of the queue.
+	 * @return The minimum priority element of the queue, or {@code null} if the queue is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public T first(){
+		return (size == 0) ? null : (T)elements[0];
+	}
+
+	/**
+	 * Returns, but does not remove, the maximum priority element of the queue, in constant time.
+	 * @return The maximum priority element of the queue, or {@code null} if the queue is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public T last(){
+		return (size == 0) ? null : (T)elements[size - 1];
+	}
+
+	/**
+	 * Returns the priority of the minimum priority element of the queue.
+	 * @return The minimum priority, or {@link Double#POSITIVE_INFINITY} if the queue is empty.
+	 */
+	public double firstPriority(){
+		return (size == 0) ? Double.POSITIVE_INFINITY : priorities[0];
+	}
+
+	/**
+	 * Returns the priority that an element has to beat in order to enter the queue: the priority of the maximum priority
+	 * element if the queue is full, or {@link Double#POSITIVE_INFINITY} otherwise. k-NN queries compare their pruning
+	 * distances against this quantity.
+	 * @return The priority of the maximum priority element if the queue is full, {@link Double#POSITIVE_INFINITY} otherwise.
+	 */
+	public double lastPriority(){
+		return (size < elements.length) ? Double.POSITIVE_INFINITY : priorities[size - 1];
+	}
+
+	/**
+	 * Copies the elements of the queue, in ascending order of priority, into an array, without removing them. Unlike
+	 * repeated calls to {@link #dequeue()}, which shift the whole queue every time, this makes a single pass.
+	 * @param destination The array to copy the elements into, if it is long enough. Otherwise, a new array of the same
+	 *                    runtime type and of length {@link #size()} is allocated.
+	 * @return An array whose first {@link #size()} cells hold the elements of the queue.
+	 * @throws NullPointerException if destination is {@code null}.
+	 */
+	public T[] toArray(T[] destination){
+		if(destination.length < size)
+			destination = Arrays.copyOf(destination, size);
+		System.arraycopy(elements, 0, destination, 0, size);
+		return destination;
+	}
+
+	/**
+	 * Removes all elements from the queue, so that it can be reused, for example by another k-NN query, without
+	 * allocating a new one.
+	 */
+	public void clear(){
+		Arrays.fill(elements, 0, size, null);
+		size = 0;
+		modifications++;
+	}
+
+	/**
+	 * Inspects whether a given element is in the queue. O(N) complexity.
+	 * @param element The element to search for.
+	 * @return {@code true} iff {@code element} is in {@code this}, {@code false} otherwise.
+	 */
+	public boolean contains(T element){
+		for(int i = 0; i < size; i++)
+			if(element == null ? elements[i] == null : element.equals(elements[i]))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Query the queue about its size.
+	 * @return The number of elements in the queue.
+	 */
+	public int size(){
+		return size;
+	}
+
+	/**
+	 * Query the queue about its maximum size.
+	 * @return The size that the queue was created with.
+	 */
+	public int capacity(){
+		return elements.length;
+	}
+
+	/**
+	 * Query the queue about emptiness.
+	 * @return {@code true} iff the queue contains 0 elements.
+	 */
+	public boolean isEmpty(){
+		return size == 0;
+	}
+
+	/**
+	 * Returns a fail-fast {@link Iterator} over the elements of the queue, in ascending order of priority.
+	 * @return An {@link Iterator} over the elements of the queue.
+	 */
+	@Override
+	public Iterator<T> iterator(){
+		return new Iterator<T>() {
+			private final int expectedModifications = modifications;
+			private int i = 0;
+
+			@Override
+			public boolean hasNext() {
+				return i < size;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public T next() {
+				if(expectedModifications != modifications)
+					throw new ConcurrentModificationException("The queue was modified during iteration.");
+				if(!hasNext())
+					throw new NoSuchElementException("No more elements in the queue.");
+				return (T)elements[i++];
+			}
+		};
+	}
+}
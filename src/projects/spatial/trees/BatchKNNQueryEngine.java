@@ -0,0 +1,144 @@
+package projects.spatial.trees;
+
+import projects.spatial.kdpoint.DoubleKDPoint;
+import projects.spatial.knnutils.DoubleBoundedPriorityQueue;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>{@link BatchKNNQueryEngine} executes <b>batches</b> of k-nearest neighbor queries against a
+ * {@link DoubleSpatialQuerySolver} concurrently, on a {@link ForkJoinPool}. The batch is split recursively into chunks of
+ * anchors, which the threads of the pool steal from each other. Every thread reuses a single
+ * {@link DoubleBoundedPriorityQueue} across all the queries that it executes, through
+ * {@link DoubleSpatialQuerySolver#kNearestNeighbors(DoubleKDPoint, DoubleBoundedPriorityQueue)}, so a query allocates
+ * nothing besides the array that holds its result.</p>
+ *
+ * <p>The queries of a batch only read the solver, so they are safe to run concurrently with each other, but <b>not</b>
+ * with modifications of the solver: a {@link DoubleSpatialDictionary} must not be modified while it serves a batch.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see DoubleSpatialQuerySolver
+ * @see DoubleBoundedPriorityQueue
+ */
+public class BatchKNNQueryEngine {
+
+	/* *********************************************************************/
+	/* ************************** PRIVATE FIELDS ***************************/
+	/* *********************************************************************/
+
+	// Chunks of at most this many anchors are executed by a single thread, in order.
+	private static final int CHUNK_SIZE = 64;
+
+	private final DoubleSpatialQuerySolver solver;
+	private final ForkJoinPool pool;
+
+	// Every thread keeps the queue of its last query, and only replaces it when a batch asks for a different k.
+	private final ThreadLocal<DoubleBoundedPriorityQueue<DoubleKDPoint>> queues = new ThreadLocal<>();
+
+	/* *********************************************************************/
+	/* ************************** CONSTRUCTORS *****************************/
+	/* *********************************************************************/
+
+	/**
+	 * Creates an engine that executes its batches on the {@link ForkJoinPool#commonPool() common pool}.
+	 * @param solver The {@link DoubleSpatialQuerySolver} to query.
+	 * @throws IllegalArgumentException if solver is null.
+	 */
+	public BatchKNNQueryEngine(DoubleSpatialQuerySolver solver){
+		this(solver, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates an engine that executes its batches on the provided pool.
+	 * @param solver The {@link DoubleSpatialQuerySolver} to query.
+	 * @param pool The {@link ForkJoinPool} to execute batches on.
+	 * @throws IllegalArgumentException if solver or pool is null.
+	 */
+	public BatchKNNQueryEngine(DoubleSpatialQuerySolver solver, ForkJoinPool pool){
+		if(solver == null || pool == null)
+			throw new IllegalArgumentException("Cannot create a BatchKNNQueryEngine with a null solver or pool.");
+		this.solver = solver;
+		this.pool = pool;
+	}
+
+	/* *********************************************************************/
+	/* ************************** PUBLIC METHODS ***************************/
+	/* *********************************************************************/
+
+	/**
+	 * Executes a k-nearest neighbors query for every anchor, concurrently.
+	 * @param anchors The query points.
+	 * @param k A positive integer denoting the amount of neighbors to return for every anchor.
+	 * @return An array whose i-th element holds the k-nearest neighbors of anchors[i], sorted in ascending order of
+	 * distance, exactly like {@link DoubleSpatialQuerySolver#kNearestNeighbors(int, DoubleKDPoint)} would return them.
+	 * An element holds fewer than k neighbors if the solver holds fewer than k points other than the anchor.
+	 * @throws IllegalArgumentException if anchors is null or contains null points.
+	 * @throws RuntimeException if k&lt;=0.
+	 */
+	public DoubleKDPoint[][] kNearestNeighbors(DoubleKDPoint[] anchors, int k){
+		if(k <= 0)
+			throw new RuntimeException("The value of k provided, " + k + ", is invalid: Please provide a positive integer.");
+		if(anchors == null)
+			throw new IllegalArgumentException("Cannot execute a null batch.");
+		for(DoubleKDPoint anchor : anchors)
+			if(anchor == null)
+				throw new IllegalArgumentException("Cannot execute a query with a null anchor.");
+		DoubleKDPoint[][] results = new DoubleKDPoint[anchors.length][];
+		if(anchors.length > 0)
+			pool.invoke(new ChunkTask(anchors, k, results, 0, anchors.length));
+		return results;
+	}
+
+	/**
+	 * Returns the solver that this engine queries.
+	 * @return The {@link DoubleSpatialQuerySolver} that this was created with.
+	 */
+	public DoubleSpatialQuerySolver getSolver(){
+		return solver;
+	}
+
+	/* *********************************************************************/
+	/* ************************** PRIVATE METHODS **************************/
+	/* *********************************************************************/
+
+	private DoubleBoundedPriorityQueue<DoubleKDPoint> queueOf(int k){
+		DoubleBoundedPriorityQueue<DoubleKDPoint> queue = queues.get();
+		if(queue == null || queue.capacity() != k) {
+			queue = new DoubleBoundedPriorityQueue<>(k);
+			queues.set(queue);
+		}
+		return queue;
+	}
+
+	@SuppressWarnings("serial")	// Tasks are never serialized.
+	private final class ChunkTask extends RecursiveAction {
+		private final DoubleKDPoint[] anchors;
+		private final DoubleKDPoint[][] results;
+		private final int k, from, to;
+
+		private ChunkTask(DoubleKDPoint[] anchors, int k, DoubleKDPoint[][] results, int from, int to){
+			this.anchors = anchors;
+			this.k = k;
+			this.results = results;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute(){
+			if(to - from > CHUNK_SIZE) {
+				int mid = (from + to) >>> 1;
+				invokeAll(new ChunkTask(anchors, k, results, from, mid), new ChunkTask(anchors, k, results, mid, to));
+				return;
+			}
+			DoubleBoundedPriorityQueue<DoubleKDPoint> queue = queueOf(k);
+			for(int i = from; i < to; i++) {
+				solver.kNearestNeighbors(anchors[i], queue);
+				results[i] = queue.toArray(new DoubleKDPoint[queue.size()]);
+				queue.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package projects.spatial.trees;
+
+import org.junit.Test;
+import projects.spatial.kdpoint.DoubleKDPoint;
+import projects.spatial.knnutils.DoubleBoundedPriorityQueue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link BatchKNNQueryEngineTests} checks that {@link BatchKNNQueryEngine} returns, in input order, exactly what
+ * one-at-a-time k-NN queries would return, for every kind of {@link DoubleSpatialQuerySolver}.</p>
+ *
+ * @author <a href = "https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see BatchKNNQueryEngine
+ */
+public class BatchKNNQueryEngineTests {
+
+	private static final int SEED = 47;
+	private static final int NUM_POINTS = 3000;
+	private static final int NUM_ANCHORS = 5000;
+
+	private static List<DoubleKDPoint> randomPoints(Random r, int n){
+		List<DoubleKDPoint> points = new ArrayList<>();
+		for(int i = 0; i < n; i++)
+			points.add(new DoubleKDPoint((r.nextDouble() - 0.5) * 1000, (r.nextDouble() - 0.5) * 1000));
+		return points;
+	}
+
+	private static void checkBatch(DoubleSpatialQuerySolver solver, BatchKNNQueryEngine engine, DoubleKDPoint[] anchors, int k){
+		DoubleKDPoint[][] results = engine.kNearestNeighbors(anchors, k);
+		assertEquals(anchors.length, results.length);
+		for(int i = 0; i < anchors.length; i++) {
+			DoubleBoundedPriorityQueue<DoubleKDPoint> expected = solver.kNearestNeighbors(k, anchors[i]);
+			assertEquals(expected.size(), results[i].length);
+			for(DoubleKDPoint neighbor : results[i])
+				assertEquals(anchors[i].distanceSquared(expected.dequeue()), anchors[i].distanceSquared(neighbor), 0);
+		}
+	}
+
+	@Test
+	public void testBatchesMatchSingleQueries() {
+		Random r = new Random(SEED);
+		List<DoubleKDPoint> points = randomPoints(r, NUM_POINTS);
+		DoubleKDTree kdTree = DoubleKDTree.build(points, 2, false, false);
+		DoublePRQuadTree quadTree = new DoublePRQuadTree(10, 4);
+		points.forEach(quadTree::insert);
+		StaticKDTree staticTree = new StaticKDTree(points, 2);
+
+		DoubleKDPoint[] anchors = new DoubleKDPoint[NUM_ANCHORS];
+		for(int i = 0; i < anchors.length; i++)  // Half of the anchors are points of the trees.
+			anchors[i] = (i % 2 == 0) ? points.get(r.nextInt(points.size())) : randomPoints(r, 1).get(0);
+		for(DoubleSpatialQuerySolver solver : new DoubleSpatialQuerySolver[]{kdTree, quadTree, staticTree}) {
+			BatchKNNQueryEngine engine = new BatchKNNQueryEngine(solver);
+			assertSame(solver, engine.getSolver());
+			checkBatch(solver, engine, anchors, 5);
+			checkBatch(solver, engine, anchors, 1);  // Every thread replaces its queue.
+		}
+	}
+
+	@Test
+	public void testCustomPoolAndSmallSolver() {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			List<DoubleKDPoint> points = randomPoints(new Random(SEED), 4);
+			DoubleKDTree tree = DoubleKDTree.build(points, 2, false, false);
+			BatchKNNQueryEngine engine = new BatchKNNQueryEngine(tree, pool);
+			DoubleKDPoint[][] results = engine.kNearestNeighbors(points.toArray(new DoubleKDPoint[0]), 10);
+			for(DoubleKDPoint[] neighbors : results)
+				assertEquals("Every anchor has 3 neighbors besides itself.", 3, neighbors.length);
+			assertEquals(0, engine.kNearestNeighbors(new DoubleKDPoint[0], 3).length);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testDefaultQueueFilling() {
+		List<DoubleKDPoint> points = randomPoints(new Random(SEED), 100);
+		DoubleKDTree tree = DoubleKDTree.build(points, 2, false, false);
+		// A solver which only implements the three abstract queries falls back to the default method.
+		DoubleSpatialQuerySolver wrapper = new DoubleSpatialQuerySolver() {
+			@Override
+			public Collection<DoubleKDPoint> range(DoubleKDPoint p, double range) {
+				return tree.range(p, range);
+			}
+
+			@Override
+			public DoubleKDPoint nearestNeighbor(DoubleKDPoint p) {
+				return tree.nearestNeighbor(p);
+			}
+
+			@Override
+			public DoubleBoundedPriorityQueue<DoubleKDPoint> kNearestNeighbors(int k, DoubleKDPoint p) {
+				return tree.kNearestNeighbors(k, p);
+			}
+		};
+		DoubleBoundedPriorityQueue<DoubleKDPoint> queue = new DoubleBoundedPriorityQueue<>(4);
+		queue.enqueue(new DoubleKDPoint(1e6, 1e6), 0);   // Stale contents are cleared.
+		wrapper.kNearestNeighbors(points.get(0), queue);
+		assertEquals(4, queue.size());
+		DoubleBoundedPriorityQueue<DoubleKDPoint> expected = tree.kNearestNeighbors(4, points.get(0));
+		while(!expected.isEmpty())
+			assertEquals(expected.dequeue(), queue.dequeue());
+		checkBatch(wrapper, new BatchKNNQueryEngine(wrapper), points.toArray(new DoubleKDPoint[0]), 3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullAnchor() {
+		new BatchKNNQueryEngine(new DoubleKDTree()).kNearestNeighbors(new DoubleKDPoint[]{new DoubleKDPoint(), null}, 3);
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testNonPositiveK() {
+		new BatchKNNQueryEngine(new DoubleKDTree()).kNearestNeighbors(new DoubleKDPoint[]{new DoubleKDPoint()}, 0);
+	}
+}
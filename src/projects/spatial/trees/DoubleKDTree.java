@@ -0,0 +1,490 @@
+package projects.spatial.trees;
+
+import projects.spatial.kdpoint.DoubleKDPoint;
+import projects.spatial.knnutils.DoubleBoundedPriorityQueue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * <p>{@link DoubleKDTree} is the <b>double precision</b> counterpart of {@link KDTree}: a <em>K</em>-D Tree over
+ * {@link DoubleKDPoint}s. It follows exactly the same conventions as {@link KDTree}: dimensions alternate with every
+ * level, points whose coordinate in the current dimension is <b>greater than or equal to</b> the one of a node's point
+ * go to the node's right subtree, and deletion replaces a deleted point by the minimum point of the right subtree,
+ * or, if there is no right subtree, by the minimum point of the left subtree, which then becomes the right subtree.</p>
+ *
+ * <p>Unlike {@link KDTree}, {@link DoubleKDTree} is self-contained: its nodes are private, and every query
+ * compares squared distances as primitive {@code double}s, so no query allocates anything besides its result.
+ * Rounding can only misjudge points which lie (almost) exactly on the boundary of a range query. A tree constructed
+ * as <em>exact</em> settles those points in arbitrary precision, through
+ * {@link DoubleKDPoint#isWithin(DoubleKDPoint, double, boolean)}, so that its range queries give the answers a
+ * {@link KDTree} would give over the same points.</p>
+ *
+ * <p>Insertions and deletions keep no balance by default, so a tree which undergoes a lot of churn can degenerate. A
+ * tree constructed with a weight-balance factor &alpha; <b>rebalances</b> itself like a scapegoat tree: every node
+ * tracks the size of its subtree, and an insertion which places its point deeper than log<sub>1/&alpha;</sub> n
+ * rebuilds the lowest ancestor of the new node which is too deep for its own size, i.e further than
+ * log<sub>1/&alpha;</sub> of its size from the new node, into a balanced subtree. Once deletions shrink the tree below
+ * &alpha; times its largest size since it was last rebuilt, the whole tree is rebuilt. Rebuilds find medians exactly
+ * like {@link KDTreeBuilder}, and keep the height of the tree O(log n) at an amortized cost of O(log n) per update.
+ * Points which share coordinates with a median always go right, so heavily tied points can keep a subtree out of
+ * weight balance; since rebuilds are triggered by depth rather than weight, they do not keep rebuilding such subtrees.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see KDTree
+ * @see DoubleKDPoint
+ * @see DoubleSpatialDictionary
+ * @see DoubleSpatialQuerySolver
+ */
+public class DoubleKDTree implements DoubleSpatialDictionary, DoubleSpatialQuerySolver {
+
+	/* *********************************************************************/
+	/* ************************** PRIVATE FIELDS ***************************/
+	/* *********************************************************************/
+
+	private static final class Node {
+		private DoubleKDPoint point;
+		private Node left, right;
+		private int size = 1;	// The number of nodes in the subtree rooted at this.
+
+		private Node(DoubleKDPoint point){
+			this.point = point;
+		}
+	}
+
+	// Holds the best guess of a nearest neighbor query, so that the recursion does not need to return it.
+	private static final class NNSearch {
+		private DoubleKDPoint bestGuess;
+		private double bestDist = Double.POSITIVE_INFINITY;
+	}
+
+	// Primitive comparisons, unlike Double.compare(), consider -0.0 equal to 0.0, exactly like insert() does.
+	private static final KDTreeBuilder.CoordinateComparator<DoubleKDPoint> COORDINATE_COMPARATOR =
+			(p1, p2, dim) -> p1.coords[dim] < p2.coords[dim] ? -1 : (p1.coords[dim] > p2.coords[dim] ? 1 : 0);
+
+	// No child ever holds more than all the nodes of its parent, so this value turns rebalancing off.
+	private static final double NO_REBALANCING = 1.0;
+
+	private Node root;
+	private final int dims;
+	private final boolean exact;
+	private double alpha = NO_REBALANCING;
+	private int count;
+	private int maxCount;	// The largest count since the last rebuild of the entire tree.
+	private long rebuiltNodes;	// The total size of all the subtrees rebuilt so far.
+	private Node[] path = new Node[16];	// The ancestors of the point being inserted, by depth.
+
+	/* *********************************************************************/
+	/* ************************** CONSTRUCTORS *****************************/
+	/* *********************************************************************/
+
+	/**
+	 * Default constructor constructs this with <em>k=2</em>.
+	 * @see KDTree#DEFAULT_DIMS
+	 */
+	public DoubleKDTree(){
+		this(KDTree.DEFAULT_DIMS);
+	}
+
+	/**
+	 * This constructor requires that the user provide the value for <em>k</em>. Range queries are decided in
+	 * double precision.
+	 * @param k The dimensionality of this.
+	 * @throws RuntimeException if k&lt;=0.
+	 */
+	public DoubleKDTree(int k){
+		this(k, false);
+	}
+
+	/**
+	 * This constructor requires that the user provide the value for <em>k</em>, as well as whether range queries should
+	 * decide the points close to the boundary of the range in arbitrary precision.
+	 * @param k The dimensionality of this.
+	 * @param exact {@code true} if, and only if, range queries should fall back to arbitrary precision for points whose
+	 *              distance from the anchor is too close to the range for double precision to decide.
+	 * @throws RuntimeException if k&lt;=0.
+	 */
+	public DoubleKDTree(int k, boolean exact){
+		if(k <= 0)
+			throw new RuntimeException("The value of k provided, " + k + ", is invalid: Please provide a positive integer.");
+		dims = k;
+		this.exact = exact;
+		root = null;
+		count = 0;
+	}
+
+	/**
+	 * This constructor creates a tree that <b>rebalances</b> itself, keeping the depth of every insertion within
+	 * log<sub>1/alpha</sub> n, as long as ties do not prevent it. Lower values of alpha keep the tree shallower, at the
+	 * cost of more frequent rebuilds. As alpha approaches 0.5, whose bound only a perfectly balanced tree satisfies, almost
+	 * every insertion rebuilds a subtree.
+	 * @param k The dimensionality of this.
+	 * @param exact {@code true} if, and only if, range queries should fall back to arbitrary precision for points whose
+	 *              distance from the anchor is too close to the range for double precision to decide.
+	 * @param alpha The weight-balance factor of the tree, in (0.5, 1).
+	 * @throws RuntimeException if k&lt;=0.
+	 * @throws IllegalArgumentException if alpha is not in (0.5, 1).
+	 */
+	public DoubleKDTree(int k, boolean exact, double alpha){
+		this(k, exact);
+		if(!(alpha > 0.5 && alpha < 1))
+			throw new IllegalArgumentException("The weight-balance factor needs to be in (0.5, 1); got " + alpha + ".");
+		this.alpha = alpha;
+	}
+
+	/**
+	 * Builds a <b>balanced</b> {@link DoubleKDTree} out of points, by placing the median point of the current
+	 * dimension at the root of every subtree, exactly like {@link KDTreeBuilder} does for {@link KDTree}s. The
+	 * nodes are linked directly, without going through {@link #insert(DoubleKDPoint)}.
+	 * @param points The {@link DoubleKDPoint}s to store in the tree.
+	 * @param k The dimensionality of the tree.
+	 * @param exact {@code true} if, and only if, range queries of the tree should fall back to arbitrary precision
+	 *              close to the boundary of the range.
+	 * @param parallel {@code true} if, and only if, large subtrees should be built in parallel.
+	 * @return A balanced {@link DoubleKDTree} which holds all of points.
+	 * @throws IllegalArgumentException if points is null, or contains null or non k-dimensional points.
+	 * @throws RuntimeException if k&lt;=0.
+	 * @see KDTreeBuilder
+	 */
+	public static DoubleKDTree build(Collection<DoubleKDPoint> points, int k, boolean exact, boolean parallel){
+		DoubleKDTree tree = new DoubleKDTree(k, exact);
+		if(points == null)
+			throw new IllegalArgumentException("Cannot build a tree out of a null collection.");
+		DoubleKDPoint[] pts = points.toArray(new DoubleKDPoint[0]);
+		for(DoubleKDPoint p : pts)
+			tree.checkDims(p);
+		tree.root = tree.balance(pts, 0, parallel);
+		tree.count = tree.maxCount = pts.length;
+		return tree;
+	}
+
+	/* *********************************************************************/
+	/* ************************** PUBLIC METHODS ***************************/
+	/* *********************************************************************/
+
+	@Override
+	public void insert(DoubleKDPoint p){
+		checkDims(p);
+		count++;
+		maxCount = Math.max(maxCount, count);
+		if(root == null) {
+			root = new Node(p);
+			return;
+		}
+		Node curr = root;
+		for(int depth = 0; ; depth++) {
+			if(isRebalancing()) {
+				if(depth == path.length)
+					path = Arrays.copyOf(path, 2 * depth);
+				path[depth] = curr;
+			}
+			curr.size++;
+			int dim = depth % dims;
+			boolean goRight = p.coords[dim] >= curr.point.coords[dim];
+			Node child = goRight ? curr.right : curr.left;
+			if(child == null) {
+				if(goRight)
+					curr.right = new Node(p);
+				else
+					curr.left = new Node(p);
+				if(isRebalancing() && depth + 1 > logAlpha(count))
+					rebalance(depth + 1);
+				return;
+			}
+			curr = child;
+		}
+	}
+
+	@Override
+	public void delete(DoubleKDPoint p){
+		if(search(p)) {
+			root = delete(root, p, 0);
+			count--; // Guaranteed successful deletion.
+			if(isRebalancing() && count < alpha * maxCount) {
+				root = rebuild(root, 0);
+				maxCount = count;
+			}
+		}
+	}
+
+	@Override
+	public boolean search(DoubleKDPoint p){
+		checkDims(p);
+		Node curr = root;
+		for(int depth = 0; curr != null; depth++) {
+			if(curr.point.equals(p))
+				return true;
+			int dim = depth % dims;
+			curr = (p.coords[dim] >= curr.point.coords[dim]) ? curr.right : curr.left;
+		}
+		return false;
+	}
+
+	@Override
+	public Collection<DoubleKDPoint> range(DoubleKDPoint p, double range){
+		checkDims(p);
+		ArrayList<DoubleKDPoint> pts = new ArrayList<>();
+		range(root, p, range, 0, pts);
+		return pts; // Might be empty; that's not a problem.
+	}
+
+	@Override
+	public DoubleKDPoint nearestNeighbor(DoubleKDPoint p){
+		checkDims(p);
+		NNSearch n = new NNSearch();
+		nearestNeighbor(root, p, 0, n);
+		return n.bestGuess;
+	}
+
+	@Override
+	public DoubleBoundedPriorityQueue<DoubleKDPoint> kNearestNeighbors(int k, DoubleKDPoint p){
+		if(k <= 0)
+			throw new RuntimeException("The value of k provided, " + k + ", is invalid: Please provide a positive integer.");
+		DoubleBoundedPriorityQueue<DoubleKDPoint> queue = new DoubleBoundedPriorityQueue<>(k);
+		kNearestNeighbors(p, queue);
+		return queue; // Might be empty; that's not a problem.
+	}
+
+	@Override
+	public void kNearestNeighbors(DoubleKDPoint p, DoubleBoundedPriorityQueue<DoubleKDPoint> queue){
+		if(queue == null)
+			throw new IllegalArgumentException("Cannot fill a null queue.");
+		checkDims(p);
+		queue.clear();
+		kNearestNeighbors(root, p, 0, queue);
+	}
+
+	@Override
+	public int height(){
+		return height(root);
+	}
+
+	@Override
+	public boolean isEmpty(){
+		return count == 0;
+	}
+
+	@Override
+	public int count(){
+		return count;
+	}
+
+	/**
+	 * Returns the dimensionality of this.
+	 * @return The value of <em>k</em> that this was constructed with.
+	 */
+	public int dims(){
+		return dims;
+	}
+
+	/**
+	 * Reports whether this rebalances itself.
+	 * @return {@code true} if, and only if, this was constructed with a weight-balance factor.
+	 */
+	public boolean isRebalancing(){
+		return alpha < NO_REBALANCING;
+	}
+
+	/**
+	 * Returns the total number of nodes in all the subtrees that this has rebuilt since its creation, i.e the work spent
+	 * on rebalancing. Scapegoat rebalancing keeps it within O(n log n) over n insertions. Added primarily for testing purposes.
+	 * @return The number of nodes rebuilt by {@link #insert(DoubleKDPoint)} and {@link #delete(DoubleKDPoint)}.
+	 */
+	public long rebuiltNodeCount(){
+		return rebuiltNodes;
+	}
+
+	/**
+	 * Reports whether range queries of this fall back to arbitrary precision close to the boundary of the range.
+	 * @return {@code true} if, and only if, this was constructed as exact.
+	 */
+	public boolean isExact(){
+		return exact;
+	}
+
+	/**
+	 * Returns the {@link DoubleKDPoint} located at the <b>root</b> of the tree. Added primarily for debugging purposes.
+	 * @return A copy of the {@link DoubleKDPoint} located at the root of the tree, or null if the tree is empty.
+	 */
+	public DoubleKDPoint getRoot(){
+		return root == null ? null : new DoubleKDPoint(root.point);
+	}
+
+	/**
+	 * Describes the shape of the tree: its points in preorder, each followed by the size of its left subtree, which
+	 * determines the tree node for node. Added primarily for testing purposes.
+	 * @return A {@link String} description of the shape of the tree.
+	 */
+	String shape(){
+		StringBuilder ret = new StringBuilder();
+		shape(root, ret);
+		return ret.toString();
+	}
+
+	/* *********************************************************************/
+	/* ************************** PRIVATE METHODS **************************/
+	/* *********************************************************************/
+
+	private static void shape(Node n, StringBuilder ret){
+		if(n == null)
+			return;
+		ret.append(n.point.compactToString()).append(':').append(size(n.left)).append(' ');
+		shape(n.left, ret);
+		shape(n.right, ret);
+	}
+
+	private void checkDims(DoubleKDPoint p){
+		if(p == null)
+			throw new IllegalArgumentException("Cannot use a null DoubleKDPoint.");
+		if(p.coords.length != dims)
+			throw new IllegalArgumentException("Expected a " + dims + "-dimensional point; got " + p.coords.length + " dimensions.");
+	}
+
+	// Only ever called for points which are in the subtree rooted at n.
+	private Node delete(Node n, DoubleKDPoint p, int depth){
+		int dim = depth % dims;
+		if(n.point.equals(p)) {
+			if(n.right != null) {
+				n.point = findMin(n.right, dim, depth + 1);
+				n.right = delete(n.right, n.point, depth + 1);
+			} else if(n.left != null) {
+				n.point = findMin(n.left, dim, depth + 1);
+				n.right = delete(n.left, n.point, depth + 1);
+				n.left = null;
+			} else {
+				return null;
+			}
+		} else if(p.coords[dim] >= n.point.coords[dim]) {
+			n.right = delete(n.right, p, depth + 1);
+		} else {
+			n.left = delete(n.left, p, depth + 1);
+		}
+		n.size = 1 + size(n.left) + size(n.right);
+		return n;
+	}
+
+	private DoubleKDPoint findMin(Node n, int dim, int depth){
+		if(n == null)
+			return null;
+		if(depth % dims == dim)
+			return (n.left == null) ? n.point : findMin(n.left, dim, depth + 1);
+		DoubleKDPoint min = n.point;
+		DoubleKDPoint leftMin = findMin(n.left, dim, depth + 1), rightMin = findMin(n.right, dim, depth + 1);
+		if(leftMin != null && leftMin.coords[dim] < min.coords[dim])
+			min = leftMin;
+		if(rightMin != null && rightMin.coords[dim] < min.coords[dim])
+			min = rightMin;
+		return min;
+	}
+
+	private void range(Node n, DoubleKDPoint anchor, double range, int depth, Collection<DoubleKDPoint> results){
+		if(n == null)
+			return;
+		if(!n.point.equals(anchor) && anchor.isWithin(n.point, range, exact))
+			results.add(n.point);
+		int dim = depth % dims;
+		double diff = anchor.coords[dim] - n.point.coords[dim];
+		range(diff >= 0 ? n.right : n.left, anchor, range, depth + 1, results);
+		// The first check is sound in arbitrary precision, the second in the double precision of isWithin().
+		if(Math.abs(diff) <= range || diff * diff <= range * range)
+			range(diff >= 0 ? n.left : n.right, anchor, range, depth + 1, results);
+	}
+
+	private void nearestNeighbor(Node n, DoubleKDPoint anchor, int depth, NNSearch search){
+		if(n == null)
+			return;
+		if(!n.point.equals(anchor)) {
+			double dist = anchor.distanceSquared(n.point);
+			if(dist < search.bestDist) {
+				search.bestGuess = n.point;
+				search.bestDist = dist;
+			}
+		}
+		int dim = depth % dims;
+		double diff = anchor.coords[dim] - n.point.coords[dim];
+		nearestNeighbor(diff >= 0 ? n.right : n.left, anchor, depth + 1, search);
+		if(diff * diff < search.bestDist)
+			nearestNeighbor(diff >= 0 ? n.left : n.right, anchor, depth + 1, search);
+	}
+
+	private void kNearestNeighbors(Node n, DoubleKDPoint anchor, int depth, DoubleBoundedPriorityQueue<DoubleKDPoint> queue){
+		if(n == null)
+			return;
+		if(!n.point.equals(anchor))
+			queue.enqueue(n.point, anchor.distanceSquared(n.point));
+		int dim = depth % dims;
+		double diff = anchor.coords[dim] - n.point.coords[dim];
+		kNearestNeighbors(diff >= 0 ? n.right : n.left, anchor, depth + 1, queue);
+		if(diff * diff < queue.lastPriority())
+			kNearestNeighbors(diff >= 0 ? n.left : n.right, anchor, depth + 1, queue);
+	}
+
+	// log_{1/alpha}(x): a subtree of size x whose children all hold at most alpha times its nodes is at most this deep.
+	private double logAlpha(int x){
+		return Math.log(x) / Math.log(1 / alpha);
+	}
+
+	// Called after an insertion placed its node at leafDepth, deeper than logAlpha(count), below the nodes of path. Some
+	// ancestor of the new node must then lie further than logAlpha of its size from it: we rebuild the lowest one, our
+	// scapegoat. A subtree which ties keep out of weight balance is only rebuilt again once it grows too deep for its size.
+	private void rebalance(int leafDepth){
+		for(int depth = leafDepth - 1; depth >= 0; depth--) {
+			Node scapegoat = path[depth];
+			if(leafDepth - depth > logAlpha(scapegoat.size)) {
+				Node rebuilt = rebuild(scapegoat, depth);
+				if(depth == 0)
+					root = rebuilt;
+				else if(path[depth - 1].right == scapegoat)
+					path[depth - 1].right = rebuilt;
+				else
+					path[depth - 1].left = rebuilt;
+				return;
+			}
+		}
+	}
+
+	// Rebuilds the subtree rooted at n, found at the given depth, into a balanced one.
+	private Node rebuild(Node n, int depth){
+		DoubleKDPoint[] pts = new DoubleKDPoint[size(n)];
+		rebuiltNodes += pts.length;
+		collect(n, pts, 0);
+		return balance(pts, depth, false);
+	}
+
+	private Node balance(DoubleKDPoint[] pts, int depth, boolean parallel){
+		DoubleKDPoint[] order = new DoubleKDPoint[pts.length];
+		int[] leftSizes = new int[pts.length];
+		KDTreeBuilder.preorder(pts, COORDINATE_COMPARATOR, dims, depth, order, leftSizes, parallel);
+		return link(order, leftSizes, 0, order.length);
+	}
+
+	// Stores the points of the subtree rooted at n in pts, from index from onwards, and returns the next free index.
+	private static int collect(Node n, DoubleKDPoint[] pts, int from){
+		if(n == null)
+			return from;
+		pts[from] = n.point;
+		return collect(n.right, pts, collect(n.left, pts, from + 1));
+	}
+
+	// Links the nodes of the subtree laid out in preorder in [from, to).
+	private static Node link(DoubleKDPoint[] order, int[] leftSizes, int from, int to){
+		if(from >= to)
+			return null;
+		Node n = new Node(order[from]);
+		int rightFrom = from + 1 + leftSizes[from];
+		n.left = link(order, leftSizes, from + 1, rightFrom);
+		n.right = link(order, leftSizes, rightFrom, to);
+		n.size = to - from;
+		return n;
+	}
+
+	private static int size(Node n){
+		return (n == null) ? 0 : n.size;
+	}
+
+	private static int height(Node n){
+		return (n == null) ? -1 : 1 + Math.max(height(n.left), height(n.right));
+	}
+}
@@ -0,0 +1,371 @@
+package projects.spatial.trees;
+
+import projects.spatial.kdpoint.DoubleKDPoint;
+import projects.spatial.knnutils.DoubleBoundedPriorityQueue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * <p>{@link DoublePRQuadTree} is the <b>double precision</b> counterpart of {@link PRQuadTree}: a bucketed P-R QuadTree
+ * over two-dimensional {@link DoubleKDPoint}s. It follows exactly the same conventions as {@link PRQuadTree}: the root
+ * spans the 2^k &#42; 2^k square centered at (0, 0), a black node splits into a gray node once it would hold more
+ * than bucketingParam points, a gray node's children are its NW, NE, SW and SE quadrants, in that order, and points
+ * which lie on the sides of a quadrant belong to the quadrant to their North and East. Duplicate points are ignored,
+ * and a gray node which no longer holds more than bucketingParam points in total collapses back into a black node.</p>
+ *
+ * <p>Unlike {@link PRQuadTree}, {@link DoublePRQuadTree} is self-contained: its nodes are private, and every query
+ * compares squared distances as primitive {@code double}s. A tree constructed as <em>exact</em> settles the points
+ * close to the boundary of a range query in arbitrary precision, exactly like {@link DoubleKDTree}. The centroids and
+ * sides of all quadrants are kept <b>exactly representable</b>; a split that would need more precision than a
+ * {@code double} has throws an {@link IllegalStateException}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see PRQuadTree
+ * @see DoubleKDPoint
+ * @see DoubleSpatialDictionary
+ * @see DoubleSpatialQuerySolver
+ */
+public class DoublePRQuadTree implements DoubleSpatialDictionary, DoubleSpatialQuerySolver {
+
+    /* *********************************************************************/
+    /* ************************** PRIVATE FIELDS ***************************/
+    /* *********************************************************************/
+
+    private static final int NW = 0, NE = 1, SW = 2, SE = 3;
+
+    // Same relative margin as the one DoubleKDPoint uses to decide when to double check a distance.
+    private static final double EXACT_CHECK_MARGIN = 1e-9;
+
+    // A black node holds its points in a non-null list; a gray node has null points and non-null children.
+    private static final class Node {
+        private final double centroidX, centroidY, halfSide;
+        private ArrayList<DoubleKDPoint> points;
+        private Node[] children;
+        private int count;
+
+        private Node(double centroidX, double centroidY, double halfSide, int bucketingParam){
+            this.centroidX = centroidX;
+            this.centroidY = centroidY;
+            this.halfSide = halfSide;
+            points = new ArrayList<>(bucketingParam);
+        }
+
+        private boolean isBlack(){
+            return points != null;
+        }
+
+        private int quadrantOf(DoubleKDPoint p){
+            return (p.coords[1] >= centroidY ? NW : SW) + (p.coords[0] >= centroidX ? 1 : 0);
+        }
+
+        // The squared distance from p to the closest point of the quadrant; never more than the squared distance from p
+        // to any point in the quadrant, as computed by DoubleKDPoint.distanceSquared().
+        private double minDistanceSquared(DoubleKDPoint p){
+            double x = p.coords[0], y = p.coords[1];
+            double dx = x - Math.max(centroidX - halfSide, Math.min(x, centroidX + halfSide));
+            double dy = y - Math.max(centroidY - halfSide, Math.min(y, centroidY + halfSide));
+            return dx * dx + dy * dy;
+        }
+    }
+
+    private static final class NNSearch {
+        private DoubleKDPoint bestGuess;
+        private double bestDist = Double.POSITIVE_INFINITY;
+    }
+
+    private Node root;
+    private final int k;
+    private final int bucketingParam;
+    private final boolean exact;
+    private int count;
+
+    /* *********************************************************************/
+    /* ************************** CONSTRUCTORS *****************************/
+    /* *********************************************************************/
+
+    /**
+     * Constructor for {@link DoublePRQuadTree} objects. Range queries are decided in double precision.
+     * @param k The exponent of 2 that defines the area spanned by the <b>entire QuadTree</b>, exactly like in
+     *          {@link PRQuadTree#PRQuadTree(int, int)}.
+     * @param bucketingParam The "bucketing" parameter, which controls how many {@link DoubleKDPoint}s a black node of
+     *                       this tree can hold before having to split.
+     * @throws RuntimeException if bucketingParam &lt; 1
+     */
+    public DoublePRQuadTree(int k, int bucketingParam){
+        this(k, bucketingParam, false);
+    }
+
+    /**
+     * Constructor for {@link DoublePRQuadTree} objects.
+     * @param k The exponent of 2 that defines the area spanned by the <b>entire QuadTree</b>, exactly like in
+     *          {@link PRQuadTree#PRQuadTree(int, int)}.
+     * @param bucketingParam The "bucketing" parameter, which controls how many {@link DoubleKDPoint}s a black node of
+     *                       this tree can hold before having to split.
+     * @param exact {@code true} if, and only if, range queries should fall back to arbitrary precision for points whose
+     *              distance from the anchor is too close to the range for double precision to decide.
+     * @throws RuntimeException if bucketingParam &lt; 1
+     */
+    public DoublePRQuadTree(int k, int bucketingParam, boolean exact){
+        if(bucketingParam < 1)
+            throw new RuntimeException("Bucketing parameter needs to be at least 1!");
+        this.k = k;
+        this.bucketingParam = bucketingParam;
+        this.exact = exact;
+        count = 0;
+    }
+
+    /* *********************************************************************/
+    /* ************************** PUBLIC METHODS ***************************/
+    /* *********************************************************************/
+
+    /**
+     * Inserts p into the tree, unless p is already in the tree.
+     * @param p The {@link DoubleKDPoint} to insert into the tree.
+     * @throws IllegalArgumentException if p is not two-dimensional or lies outside the area spanned by the tree.
+     * @throws IllegalStateException if p is so close to another point that separating them would require quadrants
+     * smaller than double precision can describe.
+     */
+    @Override
+    public void insert(DoubleKDPoint p) {
+        checkPoint(p);
+        double half = Math.scalb(1.0, k - 1);
+        if(Math.abs(p.coords[0]) > half || Math.abs(p.coords[1]) > half)
+            throw new IllegalArgumentException("Point " + p.compactToString() + " lies outside the area spanned by the tree.");
+        if(!search(p)) {
+            root = insert(root, p, 0, 0, half);
+            count++;
+        }
+    }
+
+    @Override
+    public void delete(DoubleKDPoint p) {
+        if(search(p)) {
+            root = delete(root, p);
+            count--;
+        }
+    }
+
+    @Override
+    public boolean search(DoubleKDPoint p) {
+        checkPoint(p);
+        Node curr = root;
+        while(curr != null && !curr.isBlack())
+            curr = curr.children[curr.quadrantOf(p)];
+        return curr != null && curr.points.contains(p);
+    }
+
+    @Override
+    public Collection<DoubleKDPoint> range(DoubleKDPoint p, double range) {
+        checkPoint(p);
+        ArrayList<DoubleKDPoint> pts = new ArrayList<>();
+        range(root, p, range, pts);
+        return pts;
+    }
+
+    @Override
+    public DoubleKDPoint nearestNeighbor(DoubleKDPoint p) {
+        checkPoint(p);
+        NNSearch n = new NNSearch();
+        nearestNeighbor(root, p, n);
+        return n.bestGuess;
+    }
+
+    @Override
+    public DoubleBoundedPriorityQueue<DoubleKDPoint> kNearestNeighbors(int k, DoubleKDPoint p) {
+        if(k <= 0)
+            throw new RuntimeException("The value of k provided, " + k + ", is invalid: Please provide a positive integer.");
+        DoubleBoundedPriorityQueue<DoubleKDPoint> queue = new DoubleBoundedPriorityQueue<>(k);
+        kNearestNeighbors(p, queue);
+        return queue;
+    }
+
+    @Override
+    public void kNearestNeighbors(DoubleKDPoint p, DoubleBoundedPriorityQueue<DoubleKDPoint> queue) {
+        if(queue == null)
+            throw new IllegalArgumentException("Cannot fill a null queue.");
+        checkPoint(p);
+        queue.clear();
+        kNearestNeighbors(root, p, queue);
+    }
+
+    @Override
+    public int height() {
+        return height(root);
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return (count() == 0);
+    }
+
+    @Override
+    public int count() {
+        return count;
+    }
+
+    /**
+     * A simple accessor for the dimension parameter k of the current {@link DoublePRQuadTree}.
+     * @return The parameter k that defines the length of the {@link DoublePRQuadTree}'s root node.
+     */
+    public int getK(){
+        return k;
+    }
+
+    /**
+     * Reports whether range queries of this fall back to arbitrary precision close to the boundary of the range.
+     * @return {@code true} if, and only if, this was constructed as exact.
+     */
+    public boolean isExact(){
+        return exact;
+    }
+
+    /* *********************************************************************/
+    /* ************************** PRIVATE METHODS **************************/
+    /* *********************************************************************/
+
+    private static void checkPoint(DoubleKDPoint p){
+        if(p == null)
+            throw new IllegalArgumentException("Cannot use a null DoubleKDPoint.");
+        if(p.coords.length != 2)
+            throw new IllegalArgumentException("PR-QuadTrees hold two-dimensional points; got " + p.coords.length + " dimensions.");
+    }
+
+    private Node insert(Node n, DoubleKDPoint p, double centroidX, double centroidY, double halfSide){
+        if(n == null)
+            n = new Node(centroidX, centroidY, halfSide, bucketingParam);
+        if(n.isBlack() && n.points.size() < bucketingParam) {
+            n.points.add(p);
+        } else {
+            if(n.isBlack())
+                split(n);
+            int quadrant = n.quadrantOf(p);
+            double offset = n.halfSide / 2;
+            n.children[quadrant] = insert(n.children[quadrant], p,
+                    n.centroidX + ((quadrant == NE || quadrant == SE) ? offset : -offset),
+                    n.centroidY + ((quadrant == NW || quadrant == NE) ? offset : -offset), offset);
+        }
+        n.count++;
+        return n;
+    }
+
+    private void split(Node n){
+        double offset = n.halfSide / 2;
+        // The sides of every quadrant are centroids or sides of its ancestors, so exact centroids mean exact sides.
+        if(!isExactOffset(n.centroidX, offset) || !isExactOffset(n.centroidY, offset))
+            throw new IllegalStateException("Cannot split the quadrant centered at (" + n.centroidX + ", " + n.centroidY +
+                    ") any further in double precision.");
+        ArrayList<DoubleKDPoint> points = n.points;
+        n.points = null;
+        n.children = new Node[4];
+        n.count = 0;
+        for(DoubleKDPoint p : points) {
+            int quadrant = n.quadrantOf(p);
+            n.children[quadrant] = insert(n.children[quadrant], p,
+                    n.centroidX + ((quadrant == NE || quadrant == SE) ? offset : -offset),
+                    n.centroidY + ((quadrant == NW || quadrant == NE) ? offset : -offset), offset);
+            n.count++;
+        }
+    }
+
+    // The centroid is a multiple of 2 * offset, so the subtractions are exact and detect rounded additions.
+    private static boolean isExactOffset(double centroid, double offset){
+        return offset > 0 && (centroid + offset) - centroid == offset && (centroid - offset) - centroid == -offset;
+    }
+
+    // Only ever called for points which are in the subtree rooted at n.
+    private Node delete(Node n, DoubleKDPoint p){
+        n.count--;
+        if(n.isBlack()) {
+            n.points.remove(p);
+            return n.points.isEmpty() ? null : n;
+        }
+        int quadrant = n.quadrantOf(p);
+        n.children[quadrant] = delete(n.children[quadrant], p);
+        if(n.count <= bucketingParam) {  // Collapse into a black node.
+            ArrayList<DoubleKDPoint> points = new ArrayList<>(bucketingParam);
+            collect(n, points);
+            n.children = null;
+            n.points = points;
+        }
+        return n;
+    }
+
+    private static void collect(Node n, Collection<DoubleKDPoint> points){
+        if(n == null)
+            return;
+        if(n.isBlack()) {
+            points.addAll(n.points);
+        } else {
+            for(Node child : n.children)
+                collect(child, points);
+        }
+    }
+
+    private void range(Node n, DoubleKDPoint anchor, double range, Collection<DoubleKDPoint> results){
+        if(n == null)
+            return;
+        double minDist = n.minDistanceSquared(anchor), limit = range * range;
+        if(minDist > limit && !(exact && minDist - limit <= EXACT_CHECK_MARGIN * limit + Double.MIN_NORMAL))
+            return;
+        if(n.isBlack()) {
+            for(DoubleKDPoint p : n.points)
+                if(!p.equals(anchor) && anchor.isWithin(p, range, exact))
+                    results.add(p);
+        } else {
+            for(Node child : n.children)
+                range(child, anchor, range, results);
+        }
+    }
+
+    // Visits the quadrant that contains the anchor before its siblings, so that their pruning is more effective.
+    private void nearestNeighbor(Node n, DoubleKDPoint anchor, NNSearch search){
+        if(n == null || n.minDistanceSquared(anchor) >= search.bestDist)
+            return;
+        if(n.isBlack()) {
+            for(DoubleKDPoint p : n.points) {
+                if(p.equals(anchor))
+                    continue;
+                double dist = anchor.distanceSquared(p);
+                if(dist < search.bestDist) {
+                    search.bestGuess = p;
+                    search.bestDist = dist;
+                }
+            }
+        } else {
+            int first = n.quadrantOf(anchor);
+            nearestNeighbor(n.children[first], anchor, search);
+            for(int quadrant = NW; quadrant <= SE; quadrant++)
+                if(quadrant != first)
+                    nearestNeighbor(n.children[quadrant], anchor, search);
+        }
+    }
+
+    private void kNearestNeighbors(Node n, DoubleKDPoint anchor, DoubleBoundedPriorityQueue<DoubleKDPoint> queue){
+        if(n == null || n.minDistanceSquared(anchor) >= queue.lastPriority())
+            return;
+        if(n.isBlack()) {
+            for(DoubleKDPoint p : n.points)
+                if(!p.equals(anchor))
+                    queue.enqueue(p, anchor.distanceSquared(p));
+        } else {
+            int first = n.quadrantOf(anchor);
+            kNearestNeighbors(n.children[first], anchor, queue);
+            for(int quadrant = NW; quadrant <= SE; quadrant++)
+                if(quadrant != first)
+                    kNearestNeighbors(n.children[quadrant], anchor, queue);
+        }
+    }
+
+    private static int height(Node n){
+        if(n == null)
+            return -1;
+        if(n.isBlack())
+            return 0;
+        int max = -1;
+        for(Node child : n.children)
+            max = Math.max(max, height(child));
+        return 1 + max;
+    }
+}
@@ -0,0 +1,52 @@
+package projects.spatial.trees;
+import projects.spatial.kdpoint.DoubleKDPoint;
+
+/**
+ * <p>{@link DoubleSpatialDictionary} is the <b>double precision</b> counterpart of {@link SpatialDictionary}: an
+ * abstraction over any data structure that could be used to allow efficient insertion, deletion and search of
+ * {@link DoubleKDPoint}s.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see SpatialDictionary
+ * @see DoubleKDPoint
+ * @see DoubleSpatialQuerySolver
+ */
+public interface DoubleSpatialDictionary {
+    /**
+     * Inserts p into the {@link DoubleSpatialDictionary}.
+     * @param p The {@link DoubleKDPoint} to insert into the tree.
+     */
+    void insert(DoubleKDPoint p);
+
+    /**
+     * Deletes p from the {@link DoubleSpatialDictionary}. If p is not in the
+     * tree, this method performs no changes to the tree.
+     * @param p The {@link DoubleKDPoint} to delete from the tree.
+     */
+    void delete(DoubleKDPoint p);
+
+    /**
+     * Searches the {@link DoubleSpatialDictionary} for p and reports if it found it.
+     * @param p The {@link DoubleKDPoint} to look for in the tree.
+     * @return true if p is in the tree, false otherwise.
+     */
+    boolean search(DoubleKDPoint p);
+
+    /**
+     * Return the height of the {@link DoubleSpatialDictionary}, as defined by {@link SpatialDictionary#height()}.
+     * @return the height of the tree, which is -1 for an empty tree.
+     */
+    int height();
+
+    /**
+     * Reports whether the {@link DoubleSpatialDictionary} is empty, that is, it contains <b>0 (zero)</b> points.
+     * @return true iff {@link #count()} == 0, false otherwise.
+     */
+    boolean isEmpty();
+
+    /** Returns the number of elements in the {@link DoubleSpatialDictionary}.
+     *  @return The number of elements in the {@link DoubleSpatialDictionary}.
+     */
+    int count();
+}
@@ -0,0 +1,68 @@
+package projects.spatial.trees;
+import projects.spatial.kdpoint.DoubleKDPoint;
+import projects.spatial.knnutils.DoubleBoundedPriorityQueue;
+
+import java.util.Collection;
+
+/**
+ * <p>{@link DoubleSpatialQuerySolver} is the <b>double precision</b> counterpart of {@link SpatialQuerySolver}: an
+ * interface that declares methods for range and k-NN queries over {@link DoubleKDPoint}s. The semantics of every query
+ * are those of {@link SpatialQuerySolver}, with distances computed by {@link DoubleKDPoint#distanceSquared(DoubleKDPoint)}.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see SpatialQuerySolver
+ * @see DoubleKDPoint
+ * @see DoubleBoundedPriorityQueue
+ * @see DoubleSpatialDictionary
+ */
+public interface DoubleSpatialQuerySolver {
+
+    /**
+     * Performs a range query. Returns all the {@link DoubleKDPoint}s other than p whose Euclidean distance from p is at
+     * most range, <b>INCLUSIVE</b>.
+     * @param p The query {@link DoubleKDPoint}.
+     * @param range The maximum Euclidean (<b>not</b> squared) distance from p that we allow a {@link DoubleKDPoint} to
+     *              have if it should be part of the solution.
+     * @return A {@link Collection} over all {@link DoubleKDPoint}s which satisfy our query. The
+     * {@link Collection} will be empty if there are no points which satisfy the query.
+     */
+    Collection<DoubleKDPoint> range(DoubleKDPoint p, double range);
+
+    /** Performs a nearest neighbor query. Returns the {@link DoubleKDPoint} other than p which is closest to p.
+     * @param p The query {@link DoubleKDPoint}.
+     * @return The solution to the nearest neighbor query. This method will return null if
+     * there are no points other than p in the tree.
+     */
+    DoubleKDPoint nearestNeighbor(DoubleKDPoint p);
+
+    /**
+     * Performs a k-nearest neighbors query. Returns the <em>k</em> {@link DoubleKDPoint}s other than p which are nearest
+     * to p, sorted in ascending order of distance.
+     * @param k A positive integer denoting the amount of neighbors to return.
+     * @param p The query point.
+     * @return A {@link DoubleBoundedPriorityQueue} containing the k-nearest neighbors of p.
+     * This queue will be empty if the tree contains only p.
+     * @throws RuntimeException If k&lt;=0.
+     */
+    DoubleBoundedPriorityQueue<DoubleKDPoint> kNearestNeighbors(int k, DoubleKDPoint p);
+
+    /**
+     * Performs a k-nearest neighbors query into a caller-provided queue, whose capacity is the <em>k</em> of the query.
+     * The queue is {@link DoubleBoundedPriorityQueue#clear() cleared} first, so callers that issue many queries can
+     * reuse a single queue instead of allocating a new one per query. The default implementation copies the result of
+     * {@link #kNearestNeighbors(int, DoubleKDPoint)}; implementations should fill the queue directly.
+     * @param p The query point.
+     * @param queue The {@link DoubleBoundedPriorityQueue} that will hold the k-nearest neighbors of p, with their
+     *              squared distances from p as priorities.
+     * @throws IllegalArgumentException if queue is null.
+     */
+    default void kNearestNeighbors(DoubleKDPoint p, DoubleBoundedPriorityQueue<DoubleKDPoint> queue){
+        if(queue == null)
+            throw new IllegalArgumentException("Cannot fill a null queue.");
+        DoubleBoundedPriorityQueue<DoubleKDPoint> result = kNearestNeighbors(queue.capacity(), p);
+        queue.clear();
+        for(DoubleKDPoint neighbor : result)
+            queue.enqueue(neighbor, p.distanceSquared(neighbor));
+    }
+}
@@ -0,0 +1,264 @@
+package projects.spatial.trees;
+
+import org.junit.Test;
+import projects.spatial.kdpoint.DoubleKDPoint;
+import projects.spatial.knnutils.DoubleBoundedPriorityQueue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link DoubleSpatialTreesTests} checks {@link DoubleKDTree} and {@link DoublePRQuadTree} against brute force
+ * answers to the same queries, as well as the {@link DoubleBoundedPriorityQueue} that their k-NN queries return.</p>
+ *
+ * @author <a href = "https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see DoubleKDTree
+ * @see DoublePRQuadTree
+ */
+public class DoubleSpatialTreesTests {
+
+	private static final int SEED = 47;
+	private static final int NUM_POINTS = 2000;
+	private static final int NUM_QUERIES = 200;
+
+	private static DoubleKDPoint randomPoint(Random r, int dims, double side){
+		double[] coords = new double[dims];
+		for(int i = 0; i < dims; i++)
+			coords[i] = (r.nextDouble() - 0.5) * side;
+		return new DoubleKDPoint(coords);
+	}
+
+	private static HashSet<DoubleKDPoint> bruteForceRange(List<DoubleKDPoint> points, DoubleKDPoint anchor, double range, boolean exact){
+		HashSet<DoubleKDPoint> result = new HashSet<>();
+		for(DoubleKDPoint p : points)
+			if(!p.equals(anchor) && anchor.isWithin(p, range, exact))
+				result.add(p);
+		return result;
+	}
+
+	private static double[] bruteForceKNN(List<DoubleKDPoint> points, DoubleKDPoint anchor, int k){
+		double[] dists = points.stream().filter(p -> !p.equals(anchor)).mapToDouble(anchor::distanceSquared).sorted().toArray();
+		return Arrays.copyOf(dists, Math.min(k, dists.length));
+	}
+
+	private static <T extends DoubleSpatialDictionary & DoubleSpatialQuerySolver> void checkAgainstBruteForce(T tree,
+							int dims, double side, boolean exact){
+		Random r = new Random(SEED);
+		List<DoubleKDPoint> points = new ArrayList<>();
+		for(int i = 0; i < NUM_POINTS; i++) {
+			DoubleKDPoint p = randomPoint(r, dims, side);
+			tree.insert(p);
+			points.add(p);
+		}
+		for(int i = 0; i < NUM_POINTS / 2; i++)   // Delete half of the points, at random.
+			tree.delete(points.remove(r.nextInt(points.size())));
+		assertEquals(points.size(), tree.count());
+		for(DoubleKDPoint p : points)
+			assertTrue(tree.search(p));
+
+		for(int i = 0; i < NUM_QUERIES; i++) {
+			DoubleKDPoint anchor = (i % 2 == 0) ? points.get(r.nextInt(points.size())) : randomPoint(r, dims, side);
+			double range = r.nextDouble() * side / 4;
+			assertEquals(bruteForceRange(points, anchor, range, exact), new HashSet<>(tree.range(anchor, range)));
+
+			DoubleKDPoint nn = tree.nearestNeighbor(anchor);
+			assertEquals(bruteForceKNN(points, anchor, 1)[0], anchor.distanceSquared(nn), 0);
+
+			int k = 1 + r.nextInt(10);
+			DoubleBoundedPriorityQueue<DoubleKDPoint> queue = tree.kNearestNeighbors(k, anchor);
+			double[] expected = bruteForceKNN(points, anchor, k);
+			assertEquals(expected.length, queue.size());
+			int j = 0;
+			for(DoubleKDPoint p : queue)
+				assertEquals(expected[j++], anchor.distanceSquared(p), 0);
+		}
+
+		for(DoubleKDPoint p : new ArrayList<>(points))
+			tree.delete(p);
+		assertTrue(tree.isEmpty());
+		assertEquals(-1, tree.height());
+	}
+
+	@Test
+	public void testKDTreeAgainstBruteForce() {
+		for(int dims = 1; dims <= 4; dims++) {
+			checkAgainstBruteForce(new DoubleKDTree(dims), dims, 1000, false);
+			checkAgainstBruteForce(new DoubleKDTree(dims, true), dims, 1000, true);
+		}
+	}
+
+	@Test
+	public void testRebalancingKDTreeAgainstBruteForce() {
+		for(int dims = 1; dims <= 3; dims++) {
+			checkAgainstBruteForce(new DoubleKDTree(dims, false, 0.6), dims, 1000, false);
+			checkAgainstBruteForce(new DoubleKDTree(dims, true, 0.75), dims, 1000, true);
+		}
+	}
+
+	@Test
+	public void testRebalancingKDTreeStaysShallow() {
+		double alpha = 0.7;
+		DoubleKDTree tree = new DoubleKDTree(2, false, alpha);
+		assertTrue(tree.isRebalancing());
+		int n = 100000;
+		for(int i = 0; i < n; i++)  // Sorted insertions would make an unbalanced tree as deep as it is large.
+			tree.insert(new DoubleKDPoint(i, i));
+		assertEquals(n, tree.count());
+		int bound = (int)Math.ceil(Math.log(n) / Math.log(1 / alpha)) + 1;
+		assertTrue("Height " + tree.height() + " exceeds " + bound + ".", tree.height() <= bound);
+
+		for(int i = 0; i < n; i += 2)   // Heavy churn from one side.
+			tree.delete(new DoubleKDPoint(i, i));
+		for(int i = 0; i < n / 4; i++)
+			tree.insert(new DoubleKDPoint(-i - 1, -i - 1));
+		assertEquals(n / 2 + n / 4, tree.count());
+		assertTrue(tree.height() <= (int)Math.ceil(Math.log(tree.count()) / Math.log(1 / alpha)) + 1);
+		for(int i = 1; i < n; i += 2)
+			assertTrue(tree.search(new DoubleKDPoint(i, i)));
+		assertFalse(tree.search(new DoubleKDPoint(0, 0)));
+	}
+
+	@Test
+	public void testRebalancingWorkIsBounded() {
+		// Counting rebuilt nodes instead of timing keeps this check independent of the machine it runs on.
+		for(double alpha : new double[]{0.55, 0.6, 0.75}) {
+			DoubleKDTree tree = new DoubleKDTree(2, false, alpha);
+			int n = 20000;
+			for(int i = 0; i < n; i++)
+				tree.insert(new DoubleKDPoint(i, i));
+			double bound = n * (Math.log(n) / Math.log(2)) / (2 * alpha - 1);
+			assertTrue("Rebuilt " + tree.rebuiltNodeCount() + " nodes for alpha=" + alpha + ", more than " + bound + ".",
+					tree.rebuiltNodeCount() <= bound);
+		}
+		DoubleKDTree plain = new DoubleKDTree(2, false);
+		for(int i = 0; i < 100; i++)
+			plain.insert(new DoubleKDPoint(i, i));
+		assertEquals("A tree that does not rebalance never rebuilds.", 0, plain.rebuiltNodeCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidWeightBalanceFactor() {
+		new DoubleKDTree(2, false, 1.0);
+	}
+
+	@Test
+	public void testRebalancingWithTiedCoordinates() {
+		// Ties with a median go right, so no rebuild can balance these subtrees by weight.
+		int n = 20000;
+		double bound = 4 * n * (Math.log(n) / Math.log(2));
+		Random r = new Random(SEED);
+		for(int distinctX : new int[]{1, 2}) {
+			DoubleKDTree tree = new DoubleKDTree(2, false, 0.75);
+			for(int i = 0; i < n; i++)
+				tree.insert(new DoubleKDPoint(r.nextInt(distinctX), i));
+			assertEquals(n, tree.count());
+			assertTrue("Rebuilt " + tree.rebuiltNodeCount() + " nodes for " + distinctX + " distinct x, more than " +
+					bound + ".", tree.rebuiltNodeCount() <= bound);
+			assertTrue(tree.search(new DoubleKDPoint(0, n - 1)) || tree.search(new DoubleKDPoint(1, n - 1)));
+		}
+		DoubleKDTree duplicates = new DoubleKDTree(2, false, 0.75);
+		for(int i = 0; i < 2000; i++)   // Identical points form a chain whatever we do, but rebuilds stay small.
+			duplicates.insert(new DoubleKDPoint(7, 7));
+		assertTrue(duplicates.rebuiltNodeCount() <= 4 * 2000 * (Math.log(2000) / Math.log(2)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPerfectWeightBalanceFactor() {
+		new DoubleKDTree(2, false, 0.5);  // Would rebuild on almost every insertion.
+	}
+
+	@Test
+	public void testPRQuadTreeAgainstBruteForce() {
+		for(int bucketingParam = 1; bucketingParam <= 4; bucketingParam++) {
+			checkAgainstBruteForce(new DoublePRQuadTree(10, bucketingParam), 2, 1024, false);
+			checkAgainstBruteForce(new DoublePRQuadTree(10, bucketingParam, true), 2, 1024, true);
+		}
+	}
+
+	@Test
+	public void testKDTreeDuplicates() {
+		DoubleKDTree tree = new DoubleKDTree();
+		DoubleKDPoint p = new DoubleKDPoint(1.5, -2.5);
+		tree.insert(p);
+		tree.insert(new DoubleKDPoint(p));
+		tree.insert(new DoubleKDPoint(1.5, 3));
+		assertEquals(3, tree.count());
+		assertEquals("Duplicates of the anchor are not its neighbors.", new DoubleKDPoint(1.5, 3), tree.nearestNeighbor(p));
+		tree.delete(p);
+		assertTrue(tree.search(p));
+		tree.delete(p);
+		assertFalse(tree.search(p));
+		assertEquals(1, tree.count());
+	}
+
+	@Test
+	public void testPRQuadTreeStructure() {
+		DoublePRQuadTree tree = new DoublePRQuadTree(4, 2);
+		tree.insert(new DoubleKDPoint(1, 1));
+		tree.insert(new DoubleKDPoint(1, 1));
+		assertEquals("Duplicates are ignored.", 1, tree.count());
+		tree.insert(new DoubleKDPoint(-1, -1));
+		assertEquals(0, tree.height());
+		tree.insert(new DoubleKDPoint(3, 3));
+		assertEquals(1, tree.height());
+		tree.insert(new DoubleKDPoint(2, 2));  // Splits the NE quadrant of the root, and then its SW quadrant.
+		assertEquals(3, tree.height());
+		tree.delete(new DoubleKDPoint(2, 2));
+		assertEquals("The NE quadrant should collapse back into a black node.", 1, tree.height());
+		tree.delete(new DoubleKDPoint(3, 3));
+		assertEquals("The root should collapse back into a black node.", 0, tree.height());
+		tree.insert(new DoubleKDPoint(8, -8));  // On the sides of the root: inclusive.
+		assertTrue(tree.search(new DoubleKDPoint(8, -8)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPRQuadTreeOutOfBounds() {
+		new DoublePRQuadTree(4, 2).insert(new DoubleKDPoint(8.5, 0));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testPRQuadTreePrecisionExhausted() {
+		DoublePRQuadTree tree = new DoublePRQuadTree(4, 1);
+		tree.insert(new DoubleKDPoint(1, 1));
+		tree.insert(new DoubleKDPoint(Math.nextUp(1.0), 1));
+	}
+
+	@Test
+	public void testBoundedPriorityQueue() {
+		DoubleBoundedPriorityQueue<String> queue = new DoubleBoundedPriorityQueue<>(3);
+		assertEquals(Double.POSITIVE_INFINITY, queue.lastPriority(), 0);
+		queue.enqueue("c", 3);
+		queue.enqueue("a", 1);
+		queue.enqueue("b", 1);
+		assertEquals("a", queue.first());
+		assertEquals(3, queue.lastPriority(), 0);
+		queue.enqueue("d", 3);
+		assertFalse("Later insertions lose ties.", queue.contains("d"));
+		queue.enqueue("e", 2);
+		assertFalse(queue.contains("c"));
+		List<String> order = new ArrayList<>();
+		queue.forEach(order::add);
+		assertEquals(Arrays.asList("a", "b", "e"), order);
+		assertEquals("a", queue.dequeue());
+		assertEquals(2, queue.size());
+		assertEquals("e", queue.last());
+	}
+
+	@Test(expected = java.util.ConcurrentModificationException.class)
+	public void testBoundedPriorityQueueFailFast() {
+		DoubleBoundedPriorityQueue<String> queue = new DoubleBoundedPriorityQueue<>(3);
+		queue.enqueue("a", 1);
+		queue.enqueue("b", 2);
+		Iterator<String> it = queue.iterator();
+		it.next();
+		queue.dequeue();
+		it.next();
+	}
+}
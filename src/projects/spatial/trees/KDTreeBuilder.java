@@ -0,0 +1,212 @@
+package projects.spatial.trees;
+
+import projects.spatial.kdpoint.KDPoint;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>{@link KDTreeBuilder} builds <b>balanced</b> <em>K</em>-D Trees out of entire collections of points. Inserting
+ * points one at a time into a {@link KDTree} yields a tree whose shape depends on the order of insertion: sorted or
+ * clustered data produce trees whose {@link KDTree#height() height} approaches their {@link KDTree#count() count}.</p>
+ *
+ * <p>{@link KDTreeBuilder} instead places the <b>median</b> point of the current dimension at the root of every subtree,
+ * which it finds by <em>introselect</em>: quickselect with a median-of-three pivot, which falls back to sorting when it
+ * fails to shrink its range fast enough. The points strictly smaller than the median go to its left subtree and all
+ * others to its right, exactly like {@link KDTree#insert(KDPoint)} would send them, so a tree of n points whose
+ * coordinates are distinct has a height of &lfloor;log<sub>2</sub>n&rfloor;. Building takes O(n log n) time, and the
+ * two subtrees of large enough nodes can be built in parallel, with fork/join.</p>
+ *
+ * <p>Since the nodes of a {@link KDTree} are not accessible, {@link #balancedOrder(Collection, int, boolean)} returns
+ * the points in the <b>preorder</b> of the balanced tree instead: inserting them in that order into an empty tree which
+ * sends ties to the right reproduces the balanced tree node for node. Loading a {@link KDTree} this way requires an
+ * implementation of {@link KDTree#insert(KDPoint)}, which the skeleton code does not provide.
+ * {@link DoubleKDTree#build(Collection, int, boolean, boolean)} links its nodes directly.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see KDTree
+ * @see DoubleKDTree
+ */
+public final class KDTreeBuilder {
+
+	/* *********************************************************************/
+	/* ************************** PRIVATE FIELDS ***************************/
+	/* *********************************************************************/
+
+	// Subtrees smaller than this are built by the thread that reached them.
+	private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	// Ranges smaller than this are insertion sorted by select().
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	/**
+	 * Compares two points along a single dimension, in the order that the tree compares them in.
+	 * @param <T> The type of the points.
+	 */
+	interface CoordinateComparator<T> {
+		int compare(T p1, T p2, int dim);
+	}
+
+	private static final CoordinateComparator<KDPoint> KDPOINT_COMPARATOR = (p1, p2, dim) -> p1.coords[dim].compareTo(p2.coords[dim]);
+
+	private KDTreeBuilder(){
+		// Static methods only.
+	}
+
+	/* *********************************************************************/
+	/* ************************** PUBLIC METHODS ***************************/
+	/* *********************************************************************/
+
+	/**
+	 * Orders points so that inserting them, in that order, into an empty {@link KDTree} of dimensionality k yields a
+	 * balanced tree. This is the preorder of the balanced tree. The medians of large subtrees can be found in parallel.
+	 * @param points The {@link KDPoint}s to order.
+	 * @param k The dimensionality of the tree.
+	 * @param parallel {@code true} if, and only if, the medians of large subtrees should be found in parallel.
+	 * @return A {@link List} of the same points, in balanced insertion order.
+	 * @throws IllegalArgumentException if points is null, or contains null or non k-dimensional points.
+	 * @throws RuntimeException if k&lt;=0.
+	 */
+	public static List<KDPoint> balancedOrder(Collection<KDPoint> points, int k, boolean parallel){
+		if(k <= 0)
+			throw new RuntimeException("The value of k provided, " + k + ", is invalid: Please provide a positive integer.");
+		if(points == null)
+			throw new IllegalArgumentException("Cannot build a tree out of a null collection.");
+		KDPoint[] pts = points.toArray(new KDPoint[0]);
+		for(KDPoint p : pts)
+			if(p == null || p.coords.length != k)
+				throw new IllegalArgumentException("Every point of a " + k + "-d tree needs to be non-null and " + k + "-dimensional.");
+		KDPoint[] order = new KDPoint[pts.length];
+		preorder(pts, KDPOINT_COMPARATOR, k, 0, order, new int[pts.length], parallel);
+		return Arrays.asList(order);
+	}
+
+	/* *********************************************************************/
+	/* ********************* PACKAGE-PRIVATE METHODS ***********************/
+	/* *********************************************************************/
+
+	/**
+	 * Permutes points and lays out the balanced tree of points in preorder: order[i] is the point of the i-th node and
+	 * leftSizes[i] the number of nodes in its left subtree, so its right subtree starts at i + 1 + leftSizes[i]. The root
+	 * of the tree lies at the given depth, which decides the dimension it splits.
+	 */
+	static <T> void preorder(T[] points, CoordinateComparator<? super T> cmp, int dims, int depth, T[] order,
+							 int[] leftSizes, boolean parallel){
+		PreorderTask<T> task = new PreorderTask<>(points, cmp, dims, order, leftSizes, parallel, 0, points.length, depth, 0);
+		if(parallel && points.length > PARALLEL_THRESHOLD)
+			ForkJoinPool.commonPool().invoke(task);
+		else
+			task.compute();
+	}
+
+	/* *********************************************************************/
+	/* ************************** PRIVATE METHODS **************************/
+	/* *********************************************************************/
+
+	@SuppressWarnings("serial")	// Tasks are never serialized.
+	private static final class PreorderTask<T> extends RecursiveAction {
+		private final T[] points, order;
+		private final CoordinateComparator<? super T> cmp;
+		private final int dims;
+		private final int[] leftSizes;
+		private final boolean parallel;
+		private final int lo, hi, depth, out;
+
+		private PreorderTask(T[] points, CoordinateComparator<? super T> cmp, int dims, T[] order, int[] leftSizes,
+							 boolean parallel, int lo, int hi, int depth, int out){
+			this.points = points;
+			this.cmp = cmp;
+			this.dims = dims;
+			this.order = order;
+			this.leftSizes = leftSizes;
+			this.parallel = parallel;
+			this.lo = lo;
+			this.hi = hi;
+			this.depth = depth;
+			this.out = out;
+		}
+
+		@Override
+		protected void compute(){
+			if(lo >= hi)
+				return;
+			int dim = depth % dims, mid = (lo + hi) >>> 1;
+			select(points, lo, hi, mid, dim, cmp);
+			// select() leaves the points equal to the median next to it. The first of them becomes the root, so that
+			// its left subtree only holds strictly smaller points.
+			int root = mid;
+			while(root > lo && cmp.compare(points[root - 1], points[mid], dim) == 0)
+				root--;
+			order[out] = points[root];
+			leftSizes[out] = root - lo;
+			PreorderTask<T> left = new PreorderTask<>(points, cmp, dims, order, leftSizes, parallel,
+					lo, root, depth + 1, out + 1);
+			PreorderTask<T> right = new PreorderTask<>(points, cmp, dims, order, leftSizes, parallel,
+					root + 1, hi, depth + 1, out + 1 + root - lo);
+			if(parallel && hi - lo > PARALLEL_THRESHOLD) {
+				invokeAll(left, right);
+			} else {
+				left.compute();
+				right.compute();
+			}
+		}
+	}
+
+	// Introselect: after it returns, points[k] is the point that would be there if [lo, hi) were sorted along dim,
+	// no point before it is greater and no point after it is smaller.
+	private static <T> void select(T[] points, int lo, int hi, int k, int dim, CoordinateComparator<? super T> cmp){
+		int budget = 2 * (32 - Integer.numberOfLeadingZeros(hi - lo));
+		while(hi - lo > INSERTION_SORT_THRESHOLD) {
+			if(budget-- == 0) {
+				Arrays.sort(points, lo, hi, (p1, p2) -> cmp.compare(p1, p2, dim));
+				return;
+			}
+			T pivot = medianOfThree(points[lo], points[(lo + hi) >>> 1], points[hi - 1], dim, cmp);
+			// Three-way partitioning: [lo, lt) is smaller than the pivot, [lt, gt) equal and [gt, hi) greater.
+			int lt = lo, gt = hi, i = lo;
+			while(i < gt) {
+				int c = cmp.compare(points[i], pivot, dim);
+				if(c < 0)
+					swap(points, lt++, i++);
+				else if(c > 0)
+					swap(points, i, --gt);
+				else
+					i++;
+			}
+			if(k < lt)
+				hi = lt;
+			else if(k >= gt)
+				lo = gt;
+			else
+				return;
+		}
+		for(int i = lo + 1; i < hi; i++) {
+			T p = points[i];
+			int j = i;
+			for(; j > lo && cmp.compare(points[j - 1], p, dim) > 0; j--)
+				points[j] = points[j - 1];
+			points[j] = p;
+		}
+	}
+
+	private static <T> T medianOfThree(T a, T b, T c, int dim, CoordinateComparator<? super T> cmp){
+		if(cmp.compare(a, b, dim) > 0) {
+			T tmp = a;
+			a = b;
+			b = tmp;
+		}
+		if(cmp.compare(b, c, dim) <= 0)
+			return b;
+		return (cmp.compare(a, c, dim) > 0) ? a : c;
+	}
+
+	private static <T> void swap(T[] points, int i, int j){
+		T tmp = points[i];
+		points[i] = points[j];
+		points[j] = tmp;
+	}
+}
@@ -0,0 +1,138 @@
+package projects.spatial.trees;
+
+import org.junit.Test;
+import projects.spatial.kdpoint.DoubleKDPoint;
+import projects.spatial.kdpoint.KDPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link KDTreeBuilderTests} checks that {@link KDTreeBuilder} and {@link DoubleKDTree#build(java.util.Collection, int,
+ * boolean, boolean)} produce balanced trees which hold exactly the points they were given.</p>
+ *
+ * @author <a href = "https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see KDTreeBuilder
+ */
+public class KDTreeBuilderTests {
+
+	private static final int SEED = 47;
+
+	private static int log2(int n){
+		return 31 - Integer.numberOfLeadingZeros(n);
+	}
+
+	private static List<DoubleKDPoint> randomPoints(Random r, int n, int dims){
+		List<DoubleKDPoint> points = new ArrayList<>();
+		for(int i = 0; i < n; i++) {
+			double[] coords = new double[dims];
+			for(int j = 0; j < dims; j++)
+				coords[j] = r.nextDouble() * 1000;
+			points.add(new DoubleKDPoint(coords));
+		}
+		return points;
+	}
+
+	@Test
+	public void testSortedInputBuildsBalancedTree() {
+		Random r = new Random(SEED);
+		for(int dims = 1; dims <= 4; dims++) {
+			for(int n : new int[]{1, 2, 3, 7, 8, 1000, 20000}) {
+				List<DoubleKDPoint> points = randomPoints(r, n, dims);
+				points.sort(Comparator.comparingDouble(p -> p.coords[0]));
+				DoubleKDTree tree = DoubleKDTree.build(points, dims, false, n > 1000);
+				assertEquals(n, tree.count());
+				assertEquals("Height of a built tree of " + n + " points.", log2(n), tree.height());
+				for(DoubleKDPoint p : points)
+					assertTrue(tree.search(p));
+
+				DoubleKDPoint anchor = points.get(r.nextInt(n));
+				HashSet<DoubleKDPoint> expected = new HashSet<>();
+				for(DoubleKDPoint p : points)
+					if(!p.equals(anchor) && anchor.isWithin(p, 100, false))
+						expected.add(p);
+				assertEquals(expected, new HashSet<>(tree.range(anchor, 100)));
+			}
+		}
+	}
+
+	@Test
+	public void testParallelBuildMatchesSequentialBuild() {
+		Random r = new Random(SEED);
+		List<KDPoint> points = new ArrayList<>();
+		for(DoubleKDPoint p : randomPoints(r, 50000, 3))
+			points.add(p.toKDPoint());
+		assertEquals(KDTreeBuilder.balancedOrder(points, 3, false), KDTreeBuilder.balancedOrder(points, 3, true));
+	}
+
+	@Test
+	public void testBalancedOrderReproducesBalancedTree() {
+		Random r = new Random(SEED);
+		List<KDPoint> points = new ArrayList<>();
+		for(int i = 0; i < 5000; i++)  // Integer coordinates convert exactly, and include plenty of ties.
+			points.add(new KDPoint(r.nextInt(100000), r.nextInt(100000)));
+		points.sort(Comparator.comparing(p -> p.coords[1]));
+		List<KDPoint> order = KDTreeBuilder.balancedOrder(points, 2, false);
+		assertEquals(new HashSet<>(points), new HashSet<>(order));
+		DoubleKDTree inserted = new DoubleKDTree(2);
+		for(KDPoint p : order)
+			inserted.insert(new DoubleKDPoint(p));
+		// Among tied points, which one becomes the median depends on the input order, so the tree is built out of points
+		// in the same order that balancedOrder() saw them in.
+		List<DoubleKDPoint> converted = new ArrayList<>();
+		for(KDPoint p : points)
+			converted.add(new DoubleKDPoint(p));
+		DoubleKDTree built = DoubleKDTree.build(converted, 2, false, false);
+		assertEquals("Inserting in balanced order should reproduce the built tree node for node.", built.shape(), inserted.shape());
+		assertEquals(built.height(), inserted.height());
+		assertTrue(inserted.height() <= log2(points.size()) + 2);
+	}
+
+	@Test
+	public void testDuplicateCoordinates() {
+		Random r = new Random(SEED);
+		List<DoubleKDPoint> points = new ArrayList<>();
+		for(int i = 0; i < 3000; i++)
+			points.add(new DoubleKDPoint(r.nextInt(3), r.nextInt(3), r.nextInt(3) == 0 ? -0.0 : 0.0));
+		DoubleKDTree tree = DoubleKDTree.build(points, 3, false, false);
+		assertEquals(points.size(), tree.count());
+		for(DoubleKDPoint p : points)
+			assertTrue(tree.search(p));
+		for(DoubleKDPoint p : points)
+			tree.delete(p);
+		assertTrue(tree.isEmpty());
+	}
+
+	@Test
+	public void testBuiltTreeAcceptsUpdates() {
+		Random r = new Random(SEED);
+		List<DoubleKDPoint> points = randomPoints(r, 100, 2);
+		DoubleKDTree tree = DoubleKDTree.build(points.subList(0, 50), 2, true, false);
+		assertTrue(tree.isExact());
+		for(DoubleKDPoint p : points.subList(50, 100))
+			tree.insert(p);
+		for(DoubleKDPoint p : points.subList(0, 25))
+			tree.delete(p);
+		assertEquals(75, tree.count());
+		for(int i = 0; i < points.size(); i++)
+			assertEquals(i >= 25, tree.search(points.get(i)));
+	}
+
+	@Test
+	public void testEmptyBuild() {
+		assertTrue(DoubleKDTree.build(new ArrayList<>(), 2, false, true).isEmpty());
+		assertTrue(KDTreeBuilder.balancedOrder(new ArrayList<>(), 2, true).isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWrongDimensionality() {
+		KDTreeBuilder.balancedOrder(Arrays.asList(new KDPoint(1, 2), new KDPoint(1, 2, 3)), 2, false);
+	}
+}
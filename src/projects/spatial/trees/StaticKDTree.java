@@ -0,0 +1,431 @@
+package projects.spatial.trees;
+
+import projects.spatial.kdpoint.DoubleKDPoint;
+import projects.spatial.knnutils.DoubleBoundedPriorityQueue;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * <p>{@link StaticKDTree} is an <b>immutable</b> <em>K</em>-D Tree for read-only query workloads. Instead of one object
+ * per node, it stores the coordinates of all of its points in a single flat {@code double[]}, in <b>implicit
+ * (Eytzinger)</b> order: the root lies at index 0 and the children of node i at indices 2i+1 and 2i+2, exactly like
+ * the elements of a binary heap. The dimension that every node splits is kept in a parallel {@code byte[]}. Queries
+ * therefore follow no pointers, and the top levels of the tree, which every query visits, share a few cache lines.</p>
+ *
+ * <p>The tree is <b>complete</b>: all of its levels are full, except possibly for the last one, which is filled from the
+ * left. Its height is &lfloor;log<sub>2</sub>n&rfloor;. Every node splits its subtree along the dimension in which the
+ * points of the subtree are the most spread out, at the point which leaves exactly as many points to its left as the
+ * shape of a complete tree demands. Points to the left of a node are never greater than it along its split dimension,
+ * and points to its right are never smaller. Queries have the same semantics as those of {@link DoubleKDTree}.</p>
+ *
+ * <p>Since the whole tree is one contiguous block of memory, {@link #writeTo(OutputStream)} serializes it in a single
+ * write, and {@link #readFrom(InputStream)} restores it without rebuilding anything.</p>
+ *
+ * @author <a href="https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see DoubleKDTree
+ * @see DoubleSpatialQuerySolver
+ */
+public class StaticKDTree implements DoubleSpatialQuerySolver {
+
+	/* *********************************************************************/
+	/* ************************** PRIVATE FIELDS ***************************/
+	/* *********************************************************************/
+
+	private static final int MAGIC = 0x534B4431;  // "SKD1"
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 20;
+
+	// Same relative margin as the one DoubleKDPoint uses to decide when to double check a distance.
+	private static final double EXACT_CHECK_MARGIN = 1e-9;
+
+	private final int dims;
+	private final int count;
+	private final boolean exact;
+	private final double[] coords;	// The coordinates of node i lie in [i * dims, (i + 1) * dims).
+	private final byte[] splitDims;
+
+	/* *********************************************************************/
+	/* ************************** CONSTRUCTORS *****************************/
+	/* *********************************************************************/
+
+	/**
+	 * Builds a {@link StaticKDTree} out of points. Range queries are decided in double precision.
+	 * @param points The {@link DoubleKDPoint}s to store in the tree. They are copied, so later changes to them do not
+	 *               affect the tree.
+	 * @param k The dimensionality of the tree.
+	 * @throws IllegalArgumentException if points is null or contains null or non k-dimensional points, or if k is
+	 * larger than {@link Byte#MAX_VALUE}.
+	 * @throws RuntimeException if k&lt;=0.
+	 */
+	public StaticKDTree(Collection<DoubleKDPoint> points, int k){
+		this(points, k, false);
+	}
+
+	/**
+	 * Builds a {@link StaticKDTree} out of points.
+	 * @param points The {@link DoubleKDPoint}s to store in the tree. They are copied, so later changes to them do not
+	 *               affect the tree.
+	 * @param k The dimensionality of the tree.
+	 * @param exact {@code true} if, and only if, range queries should fall back to arbitrary precision for points whose
+	 *              distance from the anchor is too close to the range for double precision to decide.
+	 * @throws IllegalArgumentException if points is null or contains null or non k-dimensional points, or if k is
+	 * larger than {@link Byte#MAX_VALUE}.
+	 * @throws RuntimeException if k&lt;=0.
+	 */
+	public StaticKDTree(Collection<DoubleKDPoint> points, int k, boolean exact){
+		if(k <= 0)
+			throw new RuntimeException("The value of k provided, " + k + ", is invalid: Please provide a positive integer.");
+		if(k > Byte.MAX_VALUE)
+			throw new IllegalArgumentException("A StaticKDTree supports up to " + Byte.MAX_VALUE + " dimensions; got " + k + ".");
+		if(points == null)
+			throw new IllegalArgumentException("Cannot build a tree out of a null collection.");
+		dims = k;
+		count = points.size();
+		this.exact = exact;
+		double[] input = new double[count * dims];
+		int i = 0;
+		for(DoubleKDPoint p : points) {
+			if(p == null || p.coords.length != dims)
+				throw new IllegalArgumentException("Every point of a " + dims + "-d tree needs to be non-null and " + dims + "-dimensional.");
+			System.arraycopy(p.coords, 0, input, i++ * dims, dims);
+		}
+		int[] indices = new int[count];
+		for(i = 0; i < count; i++)
+			indices[i] = i;
+		coords = new double[count * dims];
+		splitDims = new byte[count];
+		build(input, indices, 0, 0, count);
+	}
+
+	private StaticKDTree(int dims, int count, boolean exact, double[] coords, byte[] splitDims){
+		this.dims = dims;
+		this.count = count;
+		this.exact = exact;
+		this.coords = coords;
+		this.splitDims = splitDims;
+	}
+
+	/* *********************************************************************/
+	/* ************************** PUBLIC METHODS ***************************/
+	/* *********************************************************************/
+
+	@Override
+	public Collection<DoubleKDPoint> range(DoubleKDPoint p, double range){
+		checkDims(p);
+		ArrayList<DoubleKDPoint> pts = new ArrayList<>();
+		range(0, p, range, pts);
+		return pts; // Might be empty; that's not a problem.
+	}
+
+	@Override
+	public DoubleKDPoint nearestNeighbor(DoubleKDPoint p){
+		checkDims(p);
+		double[] best = {Double.POSITIVE_INFINITY};
+		int nearest = nearestNeighbor(0, p.coords, -1, best);
+		return (nearest == -1) ? null : pointAt(nearest);
+	}
+
+	@Override
+	public DoubleBoundedPriorityQueue<DoubleKDPoint> kNearestNeighbors(int k, DoubleKDPoint p){
+		if(k <= 0)
+			throw new RuntimeException("The value of k provided, " + k + ", is invalid: Please provide a positive integer.");
+		DoubleBoundedPriorityQueue<DoubleKDPoint> queue = new DoubleBoundedPriorityQueue<>(k);
+		kNearestNeighbors(p, queue);
+		return queue; // Might be empty; that's not a problem.
+	}
+
+	@Override
+	public void kNearestNeighbors(DoubleKDPoint p, DoubleBoundedPriorityQueue<DoubleKDPoint> queue){
+		if(queue == null)
+			throw new IllegalArgumentException("Cannot fill a null queue.");
+		checkDims(p);
+		queue.clear();
+		kNearestNeighbors(0, p.coords, queue);
+	}
+
+	/**
+	 * Searches the tree for p.
+	 * @param p The {@link DoubleKDPoint} to look for.
+	 * @return {@code true} if p is in the tree, {@code false} otherwise.
+	 */
+	public boolean search(DoubleKDPoint p){
+		checkDims(p);
+		return search(0, p.coords);
+	}
+
+	/**
+	 * Returns the height of the tree, which is &lfloor;log<sub>2</sub>n&rfloor; for a tree of n points.
+	 * @return The height of the tree, which is -1 for an empty tree.
+	 */
+	public int height(){
+		return 31 - Integer.numberOfLeadingZeros(count);
+	}
+
+	/**
+	 * Reports whether the tree holds no points.
+	 * @return {@code true} iff {@link #count()} == 0.
+	 */
+	public boolean isEmpty(){
+		return count == 0;
+	}
+
+	/**
+	 * Returns the number of points in the tree.
+	 * @return The number of points in the tree.
+	 */
+	public int count(){
+		return count;
+	}
+
+	/**
+	 * Returns the dimensionality of the tree.
+	 * @return The value of <em>k</em> that the tree was built with.
+	 */
+	public int dims(){
+		return dims;
+	}
+
+	/**
+	 * Reports whether range queries of this fall back to arbitrary precision close to the boundary of the range.
+	 * @return {@code true} if, and only if, this was built as exact.
+	 */
+	public boolean isExact(){
+		return exact;
+	}
+
+	/**
+	 * Writes the entire tree to out, as a single contiguous block: a header, the split dimensions and the coordinates.
+	 * The stream is neither flushed nor closed.
+	 * @param out The {@link OutputStream} to write to.
+	 * @throws IOException if out throws one.
+	 * @see #readFrom(InputStream)
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		ByteBuffer block = ByteBuffer.allocate(HEADER_BYTES + count + coords.length * Double.BYTES);
+		block.putInt(MAGIC).putInt(VERSION).putInt(dims).putInt(count).putInt(exact ? 1 : 0);
+		block.put(splitDims);
+		block.asDoubleBuffer().put(coords);
+		out.write(block.array());
+	}
+
+	/**
+	 * Reads a tree written by {@link #writeTo(OutputStream)}. The stream is not closed.
+	 * @param in The {@link InputStream} to read from.
+	 * @return The {@link StaticKDTree} read from in.
+	 * @throws IOException if in throws one, or does not hold a valid tree.
+	 */
+	public static StaticKDTree readFrom(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		byte[] headerBytes = new byte[HEADER_BYTES];
+		data.readFully(headerBytes);
+		ByteBuffer header = ByteBuffer.wrap(headerBytes);
+		if(header.getInt() != MAGIC)
+			throw new IOException("Not a StaticKDTree.");
+		int version = header.getInt();
+		if(version != VERSION)
+			throw new IOException("Unsupported StaticKDTree version: " + version + ".");
+		int dims = header.getInt(), count = header.getInt(), exact = header.getInt();
+		if(dims <= 0 || dims > Byte.MAX_VALUE || count < 0 || (exact != 0 && exact != 1)
+				|| (long)count * dims * Double.BYTES > Integer.MAX_VALUE)
+			throw new IOException("Corrupted StaticKDTree header.");
+		byte[] body = new byte[count + count * dims * Double.BYTES];
+		data.readFully(body);
+		ByteBuffer block = ByteBuffer.wrap(body);
+		byte[] splitDims = new byte[count];
+		block.get(splitDims);
+		for(byte dim : splitDims)
+			if(dim < 0 || dim >= dims)
+				throw new IOException("Corrupted StaticKDTree split dimension: " + dim + ".");
+		double[] coords = new double[count * dims];
+		block.asDoubleBuffer().get(coords);
+		return new StaticKDTree(dims, count, exact == 1, coords, splitDims);
+	}
+
+	/* *********************************************************************/
+	/* ************************** PRIVATE METHODS **************************/
+	/* *********************************************************************/
+
+	private void checkDims(DoubleKDPoint p){
+		if(p == null)
+			throw new IllegalArgumentException("Cannot use a null DoubleKDPoint.");
+		if(p.coords.length != dims)
+			throw new IllegalArgumentException("Expected a " + dims + "-dimensional point; got " + p.coords.length + " dimensions.");
+	}
+
+	// The number of nodes in the left subtree of a complete binary tree of n nodes.
+	private static int leftSubtreeSize(int n){
+		int height = 31 - Integer.numberOfLeadingZeros(n);
+		if(height == 0)
+			return 0;
+		int lastLevel = n - ((1 << height) - 1), halfOfLastLevel = 1 << (height - 1);
+		return halfOfLastLevel - 1 + Math.min(lastLevel, halfOfLastLevel);
+	}
+
+	// Lays out the points indexed by indices[lo, hi) as the subtree rooted at node.
+	private void build(double[] input, int[] indices, int node, int lo, int hi){
+		if(lo >= hi)
+			return;
+		int dim = widestDimension(input, indices, lo, hi);
+		int median = lo + leftSubtreeSize(hi - lo);
+		select(input, indices, lo, hi, median, dim);
+		splitDims[node] = (byte)dim;
+		System.arraycopy(input, indices[median] * dims, coords, node * dims, dims);
+		build(input, indices, 2 * node + 1, lo, median);
+		build(input, indices, 2 * node + 2, median + 1, hi);
+	}
+
+	private int widestDimension(double[] input, int[] indices, int lo, int hi){
+		int widest = 0;
+		double widestSpread = -1;
+		for(int dim = 0; dim < dims; dim++) {
+			double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+			for(int i = lo; i < hi; i++) {
+				double coord = input[indices[i] * dims + dim];
+				min = Math.min(min, coord);
+				max = Math.max(max, coord);
+			}
+			if(max - min > widestSpread) {
+				widest = dim;
+				widestSpread = max - min;
+			}
+		}
+		return widest;
+	}
+
+	// Quickselect over indices[lo, hi) by coordinate dim, with a median-of-three pivot and three-way partitioning.
+	// Ranges of equal coordinates end the loop at once, and the fallback to sorting guards against bad pivots.
+	private void select(double[] input, int[] indices, int lo, int hi, int k, int dim){
+		int budget = 2 * (32 - Integer.numberOfLeadingZeros(hi - lo));
+		while(hi - lo > 1) {
+			if(budget-- == 0) {
+				sort(input, indices, lo, hi, dim);
+				return;
+			}
+			double a = input[indices[lo] * dims + dim], b = input[indices[(lo + hi) >>> 1] * dims + dim],
+					c = input[indices[hi - 1] * dims + dim];
+			double pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+			int lt = lo, gt = hi, i = lo;
+			while(i < gt) {
+				double coord = input[indices[i] * dims + dim];
+				if(coord < pivot)
+					swap(indices, lt++, i++);
+				else if(coord > pivot)
+					swap(indices, i, --gt);
+				else
+					i++;
+			}
+			if(k < lt)
+				hi = lt;
+			else if(k >= gt)
+				lo = gt;
+			else
+				return;
+		}
+	}
+
+	private void sort(double[] input, int[] indices, int lo, int hi, int dim){
+		Integer[] boxed = new Integer[hi - lo];
+		for(int i = lo; i < hi; i++)
+			boxed[i - lo] = indices[i];
+		Arrays.sort(boxed, (i, j) -> Double.compare(input[i * dims + dim] + 0.0, input[j * dims + dim] + 0.0));
+		for(int i = lo; i < hi; i++)
+			indices[i] = boxed[i - lo];
+	}
+
+	private static void swap(int[] indices, int i, int j){
+		int tmp = indices[i];
+		indices[i] = indices[j];
+		indices[j] = tmp;
+	}
+
+	private DoubleKDPoint pointAt(int node){
+		return new DoubleKDPoint(Arrays.copyOfRange(coords, node * dims, (node + 1) * dims));
+	}
+
+	private boolean isAt(int node, double[] p){
+		for(int dim = 0, offset = node * dims; dim < dims; dim++)
+			if(coords[offset + dim] != p[dim])
+				return false;
+		return true;
+	}
+
+	// Sums the squares in the same order as DoubleKDPoint.distanceSquared(), so that both compute the same distance.
+	private double distanceSquared(int node, double[] p){
+		double sum = 0;
+		for(int dim = 0, offset = node * dims; dim < dims; dim++) {
+			double diff = p[dim] - coords[offset + dim];
+			sum += diff * diff;
+		}
+		return sum;
+	}
+
+	private boolean search(int node, double[] p){
+		if(node >= count)
+			return false;
+		if(isAt(node, p))
+			return true;
+		double diff = p[splitDims[node]] - coords[node * dims + splitDims[node]];
+		// Points equal to the split coordinate may lie on either side.
+		return (diff <= 0 && search(2 * node + 1, p)) || (diff >= 0 && search(2 * node + 2, p));
+	}
+
+	private void range(int node, DoubleKDPoint anchor, double range, Collection<DoubleKDPoint> results){
+		if(node >= count)
+			return;
+		if(!isAt(node, anchor.coords)) {
+			double dist = distanceSquared(node, anchor.coords), limit = range * range;
+			if(exact && Math.abs(dist - limit) <= EXACT_CHECK_MARGIN * limit + Double.MIN_NORMAL) {
+				DoubleKDPoint p = pointAt(node);
+				if(anchor.isWithin(p, range, true))
+					results.add(p);
+			} else if(dist <= limit) {
+				results.add(pointAt(node));
+			}
+		}
+		double diff = anchor.coords[splitDims[node]] - coords[node * dims + splitDims[node]];
+		range(diff >= 0 ? 2 * node + 2 : 2 * node + 1, anchor, range, results);
+		// The first check is sound in arbitrary precision, the second in double precision.
+		if(Math.abs(diff) <= range || diff * diff <= range * range)
+			range(diff >= 0 ? 2 * node + 1 : 2 * node + 2, anchor, range, results);
+	}
+
+	// Returns the nearest node found so far, whose squared distance is best[0].
+	private int nearestNeighbor(int node, double[] anchor, int nearest, double[] best){
+		if(node >= count)
+			return nearest;
+		if(!isAt(node, anchor)) {
+			double dist = distanceSquared(node, anchor);
+			if(dist < best[0]) {
+				nearest = node;
+				best[0] = dist;
+			}
+		}
+		double diff = anchor[splitDims[node]] - coords[node * dims + splitDims[node]];
+		nearest = nearestNeighbor(diff >= 0 ? 2 * node + 2 : 2 * node + 1, anchor, nearest, best);
+		if(diff * diff < best[0])
+			nearest = nearestNeighbor(diff >= 0 ? 2 * node + 1 : 2 * node + 2, anchor, nearest, best);
+		return nearest;
+	}
+
+	private void kNearestNeighbors(int node, double[] anchor, DoubleBoundedPriorityQueue<DoubleKDPoint> queue){
+		if(node >= count)
+			return;
+		if(!isAt(node, anchor)) {
+			double dist = distanceSquared(node, anchor);
+			if(dist < queue.lastPriority())  // Only points which make it into the queue are materialized.
+				queue.enqueue(pointAt(node), dist);
+		}
+		double diff = anchor[splitDims[node]] - coords[node * dims + splitDims[node]];
+		kNearestNeighbors(diff >= 0 ? 2 * node + 2 : 2 * node + 1, anchor, queue);
+		if(diff * diff < queue.lastPriority())
+			kNearestNeighbors(diff >= 0 ? 2 * node + 1 : 2 * node + 2, anchor, queue);
+	}
+}
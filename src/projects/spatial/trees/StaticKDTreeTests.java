@@ -0,0 +1,126 @@
+package projects.spatial.trees;
+
+import org.junit.Test;
+import projects.spatial.kdpoint.DoubleKDPoint;
+import projects.spatial.knnutils.DoubleBoundedPriorityQueue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>{@link StaticKDTreeTests} checks that {@link StaticKDTree} answers queries exactly like a {@link DoubleKDTree}
+ * over the same points, and that it survives serialization.</p>
+ *
+ * @author <a href = "https://github.com/JasonFil">Jason Filippou</a>
+ *
+ * @see StaticKDTree
+ */
+public class StaticKDTreeTests {
+
+	private static final int SEED = 47;
+	private static final int NUM_QUERIES = 200;
+
+	private static List<DoubleKDPoint> randomPoints(Random r, int n, int dims, int distinctValues){
+		List<DoubleKDPoint> points = new ArrayList<>();
+		for(int i = 0; i < n; i++) {
+			double[] coords = new double[dims];
+			for(int j = 0; j < dims; j++)   // Stretching the first dimension makes the widest dimension vary.
+				coords[j] = r.nextInt(distinctValues) * (j == 0 ? 3.0 : 1.0) / 7;
+			points.add(new DoubleKDPoint(coords));
+		}
+		return points;
+	}
+
+	private static void checkAgainstDoubleKDTree(StaticKDTree tree, List<DoubleKDPoint> points, Random r){
+		DoubleKDTree reference = DoubleKDTree.build(points, tree.dims(), tree.isExact(), false);
+		assertEquals(points.size(), tree.count());
+		assertEquals(31 - Integer.numberOfLeadingZeros(points.size()), tree.height());
+		for(DoubleKDPoint p : points)
+			assertTrue(tree.search(p));
+		for(int i = 0; i < NUM_QUERIES; i++) {
+			DoubleKDPoint anchor = points.get(r.nextInt(points.size()));
+			if(i % 2 == 1) {
+				anchor = new DoubleKDPoint(anchor);
+				anchor.coords[0] += r.nextGaussian();
+			}
+			double range = r.nextDouble() * 20;
+			assertEquals(new HashSet<>(reference.range(anchor, range)), new HashSet<>(tree.range(anchor, range)));
+			DoubleKDPoint nn = reference.nearestNeighbor(anchor);
+			if(nn == null)
+				assertNull(tree.nearestNeighbor(anchor));
+			else
+				assertEquals(anchor.distanceSquared(nn), anchor.distanceSquared(tree.nearestNeighbor(anchor)), 0);
+			int k = 1 + r.nextInt(10);
+			DoubleBoundedPriorityQueue<DoubleKDPoint> expected = reference.kNearestNeighbors(k, anchor),
+					actual = tree.kNearestNeighbors(k, anchor);
+			assertEquals(expected.size(), actual.size());
+			while(!expected.isEmpty())
+				assertEquals(anchor.distanceSquared(expected.dequeue()), anchor.distanceSquared(actual.dequeue()), 0);
+		}
+	}
+
+	@Test
+	public void testQueriesMatchDoubleKDTree() {
+		Random r = new Random(SEED);
+		for(int dims = 1; dims <= 4; dims++) {
+			for(int n : new int[]{1, 2, 5, 64, 1000, 5000}) {
+				List<DoubleKDPoint> points = randomPoints(r, n, dims, 1000);
+				checkAgainstDoubleKDTree(new StaticKDTree(points, dims), points, r);
+			}
+		}
+	}
+
+	@Test
+	public void testDuplicatesAndExactMode() {
+		Random r = new Random(SEED);
+		for(int dims = 1; dims <= 3; dims++) {
+			List<DoubleKDPoint> points = randomPoints(r, 3000, dims, 20);  // Plenty of repeated coordinates and points.
+			checkAgainstDoubleKDTree(new StaticKDTree(points, dims, true), points, r);
+		}
+	}
+
+	@Test
+	public void testSerialization() throws IOException {
+		Random r = new Random(SEED);
+		List<DoubleKDPoint> points = randomPoints(r, 4000, 3, 1000);
+		StaticKDTree tree = new StaticKDTree(points, 3, true);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		tree.writeTo(out);
+		StaticKDTree read = StaticKDTree.readFrom(new ByteArrayInputStream(out.toByteArray()));
+		assertTrue(read.isExact());
+		checkAgainstDoubleKDTree(read, points, r);
+
+		ByteArrayOutputStream again = new ByteArrayOutputStream();
+		read.writeTo(again);
+		assertTrue(Arrays.equals(out.toByteArray(), again.toByteArray()));
+	}
+
+	@Test
+	public void testEmptyTree() throws IOException {
+		StaticKDTree tree = new StaticKDTree(new ArrayList<>(), 2);
+		assertTrue(tree.isEmpty());
+		assertEquals(-1, tree.height());
+		assertNull(tree.nearestNeighbor(new DoubleKDPoint(0, 0)));
+		assertTrue(tree.range(new DoubleKDPoint(0, 0), 10).isEmpty());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		tree.writeTo(out);
+		assertTrue(StaticKDTree.readFrom(new ByteArrayInputStream(out.toByteArray())).isEmpty());
+	}
+
+	@Test(expected = IOException.class)
+	public void testCorruptedStream() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new StaticKDTree(randomPoints(new Random(SEED), 10, 2, 100), 2).writeTo(out);
+		byte[] bytes = out.toByteArray();
+		bytes[0] ^= 1;
+		StaticKDTree.readFrom(new ByteArrayInputStream(bytes));
+	}
+}